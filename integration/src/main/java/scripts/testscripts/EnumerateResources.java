@@ -103,7 +103,7 @@ public class EnumerateResources extends DataRepoTestScriptBase {
 
     // Case 1: fetch all
     ResourceList enumList =
-        ownerResourceApi.enumerateResources(getWorkspaceId(), 0, RESOURCE_COUNT, null, null);
+        ownerResourceApi.enumerateResources(getWorkspaceId(), 0, RESOURCE_COUNT, null, null, null);
     logResult("fetchall", enumList);
     // Make sure we got all of the expected ids
     matchFullResourceList(enumList.getResources());
@@ -112,21 +112,25 @@ public class EnumerateResources extends DataRepoTestScriptBase {
     // As this is the first operation after modifying workspace IAM groups, retry here to compensate
     // for the delay in GCP IAM propagation.
     ResourceList readerEnumList = ClientTestUtils.getWithRetryOnException(
-        () -> readerResourceApi.enumerateResources(getWorkspaceId(), 0, RESOURCE_COUNT, null, null));
+        () ->
+            readerResourceApi.enumerateResources(
+                getWorkspaceId(), 0, RESOURCE_COUNT, null, null, null));
     logResult("fetchall reader", readerEnumList);
     matchFullResourceList(readerEnumList.getResources());
 
     // Case 2: fetch by pages
     ResourceList page1List =
-        ownerResourceApi.enumerateResources(getWorkspaceId(), 0, PAGE_SIZE, null, null);
+        ownerResourceApi.enumerateResources(getWorkspaceId(), 0, PAGE_SIZE, null, null, null);
     logResult("page1", page1List);
     assertThat(page1List.getResources().size(), equalTo(PAGE_SIZE));
     ResourceList page2List =
-        ownerResourceApi.enumerateResources(getWorkspaceId(), PAGE_SIZE, PAGE_SIZE, null, null);
+        ownerResourceApi.enumerateResources(
+            getWorkspaceId(), PAGE_SIZE, PAGE_SIZE, null, null, null);
     logResult("page2", page2List);
     assertThat(page2List.getResources().size(), equalTo(PAGE_SIZE));
     ResourceList page3List =
-        ownerResourceApi.enumerateResources(getWorkspaceId(), 2 * PAGE_SIZE, PAGE_SIZE, null, null);
+        ownerResourceApi.enumerateResources(
+            getWorkspaceId(), 2 * PAGE_SIZE, PAGE_SIZE, null, null, null);
     logResult("page3", page3List);
     assertThat(page3List.getResources().size(), lessThan(PAGE_SIZE));
 
@@ -138,13 +142,14 @@ public class EnumerateResources extends DataRepoTestScriptBase {
 
     // Case 3: no results if offset is too high
     ResourceList enumEmptyList =
-        ownerResourceApi.enumerateResources(getWorkspaceId(), 10 * PAGE_SIZE, PAGE_SIZE, null, null);
+        ownerResourceApi.enumerateResources(
+            getWorkspaceId(), 10 * PAGE_SIZE, PAGE_SIZE, null, null, null);
     assertThat(enumEmptyList.getResources().size(), equalTo(0));
 
     // Case 4: filter by resource type
     ResourceList snapshots =
         ownerResourceApi.enumerateResources(
-            getWorkspaceId(), 0, RESOURCE_COUNT, ResourceType.DATA_REPO_SNAPSHOT, null);
+            getWorkspaceId(), 0, RESOURCE_COUNT, ResourceType.DATA_REPO_SNAPSHOT, null, null);
     logResult("snapshots", snapshots);
     long expectedSnapshots =
         resourceList.stream()
@@ -158,7 +163,7 @@ public class EnumerateResources extends DataRepoTestScriptBase {
     // Case 5: filter by stewardship type
     ResourceList referencedList =
         ownerResourceApi.enumerateResources(
-            getWorkspaceId(), 0, RESOURCE_COUNT, null, StewardshipType.REFERENCED);
+            getWorkspaceId(), 0, RESOURCE_COUNT, null, StewardshipType.REFERENCED, null);
     logResult("referenced", referencedList);
     long expectedReferenced =
         resourceList.stream()
@@ -175,7 +180,8 @@ public class EnumerateResources extends DataRepoTestScriptBase {
             0,
             RESOURCE_COUNT,
             ResourceType.GCS_BUCKET,
-            StewardshipType.CONTROLLED);
+            StewardshipType.CONTROLLED,
+            null);
     logResult("controlledBucket", controlledBucketList);
     long expectedControlledBuckets =
         resourceList.stream()
@@ -1,11 +1,20 @@
 package bio.terra.workspace.app;
 
 import bio.terra.common.migrate.LiquibaseMigrator;
+import bio.terra.workspace.app.configuration.external.MetricsConfiguration;
 import bio.terra.workspace.app.configuration.external.WorkspaceDatabaseConfiguration;
+import bio.terra.workspace.db.DatabaseNotificationListener;
 import bio.terra.workspace.service.job.JobService;
+import io.opencensus.common.Duration;
+import io.opencensus.exporter.stats.stackdriver.StackdriverStatsConfiguration;
+import io.opencensus.exporter.stats.stackdriver.StackdriverStatsExporter;
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
 
 public final class StartupInitializer {
+  private static final Logger logger = LoggerFactory.getLogger(StartupInitializer.class);
   private static final String changelogPath = "db/changelog.xml";
 
   public static void initialize(ApplicationContext applicationContext) {
@@ -24,9 +33,38 @@ public final class StartupInitializer {
     // The JobService initialization also handles Stairway initialization.
     jobService.initialize();
 
+    // Until the listener is connected, the cloud context cache reads through to the database and
+    // job waits rely on polling.
+    applicationContext.getBean(DatabaseNotificationListener.class).startListening();
+
+    registerMetricsExporter(applicationContext.getBean(MetricsConfiguration.class));
+
     // TODO: Fill in this method with any other initialization that needs to happen
     //  between the point of having the entire application initialized and
     //  the point of opening the port to start accepting REST requests.
 
   }
+
+  /**
+   * Export the OpenCensus metrics recorded through {@link
+   * bio.terra.workspace.common.utils.MetricsUtils} to Stackdriver, if enabled. Failing to register
+   * the exporter is logged rather than fatal: the service works without its metrics.
+   */
+  private static void registerMetricsExporter(MetricsConfiguration metricsConfig) {
+    if (!metricsConfig.isExportEnabled()) {
+      return;
+    }
+    StackdriverStatsConfiguration.Builder exportConfig =
+        StackdriverStatsConfiguration.builder()
+            .setExportInterval(Duration.create(metricsConfig.getExportIntervalSeconds(), 0));
+    if (metricsConfig.getProjectId() != null) {
+      exportConfig.setProjectId(metricsConfig.getProjectId());
+    }
+    try {
+      StackdriverStatsExporter.createAndRegister(exportConfig.build());
+      logger.info("Exporting metrics every {}s", metricsConfig.getExportIntervalSeconds());
+    } catch (IOException | IllegalStateException e) {
+      logger.error("Failed to register the Stackdriver metrics exporter", e);
+    }
+  }
 }
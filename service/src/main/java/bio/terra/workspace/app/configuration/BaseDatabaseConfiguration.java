@@ -1,5 +1,7 @@
 package bio.terra.workspace.app.configuration;
 
+import bio.terra.workspace.common.utils.MetricsUtils;
+import io.opencensus.metrics.LabelKey;
 import java.util.Properties;
 import org.apache.commons.dbcp2.ConnectionFactory;
 import org.apache.commons.dbcp2.DriverManagerConnectionFactory;
@@ -8,21 +10,32 @@ import org.apache.commons.dbcp2.PoolableConnectionFactory;
 import org.apache.commons.dbcp2.PoolingDataSource;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
-import org.apache.commons.pool2.ObjectPool;
+import org.apache.commons.pool2.impl.AbandonedConfig;
 import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 
 /** Base class for accessing database connection configuration properties. */
 public class BaseDatabaseConfiguration {
+  private static final LabelKey POOL_KEY = LabelKey.create("pool", "Connection pool name");
+
   /** URI of the database */
   private String uri;
   /** Username for the database */
   private String username;
   /** Password for the database */
   private String password;
+  /** Connection pool settings */
+  private DatabasePoolConfiguration pool = new DatabasePoolConfiguration();
 
-  // Not a property
+  // Not properties
+  private final String poolName;
   private PoolingDataSource<PoolableConnection> dataSource;
 
+  /** @param poolName name of the connection pool, used to label its metrics */
+  protected BaseDatabaseConfiguration(String poolName) {
+    this.poolName = poolName;
+  }
+
   public String getUri() {
     return uri;
   }
@@ -35,6 +48,10 @@ public class BaseDatabaseConfiguration {
     return password;
   }
 
+  public DatabasePoolConfiguration getPool() {
+    return pool;
+  }
+
   // NOTE: even though the setters appear unused, the Spring infrastructure uses them to populate
   // the properties.
   public void setUri(String uri) {
@@ -49,6 +66,10 @@ public class BaseDatabaseConfiguration {
     this.password = password;
   }
 
+  public void setPool(DatabasePoolConfiguration pool) {
+    this.pool = pool;
+  }
+
   // Main use of the configuration is this pooling data source object.
   public PoolingDataSource<PoolableConnection> getDataSource() {
     // Lazy allocation of the data source
@@ -67,20 +88,88 @@ public class BaseDatabaseConfiguration {
 
     PoolableConnectionFactory poolableConnectionFactory =
         new PoolableConnectionFactory(connectionFactory, null);
-
-    ObjectPool<PoolableConnection> connectionPool =
-        new GenericObjectPool<>(poolableConnectionFactory);
+    // With no validation query set, validation uses Connection.isValid.
+    poolableConnectionFactory.setValidationQueryTimeout(pool.getValidationTimeoutSeconds());
+    poolableConnectionFactory.setMaxConnLifetimeMillis(pool.getMaxConnectionLifetimeMillis());
+    // Keeping prepared statements open across borrows also lets the Postgres driver switch them to
+    // server-side prepared statements after repeated use.
+    poolableConnectionFactory.setPoolStatements(pool.isPoolPreparedStatements());
+    poolableConnectionFactory.setMaxOpenPreparedStatements(pool.getMaxOpenPreparedStatements());
+
+    GenericObjectPoolConfig<PoolableConnection> poolConfig = new GenericObjectPoolConfig<>();
+    poolConfig.setMaxTotal(pool.getMaxTotal());
+    poolConfig.setMaxIdle(pool.getMaxIdle());
+    poolConfig.setMinIdle(pool.getMinIdle());
+    poolConfig.setMaxWaitMillis(pool.getMaxWaitMillis());
+    poolConfig.setTestOnBorrow(pool.isTestOnBorrow());
+    poolConfig.setTimeBetweenEvictionRunsMillis(pool.getTimeBetweenEvictionRunsMillis());
+    poolConfig.setMinEvictableIdleTimeMillis(pool.getMinEvictableIdleTimeMillis());
+    poolConfig.setJmxEnabled(false);
+
+    GenericObjectPool<PoolableConnection> connectionPool;
+    if (pool.getLeakDetectionThresholdSeconds() > 0) {
+      AbandonedConfig abandonedConfig = new AbandonedConfig();
+      abandonedConfig.setLogAbandoned(true);
+      abandonedConfig.setRemoveAbandonedOnMaintenance(true);
+      abandonedConfig.setRemoveAbandonedTimeout(pool.getLeakDetectionThresholdSeconds());
+      connectionPool =
+          new GenericObjectPool<>(poolableConnectionFactory, poolConfig, abandonedConfig);
+    } else {
+      connectionPool = new GenericObjectPool<>(poolableConnectionFactory, poolConfig);
+    }
 
     poolableConnectionFactory.setPool(connectionPool);
+    registerPoolMetrics(connectionPool);
 
     dataSource = new PoolingDataSource<>(connectionPool);
   }
 
+  private void registerPoolMetrics(GenericObjectPool<PoolableConnection> connectionPool) {
+    MetricsUtils.registerGauge(
+        "db_pool/active_connections",
+        "Connections borrowed from the pool",
+        POOL_KEY,
+        poolName,
+        connectionPool,
+        GenericObjectPool::getNumActive);
+    MetricsUtils.registerGauge(
+        "db_pool/idle_connections",
+        "Idle connections in the pool",
+        POOL_KEY,
+        poolName,
+        connectionPool,
+        GenericObjectPool::getNumIdle);
+    MetricsUtils.registerGauge(
+        "db_pool/waiters",
+        "Threads waiting to borrow a connection",
+        POOL_KEY,
+        poolName,
+        connectionPool,
+        GenericObjectPool::getNumWaiters);
+    MetricsUtils.registerGauge(
+        "db_pool/mean_borrow_wait",
+        "Mean time spent waiting to borrow a connection, over recent borrows",
+        "ms",
+        POOL_KEY,
+        poolName,
+        connectionPool,
+        GenericObjectPool::getMeanBorrowWaitTimeMillis);
+    MetricsUtils.registerGauge(
+        "db_pool/max_borrow_wait",
+        "Longest time spent waiting to borrow a connection since the pool was created",
+        "ms",
+        POOL_KEY,
+        poolName,
+        connectionPool,
+        GenericObjectPool::getMaxBorrowWaitTimeMillis);
+  }
+
   @Override
   public String toString() {
     return new ToStringBuilder(this, ToStringStyle.JSON_STYLE)
         .append("uri", uri)
         .append("username", username)
+        .append("pool", ToStringBuilder.reflectionToString(pool, ToStringStyle.JSON_STYLE))
         // .append("password", password) NOTE: password is not printed; that avoids it showing up in
         // logs
         .toString();
@@ -0,0 +1,153 @@
+package bio.terra.workspace.app.configuration;
+
+/**
+ * Connection pool settings for one of WSM's databases. Nested under each database configuration
+ * as "pool".
+ */
+public class DatabasePoolConfiguration {
+  /**
+   * Maximum number of connections, active and idle, held by the pool. For the Stairway database
+   * this bounds how many flight steps can touch the database at once, so it must be at least the
+   * terra.common.stairway max-parallel-flights setting, plus headroom; application.yml sets the
+   * Stairway pool accordingly.
+   */
+  private int maxTotal = 20;
+
+  /** Maximum number of idle connections kept in the pool. */
+  private int maxIdle = 20;
+
+  /** Number of idle connections the evictor keeps open, so bursts do not start cold. */
+  private int minIdle = 2;
+
+  /**
+   * Milliseconds a caller waits for a connection when the pool is exhausted before failing. A
+   * negative value waits forever.
+   */
+  private long maxWaitMillis = 30000;
+
+  /** Validate connections with {@link java.sql.Connection#isValid} when they are borrowed. */
+  private boolean testOnBorrow = true;
+
+  /** Seconds to wait for a connection to validate. */
+  private int validationTimeoutSeconds = 5;
+
+  /** Milliseconds between runs of the idle connection evictor. A non-positive value disables it. */
+  private long timeBetweenEvictionRunsMillis = 60000;
+
+  /** Milliseconds a connection may sit idle before the evictor may close it. */
+  private long minEvictableIdleTimeMillis = 300000;
+
+  /**
+   * Milliseconds after which a connection is closed instead of being returned to the pool. A
+   * non-positive value means no limit.
+   */
+  private long maxConnectionLifetimeMillis = 1800000;
+
+  /** Cache prepared statements per connection. */
+  private boolean poolPreparedStatements = true;
+
+  /** Maximum number of prepared statements cached per connection. */
+  private int maxOpenPreparedStatements = 100;
+
+  /**
+   * Seconds a borrowed connection may go unreturned before it is reported as leaked, with the
+   * stack trace of the borrower, and reclaimed by the evictor. Zero disables leak detection.
+   */
+  private int leakDetectionThresholdSeconds = 0;
+
+  public int getMaxTotal() {
+    return maxTotal;
+  }
+
+  public void setMaxTotal(int maxTotal) {
+    this.maxTotal = maxTotal;
+  }
+
+  public int getMaxIdle() {
+    return maxIdle;
+  }
+
+  public void setMaxIdle(int maxIdle) {
+    this.maxIdle = maxIdle;
+  }
+
+  public int getMinIdle() {
+    return minIdle;
+  }
+
+  public void setMinIdle(int minIdle) {
+    this.minIdle = minIdle;
+  }
+
+  public long getMaxWaitMillis() {
+    return maxWaitMillis;
+  }
+
+  public void setMaxWaitMillis(long maxWaitMillis) {
+    this.maxWaitMillis = maxWaitMillis;
+  }
+
+  public boolean isTestOnBorrow() {
+    return testOnBorrow;
+  }
+
+  public void setTestOnBorrow(boolean testOnBorrow) {
+    this.testOnBorrow = testOnBorrow;
+  }
+
+  public int getValidationTimeoutSeconds() {
+    return validationTimeoutSeconds;
+  }
+
+  public void setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+    this.validationTimeoutSeconds = validationTimeoutSeconds;
+  }
+
+  public long getTimeBetweenEvictionRunsMillis() {
+    return timeBetweenEvictionRunsMillis;
+  }
+
+  public void setTimeBetweenEvictionRunsMillis(long timeBetweenEvictionRunsMillis) {
+    this.timeBetweenEvictionRunsMillis = timeBetweenEvictionRunsMillis;
+  }
+
+  public long getMinEvictableIdleTimeMillis() {
+    return minEvictableIdleTimeMillis;
+  }
+
+  public void setMinEvictableIdleTimeMillis(long minEvictableIdleTimeMillis) {
+    this.minEvictableIdleTimeMillis = minEvictableIdleTimeMillis;
+  }
+
+  public long getMaxConnectionLifetimeMillis() {
+    return maxConnectionLifetimeMillis;
+  }
+
+  public void setMaxConnectionLifetimeMillis(long maxConnectionLifetimeMillis) {
+    this.maxConnectionLifetimeMillis = maxConnectionLifetimeMillis;
+  }
+
+  public boolean isPoolPreparedStatements() {
+    return poolPreparedStatements;
+  }
+
+  public void setPoolPreparedStatements(boolean poolPreparedStatements) {
+    this.poolPreparedStatements = poolPreparedStatements;
+  }
+
+  public int getMaxOpenPreparedStatements() {
+    return maxOpenPreparedStatements;
+  }
+
+  public void setMaxOpenPreparedStatements(int maxOpenPreparedStatements) {
+    this.maxOpenPreparedStatements = maxOpenPreparedStatements;
+  }
+
+  public int getLeakDetectionThresholdSeconds() {
+    return leakDetectionThresholdSeconds;
+  }
+
+  public void setLeakDetectionThresholdSeconds(int leakDetectionThresholdSeconds) {
+    this.leakDetectionThresholdSeconds = leakDetectionThresholdSeconds;
+  }
+}
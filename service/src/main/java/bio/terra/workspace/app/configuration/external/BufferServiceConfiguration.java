@@ -22,9 +22,14 @@ public class BufferServiceConfiguration {
   private String poolId;
   private String clientCredentialFilePath;
 
+  /** Connection pool and timeout settings for the shared HTTP client. */
+  private HttpClientConfiguration httpClient = new HttpClientConfiguration();
+
   private static final ImmutableList<String> BUFFER_SCOPES =
       ImmutableList.of("openid", "email", "profile");
 
+  private GoogleCredentials credentials;
+
   public boolean getEnabled() {
     return enabled;
   }
@@ -57,12 +62,28 @@ public class BufferServiceConfiguration {
     return clientCredentialFilePath;
   }
 
-  public String getAccessToken() throws IOException {
-    try (FileInputStream fileInputStream = new FileInputStream(clientCredentialFilePath)) {
-      GoogleCredentials credentials =
-          ServiceAccountCredentials.fromStream(fileInputStream).createScoped(BUFFER_SCOPES);
-      AccessToken token = credentials.refreshAccessToken();
-      return token.getTokenValue();
+  /**
+   * Return an access token for the Buffer Service client. The credentials are read once and the
+   * token is reused until it nears expiration, so consecutive calls send the same token and can
+   * share a cached API client.
+   */
+  public synchronized String getAccessToken() throws IOException {
+    if (credentials == null) {
+      try (FileInputStream fileInputStream = new FileInputStream(clientCredentialFilePath)) {
+        credentials =
+            ServiceAccountCredentials.fromStream(fileInputStream).createScoped(BUFFER_SCOPES);
+      }
     }
+    credentials.refreshIfExpired();
+    AccessToken token = credentials.getAccessToken();
+    return token.getTokenValue();
+  }
+
+  public HttpClientConfiguration getHttpClient() {
+    return httpClient;
+  }
+
+  public void setHttpClient(HttpClientConfiguration httpClient) {
+    this.httpClient = httpClient;
   }
 }
@@ -0,0 +1,46 @@
+package bio.terra.workspace.app.configuration.external;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties
+@ConfigurationProperties(prefix = "workspace.cloud-context-cache")
+public class CloudContextCacheConfiguration {
+  /** Whether to cache the GCP project id of each workspace's cloud context. */
+  private boolean enabled = true;
+
+  /** Maximum number of workspace to project id mappings held in the cache. */
+  private long maximumSize = 10000;
+
+  /**
+   * Seconds a mapping may be served from the cache. Changes are normally announced to every replica
+   * right away, so this only bounds staleness if a change notification is lost.
+   */
+  private int ttlSeconds = 600;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public long getMaximumSize() {
+    return maximumSize;
+  }
+
+  public void setMaximumSize(long maximumSize) {
+    this.maximumSize = maximumSize;
+  }
+
+  public int getTtlSeconds() {
+    return ttlSeconds;
+  }
+
+  public void setTtlSeconds(int ttlSeconds) {
+    this.ttlSeconds = ttlSeconds;
+  }
+}
@@ -12,6 +12,9 @@ public class DataRepoConfiguration {
   /** A map of valid names for data repo instances to their urls */
   private HashMap<String, String> instances;
 
+  /** Connection pool and timeout settings for the shared HTTP client. */
+  private HttpClientConfiguration httpClient = new HttpClientConfiguration();
+
   public HashMap<String, String> getInstances() {
     return instances;
   }
@@ -19,4 +22,12 @@ public class DataRepoConfiguration {
   public void setInstances(HashMap<String, String> instances) {
     this.instances = instances;
   }
+
+  public HttpClientConfiguration getHttpClient() {
+    return httpClient;
+  }
+
+  public void setHttpClient(HttpClientConfiguration httpClient) {
+    this.httpClient = httpClient;
+  }
 }
@@ -0,0 +1,65 @@
+package bio.terra.workspace.app.configuration.external;
+
+/**
+ * Connection pool and timeout settings for the shared HTTP client of a downstream service. Nested
+ * under the configuration of each service that WSM calls through a generated client.
+ */
+public class HttpClientConfiguration {
+  /** Maximum number of idle connections kept open to the service by OkHttp-based clients. */
+  private int maxIdleConnections = 20;
+
+  /**
+   * Maximum number of connections, in use and idle, Jersey-based clients open to the service.
+   * Requests beyond this wait for a connection to be returned to the pool.
+   */
+  private int maxConnections = 50;
+
+  /** Seconds an idle connection is kept open before it is evicted from the pool. */
+  private int keepAliveSeconds = 300;
+
+  /** Seconds to wait when opening a new connection. */
+  private int connectTimeoutSeconds = 10;
+
+  /** Seconds to wait for data on an open connection. */
+  private int readTimeoutSeconds = 60;
+
+  public int getMaxIdleConnections() {
+    return maxIdleConnections;
+  }
+
+  public void setMaxIdleConnections(int maxIdleConnections) {
+    this.maxIdleConnections = maxIdleConnections;
+  }
+
+  public int getMaxConnections() {
+    return maxConnections;
+  }
+
+  public void setMaxConnections(int maxConnections) {
+    this.maxConnections = maxConnections;
+  }
+
+  public int getKeepAliveSeconds() {
+    return keepAliveSeconds;
+  }
+
+  public void setKeepAliveSeconds(int keepAliveSeconds) {
+    this.keepAliveSeconds = keepAliveSeconds;
+  }
+
+  public int getConnectTimeoutSeconds() {
+    return connectTimeoutSeconds;
+  }
+
+  public void setConnectTimeoutSeconds(int connectTimeoutSeconds) {
+    this.connectTimeoutSeconds = connectTimeoutSeconds;
+  }
+
+  public int getReadTimeoutSeconds() {
+    return readTimeoutSeconds;
+  }
+
+  public void setReadTimeoutSeconds(int readTimeoutSeconds) {
+    this.readTimeoutSeconds = readTimeoutSeconds;
+  }
+}
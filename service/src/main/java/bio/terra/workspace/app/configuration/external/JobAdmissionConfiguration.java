@@ -0,0 +1,95 @@
+package bio.terra.workspace.app.configuration.external;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties
+@ConfigurationProperties(prefix = "workspace.job.admission")
+public class JobAdmissionConfiguration {
+  /** Whether to limit how many flights API requests may start in this replica. */
+  private boolean enabled = true;
+
+  /**
+   * Maximum number of admitted flights running at once in this replica. Normally the same as
+   * Stairway's max-parallel-flights, so that admitted flights are never left waiting for a slot.
+   */
+  private int maxActiveFlights = 50;
+
+  /** Maximum number of admitted flights one user may have running at once in this replica. */
+  private int maxActiveFlightsPerUser = 10;
+
+  /**
+   * Maximum number of admitted flights of a flight class running at once in this replica, keyed by
+   * the class's simple name. Classes not listed are only bound by the other limits.
+   */
+  private Map<String, Integer> maxActiveFlightsPerClass = new HashMap<>();
+
+  /** Maximum number of submissions waiting for a slot. Beyond it, submissions are refused. */
+  private int maxQueuedSubmissions = 100;
+
+  /** Milliseconds a submission waits for a slot before it is refused. */
+  private long queueTimeoutMillis = 5000;
+
+  /** Seconds a refused client is told to wait before retrying. */
+  private int retryAfterSeconds = 10;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int getMaxActiveFlights() {
+    return maxActiveFlights;
+  }
+
+  public void setMaxActiveFlights(int maxActiveFlights) {
+    this.maxActiveFlights = maxActiveFlights;
+  }
+
+  public int getMaxActiveFlightsPerUser() {
+    return maxActiveFlightsPerUser;
+  }
+
+  public void setMaxActiveFlightsPerUser(int maxActiveFlightsPerUser) {
+    this.maxActiveFlightsPerUser = maxActiveFlightsPerUser;
+  }
+
+  public Map<String, Integer> getMaxActiveFlightsPerClass() {
+    return maxActiveFlightsPerClass;
+  }
+
+  public void setMaxActiveFlightsPerClass(Map<String, Integer> maxActiveFlightsPerClass) {
+    this.maxActiveFlightsPerClass = maxActiveFlightsPerClass;
+  }
+
+  public int getMaxQueuedSubmissions() {
+    return maxQueuedSubmissions;
+  }
+
+  public void setMaxQueuedSubmissions(int maxQueuedSubmissions) {
+    this.maxQueuedSubmissions = maxQueuedSubmissions;
+  }
+
+  public long getQueueTimeoutMillis() {
+    return queueTimeoutMillis;
+  }
+
+  public void setQueueTimeoutMillis(long queueTimeoutMillis) {
+    this.queueTimeoutMillis = queueTimeoutMillis;
+  }
+
+  public int getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+
+  public void setRetryAfterSeconds(int retryAfterSeconds) {
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+}
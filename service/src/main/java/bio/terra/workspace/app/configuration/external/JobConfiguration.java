@@ -1,5 +1,6 @@
 package bio.terra.workspace.app.configuration.external;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
@@ -8,12 +9,37 @@ import org.springframework.context.annotation.Configuration;
 @EnableConfigurationProperties
 @ConfigurationProperties(prefix = "workspace.job")
 public class JobConfiguration {
-  /** Number of threads to keep available */
+  /** Number of threads checking the state of flights being waited on */
   private int maxThreads;
   /** Timeout in seconds */
   private int timeoutSeconds;
-  /** Polling interval in seconds */
+  /**
+   * Interval in seconds for polling the state of a flight being waited on. Waiters are normally
+   * woken by a completion notification; polling is only the fallback for missed notifications, so
+   * this should be long enough that idle waiters put little load on the Stairway database.
+   */
   private int pollingIntervalSeconds;
+  /**
+   * Maximum number of API requests waiting for their flight without holding a servlet thread.
+   * Requests beyond this are refused before their flight is submitted.
+   */
+  private int maxWaitingRequests;
+  /**
+   * Number of threads running the branches of parallel step groups, shared by all flights. Branches
+   * beyond this wait for a thread.
+   */
+  private int parallelStepThreads;
+  /** Maximum number of finished flights whose state and result are cached. */
+  private long completedJobCacheMaximumSize;
+  /** Seconds a finished flight's state and result are cached after they are first read. */
+  private int completedJobCacheTtlSeconds;
+  /**
+   * How long the progress reported by a job that did not succeed is kept after its last update.
+   * Set to Stairway's retention of finished flights, so progress lasts as long as its job.
+   */
+  private Duration progressRetention;
+  /** How often progress older than the retention is deleted. */
+  private Duration progressRetentionCheckInterval;
   /** For identifying the application to SAM */
   private String resourceId;
 
@@ -33,6 +59,14 @@ public class JobConfiguration {
     this.pollingIntervalSeconds = pollingIntervalSeconds;
   }
 
+  public int getMaxWaitingRequests() {
+    return maxWaitingRequests;
+  }
+
+  public void setMaxWaitingRequests(int maxWaitingRequests) {
+    this.maxWaitingRequests = maxWaitingRequests;
+  }
+
   public int getMaxThreads() {
     return maxThreads;
   }
@@ -41,6 +75,30 @@ public class JobConfiguration {
     this.maxThreads = maxThreads;
   }
 
+  public int getParallelStepThreads() {
+    return parallelStepThreads;
+  }
+
+  public void setParallelStepThreads(int parallelStepThreads) {
+    this.parallelStepThreads = parallelStepThreads;
+  }
+
+  public long getCompletedJobCacheMaximumSize() {
+    return completedJobCacheMaximumSize;
+  }
+
+  public void setCompletedJobCacheMaximumSize(long completedJobCacheMaximumSize) {
+    this.completedJobCacheMaximumSize = completedJobCacheMaximumSize;
+  }
+
+  public int getCompletedJobCacheTtlSeconds() {
+    return completedJobCacheTtlSeconds;
+  }
+
+  public void setCompletedJobCacheTtlSeconds(int completedJobCacheTtlSeconds) {
+    this.completedJobCacheTtlSeconds = completedJobCacheTtlSeconds;
+  }
+
   public String getResourceId() {
     return resourceId;
   }
@@ -48,4 +106,20 @@ public class JobConfiguration {
   public void setResourceId(String resourceId) {
     this.resourceId = resourceId;
   }
+
+  public Duration getProgressRetention() {
+    return progressRetention;
+  }
+
+  public void setProgressRetention(Duration progressRetention) {
+    this.progressRetention = progressRetention;
+  }
+
+  public Duration getProgressRetentionCheckInterval() {
+    return progressRetentionCheckInterval;
+  }
+
+  public void setProgressRetentionCheckInterval(Duration progressRetentionCheckInterval) {
+    this.progressRetentionCheckInterval = progressRetentionCheckInterval;
+  }
 }
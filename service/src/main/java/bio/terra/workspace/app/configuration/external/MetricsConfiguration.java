@@ -0,0 +1,49 @@
+package bio.terra.workspace.app.configuration.external;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties
+@ConfigurationProperties(prefix = "workspace.metrics")
+public class MetricsConfiguration {
+  /**
+   * Whether to export the OpenCensus metrics recorded by the service to Stackdriver (Cloud
+   * Monitoring). When disabled, metrics are still recorded but never leave the process.
+   */
+  private boolean exportEnabled;
+
+  /**
+   * Google project to export metrics to. If not set, the project of the environment the service
+   * runs in is used.
+   */
+  private String projectId;
+
+  /** Interval in seconds at which recorded metrics are exported. */
+  private int exportIntervalSeconds;
+
+  public boolean isExportEnabled() {
+    return exportEnabled;
+  }
+
+  public void setExportEnabled(boolean exportEnabled) {
+    this.exportEnabled = exportEnabled;
+  }
+
+  public String getProjectId() {
+    return projectId;
+  }
+
+  public void setProjectId(String projectId) {
+    this.projectId = projectId;
+  }
+
+  public int getExportIntervalSeconds() {
+    return exportIntervalSeconds;
+  }
+
+  public void setExportIntervalSeconds(int exportIntervalSeconds) {
+    this.exportIntervalSeconds = exportIntervalSeconds;
+  }
+}
@@ -11,6 +11,37 @@ public class SamConfiguration {
   /** URL of the SAM instance */
   private String basePath;
 
+  /** Whether to cache the results of Sam authorization checks. */
+  private boolean authzCacheEnabled = true;
+
+  /** Maximum number of authorization decisions held in the cache. */
+  private long authzCacheMaximumSize = 10000;
+
+  /**
+   * Seconds a positive (authorized) decision may be served from the cache. Cache invalidation is
+   * local to a replica, so this is how long other replicas may keep honoring a revoked permission.
+   * Capped at 60.
+   */
+  private int authzCachePositiveTtlSeconds = 10;
+
+  /**
+   * Seconds a negative (unauthorized) decision may be served from the cache: how long other
+   * replicas may keep refusing a new grant. Capped at 60.
+   */
+  private int authzCacheNegativeTtlSeconds = 5;
+
+  /** Maximum number of token to identity mappings held in the identity cache. */
+  private long identityCacheMaximumSize = 10000;
+
+  /**
+   * Upper bound in seconds on how long a token's identity is cached. Entries for tokens that carry
+   * their own expiration are dropped when the token expires, if that is sooner.
+   */
+  private int identityCacheMaximumTtlSeconds = 3600;
+
+  /** Connection pool and timeout settings for the shared HTTP client. */
+  private HttpClientConfiguration httpClient = new HttpClientConfiguration();
+
   public String getBasePath() {
     return basePath;
   }
@@ -18,4 +49,60 @@ public class SamConfiguration {
   public void setBasePath(String basePath) {
     this.basePath = basePath;
   }
+
+  public boolean isAuthzCacheEnabled() {
+    return authzCacheEnabled;
+  }
+
+  public void setAuthzCacheEnabled(boolean authzCacheEnabled) {
+    this.authzCacheEnabled = authzCacheEnabled;
+  }
+
+  public long getAuthzCacheMaximumSize() {
+    return authzCacheMaximumSize;
+  }
+
+  public void setAuthzCacheMaximumSize(long authzCacheMaximumSize) {
+    this.authzCacheMaximumSize = authzCacheMaximumSize;
+  }
+
+  public int getAuthzCachePositiveTtlSeconds() {
+    return authzCachePositiveTtlSeconds;
+  }
+
+  public void setAuthzCachePositiveTtlSeconds(int authzCachePositiveTtlSeconds) {
+    this.authzCachePositiveTtlSeconds = authzCachePositiveTtlSeconds;
+  }
+
+  public int getAuthzCacheNegativeTtlSeconds() {
+    return authzCacheNegativeTtlSeconds;
+  }
+
+  public void setAuthzCacheNegativeTtlSeconds(int authzCacheNegativeTtlSeconds) {
+    this.authzCacheNegativeTtlSeconds = authzCacheNegativeTtlSeconds;
+  }
+
+  public long getIdentityCacheMaximumSize() {
+    return identityCacheMaximumSize;
+  }
+
+  public void setIdentityCacheMaximumSize(long identityCacheMaximumSize) {
+    this.identityCacheMaximumSize = identityCacheMaximumSize;
+  }
+
+  public int getIdentityCacheMaximumTtlSeconds() {
+    return identityCacheMaximumTtlSeconds;
+  }
+
+  public void setIdentityCacheMaximumTtlSeconds(int identityCacheMaximumTtlSeconds) {
+    this.identityCacheMaximumTtlSeconds = identityCacheMaximumTtlSeconds;
+  }
+
+  public HttpClientConfiguration getHttpClient() {
+    return httpClient;
+  }
+
+  public void setHttpClient(HttpClientConfiguration httpClient) {
+    this.httpClient = httpClient;
+  }
 }
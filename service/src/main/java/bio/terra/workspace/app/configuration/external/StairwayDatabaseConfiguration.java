@@ -17,6 +17,10 @@ public class StairwayDatabaseConfiguration extends BaseDatabaseConfiguration {
    */
   private boolean forceClean;
 
+  public StairwayDatabaseConfiguration() {
+    super("stairway");
+  }
+
   public boolean getMigrateUpgrade() {
     return migrateUpgrade;
   }
@@ -0,0 +1,158 @@
+package bio.terra.workspace.app.configuration.external;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties
+@ConfigurationProperties(prefix = "workspace.clone")
+public class WorkspaceCloneConfiguration {
+  /**
+   * Maximum number of referenced resources one workspace clone clones at once. Each takes a
+   * Stairway thread while it runs, so together with the controlled limit this should leave room in
+   * Stairway's max-parallel-flights for the clones admitted at once. When references are cloned in
+   * one batch, this bounds how many of their access checks run at once instead.
+   */
+  private int maxConcurrentReferenceClones = 8;
+
+  /** Maximum number of controlled resources one workspace clone clones at once. */
+  private int maxConcurrentControlledClones = 4;
+
+  /**
+   * Whether a workspace clone clones all its referenced resources in one step and one database
+   * transaction, instead of in a sub-flight per reference.
+   */
+  private boolean batchReferenceClones = true;
+
+  /**
+   * Number of BigQuery tables a dataset clone lists and starts copy jobs for in one batch request.
+   * Keep this well under BigQuery's per-user API request rate and per-project concurrent job
+   * quotas, since each table in the batch counts against both.
+   */
+  private int bigQueryCopyJobBatchSize = 50;
+
+  /**
+   * Whether dataset clones may create BigQuery table clones, which share the source's storage and
+   * take about the same time whatever the table's size, instead of copying each table. A clone
+   * request asks for table clones with its tableClones option, since a clone bills and behaves
+   * differently from a copy; this turns them off for every request.
+   */
+  private boolean bigQueryTableClones = true;
+
+  /**
+   * Number of threads measuring resources for clone plans, shared by all plans. Each lists one
+   * bucket directory or dataset at a time.
+   */
+  private int planListingParallelism = 8;
+
+  /**
+   * Maximum number of objects a clone plan lists in one bucket. Past this, the plan extrapolates
+   * the bucket's contents from the directories it did list.
+   */
+  private long planMaxListedObjects = 100_000;
+
+  /**
+   * How long a clone plan spends measuring resources. Resources not measured by then are planned
+   * from what was listed so far, so that the plan request returns in bounded time.
+   */
+  private Duration planTimeout = Duration.ofSeconds(30);
+
+  /**
+   * Typical copy rates, from which a clone plan projects how long copying a resource's contents
+   * takes. A bucket copy is limited by whichever of its bytes and objects takes longer.
+   */
+  private long planTransferBytesPerSecond = 100L * 1024 * 1024;
+
+  private long planTransferObjectsPerSecond = 200;
+  private long planTableCopyBytesPerSecond = 1024L * 1024 * 1024;
+
+  public int getMaxConcurrentReferenceClones() {
+    return maxConcurrentReferenceClones;
+  }
+
+  public void setMaxConcurrentReferenceClones(int maxConcurrentReferenceClones) {
+    this.maxConcurrentReferenceClones = maxConcurrentReferenceClones;
+  }
+
+  public int getMaxConcurrentControlledClones() {
+    return maxConcurrentControlledClones;
+  }
+
+  public void setMaxConcurrentControlledClones(int maxConcurrentControlledClones) {
+    this.maxConcurrentControlledClones = maxConcurrentControlledClones;
+  }
+
+  public boolean isBatchReferenceClones() {
+    return batchReferenceClones;
+  }
+
+  public void setBatchReferenceClones(boolean batchReferenceClones) {
+    this.batchReferenceClones = batchReferenceClones;
+  }
+
+  public int getBigQueryCopyJobBatchSize() {
+    return bigQueryCopyJobBatchSize;
+  }
+
+  public void setBigQueryCopyJobBatchSize(int bigQueryCopyJobBatchSize) {
+    this.bigQueryCopyJobBatchSize = bigQueryCopyJobBatchSize;
+  }
+
+  public boolean isBigQueryTableClones() {
+    return bigQueryTableClones;
+  }
+
+  public void setBigQueryTableClones(boolean bigQueryTableClones) {
+    this.bigQueryTableClones = bigQueryTableClones;
+  }
+
+  public int getPlanListingParallelism() {
+    return planListingParallelism;
+  }
+
+  public void setPlanListingParallelism(int planListingParallelism) {
+    this.planListingParallelism = planListingParallelism;
+  }
+
+  public long getPlanMaxListedObjects() {
+    return planMaxListedObjects;
+  }
+
+  public void setPlanMaxListedObjects(long planMaxListedObjects) {
+    this.planMaxListedObjects = planMaxListedObjects;
+  }
+
+  public Duration getPlanTimeout() {
+    return planTimeout;
+  }
+
+  public void setPlanTimeout(Duration planTimeout) {
+    this.planTimeout = planTimeout;
+  }
+
+  public long getPlanTransferBytesPerSecond() {
+    return planTransferBytesPerSecond;
+  }
+
+  public void setPlanTransferBytesPerSecond(long planTransferBytesPerSecond) {
+    this.planTransferBytesPerSecond = planTransferBytesPerSecond;
+  }
+
+  public long getPlanTransferObjectsPerSecond() {
+    return planTransferObjectsPerSecond;
+  }
+
+  public void setPlanTransferObjectsPerSecond(long planTransferObjectsPerSecond) {
+    this.planTransferObjectsPerSecond = planTransferObjectsPerSecond;
+  }
+
+  public long getPlanTableCopyBytesPerSecond() {
+    return planTableCopyBytesPerSecond;
+  }
+
+  public void setPlanTableCopyBytesPerSecond(long planTableCopyBytesPerSecond) {
+    this.planTableCopyBytesPerSecond = planTableCopyBytesPerSecond;
+  }
+}
@@ -25,6 +25,10 @@ public class WorkspaceDatabaseConfiguration extends BaseDatabaseConfiguration {
   /** If true, primary database will have changesets applied */
   private boolean upgradeOnStart;
 
+  public WorkspaceDatabaseConfiguration() {
+    super("workspace");
+  }
+
   public boolean isInitializeOnStart() {
     return initializeOnStart;
   }
@@ -1,12 +1,17 @@
 package bio.terra.workspace.app.configuration.spring;
 
 import bio.terra.workspace.app.StartupInitializer;
+import bio.terra.workspace.app.configuration.external.JobConfiguration;
+import bio.terra.workspace.app.configuration.external.WorkspaceCloneConfiguration;
 import bio.terra.workspace.app.configuration.external.WorkspaceDatabaseConfiguration;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -31,6 +36,25 @@ public class BeanConfig {
         .setDefaultPropertyInclusion(Include.NON_ABSENT);
   }
 
+  /**
+   * Runs the branches of {@link bio.terra.workspace.common.utils.ParallelStepGroup}s. Interrupted
+   * on shutdown, so that flights stop as they do when Stairway's own threads are.
+   */
+  @Bean(name = "parallelStepExecutor", destroyMethod = "shutdownNow")
+  public ExecutorService parallelStepExecutor(JobConfiguration jobConfig) {
+    return Executors.newFixedThreadPool(
+        jobConfig.getParallelStepThreads(),
+        new ThreadFactoryBuilder().setNameFormat("parallel-step-%d").setDaemon(true).build());
+  }
+
+  /** Measures resources for clone plans. */
+  @Bean(name = "clonePlanExecutor", destroyMethod = "shutdownNow")
+  public ExecutorService clonePlanExecutor(WorkspaceCloneConfiguration cloneConfig) {
+    return Executors.newFixedThreadPool(
+        Math.max(1, cloneConfig.getPlanListingParallelism()),
+        new ThreadFactoryBuilder().setNameFormat("clone-plan-%d").setDaemon(true).build());
+  }
+
   // This is a "magic bean": It supplies a method that Spring calls after the application is setup,
   // but before the port is opened for business. That lets us do database migration and stairway
   // initialization on a system that is otherwise fully configured. The rule of thumb is that all
@@ -1,5 +1,7 @@
 package bio.terra.workspace.app.controller;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
 import bio.terra.common.exception.BadRequestException;
 import bio.terra.common.exception.ValidationException;
 import bio.terra.workspace.common.utils.ControllerUtils;
@@ -54,6 +56,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletRequest;
@@ -93,7 +96,7 @@ public class ControlledGcpResourceApiController implements ControlledGcpResource
   }
 
   @Override
-  public ResponseEntity<ApiCreatedControlledGcpGcsBucket> createBucket(
+  public CompletableFuture<ResponseEntity<ApiCreatedControlledGcpGcsBucket>> createBucket(
       UUID workspaceId, @Valid ApiCreateControlledGcpGcsBucketRequestBody body) {
     final AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
 
@@ -113,18 +116,20 @@ public class ControlledGcpResourceApiController implements ControlledGcpResource
 
     List<ControlledResourceIamRole> privateRoles = privateRolesFromBody(body.getCommon());
 
-    final ControlledGcsBucketResource createdBucket =
-        controlledResourceService.createBucket(
-            resource, body.getGcsBucket(), privateRoles, userRequest);
-    var response =
-        new ApiCreatedControlledGcpGcsBucket()
-            .resourceId(createdBucket.getResourceId())
-            .gcpBucket(createdBucket.toApiResource());
-    return new ResponseEntity<>(response, HttpStatus.OK);
+    return controlledResourceService
+        .createBucketDeferred(resource, body.getGcsBucket(), privateRoles, userRequest)
+        .thenApply(
+            createdBucket -> {
+              var response =
+                  new ApiCreatedControlledGcpGcsBucket()
+                      .resourceId(createdBucket.getResourceId())
+                      .gcpBucket(createdBucket.toApiResource());
+              return new ResponseEntity<>(response, HttpStatus.OK);
+            });
   }
 
   @Override
-  public ResponseEntity<ApiDeleteControlledGcpGcsBucketResult> deleteBucket(
+  public CompletableFuture<ResponseEntity<ApiDeleteControlledGcpGcsBucketResult>> deleteBucket(
       UUID workspaceId, UUID resourceId, @Valid ApiDeleteControlledGcpGcsBucketRequest body) {
     final AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     final ApiJobControl jobControl = body.getJobControl();
@@ -137,14 +142,14 @@ public class ControlledGcpResourceApiController implements ControlledGcpResource
             resourceId,
             ControllerUtils.getAsyncResultEndpoint(request, jobControl.getId(), "delete-result"),
             userRequest);
-    return getDeleteResult(jobId, userRequest);
+    return completedFuture(getDeleteResult(jobId, userRequest));
   }
 
   @Override
-  public ResponseEntity<ApiDeleteControlledGcpGcsBucketResult> getDeleteBucketResult(
+  public CompletableFuture<ResponseEntity<ApiDeleteControlledGcpGcsBucketResult>> getDeleteBucketResult(
       UUID workspaceId, String jobId) {
     final AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
-    return getDeleteResult(jobId, userRequest);
+    return completedFuture(getDeleteResult(jobId, userRequest));
   }
 
   private ResponseEntity<ApiDeleteControlledGcpGcsBucketResult> getDeleteResult(
@@ -160,14 +165,15 @@ public class ControlledGcpResourceApiController implements ControlledGcpResource
   }
 
   @Override
-  public ResponseEntity<ApiGcpGcsBucketResource> getBucket(UUID workspaceId, UUID resourceId) {
+  public CompletableFuture<ResponseEntity<ApiGcpGcsBucketResource>> getBucket(
+      UUID workspaceId, UUID resourceId) {
     final AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     ControlledResource controlledResource =
         controlledResourceService.getControlledResource(workspaceId, resourceId, userRequest);
     try {
       ApiGcpGcsBucketResource response =
           controlledResource.castToGcsBucketResource().toApiResource();
-      return new ResponseEntity<>(response, HttpStatus.OK);
+      return completedFuture(new ResponseEntity<>(response, HttpStatus.OK));
     } catch (InvalidMetadataException ex) {
       throw new BadRequestException(
           String.format(
@@ -177,7 +183,7 @@ public class ControlledGcpResourceApiController implements ControlledGcpResource
   }
 
   @Override
-  public ResponseEntity<ApiGcpGcsBucketResource> updateGcsBucket(
+  public CompletableFuture<ResponseEntity<ApiGcpGcsBucketResource>> updateGcsBucket(
       UUID workspaceId, UUID resourceId, @Valid ApiUpdateControlledGcpGcsBucketRequestBody body) {
     logger.info("Updating bucket resourceId {} workspaceId {}", resourceId, workspaceId);
     final AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
@@ -196,12 +202,16 @@ public class ControlledGcpResourceApiController implements ControlledGcpResource
         body.getDescription());
 
     // Retrieve and cast response to ApiGcpGcsBucketResource
-    return getControlledResourceAsResponseEntity(
-        workspaceId, resourceId, userRequest, r -> r.castToGcsBucketResource().toApiResource());
+    return completedFuture(
+        getControlledResourceAsResponseEntity(
+            workspaceId,
+            resourceId,
+            userRequest,
+            r -> r.castToGcsBucketResource().toApiResource()));
   }
 
   @Override
-  public ResponseEntity<ApiCloneControlledGcpGcsBucketResult> cloneGcsBucket(
+  public CompletableFuture<ResponseEntity<ApiCloneControlledGcpGcsBucketResult>> cloneGcsBucket(
       UUID workspaceId, UUID resourceId, @Valid ApiCloneControlledGcpGcsBucketRequest body) {
     logger.info("Cloning GCS bucket resourceId {} workspaceId {}", resourceId, workspaceId);
 
@@ -217,11 +227,12 @@ public class ControlledGcpResourceApiController implements ControlledGcpResource
             body.getDescription(),
             body.getBucketName(),
             body.getLocation(),
-            body.getCloningInstructions());
+            body.getCloningInstructions(),
+            Boolean.TRUE.equals(body.isTableClones()));
     final ApiCloneControlledGcpGcsBucketResult result =
         fetchCloneGcsBucketResult(jobId, userRequest);
-    return new ResponseEntity<>(
-        result, ControllerUtils.getAsyncResponseCode(result.getJobReport()));
+    return completedFuture(
+        new ResponseEntity<>(result, ControllerUtils.getAsyncResponseCode(result.getJobReport())));
   }
 
   private ApiCloneControlledGcpGcsBucketResult fetchCloneGcsBucketResult(
@@ -236,29 +247,30 @@ public class ControlledGcpResourceApiController implements ControlledGcpResource
   }
 
   @Override
-  public ResponseEntity<ApiCloneControlledGcpGcsBucketResult> getCloneGcsBucketResult(
+  public CompletableFuture<ResponseEntity<ApiCloneControlledGcpGcsBucketResult>> getCloneGcsBucketResult(
       UUID workspaceId, String jobId) {
     // TODO: validate correct workspace ID. PF-859
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     ApiCloneControlledGcpGcsBucketResult result = fetchCloneGcsBucketResult(jobId, userRequest);
-    return new ResponseEntity<>(
-        result, ControllerUtils.getAsyncResponseCode(result.getJobReport()));
+    return completedFuture(
+        new ResponseEntity<>(result, ControllerUtils.getAsyncResponseCode(result.getJobReport())));
   }
 
   @Override
-  public ResponseEntity<ApiGcpBigQueryDatasetResource> getBigQueryDataset(
+  public CompletableFuture<ResponseEntity<ApiGcpBigQueryDatasetResource>> getBigQueryDataset(
       UUID workspaceId, UUID resourceId) {
     final AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     String projectId = workspaceService.getRequiredGcpProject(workspaceId);
-    return getControlledResourceAsResponseEntity(
-        workspaceId,
-        resourceId,
-        userRequest,
-        r -> r.castToBigQueryDatasetResource().toApiResource(projectId));
+    return completedFuture(
+        getControlledResourceAsResponseEntity(
+            workspaceId,
+            resourceId,
+            userRequest,
+            r -> r.castToBigQueryDatasetResource().toApiResource(projectId)));
   }
 
   @Override
-  public ResponseEntity<ApiGcpBigQueryDatasetResource> updateBigQueryDataset(
+  public CompletableFuture<ResponseEntity<ApiGcpBigQueryDatasetResource>> updateBigQueryDataset(
       UUID workspaceId, UUID resourceId, ApiUpdateControlledGcpBigQueryDatasetRequestBody body) {
     logger.info("Updating dataset resourceId {} workspaceId {}", resourceId, workspaceId);
     final AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
@@ -279,11 +291,12 @@ public class ControlledGcpResourceApiController implements ControlledGcpResource
 
     // Retrieve and cast response to UpdateControlledGcpBigQueryDatasetResponse
     String projectId = workspaceService.getRequiredGcpProject(workspaceId);
-    return getControlledResourceAsResponseEntity(
-        workspaceId,
-        resourceId,
-        userRequest,
-        r -> r.castToBigQueryDatasetResource().toApiResource(projectId));
+    return completedFuture(
+        getControlledResourceAsResponseEntity(
+            workspaceId,
+            resourceId,
+            userRequest,
+            r -> r.castToBigQueryDatasetResource().toApiResource(projectId)));
   }
 
   /**
@@ -316,7 +329,7 @@ public class ControlledGcpResourceApiController implements ControlledGcpResource
   }
 
   @Override
-  public ResponseEntity<ApiCreatedControlledGcpBigQueryDataset> createBigQueryDataset(
+  public CompletableFuture<ResponseEntity<ApiCreatedControlledGcpBigQueryDataset>> createBigQueryDataset(
       UUID workspaceId, ApiCreateControlledGcpBigQueryDatasetRequestBody body) {
     final AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
 
@@ -338,30 +351,32 @@ public class ControlledGcpResourceApiController implements ControlledGcpResource
 
     List<ControlledResourceIamRole> privateRoles = privateRolesFromBody(body.getCommon());
 
-    final ControlledBigQueryDatasetResource createdDataset =
-        controlledResourceService
-            .createBigQueryDataset(resource, body.getDataset(), privateRoles, userRequest)
-            .castToBigQueryDatasetResource();
-    var response =
-        new ApiCreatedControlledGcpBigQueryDataset()
-            .resourceId(createdDataset.getResourceId())
-            .bigQueryDataset(createdDataset.toApiResource(projectId));
-    return new ResponseEntity<>(response, HttpStatus.OK);
+    return controlledResourceService
+        .createBigQueryDatasetDeferred(resource, body.getDataset(), privateRoles, userRequest)
+        .thenApply(
+            createdDataset -> {
+              var response =
+                  new ApiCreatedControlledGcpBigQueryDataset()
+                      .resourceId(createdDataset.getResourceId())
+                      .bigQueryDataset(createdDataset.toApiResource(projectId));
+              return new ResponseEntity<>(response, HttpStatus.OK);
+            });
   }
 
   @Override
-  public ResponseEntity<Void> deleteBigQueryDataset(UUID workspaceId, UUID resourceId) {
+  public CompletableFuture<ResponseEntity<Void>> deleteBigQueryDataset(
+      UUID workspaceId, UUID resourceId) {
     final AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     logger.info(
         "Deleting controlled BQ dataset resource {} in workspace {}",
         resourceId.toString(),
         workspaceId.toString());
     controlledResourceService.deleteControlledResourceSync(workspaceId, resourceId, userRequest);
-    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    return completedFuture(new ResponseEntity<>(HttpStatus.NO_CONTENT));
   }
 
   @Override
-  public ResponseEntity<ApiCreatedControlledGcpAiNotebookInstanceResult> createAiNotebookInstance(
+  public CompletableFuture<ResponseEntity<ApiCreatedControlledGcpAiNotebookInstanceResult>> createAiNotebookInstance(
       UUID workspaceId, @Valid ApiCreateControlledGcpAiNotebookInstanceRequestBody body) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
 
@@ -396,18 +411,19 @@ public class ControlledGcpResourceApiController implements ControlledGcpResource
 
     ApiCreatedControlledGcpAiNotebookInstanceResult result =
         fetchNotebookInstanceCreateResult(jobId, userRequest);
-    return new ResponseEntity<>(
-        result, ControllerUtils.getAsyncResponseCode((result.getJobReport())));
+    return completedFuture(
+        new ResponseEntity<>(
+            result, ControllerUtils.getAsyncResponseCode((result.getJobReport()))));
   }
 
   @Override
-  public ResponseEntity<ApiCreatedControlledGcpAiNotebookInstanceResult>
+  public CompletableFuture<ResponseEntity<ApiCreatedControlledGcpAiNotebookInstanceResult>>
       getCreateAiNotebookInstanceResult(UUID workspaceId, String jobId) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     ApiCreatedControlledGcpAiNotebookInstanceResult result =
         fetchNotebookInstanceCreateResult(jobId, userRequest);
-    return new ResponseEntity<>(
-        result, ControllerUtils.getAsyncResponseCode(result.getJobReport()));
+    return completedFuture(
+        new ResponseEntity<>(result, ControllerUtils.getAsyncResponseCode(result.getJobReport())));
   }
 
   private ApiCreatedControlledGcpAiNotebookInstanceResult fetchNotebookInstanceCreateResult(
@@ -429,7 +445,7 @@ public class ControlledGcpResourceApiController implements ControlledGcpResource
   }
 
   @Override
-  public ResponseEntity<ApiDeleteControlledGcpAiNotebookInstanceResult> deleteAiNotebookInstance(
+  public CompletableFuture<ResponseEntity<ApiDeleteControlledGcpAiNotebookInstanceResult>> deleteAiNotebookInstance(
       UUID workspaceId,
       UUID resourceId,
       @Valid ApiDeleteControlledGcpAiNotebookInstanceRequest body) {
@@ -448,18 +464,18 @@ public class ControlledGcpResourceApiController implements ControlledGcpResource
             userRequest);
     ApiDeleteControlledGcpAiNotebookInstanceResult result =
         fetchNotebookInstanceDeleteResult(jobId, userRequest);
-    return new ResponseEntity<>(
-        result, ControllerUtils.getAsyncResponseCode(result.getJobReport()));
+    return completedFuture(
+        new ResponseEntity<>(result, ControllerUtils.getAsyncResponseCode(result.getJobReport())));
   }
 
   @Override
-  public ResponseEntity<ApiDeleteControlledGcpAiNotebookInstanceResult>
+  public CompletableFuture<ResponseEntity<ApiDeleteControlledGcpAiNotebookInstanceResult>>
       getDeleteAiNotebookInstanceResult(UUID workspaceId, String jobId) {
     final AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     ApiDeleteControlledGcpAiNotebookInstanceResult result =
         fetchNotebookInstanceDeleteResult(jobId, userRequest);
-    return new ResponseEntity<>(
-        result, ControllerUtils.getAsyncResponseCode(result.getJobReport()));
+    return completedFuture(
+        new ResponseEntity<>(result, ControllerUtils.getAsyncResponseCode(result.getJobReport())));
   }
 
   private ApiDeleteControlledGcpAiNotebookInstanceResult fetchNotebookInstanceDeleteResult(
@@ -472,7 +488,7 @@ public class ControlledGcpResourceApiController implements ControlledGcpResource
   }
 
   @Override
-  public ResponseEntity<ApiGcpAiNotebookInstanceResource> getAiNotebookInstance(
+  public CompletableFuture<ResponseEntity<ApiGcpAiNotebookInstanceResource>> getAiNotebookInstance(
       UUID workspaceId, UUID resourceId) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     ControlledResource controlledResource =
@@ -482,7 +498,7 @@ public class ControlledGcpResourceApiController implements ControlledGcpResource
           controlledResource
               .castToAiNotebookInstanceResource()
               .toApiResource(workspaceService.getRequiredGcpProject(workspaceId));
-      return new ResponseEntity<>(response, HttpStatus.OK);
+      return completedFuture(new ResponseEntity<>(response, HttpStatus.OK));
     } catch (InvalidMetadataException ex) {
       throw new BadRequestException(
           String.format(
@@ -492,7 +508,7 @@ public class ControlledGcpResourceApiController implements ControlledGcpResource
   }
 
   @Override
-  public ResponseEntity<ApiCloneControlledGcpBigQueryDatasetResult> cloneBigQueryDataset(
+  public CompletableFuture<ResponseEntity<ApiCloneControlledGcpBigQueryDatasetResult>> cloneBigQueryDataset(
       UUID workspaceId, UUID resourceId, @Valid ApiCloneControlledGcpBigQueryDatasetRequest body) {
     final AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     final String jobId =
@@ -506,10 +522,11 @@ public class ControlledGcpResourceApiController implements ControlledGcpResource
             body.getDescription(),
             body.getDestinationDatasetName(),
             body.getLocation(),
-            body.getCloningInstructions());
+            body.getCloningInstructions(),
+            Boolean.TRUE.equals(body.isTableClones()));
     final ApiCloneControlledGcpBigQueryDatasetResult result =
         fetchCloneBigQueryDatasetResult(jobId, userRequest);
-    return new ResponseEntity<>(result, HttpStatus.OK);
+    return completedFuture(new ResponseEntity<>(result, HttpStatus.OK));
   }
 
   private ApiCloneControlledGcpBigQueryDatasetResult fetchCloneBigQueryDatasetResult(
@@ -524,14 +541,14 @@ public class ControlledGcpResourceApiController implements ControlledGcpResource
   }
 
   @Override
-  public ResponseEntity<ApiCloneControlledGcpBigQueryDatasetResult> getCloneBigQueryDatasetResult(
+  public CompletableFuture<ResponseEntity<ApiCloneControlledGcpBigQueryDatasetResult>> getCloneBigQueryDatasetResult(
       UUID workspaceId, String jobId) {
     // TODO: validate correct workspace ID. PF-859
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     ApiCloneControlledGcpBigQueryDatasetResult result =
         fetchCloneBigQueryDatasetResult(jobId, userRequest);
-    return new ResponseEntity<>(
-        result, ControllerUtils.getAsyncResponseCode(result.getJobReport()));
+    return completedFuture(
+        new ResponseEntity<>(result, ControllerUtils.getAsyncResponseCode(result.getJobReport())));
   }
 
   /**
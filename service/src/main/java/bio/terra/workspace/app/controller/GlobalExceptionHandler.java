@@ -2,10 +2,12 @@ package bio.terra.workspace.app.controller;
 
 import bio.terra.common.exception.ErrorReportException;
 import bio.terra.workspace.generated.model.ApiErrorReport;
+import bio.terra.workspace.service.job.exception.TooManyJobsException;
 import java.util.List;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -30,6 +32,20 @@ public class GlobalExceptionHandler {
     return buildApiErrorReport(ex, ex.getStatusCode(), ex.getCauses());
   }
 
+  // -- Too many jobs - tell the client when to retry
+  @ExceptionHandler(TooManyJobsException.class)
+  public ResponseEntity<ApiErrorReport> tooManyJobsHandler(TooManyJobsException ex) {
+    logger.warn("Job refused by admission control: {}", ex.getMessage());
+    ApiErrorReport errorReport =
+        new ApiErrorReport()
+            .message(ex.getMessage())
+            .statusCode(HttpStatus.TOO_MANY_REQUESTS.value())
+            .causes(ex.getCauses());
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(errorReport);
+  }
+
   // -- validation exceptions - we don't control the exception raised
   @ExceptionHandler({
     MethodArgumentNotValidException.class,
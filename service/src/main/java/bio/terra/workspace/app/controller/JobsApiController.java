@@ -1,10 +1,26 @@
 package bio.terra.workspace.app.controller;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+import bio.terra.common.exception.ValidationException;
+import bio.terra.stairway.Flight;
+import bio.terra.workspace.common.utils.ControllerValidationUtils;
+import bio.terra.workspace.common.utils.PageTokenUtils;
 import bio.terra.workspace.generated.controller.JobsApi;
 import bio.terra.workspace.generated.model.ApiJobReport;
+import bio.terra.workspace.generated.model.ApiJobReport.StatusEnum;
+import bio.terra.workspace.generated.model.ApiJobSummaryList;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequestFactory;
 import bio.terra.workspace.service.job.JobService;
+import bio.terra.workspace.service.job.JobSummary;
+import bio.terra.workspace.service.job.JobType;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -34,9 +50,69 @@ public class JobsApiController implements JobsApi {
   }
 
   @Override
-  public ResponseEntity<ApiJobReport> retrieveJob(@PathVariable("id") String id) {
+  public CompletableFuture<ResponseEntity<ApiJobSummaryList>> enumerateJobs(
+      Integer limit, String pageToken, String status, UUID workspaceId, String jobType) {
+    AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
+    ControllerValidationUtils.validatePaginationParams(0, limit);
+    StatusEnum statusFilter = null;
+    if (status != null) {
+      statusFilter = StatusEnum.fromValue(status);
+      if (statusFilter == null) {
+        throw new ValidationException("Invalid job status: " + status);
+      }
+    }
+    Class<? extends Flight> flightClassFilter = null;
+    if (jobType != null) {
+      JobType jobTypeFilter = JobType.fromValue(jobType);
+      if (jobTypeFilter == null) {
+        throw new ValidationException("Invalid job type: " + jobType);
+      }
+      flightClassFilter = jobTypeFilter.getFlightClass();
+    }
+
+    // The page starts after the (submit time, job id) of the previous page's last job.
+    Instant afterSubmitted = null;
+    String afterJobId = null;
+    if (pageToken != null) {
+      List<String> position = PageTokenUtils.decode(pageToken, 2);
+      try {
+        afterSubmitted = Instant.parse(position.get(0));
+      } catch (DateTimeParseException e) {
+        throw new ValidationException("Invalid page token: " + pageToken);
+      }
+      afterJobId = position.get(1);
+    }
+    List<JobSummary> jobs =
+        jobService.enumerateJobsAfter(
+            userRequest,
+            statusFilter,
+            flightClassFilter,
+            workspaceId,
+            afterSubmitted,
+            afterJobId,
+            limit);
+
+    String nextPageToken = null;
+    if (jobs.size() == limit) {
+      JobSummary last = jobs.get(limit - 1);
+      nextPageToken = PageTokenUtils.encode(last.getSubmitted().toString(), last.getJobId());
+    }
+    var response =
+        new ApiJobSummaryList()
+            .jobs(
+                jobs.stream()
+                    .map(jobService::mapJobSummaryToApiJobSummary)
+                    .collect(Collectors.toList()))
+            .pageToken(nextPageToken);
+    return completedFuture(new ResponseEntity<>(response, HttpStatus.OK));
+  }
+
+  @Override
+  public CompletableFuture<ResponseEntity<ApiJobReport>> retrieveJob(
+      @PathVariable("id") String id) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     ApiJobReport jobReport = jobService.retrieveJob(id, userRequest);
-    return new ResponseEntity<>(jobReport, HttpStatus.valueOf(jobReport.getStatusCode()));
+    return completedFuture(
+        new ResponseEntity<>(jobReport, HttpStatus.valueOf(jobReport.getStatusCode())));
   }
 }
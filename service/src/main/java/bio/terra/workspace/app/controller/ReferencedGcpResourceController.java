@@ -1,5 +1,7 @@
 package bio.terra.workspace.app.controller;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
 import bio.terra.workspace.generated.controller.ReferencedGcpResourceApi;
 import bio.terra.workspace.generated.model.ApiCloneReferencedGcpBigQueryDatasetResourceResult;
 import bio.terra.workspace.generated.model.ApiCloneReferencedGcpDataRepoSnapshotResourceResult;
@@ -23,6 +25,7 @@ import bio.terra.workspace.service.resource.referenced.ReferencedResourceService
 import bio.terra.workspace.service.workspace.WorkspaceService;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import org.slf4j.Logger;
@@ -65,7 +68,7 @@ public class ReferencedGcpResourceController implements ReferencedGcpResourceApi
   // -- GCS Bucket -- //
 
   @Override
-  public ResponseEntity<ApiGcpGcsBucketResource> createBucketReference(
+  public CompletableFuture<ResponseEntity<ApiGcpGcsBucketResource>> createBucketReference(
       UUID id, @Valid ApiCreateGcpGcsBucketReferenceRequestBody body) {
 
     // Construct a ReferenceGcsBucketResource object from the API input
@@ -80,50 +83,55 @@ public class ReferencedGcpResourceController implements ReferencedGcpResourceApi
             .build();
     resource.validate();
 
-    ReferencedResource referenceResource =
-        referenceResourceService.createReferenceResource(resource, getAuthenticatedInfo());
-    ApiGcpGcsBucketResource response = referenceResource.castToGcsBucketResource().toApiModel();
-    return new ResponseEntity<>(response, HttpStatus.OK);
+    return referenceResourceService
+        .createReferenceResourceDeferred(resource, getAuthenticatedInfo())
+        .thenApply(
+            referenceResource ->
+                new ResponseEntity<>(
+                    referenceResource.castToGcsBucketResource().toApiModel(), HttpStatus.OK));
   }
 
   @Override
-  public ResponseEntity<ApiGcpGcsBucketResource> getBucketReference(UUID id, UUID referenceId) {
+  public CompletableFuture<ResponseEntity<ApiGcpGcsBucketResource>> getBucketReference(
+      UUID id, UUID referenceId) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     ReferencedResource referenceResource =
         referenceResourceService.getReferenceResource(id, referenceId, userRequest);
     ApiGcpGcsBucketResource response = referenceResource.castToGcsBucketResource().toApiModel();
-    return new ResponseEntity<>(response, HttpStatus.OK);
+    return completedFuture(new ResponseEntity<>(response, HttpStatus.OK));
   }
 
   @Override
-  public ResponseEntity<ApiGcpGcsBucketResource> getBucketReferenceByName(UUID id, String name) {
+  public CompletableFuture<ResponseEntity<ApiGcpGcsBucketResource>> getBucketReferenceByName(
+      UUID id, String name) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     ReferencedResource referenceResource =
         referenceResourceService.getReferenceResourceByName(id, name, userRequest);
     ApiGcpGcsBucketResource response = referenceResource.castToGcsBucketResource().toApiModel();
-    return new ResponseEntity<>(response, HttpStatus.OK);
+    return completedFuture(new ResponseEntity<>(response, HttpStatus.OK));
   }
 
   @Override
-  public ResponseEntity<Void> updateBucketReference(
+  public CompletableFuture<ResponseEntity<Void>> updateBucketReference(
       UUID id, UUID referenceId, ApiUpdateDataReferenceRequestBody body) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     referenceResourceService.updateReferenceResource(
         id, referenceId, body.getName(), body.getDescription(), userRequest);
-    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    return completedFuture(new ResponseEntity<>(HttpStatus.NO_CONTENT));
   }
 
   @Override
-  public ResponseEntity<Void> deleteBucketReference(UUID workspaceId, UUID resourceId) {
+  public CompletableFuture<ResponseEntity<Void>> deleteBucketReference(
+      UUID workspaceId, UUID resourceId) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     referenceResourceService.deleteReferenceResource(workspaceId, resourceId, userRequest);
-    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    return completedFuture(new ResponseEntity<>(HttpStatus.NO_CONTENT));
   }
 
   // -- Big Query Dataset -- //
 
   @Override
-  public ResponseEntity<ApiGcpBigQueryDatasetResource> createBigQueryDatasetReference(
+  public CompletableFuture<ResponseEntity<ApiGcpBigQueryDatasetResource>> createBigQueryDatasetReference(
       UUID id, @Valid ApiCreateGcpBigQueryDatasetReferenceRequestBody body) {
 
     // Construct a ReferenceBigQueryResource object from the API input
@@ -139,55 +147,58 @@ public class ReferencedGcpResourceController implements ReferencedGcpResourceApi
             .build();
     resource.validate();
 
-    ReferencedResource referenceResource =
-        referenceResourceService.createReferenceResource(resource, getAuthenticatedInfo());
-    ApiGcpBigQueryDatasetResource response =
-        referenceResource.castToBigQueryDatasetResource().toApiResource();
-    return new ResponseEntity<>(response, HttpStatus.OK);
+    return referenceResourceService
+        .createReferenceResourceDeferred(resource, getAuthenticatedInfo())
+        .thenApply(
+            referenceResource ->
+                new ResponseEntity<>(
+                    referenceResource.castToBigQueryDatasetResource().toApiResource(),
+                    HttpStatus.OK));
   }
 
   @Override
-  public ResponseEntity<ApiGcpBigQueryDatasetResource> getBigQueryDatasetReference(
+  public CompletableFuture<ResponseEntity<ApiGcpBigQueryDatasetResource>> getBigQueryDatasetReference(
       UUID id, UUID referenceId) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     ReferencedResource referenceResource =
         referenceResourceService.getReferenceResource(id, referenceId, userRequest);
     ApiGcpBigQueryDatasetResource response =
         referenceResource.castToBigQueryDatasetResource().toApiResource();
-    return new ResponseEntity<>(response, HttpStatus.OK);
+    return completedFuture(new ResponseEntity<>(response, HttpStatus.OK));
   }
 
   @Override
-  public ResponseEntity<ApiGcpBigQueryDatasetResource> getBigQueryDatasetReferenceByName(
+  public CompletableFuture<ResponseEntity<ApiGcpBigQueryDatasetResource>> getBigQueryDatasetReferenceByName(
       UUID id, String name) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     ReferencedResource referenceResource =
         referenceResourceService.getReferenceResourceByName(id, name, userRequest);
     ApiGcpBigQueryDatasetResource response =
         referenceResource.castToBigQueryDatasetResource().toApiResource();
-    return new ResponseEntity<>(response, HttpStatus.OK);
+    return completedFuture(new ResponseEntity<>(response, HttpStatus.OK));
   }
 
   @Override
-  public ResponseEntity<Void> updateBigQueryDatasetReference(
+  public CompletableFuture<ResponseEntity<Void>> updateBigQueryDatasetReference(
       UUID id, UUID referenceId, ApiUpdateDataReferenceRequestBody body) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     referenceResourceService.updateReferenceResource(
         id, referenceId, body.getName(), body.getDescription(), userRequest);
-    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    return completedFuture(new ResponseEntity<>(HttpStatus.NO_CONTENT));
   }
 
   @Override
-  public ResponseEntity<Void> deleteBigQueryDatasetReference(UUID workspaceId, UUID resourceId) {
+  public CompletableFuture<ResponseEntity<Void>> deleteBigQueryDatasetReference(
+      UUID workspaceId, UUID resourceId) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     referenceResourceService.deleteReferenceResource(workspaceId, resourceId, userRequest);
-    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    return completedFuture(new ResponseEntity<>(HttpStatus.NO_CONTENT));
   }
 
   // -- Data Repo Snapshot -- //
 
   @Override
-  public ResponseEntity<ApiDataRepoSnapshotResource> createDataRepoSnapshotReference(
+  public CompletableFuture<ResponseEntity<ApiDataRepoSnapshotResource>> createDataRepoSnapshotReference(
       UUID id, @Valid ApiCreateDataRepoSnapshotReferenceRequestBody body) {
 
     var resource =
@@ -202,53 +213,56 @@ public class ReferencedGcpResourceController implements ReferencedGcpResourceApi
             .build();
     resource.validate();
 
-    ReferencedResource referenceResource =
-        referenceResourceService.createReferenceResource(resource, getAuthenticatedInfo());
-    ApiDataRepoSnapshotResource response =
-        referenceResource.castToDataRepoSnapshotResource().toApiResource();
-    return new ResponseEntity<>(response, HttpStatus.OK);
+    return referenceResourceService
+        .createReferenceResourceDeferred(resource, getAuthenticatedInfo())
+        .thenApply(
+            referenceResource ->
+                new ResponseEntity<>(
+                    referenceResource.castToDataRepoSnapshotResource().toApiResource(),
+                    HttpStatus.OK));
   }
 
   @Override
-  public ResponseEntity<ApiDataRepoSnapshotResource> getDataRepoSnapshotReference(
+  public CompletableFuture<ResponseEntity<ApiDataRepoSnapshotResource>> getDataRepoSnapshotReference(
       UUID id, UUID referenceId) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     ReferencedResource referenceResource =
         referenceResourceService.getReferenceResource(id, referenceId, userRequest);
     ApiDataRepoSnapshotResource response =
         referenceResource.castToDataRepoSnapshotResource().toApiResource();
-    return new ResponseEntity<>(response, HttpStatus.OK);
+    return completedFuture(new ResponseEntity<>(response, HttpStatus.OK));
   }
 
   @Override
-  public ResponseEntity<ApiDataRepoSnapshotResource> getDataRepoSnapshotReferenceByName(
+  public CompletableFuture<ResponseEntity<ApiDataRepoSnapshotResource>> getDataRepoSnapshotReferenceByName(
       UUID id, String name) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     ReferencedResource referenceResource =
         referenceResourceService.getReferenceResourceByName(id, name, userRequest);
     ApiDataRepoSnapshotResource response =
         referenceResource.castToDataRepoSnapshotResource().toApiResource();
-    return new ResponseEntity<>(response, HttpStatus.OK);
+    return completedFuture(new ResponseEntity<>(response, HttpStatus.OK));
   }
 
   @Override
-  public ResponseEntity<Void> updateDataRepoSnapshotReference(
+  public CompletableFuture<ResponseEntity<Void>> updateDataRepoSnapshotReference(
       UUID id, UUID referenceId, ApiUpdateDataReferenceRequestBody body) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     referenceResourceService.updateReferenceResource(
         id, referenceId, body.getName(), body.getDescription(), userRequest);
-    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    return completedFuture(new ResponseEntity<>(HttpStatus.NO_CONTENT));
   }
 
   @Override
-  public ResponseEntity<Void> deleteDataRepoSnapshotReference(UUID workspaceId, UUID resourceId) {
+  public CompletableFuture<ResponseEntity<Void>> deleteDataRepoSnapshotReference(
+      UUID workspaceId, UUID resourceId) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     referenceResourceService.deleteReferenceResource(workspaceId, resourceId, userRequest);
-    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    return completedFuture(new ResponseEntity<>(HttpStatus.NO_CONTENT));
   }
 
   @Override
-  public ResponseEntity<ApiCloneReferencedGcpGcsBucketResourceResult> cloneGcpGcsBucketReference(
+  public CompletableFuture<ResponseEntity<ApiCloneReferencedGcpGcsBucketResourceResult>> cloneGcpGcsBucketReference(
       UUID workspaceId, UUID resourceId, @Valid ApiCloneReferencedResourceRequestBody body) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
 
@@ -267,7 +281,7 @@ public class ReferencedGcpResourceController implements ReferencedGcpResourceApi
               .sourceResourceId(sourceReferencedResource.getResourceId())
               .sourceWorkspaceId(sourceReferencedResource.getWorkspaceId())
               .resource(null);
-      return new ResponseEntity<>(emptyResult, HttpStatus.OK);
+      return completedFuture(new ResponseEntity<>(emptyResult, HttpStatus.OK));
     }
 
     // Clone the reference
@@ -286,11 +300,11 @@ public class ReferencedGcpResourceController implements ReferencedGcpResourceApi
             .sourceWorkspaceId(sourceReferencedResource.getWorkspaceId())
             .sourceResourceId(sourceReferencedResource.getResourceId())
             .effectiveCloningInstructions(effectiveCloningInstructions.toApiModel());
-    return new ResponseEntity<>(result, HttpStatus.OK);
+    return completedFuture(new ResponseEntity<>(result, HttpStatus.OK));
   }
 
   @Override
-  public ResponseEntity<ApiCloneReferencedGcpBigQueryDatasetResourceResult>
+  public CompletableFuture<ResponseEntity<ApiCloneReferencedGcpBigQueryDatasetResourceResult>>
       cloneGcpBigQueryDatasetReference(
           UUID workspaceId, UUID resourceId, @Valid ApiCloneReferencedResourceRequestBody body) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
@@ -310,7 +324,7 @@ public class ReferencedGcpResourceController implements ReferencedGcpResourceApi
               .sourceResourceId(sourceReferencedResource.getResourceId())
               .sourceWorkspaceId(sourceReferencedResource.getWorkspaceId())
               .resource(null);
-      return new ResponseEntity<>(emptyResult, HttpStatus.OK);
+      return completedFuture(new ResponseEntity<>(emptyResult, HttpStatus.OK));
     }
 
     // Clone the reference
@@ -329,11 +343,11 @@ public class ReferencedGcpResourceController implements ReferencedGcpResourceApi
             .sourceWorkspaceId(sourceReferencedResource.getWorkspaceId())
             .sourceResourceId(sourceReferencedResource.getResourceId())
             .effectiveCloningInstructions(effectiveCloningInstructions.toApiModel());
-    return new ResponseEntity<>(result, HttpStatus.OK);
+    return completedFuture(new ResponseEntity<>(result, HttpStatus.OK));
   }
 
   @Override
-  public ResponseEntity<ApiCloneReferencedGcpDataRepoSnapshotResourceResult>
+  public CompletableFuture<ResponseEntity<ApiCloneReferencedGcpDataRepoSnapshotResourceResult>>
       cloneGcpDataRepoSnapshotReference(
           UUID workspaceId, UUID resourceId, @Valid ApiCloneReferencedResourceRequestBody body) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
@@ -353,7 +367,7 @@ public class ReferencedGcpResourceController implements ReferencedGcpResourceApi
               .sourceResourceId(sourceReferencedResource.getResourceId())
               .sourceWorkspaceId(sourceReferencedResource.getWorkspaceId())
               .resource(null);
-      return new ResponseEntity<>(emptyResult, HttpStatus.OK);
+      return completedFuture(new ResponseEntity<>(emptyResult, HttpStatus.OK));
     }
 
     // Clone the reference
@@ -372,6 +386,6 @@ public class ReferencedGcpResourceController implements ReferencedGcpResourceApi
             .sourceWorkspaceId(sourceReferencedResource.getWorkspaceId())
             .sourceResourceId(sourceReferencedResource.getResourceId())
             .effectiveCloningInstructions(effectiveCloningInstructions.toApiModel());
-    return new ResponseEntity<>(result, HttpStatus.OK);
+    return completedFuture(new ResponseEntity<>(result, HttpStatus.OK));
   }
 }
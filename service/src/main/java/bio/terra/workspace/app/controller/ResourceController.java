@@ -1,5 +1,9 @@
 package bio.terra.workspace.app.controller;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+import bio.terra.common.exception.ValidationException;
+import bio.terra.workspace.common.utils.PageTokenUtils;
 import bio.terra.workspace.generated.controller.ResourceApi;
 import bio.terra.workspace.generated.model.ApiResourceAttributesUnion;
 import bio.terra.workspace.generated.model.ApiResourceDescription;
@@ -27,6 +31,7 @@ import bio.terra.workspace.service.workspace.exceptions.InternalLogicException;
 import com.google.common.annotations.VisibleForTesting;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import javax.servlet.http.HttpServletRequest;
@@ -71,22 +76,53 @@ public class ResourceController implements ResourceApi {
   }
 
   @Override
-  public ResponseEntity<ApiResourceList> enumerateResources(
+  public CompletableFuture<ResponseEntity<ApiResourceList>> enumerateResources(
       UUID workspaceId,
       @Min(0) @Valid Integer offset,
       @Min(1) @Valid Integer limit,
       @Valid ApiResourceType resource,
-      @Valid ApiStewardshipType stewardship) {
+      @Valid ApiStewardshipType stewardship,
+      @Valid String pageToken) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
+    if (pageToken != null && offset != 0) {
+      throw new ValidationException("pageToken cannot be combined with a non-zero offset.");
+    }
 
-    List<WsmResource> wsmResources =
-        resourceService.enumerateResources(
-            workspaceId,
-            WsmResourceType.fromApiOptional(resource),
-            StewardshipType.fromApiOptional(stewardship),
-            offset,
-            limit,
-            userRequest);
+    // As in listWorkspaces, offset paging is kept for existing clients; otherwise the page starts
+    // after the (name, resource id) of the previous page's last resource.
+    List<WsmResource> wsmResources;
+    String nextPageToken = null;
+    if (offset != 0) {
+      wsmResources =
+          resourceService.enumerateResources(
+              workspaceId,
+              WsmResourceType.fromApiOptional(resource),
+              StewardshipType.fromApiOptional(stewardship),
+              offset,
+              limit,
+              userRequest);
+    } else {
+      String afterName = null;
+      UUID afterResourceId = null;
+      if (pageToken != null) {
+        List<String> position = PageTokenUtils.decode(pageToken, 2);
+        afterName = position.get(0);
+        afterResourceId = decodeResourceId(pageToken, position.get(1));
+      }
+      wsmResources =
+          resourceService.enumerateResourcesAfter(
+              workspaceId,
+              WsmResourceType.fromApiOptional(resource),
+              StewardshipType.fromApiOptional(stewardship),
+              afterName,
+              afterResourceId,
+              limit,
+              userRequest);
+      if (wsmResources.size() == limit) {
+        WsmResource last = wsmResources.get(limit - 1);
+        nextPageToken = PageTokenUtils.encode(last.getName(), last.getResourceId().toString());
+      }
+    }
     // projectId
     String gcpProjectId = workspaceService.getGcpProject(workspaceId).orElse(null);
 
@@ -95,15 +131,25 @@ public class ResourceController implements ResourceApi {
             .map(r -> makeApiResourceDescription(r, gcpProjectId))
             .collect(Collectors.toList());
 
-    var apiResourceList = new ApiResourceList().resources(apiResourceDescriptionList);
-    return new ResponseEntity<>(apiResourceList, HttpStatus.OK);
+    var apiResourceList =
+        new ApiResourceList().resources(apiResourceDescriptionList).pageToken(nextPageToken);
+    return completedFuture(new ResponseEntity<>(apiResourceList, HttpStatus.OK));
+  }
+
+  private UUID decodeResourceId(String pageToken, String resourceId) {
+    try {
+      return UUID.fromString(resourceId);
+    } catch (IllegalArgumentException e) {
+      throw new ValidationException("Invalid page token: " + pageToken);
+    }
   }
 
   @Override
-  public ResponseEntity<Boolean> checkReferenceAccess(UUID workspaceId, UUID resourceId) {
+  public CompletableFuture<ResponseEntity<Boolean>> checkReferenceAccess(
+      UUID workspaceId, UUID resourceId) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     boolean isValid = referencedResourceService.checkAccess(workspaceId, resourceId, userRequest);
-    return new ResponseEntity<>(isValid, HttpStatus.OK);
+    return completedFuture(new ResponseEntity<>(isValid, HttpStatus.OK));
   }
 
   // Convert a WsmResource into the API format for enumeration
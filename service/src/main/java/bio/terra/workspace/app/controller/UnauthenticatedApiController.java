@@ -1,9 +1,12 @@
 package bio.terra.workspace.app.controller;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
 import bio.terra.workspace.app.configuration.external.VersionConfiguration;
 import bio.terra.workspace.generated.controller.UnauthenticatedApi;
 import bio.terra.workspace.generated.model.ApiSystemVersion;
 import bio.terra.workspace.service.status.WorkspaceManagerStatusService;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -31,13 +34,14 @@ public class UnauthenticatedApiController implements UnauthenticatedApi {
   }
 
   @Override
-  public ResponseEntity<Void> serviceStatus() {
-    return new ResponseEntity<>(
-        statusService.getCurrentStatus() ? HttpStatus.OK : HttpStatus.INTERNAL_SERVER_ERROR);
+  public CompletableFuture<ResponseEntity<Void>> serviceStatus() {
+    return completedFuture(
+        new ResponseEntity<>(
+            statusService.getCurrentStatus() ? HttpStatus.OK : HttpStatus.INTERNAL_SERVER_ERROR));
   }
 
   @Override
-  public ResponseEntity<ApiSystemVersion> serviceVersion() {
-    return new ResponseEntity<>(currentVersion, HttpStatus.OK);
+  public CompletableFuture<ResponseEntity<ApiSystemVersion>> serviceVersion() {
+    return completedFuture(new ResponseEntity<>(currentVersion, HttpStatus.OK));
   }
 }
@@ -1,8 +1,13 @@
 package bio.terra.workspace.app.controller;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+import bio.terra.common.exception.ValidationException;
 import bio.terra.workspace.common.utils.ControllerUtils;
 import bio.terra.workspace.common.utils.ControllerValidationUtils;
+import bio.terra.workspace.common.utils.PageTokenUtils;
 import bio.terra.workspace.generated.controller.WorkspaceApi;
+import bio.terra.workspace.generated.model.ApiCloneWorkspacePlan;
 import bio.terra.workspace.generated.model.ApiCloneWorkspaceRequest;
 import bio.terra.workspace.generated.model.ApiCloneWorkspaceResult;
 import bio.terra.workspace.generated.model.ApiClonedWorkspace;
@@ -20,6 +25,7 @@ import bio.terra.workspace.generated.model.ApiGrantRoleRequestBody;
 import bio.terra.workspace.generated.model.ApiIamRole;
 import bio.terra.workspace.generated.model.ApiJobReport.StatusEnum;
 import bio.terra.workspace.generated.model.ApiReferenceTypeEnum;
+import bio.terra.workspace.generated.model.ApiResourceCloneDetails;
 import bio.terra.workspace.generated.model.ApiRoleBinding;
 import bio.terra.workspace.generated.model.ApiRoleBindingList;
 import bio.terra.workspace.generated.model.ApiUpdateDataReferenceRequestBody;
@@ -43,6 +49,7 @@ import bio.terra.workspace.service.resource.referenced.ReferencedResource;
 import bio.terra.workspace.service.resource.referenced.ReferencedResourceService;
 import bio.terra.workspace.service.resource.referenced.exception.InvalidReferenceException;
 import bio.terra.workspace.service.spendprofile.SpendProfileId;
+import bio.terra.workspace.service.workspace.WorkspaceClonePlanService;
 import bio.terra.workspace.service.workspace.WorkspaceService;
 import bio.terra.workspace.service.workspace.model.GcpCloudContext;
 import bio.terra.workspace.service.workspace.model.Workspace;
@@ -51,6 +58,7 @@ import bio.terra.workspace.service.workspace.model.WorkspaceStage;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
@@ -72,6 +80,7 @@ public class WorkspaceApiController implements WorkspaceApi {
   private final AuthenticatedUserRequestFactory authenticatedUserRequestFactory;
   private final HttpServletRequest request;
   private final ReferencedResourceService referenceResourceService;
+  private final WorkspaceClonePlanService workspaceClonePlanService;
 
   @Autowired
   public WorkspaceApiController(
@@ -80,13 +89,15 @@ public class WorkspaceApiController implements WorkspaceApi {
       SamService samService,
       AuthenticatedUserRequestFactory authenticatedUserRequestFactory,
       HttpServletRequest request,
-      ReferencedResourceService referenceResourceService) {
+      ReferencedResourceService referenceResourceService,
+      WorkspaceClonePlanService workspaceClonePlanService) {
     this.workspaceService = workspaceService;
     this.jobService = jobService;
     this.samService = samService;
     this.authenticatedUserRequestFactory = authenticatedUserRequestFactory;
     this.request = request;
     this.referenceResourceService = referenceResourceService;
+    this.workspaceClonePlanService = workspaceClonePlanService;
   }
 
   private final Logger logger = LoggerFactory.getLogger(WorkspaceApiController.class);
@@ -96,7 +107,7 @@ public class WorkspaceApiController implements WorkspaceApi {
   }
 
   @Override
-  public ResponseEntity<ApiCreatedWorkspace> createWorkspace(
+  public CompletableFuture<ResponseEntity<ApiCreatedWorkspace>> createWorkspace(
       @RequestBody ApiCreateWorkspaceRequestBody body) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     logger.info("Creating workspace {} for {}", body.getId(), userRequest.getEmail());
@@ -118,26 +129,55 @@ public class WorkspaceApiController implements WorkspaceApi {
             .displayName(Optional.ofNullable(body.getDisplayName()))
             .description(Optional.ofNullable(body.getDescription()))
             .build();
-    UUID createdId = workspaceService.createWorkspace(internalRequest, userRequest);
-
-    ApiCreatedWorkspace responseWorkspace = new ApiCreatedWorkspace().id(createdId);
-    logger.info("Created workspace {} for {}", responseWorkspace, userRequest.getEmail());
-
-    return new ResponseEntity<>(responseWorkspace, HttpStatus.OK);
+    return workspaceService
+        .createWorkspaceDeferred(internalRequest, userRequest)
+        .thenApply(
+            createdId -> {
+              ApiCreatedWorkspace responseWorkspace = new ApiCreatedWorkspace().id(createdId);
+              logger.info("Created workspace {} for {}", responseWorkspace, userRequest.getEmail());
+              return new ResponseEntity<>(responseWorkspace, HttpStatus.OK);
+            });
   }
 
   @Override
-  public ResponseEntity<ApiWorkspaceDescriptionList> listWorkspaces(Integer offset, Integer limit) {
+  public CompletableFuture<ResponseEntity<ApiWorkspaceDescriptionList>> listWorkspaces(
+      Integer offset, Integer limit, String pageToken) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     logger.info("Listing workspaces for {}", userRequest.getEmail());
-    List<Workspace> workspaces = workspaceService.listWorkspaces(userRequest, offset, limit);
+    if (pageToken != null && offset != 0) {
+      throw new ValidationException("pageToken cannot be combined with a non-zero offset.");
+    }
+    // Paging by offset is kept for existing clients. Otherwise pages are read by workspace ID,
+    // starting after the last ID of the previous page, and a token for the next page is returned.
+    List<Workspace> workspaces;
+    String nextPageToken = null;
+    if (offset != 0) {
+      workspaces = workspaceService.listWorkspaces(userRequest, offset, limit);
+    } else {
+      UUID afterWorkspaceId = pageToken == null ? null : decodeWorkspacePageToken(pageToken);
+      workspaces = workspaceService.listWorkspacesAfter(userRequest, afterWorkspaceId, limit);
+      if (workspaces.size() == limit) {
+        nextPageToken =
+            PageTokenUtils.encode(workspaces.get(limit - 1).getWorkspaceId().toString());
+      }
+    }
     var response =
         new ApiWorkspaceDescriptionList()
             .workspaces(
                 workspaces.stream()
                     .map(this::buildWorkspaceDescription)
-                    .collect(Collectors.toList()));
-    return new ResponseEntity<>(response, HttpStatus.OK);
+                    .collect(Collectors.toList()))
+            .pageToken(nextPageToken);
+    return completedFuture(new ResponseEntity<>(response, HttpStatus.OK));
+  }
+
+  private UUID decodeWorkspacePageToken(String pageToken) {
+    String workspaceId = PageTokenUtils.decode(pageToken, 1).get(0);
+    try {
+      return UUID.fromString(workspaceId);
+    } catch (IllegalArgumentException e) {
+      throw new ValidationException("Invalid page token: " + pageToken);
+    }
   }
 
   private ApiWorkspaceDescription buildWorkspaceDescription(Workspace workspace) {
@@ -155,7 +195,7 @@ public class WorkspaceApiController implements WorkspaceApi {
   }
 
   @Override
-  public ResponseEntity<ApiWorkspaceDescription> getWorkspace(
+  public CompletableFuture<ResponseEntity<ApiWorkspaceDescription>> getWorkspace(
       @PathVariable("workspaceId") UUID id) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     logger.info("Getting workspace {} for {}", id, userRequest.getEmail());
@@ -163,11 +203,11 @@ public class WorkspaceApiController implements WorkspaceApi {
     ApiWorkspaceDescription desc = buildWorkspaceDescription(workspace);
     logger.info("Got workspace {} for {}", desc, userRequest.getEmail());
 
-    return new ResponseEntity<>(desc, HttpStatus.OK);
+    return completedFuture(new ResponseEntity<>(desc, HttpStatus.OK));
   }
 
   @Override
-  public ResponseEntity<ApiWorkspaceDescription> updateWorkspace(
+  public CompletableFuture<ResponseEntity<ApiWorkspaceDescription>> updateWorkspace(
       @PathVariable("workspaceId") UUID workspaceId,
       @RequestBody ApiUpdateWorkspaceRequestBody body) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
@@ -179,23 +219,27 @@ public class WorkspaceApiController implements WorkspaceApi {
     ApiWorkspaceDescription desc = buildWorkspaceDescription(workspace);
     logger.info("Updated workspace {} for {}", desc, userRequest.getEmail());
 
-    return new ResponseEntity<>(desc, HttpStatus.OK);
+    return completedFuture(new ResponseEntity<>(desc, HttpStatus.OK));
   }
 
   @Override
-  public ResponseEntity<Void> deleteWorkspace(@PathVariable("workspaceId") UUID id) {
+  public CompletableFuture<ResponseEntity<Void>> deleteWorkspace(
+      @PathVariable("workspaceId") UUID id) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     logger.info("Deleting workspace {} for {}", id, userRequest.getEmail());
-    workspaceService.deleteWorkspace(id, userRequest);
-    logger.info("Deleted workspace {} for {}", id, userRequest.getEmail());
-
-    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    return workspaceService
+        .deleteWorkspaceDeferred(id, userRequest)
+        .thenApply(
+            unused -> {
+              logger.info("Deleted workspace {} for {}", id, userRequest.getEmail());
+              return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+            });
   }
 
   // TODO(PF-404): the following DataReference endpoints are deprecated and will go away
 
   @Override
-  public ResponseEntity<ApiDataReferenceDescription> createDataReference(
+  public CompletableFuture<ResponseEntity<ApiDataReferenceDescription>> createDataReference(
       @PathVariable("workspaceId") UUID id, @RequestBody ApiCreateDataReferenceRequestBody body) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     logger.info(
@@ -217,14 +261,16 @@ public class WorkspaceApiController implements WorkspaceApi {
             body.getReference().getInstanceName(),
             body.getReference().getSnapshot());
 
-    ReferencedResource referenceResource =
-        referenceResourceService.createReferenceResource(resource, getAuthenticatedInfo());
-    ApiDataReferenceDescription response = makeApiDataReferenceDescription(referenceResource);
-    return new ResponseEntity<>(response, HttpStatus.OK);
+    return referenceResourceService
+        .createReferenceResourceDeferred(resource, userRequest)
+        .thenApply(
+            referenceResource ->
+                new ResponseEntity<>(
+                    makeApiDataReferenceDescription(referenceResource), HttpStatus.OK));
   }
 
   @Override
-  public ResponseEntity<ApiDataReferenceDescription> getDataReference(
+  public CompletableFuture<ResponseEntity<ApiDataReferenceDescription>> getDataReference(
       @PathVariable("workspaceId") UUID workspaceId,
       @PathVariable("referenceId") UUID referenceId) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
@@ -245,11 +291,11 @@ public class WorkspaceApiController implements WorkspaceApi {
     }
 
     ApiDataReferenceDescription response = makeApiDataReferenceDescription(referenceResource);
-    return new ResponseEntity<>(response, HttpStatus.OK);
+    return completedFuture(new ResponseEntity<>(response, HttpStatus.OK));
   }
 
   @Override
-  public ResponseEntity<ApiDataReferenceDescription> getDataReferenceByName(
+  public CompletableFuture<ResponseEntity<ApiDataReferenceDescription>> getDataReferenceByName(
       @PathVariable("workspaceId") UUID workspaceId,
       @PathVariable("referenceType") ApiReferenceTypeEnum referenceType,
       @PathVariable("name") String name) {
@@ -265,11 +311,11 @@ public class WorkspaceApiController implements WorkspaceApi {
     ReferencedResource referenceResource =
         referenceResourceService.getReferenceResourceByName(workspaceId, name, userRequest);
     ApiDataReferenceDescription response = makeApiDataReferenceDescription(referenceResource);
-    return new ResponseEntity<>(response, HttpStatus.OK);
+    return completedFuture(new ResponseEntity<>(response, HttpStatus.OK));
   }
 
   @Override
-  public ResponseEntity<Void> updateDataReference(
+  public CompletableFuture<ResponseEntity<Void>> updateDataReference(
       @PathVariable("workspaceId") UUID id,
       @PathVariable("referenceId") UUID referenceId,
       @RequestBody ApiUpdateDataReferenceRequestBody body) {
@@ -285,11 +331,11 @@ public class WorkspaceApiController implements WorkspaceApi {
 
     referenceResourceService.updateReferenceResource(
         id, referenceId, body.getName(), body.getDescription(), userRequest);
-    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    return completedFuture(new ResponseEntity<>(HttpStatus.NO_CONTENT));
   }
 
   @Override
-  public ResponseEntity<Void> deleteDataReference(
+  public CompletableFuture<ResponseEntity<Void>> deleteDataReference(
       @PathVariable("workspaceId") UUID workspaceId,
       @PathVariable("referenceId") UUID referenceId) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
@@ -307,11 +353,11 @@ public class WorkspaceApiController implements WorkspaceApi {
         workspaceId,
         userRequest.getEmail());
 
-    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    return completedFuture(new ResponseEntity<>(HttpStatus.NO_CONTENT));
   }
 
   @Override
-  public ResponseEntity<ApiDataReferenceList> enumerateReferences(
+  public CompletableFuture<ResponseEntity<ApiDataReferenceList>> enumerateReferences(
       @PathVariable("workspaceId") UUID id,
       @Valid @RequestParam(value = "offset", required = false, defaultValue = "0") Integer offset,
       @Valid @RequestParam(value = "limit", required = false, defaultValue = "10") Integer limit) {
@@ -328,7 +374,7 @@ public class WorkspaceApiController implements WorkspaceApi {
         responseList.addResourcesItem(makeApiDataReferenceDescription(resource));
       }
     }
-    return ResponseEntity.ok(responseList);
+    return completedFuture(ResponseEntity.ok(responseList));
   }
 
   private ApiDataReferenceDescription makeApiDataReferenceDescription(
@@ -350,7 +396,7 @@ public class WorkspaceApiController implements WorkspaceApi {
   }
 
   @Override
-  public ResponseEntity<Void> grantRole(
+  public CompletableFuture<ResponseEntity<Void>> grantRole(
       @PathVariable("workspaceId") UUID id,
       @PathVariable("role") ApiIamRole role,
       @RequestBody ApiGrantRoleRequestBody body) {
@@ -364,11 +410,11 @@ public class WorkspaceApiController implements WorkspaceApi {
             samService.grantWorkspaceRole(
                 id, getAuthenticatedInfo(), WsmIamRole.fromApiModel(role), body.getMemberEmail()),
         "grantWorkspaceRole");
-    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    return completedFuture(new ResponseEntity<>(HttpStatus.NO_CONTENT));
   }
 
   @Override
-  public ResponseEntity<Void> removeRole(
+  public CompletableFuture<ResponseEntity<Void>> removeRole(
       @PathVariable("workspaceId") UUID id,
       @PathVariable("role") ApiIamRole role,
       @PathVariable("memberEmail") String memberEmail) {
@@ -380,11 +426,12 @@ public class WorkspaceApiController implements WorkspaceApi {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     workspaceService.removeWorkspaceRoleFromUser(
         id, WsmIamRole.fromApiModel(role), memberEmail, userRequest);
-    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    return completedFuture(new ResponseEntity<>(HttpStatus.NO_CONTENT));
   }
 
   @Override
-  public ResponseEntity<ApiRoleBindingList> getRoles(@PathVariable("workspaceId") UUID id) {
+  public CompletableFuture<ResponseEntity<ApiRoleBindingList>> getRoles(
+      @PathVariable("workspaceId") UUID id) {
     List<bio.terra.workspace.service.iam.model.RoleBinding> bindingList =
         SamRethrow.onInterrupted(
             () -> samService.listRoleBindings(id, getAuthenticatedInfo()), "listRoleBindings");
@@ -393,11 +440,11 @@ public class WorkspaceApiController implements WorkspaceApi {
       responseList.add(
           new ApiRoleBinding().role(roleBinding.role().toApiModel()).members(roleBinding.users()));
     }
-    return new ResponseEntity<>(responseList, HttpStatus.OK);
+    return completedFuture(new ResponseEntity<>(responseList, HttpStatus.OK));
   }
 
   @Override
-  public ResponseEntity<ApiCreateCloudContextResult> createCloudContext(
+  public CompletableFuture<ResponseEntity<ApiCreateCloudContextResult>> createCloudContext(
       UUID id, @Valid ApiCreateCloudContextRequest body) {
     ControllerValidationUtils.validateCloudPlatform(body.getCloudPlatform());
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
@@ -407,17 +454,19 @@ public class WorkspaceApiController implements WorkspaceApi {
     // For now, the cloud type is always GCP and that is guaranteed in the validate.
     workspaceService.createGcpCloudContext(id, jobId, userRequest, resultPath);
     ApiCreateCloudContextResult response = fetchCreateCloudContextResult(jobId, userRequest);
-    return new ResponseEntity<>(
-        response, ControllerUtils.getAsyncResponseCode(response.getJobReport()));
+    return completedFuture(
+        new ResponseEntity<>(
+            response, ControllerUtils.getAsyncResponseCode(response.getJobReport())));
   }
 
   @Override
-  public ResponseEntity<ApiCreateCloudContextResult> getCreateCloudContextResult(
+  public CompletableFuture<ResponseEntity<ApiCreateCloudContextResult>> getCreateCloudContextResult(
       UUID id, String jobId) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     ApiCreateCloudContextResult response = fetchCreateCloudContextResult(jobId, userRequest);
-    return new ResponseEntity<>(
-        response, ControllerUtils.getAsyncResponseCode(response.getJobReport()));
+    return completedFuture(
+        new ResponseEntity<>(
+            response, ControllerUtils.getAsyncResponseCode(response.getJobReport())));
   }
 
   private ApiCreateCloudContextResult fetchCreateCloudContextResult(
@@ -438,19 +487,20 @@ public class WorkspaceApiController implements WorkspaceApi {
   }
 
   @Override
-  public ResponseEntity<Void> deleteCloudContext(UUID id, ApiCloudPlatform cloudPlatform) {
+  public CompletableFuture<ResponseEntity<Void>> deleteCloudContext(
+      UUID id, ApiCloudPlatform cloudPlatform) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     ControllerValidationUtils.validateCloudPlatform(cloudPlatform);
     workspaceService.deleteGcpCloudContext(id, userRequest);
-    return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    return completedFuture(new ResponseEntity<>(HttpStatus.NO_CONTENT));
   }
 
   @Override
-  public ResponseEntity<String> enablePet(UUID workspaceId) {
+  public CompletableFuture<ResponseEntity<String>> enablePet(UUID workspaceId) {
     AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
     String petSaEmail =
         workspaceService.enablePetServiceAccountImpersonation(workspaceId, userRequest);
-    return new ResponseEntity<>(petSaEmail, HttpStatus.OK);
+    return completedFuture(new ResponseEntity<>(petSaEmail, HttpStatus.OK));
   }
 
   /**
@@ -462,7 +512,7 @@ public class WorkspaceApiController implements WorkspaceApi {
    * @return - result structure for the overall clone operation with details for each resource
    */
   @Override
-  public ResponseEntity<ApiCloneWorkspaceResult> cloneWorkspace(
+  public CompletableFuture<ResponseEntity<ApiCloneWorkspaceResult>> cloneWorkspace(
       UUID workspaceId, @Valid ApiCloneWorkspaceRequest body) {
     final String jobId =
         workspaceService.cloneWorkspace(
@@ -471,10 +521,12 @@ public class WorkspaceApiController implements WorkspaceApi {
             body.getSpendProfile(),
             body.getLocation(),
             body.getDisplayName(),
-            body.getDescription());
-    final ApiCloneWorkspaceResult result = fetchCloneWorkspaceResult(jobId, getAuthenticatedInfo());
-    return new ResponseEntity<>(
-        result, ControllerUtils.getAsyncResponseCode(result.getJobReport()));
+            body.getDescription(),
+            Boolean.TRUE.equals(body.isTableClones()));
+    final ApiCloneWorkspaceResult result =
+        fetchCloneWorkspaceResult(workspaceId, jobId, getAuthenticatedInfo());
+    return completedFuture(
+        new ResponseEntity<>(result, ControllerUtils.getAsyncResponseCode(result.getJobReport())));
   }
   /**
    * Return the workspace clone result, including job result and error result.
@@ -484,22 +536,53 @@ public class WorkspaceApiController implements WorkspaceApi {
    * @return - response with result
    */
   @Override
-  public ResponseEntity<ApiCloneWorkspaceResult> getCloneWorkspaceResult(
+  public CompletableFuture<ResponseEntity<ApiCloneWorkspaceResult>> getCloneWorkspaceResult(
       UUID workspaceId, String jobId) {
     final AuthenticatedUserRequest userRequest = getAuthenticatedInfo();
-    final ApiCloneWorkspaceResult result = fetchCloneWorkspaceResult(jobId, userRequest);
-    return new ResponseEntity<>(
-        result, ControllerUtils.getAsyncResponseCode(result.getJobReport()));
+    final ApiCloneWorkspaceResult result =
+        fetchCloneWorkspaceResult(workspaceId, jobId, userRequest);
+    return completedFuture(
+        new ResponseEntity<>(result, ControllerUtils.getAsyncResponseCode(result.getJobReport())));
+  }
+
+  /**
+   * Estimate what cloning the workspace would copy and how long it would take, without cloning
+   * anything.
+   *
+   * @param workspaceId - ID of source workspace
+   * @param location - location the clone would use, if not each resource's own
+   * @param tableClones - whether the clone would clone BigQuery tables rather than copy them
+   * @return - the plan for each resource, with totals and a projected duration
+   */
+  @Override
+  public CompletableFuture<ResponseEntity<ApiCloneWorkspacePlan>> getCloneWorkspacePlan(
+      UUID workspaceId, String location, Boolean tableClones) {
+    final ApiCloneWorkspacePlan plan =
+        workspaceClonePlanService
+            .planWorkspaceClone(
+                workspaceId, location, Boolean.TRUE.equals(tableClones), getAuthenticatedInfo())
+            .toApiModel();
+    return completedFuture(new ResponseEntity<>(plan, HttpStatus.OK));
   }
 
   // Retrieve the async result or progress for clone workspace.
   private ApiCloneWorkspaceResult fetchCloneWorkspaceResult(
-      String jobId, AuthenticatedUserRequest userRequest) {
+      UUID sourceWorkspaceId, String jobId, AuthenticatedUserRequest userRequest) {
     final AsyncJobResult<ApiClonedWorkspace> jobResult =
         jobService.retrieveAsyncJobResult(jobId, ApiClonedWorkspace.class, userRequest);
+    ApiClonedWorkspace workspace = jobResult.getResult();
+    if (workspace == null && jobResult.getJobReport().getStatus() == StatusEnum.RUNNING) {
+      // Resources are cloned by sub-flights, which report their progress under this job.
+      final List<ApiResourceCloneDetails> resources =
+          jobService.retrieveJobPartProgress(jobId, ApiResourceCloneDetails.class);
+      if (!resources.isEmpty()) {
+        workspace =
+            new ApiClonedWorkspace().sourceWorkspaceId(sourceWorkspaceId).resources(resources);
+      }
+    }
     return new ApiCloneWorkspaceResult()
         .jobReport(jobResult.getJobReport())
         .errorReport(jobResult.getApiErrorReport())
-        .workspace(jobResult.getResult());
+        .workspace(workspace);
   }
 }
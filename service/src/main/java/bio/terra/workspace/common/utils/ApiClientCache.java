@@ -0,0 +1,85 @@
+package bio.terra.workspace.common.utils;
+
+import bio.terra.workspace.service.iam.TokenFingerprint;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import javax.annotation.Nullable;
+
+/**
+ * Generated API clients for one downstream service, one per (base path, access token).
+ *
+ * <p>Clients are keyed by a {@link TokenFingerprint} of the token, never by the token itself. The
+ * token is held only by the client built for it, and each client is dropped a few minutes after
+ * it was built, however often it is used, so a cached token does not outlive its caller's use of
+ * it by long.
+ *
+ * <p>The generated clients carry the caller's bearer token and are otherwise thin wrappers around
+ * an HTTP transport. The factory is expected to wire every client to the service's shared,
+ * pooled transport (see {@link HttpClientUtils}), so reusing a client only saves rebuilding the
+ * wrapper; the connections themselves are shared by all callers regardless of token.
+ *
+ * @param <T> generated ApiClient type
+ */
+public class ApiClientCache<T> {
+  private static final long MAXIMUM_SIZE = 1000;
+  private static final long EXPIRE_AFTER_WRITE_MINUTES = 5;
+
+  private final BiFunction<String, String, T> clientFactory;
+  private final Cache<ClientKey, T> cache =
+      CacheBuilder.newBuilder()
+          .maximumSize(MAXIMUM_SIZE)
+          .expireAfterWrite(EXPIRE_AFTER_WRITE_MINUTES, TimeUnit.MINUTES)
+          .build();
+
+  /**
+   * @param clientFactory builds a client for a base path and access token
+   */
+  public ApiClientCache(BiFunction<String, String, T> clientFactory) {
+    this.clientFactory = clientFactory;
+  }
+
+  /**
+   * Get a client for the service at basePath that authenticates as the holder of accessToken.
+   *
+   * @param basePath base URL of the service
+   * @param accessToken bearer token to send, or null for unauthenticated endpoints
+   * @return a client, shared with other callers using the same base path and token
+   */
+  public T get(String basePath, @Nullable String accessToken) {
+    return cache
+        .asMap()
+        .computeIfAbsent(
+            new ClientKey(basePath, accessToken == null ? null : TokenFingerprint.of(accessToken)),
+            key -> clientFactory.apply(basePath, accessToken));
+  }
+
+  private static class ClientKey {
+    private final String basePath;
+    private final @Nullable TokenFingerprint token;
+
+    private ClientKey(String basePath, @Nullable TokenFingerprint token) {
+      this.basePath = basePath;
+      this.token = token;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ClientKey)) {
+        return false;
+      }
+      ClientKey that = (ClientKey) o;
+      return basePath.equals(that.basePath) && Objects.equals(token, that.token);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(basePath, token);
+    }
+  }
+}
@@ -1,17 +1,22 @@
 package bio.terra.workspace.common.utils;
 
+import bio.terra.workspace.app.configuration.external.WorkspaceCloneConfiguration;
+import bio.terra.workspace.db.JobProgressDao;
 import bio.terra.workspace.db.ResourceDao;
 import bio.terra.workspace.db.WorkspaceDao;
 import bio.terra.workspace.service.buffer.BufferService;
 import bio.terra.workspace.service.crl.CrlService;
 import bio.terra.workspace.service.datarepo.DataRepoService;
 import bio.terra.workspace.service.iam.SamService;
+import bio.terra.workspace.service.job.FlightResumer;
 import bio.terra.workspace.service.resource.controlled.ControlledResourceMetadataManager;
 import bio.terra.workspace.service.resource.controlled.ControlledResourceService;
 import bio.terra.workspace.service.resource.controlled.flight.clone.bucket.BucketCloneRolesComponent;
 import bio.terra.workspace.service.resource.referenced.ReferencedResourceService;
 import bio.terra.workspace.service.workspace.WorkspaceService;
+import java.util.concurrent.ExecutorService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
@@ -31,9 +36,14 @@ public class FlightBeanBag {
   private final ControlledResourceService controlledResourceService;
   private final CrlService crlService;
   private final DataRepoService dataRepoService;
+  private final FlightMetricsHook flightMetricsHook;
+  private final FlightResumer flightResumer;
+  private final JobProgressDao jobProgressDao;
+  private final ExecutorService parallelStepExecutor;
   private final ReferencedResourceService referencedResourceService;
   private final ResourceDao resourceDao;
   private final SamService samService;
+  private final WorkspaceCloneConfiguration workspaceCloneConfiguration;
   private final WorkspaceDao workspaceDao;
   private final WorkspaceService workspaceService;
 
@@ -46,9 +56,14 @@ public class FlightBeanBag {
       ControlledResourceService controlledResourceService,
       CrlService crlService,
       DataRepoService dataRepoService,
+      FlightMetricsHook flightMetricsHook,
+      FlightResumer flightResumer,
+      JobProgressDao jobProgressDao,
+      @Qualifier("parallelStepExecutor") ExecutorService parallelStepExecutor,
       ReferencedResourceService referencedResourceService,
       ResourceDao resourceDao,
       SamService samService,
+      WorkspaceCloneConfiguration workspaceCloneConfiguration,
       WorkspaceDao workspaceDao,
       WorkspaceService workspaceService) {
     this.bucketCloneRolesComponent = bucketCloneRolesComponent;
@@ -57,9 +72,14 @@ public class FlightBeanBag {
     this.controlledResourceService = controlledResourceService;
     this.crlService = crlService;
     this.dataRepoService = dataRepoService;
+    this.flightMetricsHook = flightMetricsHook;
+    this.flightResumer = flightResumer;
+    this.jobProgressDao = jobProgressDao;
+    this.parallelStepExecutor = parallelStepExecutor;
     this.referencedResourceService = referencedResourceService;
     this.resourceDao = resourceDao;
     this.samService = samService;
+    this.workspaceCloneConfiguration = workspaceCloneConfiguration;
     this.workspaceDao = workspaceDao;
     this.workspaceService = workspaceService;
   }
@@ -92,6 +112,22 @@ public class FlightBeanBag {
     return dataRepoService;
   }
 
+  public FlightMetricsHook getFlightMetricsHook() {
+    return flightMetricsHook;
+  }
+
+  public FlightResumer getFlightResumer() {
+    return flightResumer;
+  }
+
+  public JobProgressDao getJobProgressDao() {
+    return jobProgressDao;
+  }
+
+  public ExecutorService getParallelStepExecutor() {
+    return parallelStepExecutor;
+  }
+
   public ReferencedResourceService getReferencedResourceService() {
     return referencedResourceService;
   }
@@ -104,6 +140,10 @@ public class FlightBeanBag {
     return samService;
   }
 
+  public WorkspaceCloneConfiguration getWorkspaceCloneConfiguration() {
+    return workspaceCloneConfiguration;
+  }
+
   public WorkspaceDao getWorkspaceDao() {
     return workspaceDao;
   }
@@ -0,0 +1,262 @@
+package bio.terra.workspace.common.utils;
+
+import bio.terra.stairway.Direction;
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightStatus;
+import bio.terra.stairway.HookAction;
+import bio.terra.stairway.StairwayHook;
+import bio.terra.stairway.Step;
+import bio.terra.stairway.StepResult;
+import bio.terra.stairway.StepStatus;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.opencensus.stats.Measure.MeasureLong;
+import io.opencensus.tags.TagKey;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * A {@link StairwayHook} recording how long flights and their steps take, how long submitted
+ * flights wait for a Stairway thread, and how often steps are retried and flights undone.
+ *
+ * <p>Metrics are tagged with the simple names of the flight and step classes. A flight's duration
+ * is measured from when it starts running in this process, so a flight that yields and resumes, or
+ * is recovered after a restart, only has its last stretch recorded. A step attempt counts as a
+ * retry only when the previous attempt of the same step asked to be retried; a step run again after
+ * its flight yields is not a retry.
+ *
+ * <p>Stairway sees a {@link ParallelStepGroup} as one step; the group reports the attempts of its
+ * own steps through {@link #branchStepAttempted}.
+ */
+@Component
+public class FlightMetricsHook implements StairwayHook {
+  private static final TagKey FLIGHT_CLASS_KEY = TagKey.create("flight_class");
+  private static final TagKey STEP_CLASS_KEY = TagKey.create("step_class");
+  private static final TagKey DIRECTION_KEY = TagKey.create("direction");
+  private static final TagKey STATUS_KEY = TagKey.create("status");
+  private static final Double[] DURATION_BUCKETS = {
+    10.0, 50.0, 100.0, 250.0, 500.0, 1000.0, 2500.0, 5000.0, 10000.0, 30000.0, 60000.0, 300000.0,
+    900000.0
+  };
+
+  private static final MeasureLong FLIGHT_DURATION =
+      MetricsUtils.createDistribution(
+          "stairway/flight/duration",
+          "Time from a flight starting to run until it ends",
+          "ms",
+          DURATION_BUCKETS,
+          FLIGHT_CLASS_KEY,
+          STATUS_KEY);
+  private static final MeasureLong FLIGHT_QUEUE_WAIT =
+      MetricsUtils.createDistribution(
+          "stairway/flight/queue_wait",
+          "Time from a flight being submitted until it starts to run",
+          "ms",
+          DURATION_BUCKETS,
+          FLIGHT_CLASS_KEY);
+  private static final MeasureLong FLIGHT_UNDO_COUNT =
+      MetricsUtils.createCounter(
+          "stairway/flight/undos",
+          "Flights that started undoing, by the step whose failure caused it",
+          FLIGHT_CLASS_KEY,
+          STEP_CLASS_KEY);
+  private static final MeasureLong STEP_DURATION =
+      MetricsUtils.createDistribution(
+          "stairway/step/duration",
+          "Time taken by one attempt to do or undo a step",
+          "ms",
+          DURATION_BUCKETS,
+          FLIGHT_CLASS_KEY,
+          STEP_CLASS_KEY,
+          DIRECTION_KEY);
+  private static final MeasureLong STEP_RETRY_COUNT =
+      MetricsUtils.createCounter(
+          "stairway/step/retries",
+          "Step attempts repeating the previous attempt of the same step",
+          FLIGHT_CLASS_KEY,
+          STEP_CLASS_KEY,
+          DIRECTION_KEY);
+
+  /**
+   * How long the submission time of a flight that has not started is kept. A flight may be started
+   * by another process, or never; its submission time is then forgotten after this long.
+   */
+  private static final Duration SUBMISSION_EXPIRY = Duration.ofHours(1);
+
+  /** Submission times of flights submitted by this process that have not started yet. */
+  private final Cache<String, Long> submittedNanos;
+  /** Timing state of flights running in this process. */
+  private final Map<String, FlightTiming> runningFlights = new ConcurrentHashMap<>();
+
+  public FlightMetricsHook() {
+    this(Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  FlightMetricsHook(Ticker ticker) {
+    this.submittedNanos =
+        CacheBuilder.newBuilder().expireAfterWrite(SUBMISSION_EXPIRY).ticker(ticker).build();
+  }
+
+  /** Note that a flight is being submitted, so the wait until it starts can be recorded. */
+  public void flightSubmitted(String flightId) {
+    submittedNanos.put(flightId, System.nanoTime());
+  }
+
+  /** Forget a flight whose submission failed. */
+  public void flightNotSubmitted(String flightId) {
+    submittedNanos.invalidate(flightId);
+  }
+
+  /** Number of submitted flights whose start is still awaited. */
+  @VisibleForTesting
+  long pendingSubmissionCount() {
+    submittedNanos.cleanUp();
+    return submittedNanos.size();
+  }
+
+  /**
+   * Record one attempt to do or undo a step run by a {@link ParallelStepGroup}, tagged with the
+   * step's own class.
+   *
+   * @param startNanos {@link System#nanoTime()} when the attempt started
+   * @param retry whether the attempt repeats one that asked to be retried
+   */
+  public void branchStepAttempted(
+      FlightContext context, Step step, Direction direction, long startNanos, boolean retry) {
+    Map<TagKey, String> tags =
+        Map.of(
+            FLIGHT_CLASS_KEY,
+            simpleName(context.getFlightClassName()),
+            STEP_CLASS_KEY,
+            step.getClass().getSimpleName(),
+            DIRECTION_KEY,
+            direction.name());
+    if (retry) {
+      MetricsUtils.increment(STEP_RETRY_COUNT, tags);
+    }
+    MetricsUtils.record(STEP_DURATION, elapsedMillis(startNanos, System.nanoTime()), tags);
+  }
+
+  @Override
+  public HookAction startFlight(FlightContext context) {
+    long now = System.nanoTime();
+    String flightClass = simpleName(context.getFlightClassName());
+    Long submitted = submittedNanos.getIfPresent(context.getFlightId());
+    submittedNanos.invalidate(context.getFlightId());
+    if (submitted != null) {
+      MetricsUtils.record(
+          FLIGHT_QUEUE_WAIT, elapsedMillis(submitted, now), Map.of(FLIGHT_CLASS_KEY, flightClass));
+    }
+    runningFlights.put(context.getFlightId(), new FlightTiming(flightClass, now));
+    return HookAction.CONTINUE;
+  }
+
+  @Override
+  public HookAction startStep(FlightContext context) {
+    FlightTiming timing = runningFlights.get(context.getFlightId());
+    if (timing == null) {
+      return HookAction.CONTINUE;
+    }
+    String stepClass = simpleName(context.getStepClassName());
+    Direction direction = context.getDirection();
+    if (context.getStepIndex() == timing.lastStepIndex
+        && direction == timing.lastDirection
+        && timing.lastStepStatus == StepStatus.STEP_RESULT_FAILURE_RETRY) {
+      MetricsUtils.increment(
+          STEP_RETRY_COUNT,
+          Map.of(
+              FLIGHT_CLASS_KEY,
+              timing.flightClass,
+              STEP_CLASS_KEY,
+              stepClass,
+              DIRECTION_KEY,
+              direction.name()));
+    }
+    if (direction == Direction.UNDO && !timing.undoing) {
+      // Stairway undoes the failed step first, so this is the step that caused the undo.
+      timing.undoing = true;
+      MetricsUtils.increment(
+          FLIGHT_UNDO_COUNT,
+          Map.of(FLIGHT_CLASS_KEY, timing.flightClass, STEP_CLASS_KEY, stepClass));
+    }
+    timing.lastStepIndex = context.getStepIndex();
+    timing.lastStepStatus = null;
+    timing.lastDirection = direction;
+    timing.stepStartNanos = System.nanoTime();
+    return HookAction.CONTINUE;
+  }
+
+  @Override
+  public HookAction endStep(FlightContext context) {
+    FlightTiming timing = runningFlights.get(context.getFlightId());
+    if (timing == null) {
+      return HookAction.CONTINUE;
+    }
+    StepResult result = context.getResult();
+    timing.lastStepStatus = result == null ? null : result.getStepStatus();
+    MetricsUtils.record(
+        STEP_DURATION,
+        elapsedMillis(timing.stepStartNanos, System.nanoTime()),
+        Map.of(
+            FLIGHT_CLASS_KEY,
+            timing.flightClass,
+            STEP_CLASS_KEY,
+            simpleName(context.getStepClassName()),
+            DIRECTION_KEY,
+            context.getDirection().name()));
+    return HookAction.CONTINUE;
+  }
+
+  @Override
+  public HookAction endFlight(FlightContext context) {
+    FlightTiming timing = runningFlights.remove(context.getFlightId());
+    if (timing == null) {
+      return HookAction.CONTINUE;
+    }
+    FlightStatus status = context.getFlightStatus();
+    MetricsUtils.record(
+        FLIGHT_DURATION,
+        elapsedMillis(timing.flightStartNanos, System.nanoTime()),
+        Map.of(FLIGHT_CLASS_KEY, timing.flightClass, STATUS_KEY, status.name()));
+    return HookAction.CONTINUE;
+  }
+
+  @Override
+  public HookAction stateTransition(FlightContext context) {
+    return HookAction.CONTINUE;
+  }
+
+  private static long elapsedMillis(long startNanos, long endNanos) {
+    return TimeUnit.NANOSECONDS.toMillis(endNanos - startNanos);
+  }
+
+  private static String simpleName(String className) {
+    return className.substring(className.lastIndexOf('.') + 1);
+  }
+
+  /**
+   * Timing state of one running flight. Stairway runs a flight's steps one at a time, so the
+   * fields are only touched by one thread at a time.
+   */
+  private static class FlightTiming {
+    private final String flightClass;
+    private final long flightStartNanos;
+    private volatile long stepStartNanos;
+    private volatile int lastStepIndex = -1;
+    private volatile Direction lastDirection;
+    /** Status returned by the last attempt of the last step, once it has ended. */
+    private volatile StepStatus lastStepStatus;
+    private volatile boolean undoing;
+
+    private FlightTiming(String flightClass, long flightStartNanos) {
+      this.flightClass = flightClass;
+      this.flightStartNanos = flightStartNanos;
+    }
+  }
+}
@@ -3,39 +3,61 @@ package bio.terra.workspace.common.utils;
 import bio.terra.cloudres.google.api.services.common.OperationCow;
 import bio.terra.cloudres.google.api.services.common.OperationUtils;
 import bio.terra.cloudres.google.cloudresourcemanager.CloudResourceManagerCow;
+import bio.terra.stairway.FlightContext;
 import bio.terra.stairway.Step;
+import bio.terra.stairway.StepResult;
+import bio.terra.stairway.StepStatus;
 import bio.terra.stairway.exception.RetryException;
+import bio.terra.workspace.service.job.FlightResumer;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.services.cloudresourcemanager.v3.model.Operation;
 import com.google.api.services.cloudresourcemanager.v3.model.Project;
 import com.google.cloud.ServiceOptions;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 
 /** Utilities for interacting with Google Cloud APIs within {@link Step}s. */
 public class GcpUtils {
+  private static final Logger logger = LoggerFactory.getLogger(GcpUtils.class);
+
   private GcpUtils() {}
 
   /** Try to delete the Project associated with {@code projectId}. */
   public static void deleteProject(String projectId, CloudResourceManagerCow resourceManager)
       throws IOException, InterruptedException, RetryException {
+    Optional<OperationCow<Operation>> deletion = startProjectDeletion(projectId, resourceManager);
+    if (deletion.isPresent()) {
+      pollUntilSuccess(deletion.get(), Duration.ofSeconds(5), Duration.ofMinutes(5));
+    }
+  }
+
+  /**
+   * Start deleting the Project associated with {@code projectId}, without waiting for it to be
+   * deleted.
+   *
+   * @return the deletion operation, or empty if the project does not exist or is already being
+   *     deleted
+   */
+  public static Optional<OperationCow<Operation>> startProjectDeletion(
+      String projectId, CloudResourceManagerCow resourceManager) throws IOException {
     Optional<Project> project = retrieveProject(projectId, resourceManager);
     if (project.isEmpty()) {
       // The project does not exist.
-      return;
+      return Optional.empty();
     }
     if (project.get().getState().equals("DELETE_REQUESTED")
         || project.get().getState().equals("DELETE_IN_PROGRESS")) {
       // The project is already being deleted.
-      return;
+      return Optional.empty();
     }
-    pollUntilSuccess(
+    return Optional.of(
         resourceManager
             .operations()
-            .operationCow(resourceManager.projects().delete(projectId).execute()),
-        Duration.ofSeconds(5),
-        Duration.ofMinutes(5));
+            .operationCow(resourceManager.projects().delete(projectId).execute()));
   }
 
   /**
@@ -74,6 +96,83 @@ public class GcpUtils {
     }
   }
 
+  /**
+   * Check once whether the Google Service API operation has completed, without waiting. For steps
+   * that yield their thread between polls instead of using {@link #pollUntilSuccess}. Throws any
+   * error as a {@link RetryException}.
+   *
+   * @param operation the operation, which need only have its name set
+   * @return true if the operation completed successfully, false if it is still running
+   */
+  public static boolean pollOnce(OperationCow<?> operation) throws RetryException, IOException {
+    OperationCow<?> current = operation.getOperation();
+    if (!Boolean.TRUE.equals(current.getOperationAdapter().getDone())) {
+      return false;
+    }
+    if (current.getOperationAdapter().getError() != null) {
+      throw new RetryException(
+          String.format(
+              "Error polling operation. name [%s] message [%s]",
+              current.getOperationAdapter().getName(),
+              current.getOperationAdapter().getError().getMessage()));
+    }
+    return true;
+  }
+
+  /**
+   * Wait for a Google Service API operation without holding the flight's thread. The calling step
+   * keeps the operation's name in the working map under {@code operationKey}, and starts the
+   * operation only when there is no name there. Each run of the step polls the operation once; if
+   * it has not completed, the flight yields and the step runs again after {@code pollInterval}.
+   *
+   * <p>When the operation fails or the wait times out, the name is removed, so that a retry of the
+   * step starts the operation again. Errors reading the operation are transient; the step polls
+   * again on its next run.
+   *
+   * @param flightResumer schedules the flight to resume
+   * @param flightContext context of the waiting step
+   * @param operationKey working map key of the operation's name
+   * @param operation the operation, which need only have its name set
+   * @param pollInterval how long to wait between polls
+   * @param timeout how long to wait for the operation before failing with a retryable result
+   * @return the step result to return from the step
+   */
+  public static StepResult awaitOperation(
+      FlightResumer flightResumer,
+      FlightContext flightContext,
+      String operationKey,
+      OperationCow<?> operation,
+      Duration pollInterval,
+      Duration timeout) {
+    try {
+      if (pollOnce(operation)) {
+        endOperationWait(flightResumer, flightContext, operationKey);
+        return StepResult.getStepResultSuccess();
+      }
+    } catch (RetryException e) {
+      endOperationWait(flightResumer, flightContext, operationKey);
+      return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
+    } catch (IOException e) {
+      logger.warn("Failed to poll operation; polling again later", e);
+    }
+    if (flightResumer.waitedLongerThan(flightContext, operationKey, timeout)) {
+      endOperationWait(flightResumer, flightContext, operationKey);
+      return new StepResult(
+          StepStatus.STEP_RESULT_FAILURE_RETRY,
+          new RetryException(
+              String.format(
+                  "Timed out after %s waiting for operation [%s]",
+                  timeout, operation.getOperationAdapter().getName())));
+    }
+    return flightResumer.waitAndRerun(flightContext, operationKey, pollInterval);
+  }
+
+  private static void endOperationWait(
+      FlightResumer flightResumer, FlightContext flightContext, String operationKey) {
+    flightResumer.endWait(flightContext, operationKey);
+    flightContext.getWorkingMap().put(operationKey, null);
+  }
+
   public static String getControlPlaneProjectId() {
     return Optional.ofNullable(ServiceOptions.getDefaultProjectId())
         .orElseThrow(
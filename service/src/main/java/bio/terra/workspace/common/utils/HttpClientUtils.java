@@ -0,0 +1,174 @@
+package bio.terra.workspace.common.utils;
+
+import bio.terra.workspace.app.configuration.external.HttpClientConfiguration;
+import io.opencensus.metrics.LabelKey;
+import io.opencensus.stats.Measure.MeasureLong;
+import io.opencensus.tags.TagKey;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import org.apache.http.impl.client.IdleConnectionEvictor;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+
+/**
+ * Builds the shared HTTP transports used by the generated clients of downstream services. Each
+ * downstream service gets one transport for the life of the application, so connections (and
+ * their TLS sessions) are reused across requests instead of being opened per call. Credentials are
+ * never part of the shared transport; callers attach the bearer token per request.
+ */
+public class HttpClientUtils {
+  private static final TagKey SERVICE_TAG = TagKey.create("service");
+  private static final TagKey STATUS_TAG = TagKey.create("status");
+  private static final LabelKey SERVICE_LABEL = LabelKey.create("service", "Downstream service");
+  private static final MeasureLong REQUEST_LATENCY =
+      MetricsUtils.createDistribution(
+          "http_client/latency",
+          "Latency of requests to downstream services",
+          "ms",
+          new Double[] {5.0, 10.0, 25.0, 50.0, 100.0, 250.0, 500.0, 1000.0, 2500.0, 10000.0},
+          SERVICE_TAG,
+          STATUS_TAG);
+
+  private HttpClientUtils() {}
+
+  /**
+   * Create an OkHttp client with its own connection pool for a downstream service. The pool's
+   * total and idle connection counts are exported as gauges labeled with the service name.
+   *
+   * @param serviceName short name of the downstream service, used to label metrics
+   * @param config pool and timeout settings
+   * @return client to share across all calls to the service
+   */
+  public static OkHttpClient createOkHttpClient(
+      String serviceName, HttpClientConfiguration config) {
+    ConnectionPool connectionPool =
+        new ConnectionPool(
+            config.getMaxIdleConnections(), config.getKeepAliveSeconds(), TimeUnit.SECONDS);
+    MetricsUtils.registerGauge(
+        "http_client/connections",
+        "Open connections in the HTTP client pool",
+        SERVICE_LABEL,
+        serviceName,
+        connectionPool,
+        ConnectionPool::connectionCount);
+    MetricsUtils.registerGauge(
+        "http_client/idle_connections",
+        "Idle connections in the HTTP client pool",
+        SERVICE_LABEL,
+        serviceName,
+        connectionPool,
+        ConnectionPool::idleConnectionCount);
+    return new OkHttpClient.Builder()
+        .connectionPool(connectionPool)
+        .connectTimeout(config.getConnectTimeoutSeconds(), TimeUnit.SECONDS)
+        .readTimeout(config.getReadTimeoutSeconds(), TimeUnit.SECONDS)
+        .addInterceptor(
+            chain -> {
+              long startNanos = System.nanoTime();
+              String status = "error";
+              try {
+                Response response = chain.proceed(chain.request());
+                status = Integer.toString(response.code());
+                return response;
+              } finally {
+                recordLatency(serviceName, status, startNanos);
+              }
+            })
+        .build();
+  }
+
+  /**
+   * Create the JAX-RS client behind a Jersey-based generated client, from the client the generated
+   * code built, whose JSON providers it keeps. Requests go through an Apache connection pool of the
+   * service's own, whose total and idle connection counts are exported as gauges labeled with the
+   * service name, as for OkHttp clients.
+   *
+   * @param serviceName short name of the downstream service, used to label metrics
+   * @param generatedClient client built by the generated code; it is closed
+   * @param config pool and timeout settings
+   * @return client to share across all calls to the service
+   */
+  public static Client createJaxRsClient(
+      String serviceName, Client generatedClient, HttpClientConfiguration config) {
+    PoolingHttpClientConnectionManager connectionManager =
+        new PoolingHttpClientConnectionManager();
+    // All of a client's requests go to one service, so a single route may use the whole pool.
+    connectionManager.setMaxTotal(config.getMaxConnections());
+    connectionManager.setDefaultMaxPerRoute(config.getMaxConnections());
+    new IdleConnectionEvictor(connectionManager, config.getKeepAliveSeconds(), TimeUnit.SECONDS)
+        .start();
+    MetricsUtils.registerGauge(
+        "http_client/connections",
+        "Open connections in the HTTP client pool",
+        SERVICE_LABEL,
+        serviceName,
+        connectionManager,
+        pool -> pool.getTotalStats().getLeased() + pool.getTotalStats().getAvailable());
+    MetricsUtils.registerGauge(
+        "http_client/idle_connections",
+        "Idle connections in the HTTP client pool",
+        SERVICE_LABEL,
+        serviceName,
+        connectionManager,
+        pool -> pool.getTotalStats().getAvailable());
+
+    ClientConfig clientConfig =
+        new ClientConfig()
+            .loadFrom(generatedClient.getConfiguration())
+            .connectorProvider(new ApacheConnectorProvider())
+            .property(ApacheClientProperties.CONNECTION_MANAGER, connectionManager)
+            .property(
+                ClientProperties.CONNECT_TIMEOUT,
+                (int) TimeUnit.SECONDS.toMillis(config.getConnectTimeoutSeconds()))
+            .property(
+                ClientProperties.READ_TIMEOUT,
+                (int) TimeUnit.SECONDS.toMillis(config.getReadTimeoutSeconds()))
+            .register(new LatencyFilter(serviceName));
+    generatedClient.close();
+    return ClientBuilder.newClient(clientConfig);
+  }
+
+  private static void recordLatency(String serviceName, String status, long startNanos) {
+    MetricsUtils.record(
+        REQUEST_LATENCY,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+        Map.of(SERVICE_TAG, serviceName, STATUS_TAG, status));
+  }
+
+  /** Records request latency for JAX-RS clients, the equivalent of the OkHttp interceptor. */
+  private static class LatencyFilter implements ClientRequestFilter, ClientResponseFilter {
+    private static final String START_PROPERTY = LatencyFilter.class.getName() + ".startNanos";
+
+    private final String serviceName;
+
+    private LatencyFilter(String serviceName) {
+      this.serviceName = serviceName;
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext) {
+      requestContext.setProperty(START_PROPERTY, System.nanoTime());
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) {
+      Object startNanos = requestContext.getProperty(START_PROPERTY);
+      if (startNanos instanceof Long) {
+        recordLatency(
+            serviceName, Integer.toString(responseContext.getStatus()), (Long) startNanos);
+      }
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package bio.terra.workspace.common.utils;
+
+import io.opencensus.common.ToLongFunction;
+import io.opencensus.metrics.DerivedLongGauge;
+import io.opencensus.metrics.LabelKey;
+import io.opencensus.metrics.LabelValue;
+import io.opencensus.metrics.MetricOptions;
+import io.opencensus.metrics.MetricRegistry;
+import io.opencensus.metrics.Metrics;
+import io.opencensus.stats.Aggregation;
+import io.opencensus.stats.BucketBoundaries;
+import io.opencensus.stats.Measure.MeasureLong;
+import io.opencensus.stats.Stats;
+import io.opencensus.stats.StatsRecorder;
+import io.opencensus.stats.View;
+import io.opencensus.tags.TagContextBuilder;
+import io.opencensus.tags.TagKey;
+import io.opencensus.tags.TagValue;
+import io.opencensus.tags.Tagger;
+import io.opencensus.tags.Tags;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helpers for recording OpenCensus metrics. Views and gauges are exported to Stackdriver when
+ * workspace.metrics.export-enabled is set; otherwise they are only kept in memory.
+ *
+ * <p>Measures and their views are expected to be created once, in static fields of the class that
+ * records them. Registering an identical view more than once is allowed by OpenCensus, which keeps
+ * repeated Spring context creation in tests harmless.
+ */
+public class MetricsUtils {
+  private static final String METRIC_PREFIX = "workspace/";
+  private static final StatsRecorder STATS_RECORDER = Stats.getStatsRecorder();
+  private static final Tagger TAGGER = Tags.getTagger();
+  private static final MetricRegistry METRIC_REGISTRY = Metrics.getMetricRegistry();
+
+  private MetricsUtils() {}
+
+  /**
+   * Create a counter measure and register a view counting its recordings, broken down by the
+   * provided tag keys.
+   *
+   * @param name metric name, without the "workspace/" prefix
+   * @param description human readable description of the metric
+   * @param tagKeys tag keys to break the count down by
+   * @return measure to pass to {@link #increment(MeasureLong, Map)}
+   */
+  public static MeasureLong createCounter(String name, String description, TagKey... tagKeys) {
+    return createMeasure(name, description, "1", Aggregation.Count.create(), tagKeys);
+  }
+
+  /**
+   * Create a measure of a long-valued quantity such as a duration, and register a view recording
+   * its distribution across the given bucket boundaries.
+   *
+   * @param name metric name, without the "workspace/" prefix
+   * @param description human readable description of the metric
+   * @param unit unit of the recorded values, e.g. "ms"
+   * @param bucketBoundaries upper bounds of the distribution buckets
+   * @param tagKeys tag keys to break the distribution down by
+   * @return measure to pass to {@link #record(MeasureLong, long, Map)}
+   */
+  public static MeasureLong createDistribution(
+      String name, String description, String unit, Double[] bucketBoundaries, TagKey... tagKeys) {
+    return createMeasure(
+        name,
+        description,
+        unit,
+        Aggregation.Distribution.create(BucketBoundaries.create(Arrays.asList(bucketBoundaries))),
+        tagKeys);
+  }
+
+  /** Record a single occurrence on a counter measure. */
+  public static void increment(MeasureLong measure, Map<TagKey, String> tags) {
+    record(measure, 1L, tags);
+  }
+
+  /** Record a value on a measure with the given tag values. */
+  public static void record(MeasureLong measure, long value, Map<TagKey, String> tags) {
+    TagContextBuilder tagContextBuilder = TAGGER.emptyBuilder();
+    tags.forEach((key, tagValue) -> tagContextBuilder.putLocal(key, TagValue.create(tagValue)));
+    STATS_RECORDER.newMeasureMap().put(measure, value).record(tagContextBuilder.build());
+  }
+
+  /**
+   * Register a gauge whose value is read from an object each time metrics are exported. A gauge
+   * already registered under the same name and label value is replaced, so an object recreated
+   * along with a Spring context does not leave the old one being reported.
+   *
+   * @param name metric name, without the "workspace/" prefix
+   * @param description human readable description of the metric
+   * @param labelKey key of the label distinguishing the objects reported under this name
+   * @param labelValue label value identifying this object
+   * @param obj object to read the value from
+   * @param function reads the current value from the object
+   */
+  public static <T> void registerGauge(
+      String name,
+      String description,
+      LabelKey labelKey,
+      String labelValue,
+      T obj,
+      ToLongFunction<T> function) {
+    registerGauge(name, description, "1", labelKey, labelValue, obj, function);
+  }
+
+  /**
+   * Register a gauge, as {@link #registerGauge(String, String, LabelKey, String, Object,
+   * ToLongFunction)}, whose value is in the given unit.
+   *
+   * @param unit unit of the value, e.g. "ms"
+   */
+  public static <T> void registerGauge(
+      String name,
+      String description,
+      String unit,
+      LabelKey labelKey,
+      String labelValue,
+      T obj,
+      ToLongFunction<T> function) {
+    DerivedLongGauge gauge =
+        METRIC_REGISTRY.addDerivedLongGauge(
+            METRIC_PREFIX + name,
+            MetricOptions.builder()
+                .setDescription(description)
+                .setUnit(unit)
+                .setLabelKeys(List.of(labelKey))
+                .build());
+    List<LabelValue> labelValues = List.of(LabelValue.create(labelValue));
+    gauge.removeTimeSeries(labelValues);
+    gauge.createTimeSeries(labelValues, obj, function);
+  }
+
+  private static MeasureLong createMeasure(
+      String name, String description, String unit, Aggregation aggregation, TagKey[] tagKeys) {
+    MeasureLong measure = MeasureLong.create(METRIC_PREFIX + name, description, unit);
+    View view =
+        View.create(
+            View.Name.create(METRIC_PREFIX + name),
+            description,
+            measure,
+            aggregation,
+            Arrays.asList(tagKeys));
+    Stats.getViewManager().registerView(view);
+    return measure;
+  }
+}
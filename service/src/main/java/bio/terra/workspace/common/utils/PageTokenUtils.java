@@ -0,0 +1,62 @@
+package bio.terra.workspace.common.utils;
+
+import bio.terra.common.exception.ValidationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Encoding of the opaque continuation tokens used by keyset-paginated list endpoints.
+ *
+ * <p>A token holds the sort key of the last item on the previous page; the next page starts with
+ * the first item after that key. Clients must treat the token as opaque, which leaves us free to
+ * change what is in it.
+ */
+public final class PageTokenUtils {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final TypeReference<List<String>> KEY_LIST = new TypeReference<>() {};
+
+  private PageTokenUtils() {}
+
+  /**
+   * Encode the sort key of the last item on a page.
+   *
+   * @param keys the sort key columns, in order
+   * @return page token to hand back to the client
+   */
+  public static String encode(String... keys) {
+    try {
+      return Base64.getUrlEncoder()
+          .withoutPadding()
+          .encodeToString(MAPPER.writeValueAsBytes(List.of(keys)));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Failed to encode page token", e);
+    }
+  }
+
+  /**
+   * Decode a page token produced by {@link #encode(String...)}.
+   *
+   * @param pageToken token supplied by the client
+   * @param keyCount number of sort key columns the caller expects
+   * @return the sort key columns, in order
+   * @throws ValidationException if the token is malformed
+   */
+  public static List<String> decode(String pageToken, int keyCount) {
+    try {
+      List<String> keys =
+          MAPPER.readValue(
+              new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8),
+              KEY_LIST);
+      if (keys.size() == keyCount && !keys.contains(null)) {
+        return keys;
+      }
+    } catch (IllegalArgumentException | JsonProcessingException e) {
+      // Fall through to the validation error below
+    }
+    throw new ValidationException("Invalid page token: " + pageToken);
+  }
+}
@@ -0,0 +1,301 @@
+package bio.terra.workspace.common.utils;
+
+import bio.terra.stairway.Direction;
+import bio.terra.stairway.FlightDebugInfo;
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightMap;
+import bio.terra.stairway.RetryRule;
+import bio.terra.stairway.Step;
+import bio.terra.stairway.StepResult;
+import bio.terra.stairway.StepStatus;
+import bio.terra.stairway.exception.RetryException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import javax.annotation.Nullable;
+import org.slf4j.MDC;
+
+/**
+ * A {@link Step} made of branches of steps that run concurrently with each other. Each branch is
+ * a sequence of steps run in order, each with its own retry rule, as a flight runs them. The group
+ * succeeds when every branch has; otherwise it fails with the result of the first failed branch,
+ * after the other branches have finished.
+ *
+ * <p>When the group is undone, each branch undoes the steps it started, in reverse order, as
+ * Stairway would have had they been steps of the flight. Branches are undone concurrently too.
+ *
+ * <p>The flight's working map is not thread safe, so while the group runs, its steps may only read
+ * entries put before the group started. Entries they produce for later steps are put with {@link
+ * #putWorkingValue(FlightContext, String, Object)}, and are added to the working map when all the
+ * branches have finished.
+ *
+ * <p>Steps must not share a {@link RetryRule} instance across branches.
+ *
+ * <p>Branches run on the shared parallelStepExecutor, whose size is job.parallel-step-threads; when
+ * every thread is busy, branches wait for one. A branch must therefore not wait for a parallel step
+ * group of its own.
+ *
+ * <p>Stairway sees the group as a single step. Its hooks are called for the group, not for the
+ * steps inside it; the group reports their attempts to {@link FlightMetricsHook} itself.
+ *
+ * <p>Fault injection through {@link FlightDebugInfo} by step index applies to the group as a
+ * whole. The do and undo step failures, which name a step's class, are applied by the group to the
+ * steps inside it: as in a flight, the step runs and the failure replaces the result of its first
+ * attempt.
+ */
+public class ParallelStepGroup implements Step {
+  private static final String PROGRESS_KEY_FORMAT = "parallelStepGroup.%d.stepsStarted";
+
+  /** Entries put by the steps of the branch running on this thread, if any. */
+  private static final ThreadLocal<Map<String, Object>> BRANCH_OUTPUT = new ThreadLocal<>();
+
+  private final ExecutorService executor;
+  private final FlightMetricsHook flightMetricsHook;
+  private final List<Branch> branches = new ArrayList<>();
+
+  public ParallelStepGroup(FlightBeanBag beanBag) {
+    this.executor = beanBag.getParallelStepExecutor();
+    this.flightMetricsHook = beanBag.getFlightMetricsHook();
+  }
+
+  /** Add a branch; steps are added to it in the order they are to run. */
+  public Branch newBranch() {
+    Branch branch = new Branch();
+    branches.add(branch);
+    return branch;
+  }
+
+  /**
+   * Put an entry in the flight's working map. From a step running in a parallel step group, the
+   * entry is held until all of the group's branches have finished; otherwise it is put right away.
+   */
+  public static void putWorkingValue(FlightContext flightContext, String key, Object value) {
+    Map<String, Object> branchOutput = BRANCH_OUTPUT.get();
+    if (branchOutput != null) {
+      branchOutput.put(key, value);
+    } else {
+      flightContext.getWorkingMap().put(key, value);
+    }
+  }
+
+  @Override
+  public StepResult doStep(FlightContext flightContext) throws InterruptedException {
+    List<BranchRun> runs = new ArrayList<>();
+    for (Branch branch : branches) {
+      runs.add(new BranchRun(branch));
+    }
+    List<StepResult> results = runConcurrently(runs, run -> run.doSteps(flightContext));
+
+    // Only this thread touches the working map now.
+    FlightMap workingMap = flightContext.getWorkingMap();
+    List<Integer> progress = new ArrayList<>();
+    for (BranchRun run : runs) {
+      run.output.forEach(workingMap::put);
+      progress.add(run.stepsStarted);
+    }
+    workingMap.put(progressKey(flightContext), progress);
+    return firstFailure(results);
+  }
+
+  @Override
+  public StepResult undoStep(FlightContext flightContext) throws InterruptedException {
+    List<Integer> progress =
+        flightContext.getWorkingMap().get(progressKey(flightContext), new TypeReference<>() {});
+    List<BranchRun> runs = new ArrayList<>();
+    for (int i = 0; i < branches.size(); i++) {
+      BranchRun run = new BranchRun(branches.get(i));
+      // Without a record of progress, the group stopped part way; undo every step.
+      run.stepsStarted = progress == null ? run.branch.steps.size() : progress.get(i);
+      runs.add(run);
+    }
+    return firstFailure(runConcurrently(runs, run -> run.undoSteps(flightContext)));
+  }
+
+  private static String progressKey(FlightContext flightContext) {
+    return String.format(PROGRESS_KEY_FORMAT, flightContext.getStepIndex());
+  }
+
+  private static StepResult firstFailure(List<StepResult> results) {
+    return results.stream()
+        .filter(result -> !result.isSuccess())
+        .findFirst()
+        .orElse(StepResult.getStepResultSuccess());
+  }
+
+  /**
+   * Run each branch on its own thread, with the caller's MDC context, and wait for all of them. If
+   * interrupted, the branches are interrupted too.
+   */
+  private List<StepResult> runConcurrently(List<BranchRun> runs, BranchAction action)
+      throws InterruptedException {
+    Map<String, String> mdc = MDC.getCopyOfContextMap();
+    List<Future<StepResult>> futures = new ArrayList<>();
+    for (BranchRun run : runs) {
+      futures.add(
+          executor.submit(
+              () -> {
+                MDC.setContextMap(mdc == null ? Collections.emptyMap() : mdc);
+                BRANCH_OUTPUT.set(run.output);
+                try {
+                  return action.run(run);
+                } finally {
+                  BRANCH_OUTPUT.remove();
+                  MDC.clear();
+                }
+              }));
+    }
+
+    List<StepResult> results = new ArrayList<>();
+    try {
+      for (Future<StepResult> future : futures) {
+        results.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      futures.forEach(future -> future.cancel(true));
+      throw e;
+    } catch (ExecutionException e) {
+      // Step exceptions are turned into results in runStep; anything else is a bug.
+      throw new IllegalStateException("Parallel step branch failed unexpectedly", e.getCause());
+    }
+    return results;
+  }
+
+  /**
+   * Do or undo a step, retrying under its retry rule as a flight would. Exceptions are turned into
+   * results the way Stairway does: a {@link RetryException} may be retried, anything else is fatal.
+   * Each attempt is reported to the metrics hook.
+   */
+  private StepResult runStep(BranchStep branchStep, FlightContext flightContext, boolean undo)
+      throws InterruptedException {
+    RetryRule retryRule = branchStep.retryRule;
+    if (retryRule != null) {
+      retryRule.initialize();
+    }
+    boolean retry = false;
+    while (true) {
+      long startNanos = System.nanoTime();
+      StepResult result;
+      try {
+        result =
+            undo
+                ? branchStep.step.undoStep(flightContext)
+                : branchStep.step.doStep(flightContext);
+      } catch (RetryException e) {
+        result = new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
+      } catch (InterruptedException e) {
+        throw e;
+      } catch (Exception e) {
+        result = new StepResult(StepStatus.STEP_RESULT_FAILURE_FATAL, e);
+      }
+      if (!retry) {
+        result = injectFailure(branchStep.step, flightContext, undo, result);
+      }
+      flightMetricsHook.branchStepAttempted(
+          flightContext, branchStep.step, undo ? Direction.UNDO : Direction.DO, startNanos, retry);
+
+      StepStatus status = result.getStepStatus();
+      if (status == StepStatus.STEP_RESULT_FAILURE_RETRY
+          && retryRule != null
+          && retryRule.retrySleep()) {
+        retry = true;
+        continue;
+      }
+      if (!result.isSuccess()
+          && status != StepStatus.STEP_RESULT_FAILURE_RETRY
+          && status != StepStatus.STEP_RESULT_FAILURE_FATAL) {
+        return new StepResult(
+            StepStatus.STEP_RESULT_FAILURE_FATAL,
+            new IllegalStateException(
+                String.format(
+                    "Step %s returned %s, which a parallel step group does not support",
+                    branchStep.step.getClass().getSimpleName(), status)));
+      }
+      return result;
+    }
+  }
+
+  /**
+   * @return the failure the flight's debug info asks for on the step's first attempt, if any;
+   *     otherwise the step's own result
+   */
+  private static StepResult injectFailure(
+      Step step, FlightContext flightContext, boolean undo, StepResult result) {
+    FlightDebugInfo debugInfo = flightContext.getDebugInfo();
+    if (debugInfo == null) {
+      return result;
+    }
+    Map<String, StepStatus> failures =
+        undo ? debugInfo.getUndoStepFailures() : debugInfo.getDoStepFailures();
+    StepStatus failure = failures == null ? null : failures.get(step.getClass().getName());
+    return failure == null ? result : new StepResult(failure);
+  }
+
+  /** A sequence of steps run in order, concurrently with the group's other branches. */
+  public static class Branch {
+    private final List<BranchStep> steps = new ArrayList<>();
+
+    private Branch() {}
+
+    public Branch addStep(Step step) {
+      return addStep(step, null);
+    }
+
+    public Branch addStep(Step step, @Nullable RetryRule retryRule) {
+      steps.add(new BranchStep(step, retryRule));
+      return this;
+    }
+  }
+
+  private static class BranchStep {
+    private final Step step;
+    @Nullable private final RetryRule retryRule;
+
+    private BranchStep(Step step, @Nullable RetryRule retryRule) {
+      this.step = step;
+      this.retryRule = retryRule;
+    }
+  }
+
+  /** The state of one branch while the group is being done or undone. */
+  private class BranchRun {
+    private final Branch branch;
+    private final Map<String, Object> output = new HashMap<>();
+    private int stepsStarted;
+
+    private BranchRun(Branch branch) {
+      this.branch = branch;
+    }
+
+    private StepResult doSteps(FlightContext flightContext) throws InterruptedException {
+      for (BranchStep branchStep : branch.steps) {
+        stepsStarted++;
+        StepResult result = runStep(branchStep, flightContext, /* undo= */ false);
+        if (!result.isSuccess()) {
+          return result;
+        }
+      }
+      return StepResult.getStepResultSuccess();
+    }
+
+    private StepResult undoSteps(FlightContext flightContext) throws InterruptedException {
+      for (int i = stepsStarted - 1; i >= 0; i--) {
+        StepResult result = runStep(branch.steps.get(i), flightContext, /* undo= */ true);
+        if (!result.isSuccess()) {
+          return result;
+        }
+      }
+      return StepResult.getStepResultSuccess();
+    }
+  }
+
+  @FunctionalInterface
+  private interface BranchAction {
+    StepResult run(BranchRun run) throws InterruptedException;
+  }
+}
@@ -0,0 +1,149 @@
+package bio.terra.workspace.db;
+
+import bio.terra.workspace.app.configuration.external.CloudContextCacheConfiguration;
+import bio.terra.workspace.common.utils.MetricsUtils;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.opencensus.stats.Measure.MeasureLong;
+import io.opencensus.tags.TagKey;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of the GCP project id of each workspace's cloud context, kept consistent across WSM
+ * replicas with Postgres LISTEN/NOTIFY.
+ *
+ * <p>Nearly every flight step that touches GCP looks up its workspace's project. The mapping only
+ * changes when a cloud context is created or deleted, so each replica keeps it in memory. The
+ * {@link WorkspaceDao} methods that write cloud contexts call {@link #announceChange(UUID)}, which
+ * issues a NOTIFY in the writing transaction. Postgres delivers it to every replica's {@link
+ * DatabaseNotificationListener} when the transaction commits, and each replica drops its entry.
+ *
+ * <p>The cache is only used while this replica's listener connection is up; a replica that might
+ * be missing notifications reads through to the database, and forgets everything it had cached
+ * whenever the listener reconnects. Only present mappings are cached, so a new cloud context is
+ * visible everywhere as soon as it is committed.
+ */
+@Component
+public class CloudContextCache implements DatabaseNotificationListener.Subscriber {
+  private static final Logger logger = LoggerFactory.getLogger(CloudContextCache.class);
+
+  /** Postgres notification channel. The payload is "workspaceId sentAtEpochMillis". */
+  static final String CHANNEL = "wsm_cloud_context";
+
+  private static final TagKey RESULT_KEY = TagKey.create("result");
+  private static final MeasureLong LOOKUP_COUNT =
+      MetricsUtils.createCounter(
+          "cloud_context_cache/lookups", "Workspace cloud context cache lookups", RESULT_KEY);
+  private static final MeasureLong INVALIDATION_LAG =
+      MetricsUtils.createDistribution(
+          "cloud_context_cache/invalidation_lag",
+          "Time from a cloud context change notification being sent to it being handled",
+          "ms",
+          new Double[] {1.0, 5.0, 10.0, 50.0, 100.0, 500.0, 1000.0, 5000.0});
+  private static final Map<TagKey, String> HIT_TAGS = Map.of(RESULT_KEY, "hit");
+  private static final Map<TagKey, String> MISS_TAGS = Map.of(RESULT_KEY, "miss");
+  private static final Map<TagKey, String> BYPASS_TAGS = Map.of(RESULT_KEY, "bypass");
+
+  private final boolean enabled;
+  private final DatabaseNotificationListener notificationListener;
+  private final Cache<UUID, String> gcpProjectIds;
+
+  /**
+   * Bumped on every invalidation. A load that raced with an invalidation may have read the old
+   * row, so its result is only stored if no invalidation happened while it ran.
+   */
+  private final AtomicLong invalidationCount = new AtomicLong();
+
+  @Autowired
+  public CloudContextCache(
+      CloudContextCacheConfiguration cacheConfiguration,
+      DatabaseNotificationListener notificationListener) {
+    this.enabled = cacheConfiguration.isEnabled();
+    this.notificationListener = notificationListener;
+    this.gcpProjectIds =
+        CacheBuilder.newBuilder()
+            .maximumSize(cacheConfiguration.getMaximumSize())
+            .expireAfterWrite(cacheConfiguration.getTtlSeconds(), TimeUnit.SECONDS)
+            .build();
+    if (enabled) {
+      notificationListener.subscribe(CHANNEL, this);
+    }
+  }
+
+  /**
+   * Return the GCP project id of a workspace, from the cache if possible.
+   *
+   * @param workspaceId workspace to look up
+   * @param loader reads the project id from the database
+   */
+  public Optional<String> getGcpProjectId(UUID workspaceId, Supplier<Optional<String>> loader) {
+    if (!enabled || !notificationListener.isListening()) {
+      MetricsUtils.increment(LOOKUP_COUNT, BYPASS_TAGS);
+      return loader.get();
+    }
+    String projectId = gcpProjectIds.getIfPresent(workspaceId);
+    if (projectId != null) {
+      MetricsUtils.increment(LOOKUP_COUNT, HIT_TAGS);
+      return Optional.of(projectId);
+    }
+    MetricsUtils.increment(LOOKUP_COUNT, MISS_TAGS);
+    long invalidationsBeforeLoad = invalidationCount.get();
+    Optional<String> loaded = loader.get();
+    if (loaded.isPresent() && invalidationCount.get() == invalidationsBeforeLoad) {
+      gcpProjectIds.put(workspaceId, loaded.get());
+    }
+    return loaded;
+  }
+
+  /**
+   * Tell every replica, including this one, that a workspace's cloud context changed. Must be
+   * called inside the transaction making the change: Postgres holds the notification until that
+   * transaction commits, and drops it if it rolls back.
+   */
+  public void announceChange(UUID workspaceId) {
+    invalidate(workspaceId);
+    notificationListener.send(CHANNEL, workspaceId + " " + System.currentTimeMillis());
+  }
+
+  /** Changes made while the listener was not connected were missed. */
+  @Override
+  public void onListening() {
+    invalidateAll();
+  }
+
+  @Override
+  public void onNotification(String payload) {
+    String[] parts = payload.split(" ");
+    try {
+      invalidate(UUID.fromString(parts[0]));
+      if (parts.length > 1) {
+        // Clocks of different replicas are not synchronized exactly, so this is approximate.
+        long lagMillis = System.currentTimeMillis() - Long.parseLong(parts[1]);
+        MetricsUtils.record(INVALIDATION_LAG, Math.max(0, lagMillis), Collections.emptyMap());
+      }
+    } catch (IllegalArgumentException e) {
+      logger.warn("Ignoring malformed cloud context change notification: {}", payload);
+      invalidateAll();
+    }
+  }
+
+  private void invalidate(UUID workspaceId) {
+    invalidationCount.incrementAndGet();
+    gcpProjectIds.invalidate(workspaceId);
+  }
+
+  private void invalidateAll() {
+    invalidationCount.incrementAndGet();
+    gcpProjectIds.invalidateAll();
+  }
+}
@@ -0,0 +1,173 @@
+package bio.terra.workspace.db;
+
+import bio.terra.workspace.app.configuration.external.WorkspaceDatabaseConfiguration;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers Postgres NOTIFY messages sent by any WSM replica to subscribers in this replica.
+ *
+ * <p>A single listener thread holds one connection to the WSM database, LISTENs on every
+ * subscribed channel, and dispatches each notification to its channel's subscriber on that thread,
+ * so subscribers must handle notifications quickly. Postgres does not queue notifications for a
+ * session that is not connected; whenever the listener (re)connects, every subscriber is told that
+ * it may have missed some.
+ */
+@Component
+public class DatabaseNotificationListener {
+  private static final Logger logger = LoggerFactory.getLogger(DatabaseNotificationListener.class);
+
+  private static final int POLL_TIMEOUT_MILLIS = 10000;
+  private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+  /** Receives the notifications of one channel. */
+  public interface Subscriber {
+    /** Called with the payload of each notification on the channel. */
+    void onNotification(String payload);
+
+    /**
+     * Called each time the listener has connected and is about to start delivering notifications.
+     * Anything sent while it was not connected was lost.
+     */
+    default void onListening() {}
+  }
+
+  private final WorkspaceDatabaseConfiguration databaseConfiguration;
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+
+  private volatile boolean listening;
+  private volatile boolean running;
+  private Thread listenerThread;
+
+  @Autowired
+  public DatabaseNotificationListener(
+      WorkspaceDatabaseConfiguration databaseConfiguration,
+      NamedParameterJdbcTemplate jdbcTemplate) {
+    this.databaseConfiguration = databaseConfiguration;
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Subscribe to a channel. Subscriptions are made while the application is being wired, before
+   * the listener starts.
+   *
+   * @param channel Postgres channel name; must be a plain lower case identifier
+   */
+  public synchronized void subscribe(String channel, Subscriber subscriber) {
+    if (listenerThread != null) {
+      throw new IllegalStateException("Cannot subscribe after the listener has started");
+    }
+    if (subscribers.putIfAbsent(channel, subscriber) != null) {
+      throw new IllegalStateException("Channel already has a subscriber: " + channel);
+    }
+  }
+
+  /**
+   * Send a notification to every replica, including this one. Inside a transaction, Postgres holds
+   * the notification until the transaction commits, and drops it if it rolls back.
+   */
+  public void send(String channel, String payload) {
+    MapSqlParameterSource params =
+        new MapSqlParameterSource().addValue("channel", channel).addValue("payload", payload);
+    jdbcTemplate.queryForObject("SELECT pg_notify(:channel, :payload)", params, String.class);
+  }
+
+  /** Whether notifications are currently being received. */
+  public boolean isListening() {
+    return listening;
+  }
+
+  /** Start the listener thread. Called once the application is initialized. */
+  public synchronized void startListening() {
+    if (listenerThread != null || subscribers.isEmpty()) {
+      return;
+    }
+    running = true;
+    listenerThread = new Thread(this::listen, "database-notification-listener");
+    listenerThread.setDaemon(true);
+    listenerThread.start();
+  }
+
+  @PreDestroy
+  public synchronized void stopListening() {
+    running = false;
+    if (listenerThread != null) {
+      listenerThread.interrupt();
+      listenerThread = null;
+    }
+  }
+
+  private void listen() {
+    while (running) {
+      try (Connection connection = openListenerConnection()) {
+        try (Statement statement = connection.createStatement()) {
+          for (String channel : subscribers.keySet()) {
+            statement.execute("LISTEN " + channel);
+          }
+        }
+        subscribers.values().forEach(Subscriber::onListening);
+        listening = true;
+        logger.info("Listening for notifications on {}", subscribers.keySet());
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        while (running) {
+          PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+          if (notifications != null) {
+            for (PGNotification notification : notifications) {
+              dispatch(notification);
+            }
+          }
+        }
+      } catch (SQLException e) {
+        logger.warn("Database notification listener failed; reconnecting", e);
+      } finally {
+        listening = false;
+      }
+      if (running) {
+        try {
+          Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  private void dispatch(PGNotification notification) {
+    Subscriber subscriber = subscribers.get(notification.getName());
+    if (subscriber == null) {
+      return;
+    }
+    try {
+      subscriber.onNotification(notification.getParameter());
+    } catch (RuntimeException e) {
+      logger.warn("Failed to handle notification on {}", notification.getName(), e);
+    }
+  }
+
+  /**
+   * The listener holds a connection for as long as it runs, so it does not take one from the
+   * shared pool.
+   */
+  private Connection openListenerConnection() throws SQLException {
+    Properties props = new Properties();
+    props.setProperty("user", databaseConfiguration.getUsername());
+    props.setProperty("password", databaseConfiguration.getPassword());
+    return DriverManager.getConnection(databaseConfiguration.getUri(), props);
+  }
+}
@@ -0,0 +1,95 @@
+package bio.terra.workspace.db;
+
+import bio.terra.common.db.ReadTransaction;
+import bio.terra.common.db.WriteTransaction;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * FlightWaitDao records the resume scheduled for each yielded flight: which WSM process holds it
+ * in memory, and when it is due. A resume that is long overdue belongs to a process that has
+ * stopped, and another process can claim it.
+ */
+@Component
+public class FlightWaitDao {
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  @Autowired
+  public FlightWaitDao(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Record that {@code resumerId} will resume the flight at {@code resumeAt}. */
+  @WriteTransaction
+  public void recordWait(String flightId, String resumerId, Instant resumeAt) {
+    final String sql =
+        "INSERT INTO flight_wait (flight_id, resumer_id, resume_at)"
+            + " VALUES (:flight_id, :resumer_id, :resume_at)"
+            + " ON CONFLICT (flight_id) DO UPDATE"
+            + " SET resumer_id = EXCLUDED.resumer_id, resume_at = EXCLUDED.resume_at";
+    jdbcTemplate.update(
+        sql,
+        new MapSqlParameterSource()
+            .addValue("flight_id", flightId)
+            .addValue("resumer_id", resumerId)
+            .addValue("resume_at", toOffsetDateTime(resumeAt)));
+  }
+
+  /** @return the id of the process that will resume the flight, if a resume is recorded */
+  @ReadTransaction
+  public Optional<String> getResumerId(String flightId) {
+    final String sql = "SELECT resumer_id FROM flight_wait WHERE flight_id = :flight_id";
+    return jdbcTemplate
+        .queryForList(sql, new MapSqlParameterSource("flight_id", flightId), String.class)
+        .stream()
+        .findFirst();
+  }
+
+  /**
+   * Forget the resume recorded by {@link #recordWait} with these arguments. Nothing is deleted if
+   * a later resume has been recorded since.
+   */
+  @WriteTransaction
+  public void forgetWait(String flightId, String resumerId, Instant resumeAt) {
+    final String sql =
+        "DELETE FROM flight_wait WHERE flight_id = :flight_id"
+            + " AND resumer_id = :resumer_id AND resume_at = :resume_at";
+    jdbcTemplate.update(
+        sql,
+        new MapSqlParameterSource()
+            .addValue("flight_id", flightId)
+            .addValue("resumer_id", resumerId)
+            .addValue("resume_at", toOffsetDateTime(resumeAt)));
+  }
+
+  /**
+   * Take over the resumes that were due before {@code overdueBefore}, rescheduling them for {@code
+   * resumeAt}. Each row is updated by one claimer only, so no two processes claim the same resume.
+   *
+   * @return ids of the flights whose resumes were claimed
+   */
+  @WriteTransaction
+  public List<String> claimOverdueWaits(String resumerId, Instant overdueBefore, Instant resumeAt) {
+    final String sql =
+        "UPDATE flight_wait SET resumer_id = :resumer_id, resume_at = :resume_at"
+            + " WHERE resume_at < :overdue_before RETURNING flight_id";
+    return jdbcTemplate.queryForList(
+        sql,
+        new MapSqlParameterSource()
+            .addValue("resumer_id", resumerId)
+            .addValue("resume_at", toOffsetDateTime(resumeAt))
+            .addValue("overdue_before", toOffsetDateTime(overdueBefore)),
+        String.class);
+  }
+
+  private static OffsetDateTime toOffsetDateTime(Instant instant) {
+    return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+  }
+}
@@ -0,0 +1,116 @@
+package bio.terra.workspace.db;
+
+import bio.terra.common.db.ReadTransaction;
+import bio.terra.common.db.WriteTransaction;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * JobProgressDao keeps the progress reported by running flights. Stairway only returns a flight's
+ * result once the flight has finished; progress is kept here so that it can be read, by any
+ * replica, while the job runs and after it fails.
+ *
+ * <p>A flight reports its progress in the form of its job's result, so that reading it is no
+ * different from reading the result. A job whose work runs in sub-flights may instead have its
+ * progress reported in parts, one per sub-flight, under the job id the caller polls.
+ *
+ * <p>Rows are deleted when their job succeeds, as the result then supersedes them, and otherwise
+ * once they are older than Stairway keeps finished flights.
+ */
+@Component
+public class JobProgressDao {
+  /** The part holding the progress of the job as a whole. */
+  private static final String WHOLE_JOB = "";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  @Autowired
+  public JobProgressDao(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Replace the job's progress. */
+  @WriteTransaction
+  public void setProgress(String jobId, Object progress) {
+    setPartProgress(jobId, WHOLE_JOB, progress);
+  }
+
+  /**
+   * Replace the progress of one part of a job. A row is only rewritten if the progress changed, so
+   * polling an operation that has not moved writes nothing.
+   */
+  @WriteTransaction
+  public void setPartProgress(String jobId, String part, Object progress) {
+    final String sql =
+        "INSERT INTO job_progress (job_id, part, progress, updated_at)"
+            + " VALUES (:job_id, :part, cast(:progress AS jsonb), now())"
+            + " ON CONFLICT (job_id, part) DO UPDATE"
+            + " SET progress = EXCLUDED.progress, updated_at = EXCLUDED.updated_at"
+            + " WHERE job_progress.progress IS DISTINCT FROM EXCLUDED.progress";
+    jdbcTemplate.update(
+        sql,
+        new MapSqlParameterSource()
+            .addValue("job_id", jobId)
+            .addValue("part", part)
+            .addValue("progress", DbSerDes.toJson(progress)));
+  }
+
+  /** @return the job's last reported progress, if it reported any */
+  @ReadTransaction
+  public <T> Optional<T> getProgress(String jobId, Class<T> progressClass) {
+    final String sql = "SELECT progress FROM job_progress WHERE job_id = :job_id AND part = :part";
+    return jdbcTemplate
+        .queryForList(
+            sql,
+            new MapSqlParameterSource().addValue("job_id", jobId).addValue("part", WHOLE_JOB),
+            String.class)
+        .stream()
+        .findFirst()
+        .map(progress -> DbSerDes.fromJson(progress, progressClass));
+  }
+
+  /** @return the last reported progress of each part of the job, ordered by part */
+  @ReadTransaction
+  public <T> List<T> getPartProgress(String jobId, Class<T> progressClass) {
+    final String sql =
+        "SELECT progress FROM job_progress WHERE job_id = :job_id AND part <> :part"
+            + " ORDER BY part";
+    return jdbcTemplate
+        .queryForList(
+            sql,
+            new MapSqlParameterSource().addValue("job_id", jobId).addValue("part", WHOLE_JOB),
+            String.class)
+        .stream()
+        .map(progress -> DbSerDes.fromJson(progress, progressClass))
+        .collect(Collectors.toList());
+  }
+
+  /** Delete the progress of the job and of all its parts. */
+  @WriteTransaction
+  public void deleteProgress(String jobId) {
+    final String sql = "DELETE FROM job_progress WHERE job_id = :job_id";
+    jdbcTemplate.update(sql, new MapSqlParameterSource("job_id", jobId));
+  }
+
+  /**
+   * Delete progress last updated before the given time.
+   *
+   * @return the number of rows deleted
+   */
+  @WriteTransaction
+  public int deleteProgressUpdatedBefore(Instant updatedBefore) {
+    final String sql = "DELETE FROM job_progress WHERE updated_at < :updated_before";
+    return jdbcTemplate.update(
+        sql,
+        new MapSqlParameterSource(
+            "updated_before", OffsetDateTime.ofInstant(updatedBefore, ZoneOffset.UTC)));
+  }
+}
@@ -28,11 +28,15 @@ import bio.terra.workspace.service.resource.referenced.ReferencedGcsBucketResour
 import bio.terra.workspace.service.resource.referenced.ReferencedResource;
 import bio.terra.workspace.service.workspace.model.CloudPlatform;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -48,6 +52,13 @@ import org.springframework.stereotype.Component;
 public class ResourceDao {
   private static final Logger logger = LoggerFactory.getLogger(ResourceDao.class);
 
+  // Partial unique indexes on the cloud artifact of controlled resources; see the
+  // controlled_resource_unique_indexes changeset.
+  private static final String CONTROLLED_GCS_BUCKET_NAME_INDEX = "controlled_gcs_bucket_name_idx";
+  private static final String CONTROLLED_BQ_DATASET_NAME_INDEX = "controlled_bq_dataset_name_idx";
+  private static final String CONTROLLED_AI_NOTEBOOK_INSTANCE_INDEX =
+      "controlled_ai_notebook_instance_idx";
+
   /** SQL query for reading all columns from the resource table */
   private static final String RESOURCE_SELECT_SQL =
       "SELECT workspace_id, cloud_platform, resource_id, name, description, "
@@ -82,13 +93,18 @@ public class ResourceDao {
             .assignedUser(rs.getString("assigned_user"));
       };
 
+  /** Kind of row memoized per request in the {@link UnitOfWorkCache}. */
+  private static final String RESOURCE_KIND = "resource";
+
   private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final UnitOfWorkCache unitOfWorkCache;
 
   // -- Common Resource Methods -- //
 
   @Autowired
-  public ResourceDao(NamedParameterJdbcTemplate jdbcTemplate) {
+  public ResourceDao(NamedParameterJdbcTemplate jdbcTemplate, UnitOfWorkCache unitOfWorkCache) {
     this.jdbcTemplate = jdbcTemplate;
+    this.unitOfWorkCache = unitOfWorkCache;
   }
 
   @WriteTransaction
@@ -101,6 +117,7 @@ public class ResourceDao {
             .addValue("resource_id", resourceId.toString());
     int rowsAffected = jdbcTemplate.update(sql, params);
     boolean deleted = rowsAffected > 0;
+    unitOfWorkCache.invalidate(RESOURCE_KIND, resourceKey(workspaceId, resourceId));
 
     logger.info(
         "{} record for resource {} in workspace {}",
@@ -165,19 +182,89 @@ public class ResourceDao {
       @Nullable StewardshipType stewardshipType,
       int offset,
       int limit) {
-
-    // We supply the toSql() forms of the stewardship values as parameters, so that string is only
-    // defined in one place. We do not always use the stewardship values, but there is no harm
-    // in having extra params.
     MapSqlParameterSource params =
         new MapSqlParameterSource()
             .addValue("workspace_id", workspaceId.toString())
             .addValue("offset", offset)
-            .addValue("limit", limit)
-            .addValue("referenced_resource", REFERENCED.toSql())
-            .addValue("controlled_resource", CONTROLLED.toSql());
+            .addValue("limit", limit);
 
     StringBuilder sb = new StringBuilder(RESOURCE_SELECT_SQL);
+    if (!appendEnumerateFilters(sb, params, resourceType, stewardshipType)) {
+      // Nothing is included, so we return an empty result
+      return Collections.emptyList();
+    }
+    sb.append(" ORDER BY name OFFSET :offset LIMIT :limit");
+    List<DbResource> dbResourceList =
+        jdbcTemplate.query(sb.toString(), params, DB_RESOURCE_ROW_MAPPER);
+
+    return dbResourceList.stream().map(this::constructResource).collect(toList());
+  }
+
+  /**
+   * Resource enumeration by keyset. Filters and visibility are the same as {@link
+   * #enumerateResources(UUID, WsmResourceType, StewardshipType, int, int)}, but resources are
+   * returned in (name, resource id) order starting after the given position, rather than after
+   * skipping an offset. Deep pages cost the same as the first one: the enumeration index is
+   * scanned from the position onward instead of from the start.
+   *
+   * @param workspaceId identifier for work space to enumerate
+   * @param resourceType filter by this resource type - optional
+   * @param stewardshipType filtered by this stewardship type - optional
+   * @param afterName name of the last resource on the previous page; null for the first page
+   * @param afterResourceId id of the last resource on the previous page; null for the first page
+   * @param limit maximum number of rows to return
+   * @return list of resources
+   */
+  @ReadTransaction
+  public List<WsmResource> enumerateResourcesAfter(
+      UUID workspaceId,
+      @Nullable WsmResourceType resourceType,
+      @Nullable StewardshipType stewardshipType,
+      @Nullable String afterName,
+      @Nullable UUID afterResourceId,
+      int limit) {
+    MapSqlParameterSource params =
+        new MapSqlParameterSource()
+            .addValue("workspace_id", workspaceId.toString())
+            .addValue("limit", limit);
+
+    StringBuilder sb = new StringBuilder(RESOURCE_SELECT_SQL);
+    if (!appendEnumerateFilters(sb, params, resourceType, stewardshipType)) {
+      return Collections.emptyList();
+    }
+    if (afterName != null && afterResourceId != null) {
+      // The first term is the one an index range scan can start from.
+      sb.append(
+          " AND name >= :after_name"
+              + " AND (name > :after_name OR resource_id > :after_resource_id)");
+      params
+          .addValue("after_name", afterName)
+          .addValue("after_resource_id", afterResourceId.toString());
+    }
+    sb.append(" ORDER BY name, resource_id LIMIT :limit");
+    List<DbResource> dbResourceList =
+        jdbcTemplate.query(sb.toString(), params, DB_RESOURCE_ROW_MAPPER);
+
+    return dbResourceList.stream().map(this::constructResource).collect(toList());
+  }
+
+  /**
+   * Append the resource type and stewardship type filters of resource enumeration to a query.
+   *
+   * @return false if the filters exclude every resource
+   */
+  private boolean appendEnumerateFilters(
+      StringBuilder sb,
+      MapSqlParameterSource params,
+      @Nullable WsmResourceType resourceType,
+      @Nullable StewardshipType stewardshipType) {
+    // We supply the toSql() forms of the stewardship values as parameters, so that string is only
+    // defined in one place. We do not always use the stewardship values, but there is no harm
+    // in having extra params.
+    params
+        .addValue("referenced_resource", REFERENCED.toSql())
+        .addValue("controlled_resource", CONTROLLED.toSql());
+
     if (resourceType != null) {
       sb.append(" AND resource_type = :resource_type");
       params.addValue("resource_type", resourceType.toSql());
@@ -202,14 +289,9 @@ public class ResourceDao {
     } else if (includeControlled) {
       sb.append(controlledPhrase);
     } else {
-      // Nothing is included, so we return an empty result
-      return Collections.emptyList();
+      return false;
     }
-    sb.append(" ORDER BY name OFFSET :offset LIMIT :limit");
-    List<DbResource> dbResourceList =
-        jdbcTemplate.query(sb.toString(), params, DB_RESOURCE_ROW_MAPPER);
-
-    return dbResourceList.stream().map(this::constructResource).collect(toList());
+    return true;
   }
 
   /**
@@ -281,6 +363,7 @@ public class ResourceDao {
             .addValue("cloud_platform", cloudPlatform.toSql())
             .addValue("controlled_resource", CONTROLLED.toSql());
     int rowsDeleted = jdbcTemplate.update(sql, params);
+    unitOfWorkCache.invalidateKind(RESOURCE_KIND);
     return rowsDeleted > 0;
   }
 
@@ -293,6 +376,13 @@ public class ResourceDao {
    */
   @ReadTransaction
   public WsmResource getResource(UUID workspaceId, UUID resourceId) {
+    return unitOfWorkCache.get(
+        RESOURCE_KIND,
+        resourceKey(workspaceId, resourceId),
+        () -> readResource(workspaceId, resourceId));
+  }
+
+  private WsmResource readResource(UUID workspaceId, UUID resourceId) {
     final String sql = RESOURCE_SELECT_SQL + " AND resource_id = :resource_id";
 
     final var params =
@@ -322,19 +412,96 @@ public class ResourceDao {
     return constructResource(getDbResource(sql, params));
   }
 
+  private static List<UUID> resourceKey(UUID workspaceId, UUID resourceId) {
+    return List.of(workspaceId, resourceId);
+  }
+
   // -- Reference Methods -- //
 
   /**
-   * Create a reference in the database We do creates in flights where the same create is issues
-   * more than once.
+   * Create a reference in the database. We do creates in flights where the same create is issued
+   * more than once; a repeat by the same flight is a no-op.
    *
    * @param resource a filled in reference resource
+   * @param flightId id of the flight creating the resource
    * @throws DuplicateResourceException on a duplicate resource_id or (workspace_id, name)
    */
   @WriteTransaction
-  public void createReferenceResource(ReferencedResource resource)
+  public void createReferenceResource(ReferencedResource resource, String flightId)
       throws DuplicateResourceException {
-    storeResource(resource);
+    if (!storeResource(resource, flightId, false)) {
+      throw new DuplicateResourceException(duplicateResourceMessage(resource));
+    }
+  }
+
+  /**
+   * Create several references in the database in one batch, in one transaction. A reference whose
+   * id or (workspace_id, name) is already taken is not created, and does not stop the others from
+   * being created. As with {@link #createReferenceResource}, a repeat by the same flight is a
+   * no-op, so a flight step may rerun it with the same resources.
+   *
+   * @param resources filled in reference resources
+   * @param flightId id of the flight creating the resources
+   * @return ids of the resources that were created, or had already been created by this flight.
+   *     Resources missing from it have the id or the name of a resource that already exists.
+   */
+  @WriteTransaction
+  public Set<UUID> createReferenceResources(List<ReferencedResource> resources, String flightId) {
+    if (resources.isEmpty()) {
+      return Collections.emptySet();
+    }
+    final MapSqlParameterSource[] batchParams =
+        resources.stream()
+            .map(resource -> insertResourceParams(resource, flightId))
+            .toArray(MapSqlParameterSource[]::new);
+    final int[] counts =
+        jdbcTemplate.batchUpdate(
+            insertResourceValuesSql(false) + " ON CONFLICT DO NOTHING", batchParams);
+    final Set<UUID> stored = new HashSet<>();
+    for (int i = 0; i < resources.size(); i++) {
+      if (counts[i] == 1) {
+        stored.add(resources.get(i).getResourceId());
+      }
+    }
+    logger.info(
+        "Inserted {} of {} references for flight {}", stored.size(), resources.size(), flightId);
+
+    // The ones this flight stored on an earlier run were skipped as conflicts.
+    final String sql =
+        "SELECT resource_id FROM resource"
+            + " WHERE creating_flight_id = :flight_id AND resource_id IN (:resource_ids)";
+    final MapSqlParameterSource params =
+        new MapSqlParameterSource()
+            .addValue("flight_id", flightId)
+            .addValue(
+                "resource_ids",
+                resources.stream()
+                    .map(resource -> resource.getResourceId().toString())
+                    .collect(Collectors.toList()));
+    jdbcTemplate.queryForList(sql, params, String.class).stream()
+        .map(UUID::fromString)
+        .forEach(stored::add);
+    return stored;
+  }
+
+  /**
+   * List the resources in a workspace that a flight created.
+   *
+   * @param workspaceId workspace of the resources
+   * @param flightId id of the flight that created the resources
+   */
+  @ReadTransaction
+  public Set<UUID> getResourceIdsCreatedByFlight(UUID workspaceId, String flightId) {
+    final String sql =
+        "SELECT resource_id FROM resource"
+            + " WHERE workspace_id = :workspace_id AND creating_flight_id = :flight_id";
+    final MapSqlParameterSource params =
+        new MapSqlParameterSource()
+            .addValue("workspace_id", workspaceId.toString())
+            .addValue("flight_id", flightId);
+    return jdbcTemplate.queryForList(sql, params, String.class).stream()
+        .map(UUID::fromString)
+        .collect(Collectors.toSet());
   }
 
   @WriteTransaction
@@ -381,6 +548,7 @@ public class ResourceDao {
 
     int rowsAffected = jdbcTemplate.update(sb.toString(), queryParams);
     boolean updated = rowsAffected > 0;
+    unitOfWorkCache.invalidate(RESOURCE_KIND, resourceKey(workspaceId, resourceId));
 
     logger.info(
         "{} record for resource {} in workspace {}",
@@ -392,149 +560,128 @@ public class ResourceDao {
   }
 
   /**
-   * Create a controlled resource in the database
+   * Create a controlled resource in the database. As with references, a repeat of the create by
+   * the same flight is a no-op.
    *
    * @param controlledResource controlled resource to create
-   * @throws DuplicateResourceException on a duplicate resource_id or (workspace_id, name)
+   * @param flightId id of the flight creating the resource
+   * @throws DuplicateResourceException on a duplicate resource_id or (workspace_id, name), or if
+   *     the cloud artifact is already used by another controlled resource
+   * @throws CloudContextRequiredException if the workspace has no cloud context for the resource
    */
   @WriteTransaction
-  public void createControlledResource(ControlledResource controlledResource)
+  public void createControlledResource(ControlledResource controlledResource, String flightId)
       throws DuplicateResourceException {
-
-    // Make sure there is a valid cloud context before we create the controlled resource
-    final String sql =
-        "SELECT COUNT(*) FROM cloud_context"
-            + " WHERE workspace_id = :workspace_id AND cloud_platform = :cloud_platform";
-
-    MapSqlParameterSource params =
-        new MapSqlParameterSource()
-            .addValue("workspace_id", controlledResource.getWorkspaceId().toString())
-            .addValue(
-                "cloud_platform", controlledResource.getResourceType().getCloudPlatform().toSql());
-    Integer count = jdbcTemplate.queryForObject(sql, params, Integer.class);
-    if (count == null || count == 0) {
-      throw new CloudContextRequiredException(
-          "No cloud context found in which to create a controlled resource");
-    }
-
-    // Validate that the resource to be created doesn't already exist according to per-resource type
-    // uniqueness rules. This prevents a race condition allowing a new resource to point to the same
-    // cloud artifact as another, even if it has a different resource name and ID.
-    switch (controlledResource.getResourceType()) {
-      case GCS_BUCKET:
-        validateUniqueGcsBucket(controlledResource.castToGcsBucketResource());
-        break;
-      case AI_NOTEBOOK_INSTANCE:
-        validateUniqueAiNotebookInstance(controlledResource.castToAiNotebookInstanceResource());
-        break;
-      case BIG_QUERY_DATASET:
-        validateUniqueBigQueryDataset(controlledResource.castToBigQueryDatasetResource());
-        break;
-      case DATA_REPO_SNAPSHOT:
-      default:
-        throw new IllegalArgumentException(
-            String.format(
-                "Resource type %s not supported", controlledResource.getResourceType().toString()));
+    // Uniqueness of the cloud artifact behind the resource (bucket name, dataset name, notebook
+    // instance) is enforced by partial unique indexes, so a concurrent create pointing at the same
+    // artifact fails the insert rather than slipping between a check and the insert.
+    if (!storeResource(controlledResource, flightId, true)) {
+      // Nothing was written: either the cloud context is missing or another flight owns a row
+      // with this resource id. Sort out which only on this failure path.
+      final String sql =
+          "SELECT COUNT(*) FROM cloud_context"
+              + " WHERE workspace_id = :workspace_id AND cloud_platform = :cloud_platform";
+      MapSqlParameterSource params =
+          new MapSqlParameterSource()
+              .addValue("workspace_id", controlledResource.getWorkspaceId().toString())
+              .addValue(
+                  "cloud_platform",
+                  controlledResource.getResourceType().getCloudPlatform().toSql());
+      Integer count = jdbcTemplate.queryForObject(sql, params, Integer.class);
+      if (count == null || count == 0) {
+        throw new CloudContextRequiredException(
+            "No cloud context found in which to create a controlled resource");
+      }
+      throw new DuplicateResourceException(duplicateResourceMessage(controlledResource));
     }
-
-    storeResource(controlledResource);
   }
 
-  private void validateUniqueGcsBucket(ControlledGcsBucketResource bucketResource) {
-    String bucketSql =
-        "SELECT COUNT(1)"
-            + " FROM resource"
-            + " WHERE resource_type = :resource_type"
-            + " AND attributes->>'bucketName' = :bucket_name";
-    MapSqlParameterSource bucketParams =
-        new MapSqlParameterSource()
-            .addValue("bucket_name", bucketResource.getBucketName())
-            .addValue("resource_type", WsmResourceType.GCS_BUCKET.toSql());
-    Integer matchingBucketCount =
-        jdbcTemplate.queryForObject(bucketSql, bucketParams, Integer.class);
-    if (matchingBucketCount != null && matchingBucketCount > 0) {
-      throw new DuplicateResourceException(
-          String.format(
-              "A GCS bucket resource named %s already exists", bucketResource.getBucketName()));
-    }
-  }
+  /**
+   * Insert a resource row in a single statement.
+   *
+   * <p>A row that already has this resource_id is left alone. If it was created by the same
+   * flight, this is a re-run of the creating step and counts as success; otherwise the insert is
+   * rejected. A null flight id never matches, so callers outside a flight always get a rejection.
+   *
+   * @param requireCloudContext only insert if the workspace has a cloud context for the
+   *     resource's cloud platform
+   * @return true if the row was inserted or was already inserted by this flight; false if nothing
+   *     was written
+   */
+  private boolean storeResource(
+      WsmResource resource, @Nullable String flightId, boolean requireCloudContext) {
+    final String sql = insertResourceSql(requireCloudContext);
+    final MapSqlParameterSource params = insertResourceParams(resource, flightId);
 
-  private void validateUniqueAiNotebookInstance(
-      ControlledAiNotebookInstanceResource notebookResource) {
-    // Workspace ID is a proxy for project ID, which works because there is a permanent, 1:1
-    // correspondence between workspaces and GCP projects.
-    String sql =
-        "SELECT COUNT(1)"
-            + " FROM resource"
-            + " WHERE resource_type = :resource_type"
-            + " AND workspace_id = :workspace_id"
-            + " AND attributes->>'instanceId' = :instance_id"
-            + " AND attributes->>'location' = :location";
-    MapSqlParameterSource sqlParams =
-        new MapSqlParameterSource()
-            .addValue("resource_type", WsmResourceType.AI_NOTEBOOK_INSTANCE.toSql())
-            .addValue("workspace_id", notebookResource.getWorkspaceId().toString())
-            .addValue("instance_id", notebookResource.getInstanceId())
-            .addValue("location", notebookResource.getLocation());
-    Integer matchingCount = jdbcTemplate.queryForObject(sql, sqlParams, Integer.class);
-    if (matchingCount != null && matchingCount > 0) {
-      throw new DuplicateResourceException(
-          String.format(
-              "An AI Notebook instance with ID %s already exists",
-              notebookResource.getInstanceId()));
+    try {
+      boolean stored = jdbcTemplate.update(sql, params) == 1;
+      if (stored) {
+        logger.info(
+            "Inserted record for resource {} for workspace {}",
+            resource.getResourceId(),
+            resource.getWorkspaceId());
+      }
+      return stored;
+    } catch (DuplicateKeyException e) {
+      throw new DuplicateResourceException(duplicateResourceMessage(resource, e));
+    } catch (Exception e) {
+      // TODO: This logging is intended to help diagnose Postgres crashes occurring on resource
+      // creation.
+      //  Once this issue is resolved, this should be removed.
+      logger.info(
+          "Failed to create resource workspace_id: {}, cloud_platform: {}, resource_id: {}, name: {}, description: {}, stewardship_type: {}, resource_type: {}, cloning_instructions: {}, attributes: {}",
+          resource.getWorkspaceId().toString(),
+          resource.getResourceType().getCloudPlatform().toString(),
+          resource.getResourceId().toString(),
+          resource.getName(),
+          resource.getDescription(),
+          resource.getStewardshipType().toSql(),
+          resource.getResourceType().toSql(),
+          resource.getCloningInstructions().toSql(),
+          resource.attributesToJson());
+      if (resource.getStewardshipType().equals(CONTROLLED)) {
+        ControlledResource controlledResource = resource.castToControlledResource();
+        logger.info(
+            "Resource also has controlled-resource specific parameters access_scope: {}, managed_by: {}, associated_app: {}, assigned_user: {}",
+            controlledResource.getAccessScope().toSql(),
+            controlledResource.getManagedBy().toSql(),
+            null,
+            controlledResource.getAssignedUser().orElse(null));
+      }
+      // After logging, rethrow the exception
+      logger.info("Resource creation failure is:", e);
+      throw e;
     }
   }
 
-  private void validateUniqueBigQueryDataset(ControlledBigQueryDatasetResource datasetResource) {
-    // Workspace ID is a proxy for project ID, which works because there is a permanent, 1:1
-    // correspondence between workspaces and GCP projects.
-    String sql =
-        "SELECT COUNT(1)"
-            + " FROM resource"
-            + " WHERE resource_type = :resource_type"
-            + " AND workspace_id = :workspace_id"
-            + " AND attributes->>'datasetName' = :dataset_name";
-    MapSqlParameterSource sqlParams =
-        new MapSqlParameterSource()
-            .addValue("resource_type", WsmResourceType.BIG_QUERY_DATASET.toSql())
-            .addValue("workspace_id", datasetResource.getWorkspaceId().toString())
-            .addValue("dataset_name", datasetResource.getDatasetName());
-    Integer matchingCount = jdbcTemplate.queryForObject(sql, sqlParams, Integer.class);
-    if (matchingCount != null && matchingCount > 0) {
-      throw new DuplicateResourceException(
-          String.format(
-              "A BigQuery dataset with ID %s already exists", datasetResource.getDatasetName()));
-    }
+  /**
+   * SQL inserting one resource row; see {@link #storeResource}. Takes the parameters built by
+   * {@link #insertResourceParams}.
+   */
+  private static String insertResourceSql(boolean requireCloudContext) {
+    return insertResourceValuesSql(requireCloudContext)
+        + " ON CONFLICT (resource_id) DO UPDATE"
+        + " SET creating_flight_id = excluded.creating_flight_id"
+        + " WHERE resource.creating_flight_id = excluded.creating_flight_id";
   }
 
-  private void storeResource(WsmResource resource) {
-
-    // TODO: add resource locking to fix this
-    //  We create resources in flights, so we have steps that call resource creation that may
-    //  get run more than once. The safe solution is to "lock" the resource by writing the flight id
-    //  into the row at creation. Then it is possible on a re-insert to know whether the error is
-    //  because this flight step is re-running or because some other flight used the same resource
-    // id.
-    //  The small risk we have here is that a duplicate resource id of will appear to be
-    // successfully
-    //  created, but in fact will be silently rejected.
-
-    final String countSql = "SELECT COUNT(*) FROM resource WHERE resource_id = :resource_id";
-    MapSqlParameterSource countParams =
-        new MapSqlParameterSource().addValue("resource_id", resource.getResourceId().toString());
-    Integer count = jdbcTemplate.queryForObject(countSql, countParams, Integer.class);
-    if (count != null && count == 1) {
-      return;
-    }
-
-    final String sql =
-        "INSERT INTO resource (workspace_id, cloud_platform, resource_id, name, description, stewardship_type,"
-            + " resource_type, cloning_instructions, attributes,"
-            + " access_scope, managed_by, associated_app, assigned_user)"
-            + " VALUES (:workspace_id, :cloud_platform, :resource_id, :name, :description, :stewardship_type,"
-            + " :resource_type, :cloning_instructions, cast(:attributes AS jsonb),"
-            + " :access_scope, :managed_by, :associated_app, :assigned_user)";
+  /** The insert of a resource, without a conflict clause. */
+  private static String insertResourceValuesSql(boolean requireCloudContext) {
+    return "INSERT INTO resource (workspace_id, cloud_platform, resource_id, name, description,"
+        + " stewardship_type, resource_type, cloning_instructions, attributes,"
+        + " access_scope, managed_by, associated_app, assigned_user, creating_flight_id)"
+        + " SELECT :workspace_id, :cloud_platform, :resource_id, :name, :description,"
+        + " :stewardship_type, :resource_type, :cloning_instructions,"
+        + " cast(:attributes AS jsonb), :access_scope, :managed_by, :associated_app,"
+        + " :assigned_user, :creating_flight_id"
+        + (requireCloudContext
+            ? " WHERE EXISTS (SELECT 1 FROM cloud_context"
+                + " WHERE workspace_id = :workspace_id AND cloud_platform = :cloud_platform)"
+            : "");
+  }
 
+  private static MapSqlParameterSource insertResourceParams(
+      WsmResource resource, @Nullable String flightId) {
     final var params =
         new MapSqlParameterSource()
             .addValue("workspace_id", resource.getWorkspaceId().toString())
@@ -545,7 +692,8 @@ public class ResourceDao {
             .addValue("stewardship_type", resource.getStewardshipType().toSql())
             .addValue("resource_type", resource.getResourceType().toSql())
             .addValue("cloning_instructions", resource.getCloningInstructions().toSql())
-            .addValue("attributes", resource.attributesToJson());
+            .addValue("attributes", resource.attributesToJson())
+            .addValue("creating_flight_id", flightId);
     if (resource.getStewardshipType().equals(CONTROLLED)) {
       ControlledResource controlledResource = resource.castToControlledResource();
       //noinspection deprecation
@@ -562,46 +710,44 @@ public class ResourceDao {
           .addValue("associated_app", null)
           .addValue("assigned_user", null);
     }
+    return params;
+  }
 
-    try {
-      jdbcTemplate.update(sql, params);
-      logger.info(
-          "Inserted record for resource {} for workspace {}",
-          resource.getResourceId(),
-          resource.getWorkspaceId());
-    } catch (DuplicateKeyException e) {
-      throw new DuplicateResourceException(
-          String.format(
-              "A resource already exists in the workspace that has the same name (%s) or the same id (%s)",
-              resource.getName(), resource.getResourceId().toString()));
-    } catch (Exception e) {
-      // TODO: This logging is intended to help diagnose Postgres crashes occurring on resource
-      // creation.
-      //  Once this issue is resolved, this should be removed.
-      logger.info(
-          "Failed to create resource workspace_id: {}, cloud_platform: {}, resource_id: {}, name: {}, description: {}, stewardship_type: {}, resource_type: {}, cloning_instructions: {}, attributes: {}",
-          resource.getWorkspaceId().toString(),
-          resource.getResourceType().getCloudPlatform().toString(),
-          resource.getResourceId().toString(),
-          resource.getName(),
-          resource.getDescription(),
-          resource.getStewardshipType().toSql(),
-          resource.getResourceType().toSql(),
-          resource.getCloningInstructions().toSql(),
-          resource.attributesToJson());
-      if (resource.getStewardshipType().equals(CONTROLLED)) {
-        ControlledResource controlledResource = resource.castToControlledResource();
-        logger.info(
-            "Resource also has controlled-resource specific parameters access_scope: {}, managed_by: {}, associated_app: {}, assigned_user: {}",
-            controlledResource.getAccessScope().toSql(),
-            controlledResource.getManagedBy().toSql(),
-            null,
-            controlledResource.getAssignedUser().orElse(null));
+  private static String duplicateResourceMessage(WsmResource resource) {
+    return String.format(
+        "A resource already exists in the workspace that has the same name (%s) or the same id (%s)",
+        resource.getName(), resource.getResourceId().toString());
+  }
+
+  /** Describe which uniqueness rule an insert of this resource violated. */
+  private static String duplicateResourceMessage(WsmResource resource, DuplicateKeyException e) {
+    String constraint = null;
+    if (e.getMostSpecificCause() instanceof PSQLException) {
+      ServerErrorMessage serverErrorMessage =
+          ((PSQLException) e.getMostSpecificCause()).getServerErrorMessage();
+      if (serverErrorMessage != null) {
+        constraint = serverErrorMessage.getConstraint();
       }
-      // After logging, rethrow the exception
-      logger.info("Resource creation failure is:", e);
-      throw e;
     }
+    if (CONTROLLED_GCS_BUCKET_NAME_INDEX.equals(constraint)) {
+      return String.format(
+          "A GCS bucket resource named %s already exists",
+          resource.castToControlledResource().castToGcsBucketResource().getBucketName());
+    }
+    if (CONTROLLED_BQ_DATASET_NAME_INDEX.equals(constraint)) {
+      return String.format(
+          "A BigQuery dataset with ID %s already exists",
+          resource.castToControlledResource().castToBigQueryDatasetResource().getDatasetName());
+    }
+    if (CONTROLLED_AI_NOTEBOOK_INSTANCE_INDEX.equals(constraint)) {
+      return String.format(
+          "An AI Notebook instance with ID %s already exists",
+          resource
+              .castToControlledResource()
+              .castToAiNotebookInstanceResource()
+              .getInstanceId());
+    }
+    return duplicateResourceMessage(resource);
   }
 
   /**
@@ -0,0 +1,131 @@
+package bio.terra.workspace.db;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Memoizes rows read by the DAOs for the duration of one HTTP request.
+ *
+ * <p>Several service layers read the same workspace and resource rows while handling a single
+ * request: authorization checks, stage checks and the operation itself each look them up. The DAO
+ * read methods route through this cache so a row is fetched at most once per request. Writes made
+ * through the DAOs invalidate what they change.
+ *
+ * <p>The cache lives in the request's attributes, so it needs no cleanup and is never shared
+ * between requests. Code running outside of a request, such as flight steps, always reads through
+ * to the database: flights run across threads and retries, where a stale row is not acceptable.
+ *
+ * <p>The number of database reads made on a request's behalf is counted, so tests can assert how
+ * many queries an operation costs.
+ */
+@Component
+public class UnitOfWorkCache {
+  private static final String ATTRIBUTE_NAME = UnitOfWorkCache.class.getName();
+
+  /**
+   * Return the memoized value for a key, loading it on the first use within the request. Outside
+   * of a request, the loader is always called. Exceptions from the loader are not memoized.
+   *
+   * @param kind the kind of row, which namespaces the key
+   * @param key key of the row within its kind
+   * @param loader reads the row from the database
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(String kind, Object key, Supplier<T> loader) {
+    @Nullable RequestState state = getState();
+    if (state == null) {
+      return loader.get();
+    }
+    CacheKey cacheKey = new CacheKey(kind, key);
+    // Not computeIfAbsent: a loader may itself go through the cache.
+    if (state.values.containsKey(cacheKey)) {
+      return (T) state.values.get(cacheKey);
+    }
+    state.queryCount++;
+    T value = loader.get();
+    state.values.put(cacheKey, value);
+    return value;
+  }
+
+  /** Forget a single memoized row. */
+  public void invalidate(String kind, Object key) {
+    @Nullable RequestState state = getState();
+    if (state != null) {
+      state.values.remove(new CacheKey(kind, key));
+    }
+  }
+
+  /** Forget every memoized row of one kind. */
+  public void invalidateKind(String kind) {
+    @Nullable RequestState state = getState();
+    if (state != null) {
+      state.values.keySet().removeIf(cacheKey -> cacheKey.kind.equals(kind));
+    }
+  }
+
+  /** Forget everything memoized in the current request. */
+  public void invalidateAll() {
+    @Nullable RequestState state = getState();
+    if (state != null) {
+      state.values.clear();
+    }
+  }
+
+  /** Number of database reads made through the cache so far in the current request. */
+  public int getQueryCount() {
+    @Nullable RequestState state = getState();
+    return state == null ? 0 : state.queryCount;
+  }
+
+  private @Nullable RequestState getState() {
+    @Nullable RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes == null) {
+      return null;
+    }
+    Object state = attributes.getAttribute(ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST);
+    if (state == null) {
+      state = new RequestState();
+      attributes.setAttribute(ATTRIBUTE_NAME, state, RequestAttributes.SCOPE_REQUEST);
+    }
+    return (RequestState) state;
+  }
+
+  /** A request is handled on one thread, so the state needs no synchronization. */
+  private static class RequestState {
+    private final Map<CacheKey, Object> values = new HashMap<>();
+    private int queryCount;
+  }
+
+  private static class CacheKey {
+    private final String kind;
+    private final Object key;
+
+    private CacheKey(String kind, Object key) {
+      this.kind = kind;
+      this.key = key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof CacheKey)) {
+        return false;
+      }
+      CacheKey that = (CacheKey) o;
+      return kind.equals(that.kind) && key.equals(that.key);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(kind, key);
+    }
+  }
+}
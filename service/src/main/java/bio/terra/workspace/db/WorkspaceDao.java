@@ -17,7 +17,7 @@ import com.google.common.annotations.VisibleForTesting;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,12 +48,23 @@ public class WorkspaceDao {
           + " FROM workspace W LEFT JOIN cloud_context C"
           + " ON W.workspace_id = C.workspace_id ";
 
+  // Kinds of rows memoized per request in the UnitOfWorkCache, both keyed by workspace id
+  private static final String WORKSPACE_KIND = "workspace";
+  private static final String GCP_CLOUD_CONTEXT_KIND = "gcpCloudContext";
+
   private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final UnitOfWorkCache unitOfWorkCache;
+  private final CloudContextCache cloudContextCache;
   private final Logger logger = LoggerFactory.getLogger(WorkspaceDao.class);
 
   @Autowired
-  public WorkspaceDao(NamedParameterJdbcTemplate jdbcTemplate) {
+  public WorkspaceDao(
+      NamedParameterJdbcTemplate jdbcTemplate,
+      UnitOfWorkCache unitOfWorkCache,
+      CloudContextCache cloudContextCache) {
     this.jdbcTemplate = jdbcTemplate;
+    this.unitOfWorkCache = unitOfWorkCache;
+    this.cloudContextCache = cloudContextCache;
   }
 
   /**
@@ -107,6 +118,11 @@ public class WorkspaceDao {
         new MapSqlParameterSource().addValue("id", workspaceId.toString());
     int rowsAffected = jdbcTemplate.update(sql, params);
     boolean deleted = rowsAffected > 0;
+    // Deleting a workspace cascades to its cloud contexts and resources.
+    unitOfWorkCache.invalidateAll();
+    if (deleted) {
+      cloudContextCache.announceChange(workspaceId);
+    }
 
     if (deleted) {
       logger.info("Deleted record for workspace {}", workspaceId);
@@ -128,6 +144,10 @@ public class WorkspaceDao {
     if (id == null) {
       throw new MissingRequiredFieldException("Valid workspace id is required");
     }
+    return unitOfWorkCache.get(WORKSPACE_KIND, id, () -> readWorkspace(id));
+  }
+
+  private Workspace readWorkspace(UUID id) {
     String sql =
         WORKSPACE_SELECT_SQL
             + " WHERE W.workspace_id = :id AND (C.cloud_platform = 'GCP' OR C.cloud_platform IS NULL)";
@@ -183,6 +203,7 @@ public class WorkspaceDao {
 
     int rowsAffected = jdbcTemplate.update(sb.toString(), queryParams);
     boolean updated = rowsAffected > 0;
+    unitOfWorkCache.invalidate(WORKSPACE_KIND, workspaceId);
 
     logger.info(
         "{} record for workspace {}",
@@ -204,16 +225,54 @@ public class WorkspaceDao {
   public List<Workspace> getWorkspacesMatchingList(List<UUID> idList, int offset, int limit) {
     String sql =
         WORKSPACE_SELECT_SQL
-            + " WHERE W.workspace_id IN (:workspace_ids) ORDER BY W.workspace_id OFFSET :offset LIMIT :limit";
+            + " WHERE W.workspace_id = ANY(:workspace_ids) ORDER BY W.workspace_id OFFSET :offset LIMIT :limit";
     var params =
         new MapSqlParameterSource()
-            .addValue(
-                "workspace_ids", idList.stream().map(UUID::toString).collect(Collectors.toList()))
+            .addValue("workspace_ids", toIdArray(idList))
             .addValue("offset", offset)
             .addValue("limit", limit);
     return jdbcTemplate.query(sql, params, WORKSPACE_ROW_MAPPER);
   }
 
+  /**
+   * Retrieve a page of workspaces from a list of IDs, in workspace ID order, starting after a given
+   * workspace ID. IDs not matching workspaces will be ignored.
+   *
+   * <p>Unlike paging by offset, the database does not have to produce and then skip the rows of
+   * earlier pages.
+   *
+   * @param idList List of workspaceIds to query for
+   * @param afterWorkspaceId ID of the last workspace on the previous page, or null for the first
+   *     page
+   * @param limit The maximum number of items to return.
+   * @return list of Workspaces corresponding to input IDs.
+   */
+  @ReadTransaction
+  public List<Workspace> getWorkspacesMatchingListAfter(
+      List<UUID> idList, @Nullable UUID afterWorkspaceId, int limit) {
+    String sql =
+        WORKSPACE_SELECT_SQL
+            + " WHERE W.workspace_id = ANY(:workspace_ids)"
+            + (afterWorkspaceId == null ? "" : " AND W.workspace_id > :after_workspace_id")
+            + " ORDER BY W.workspace_id LIMIT :limit";
+    var params =
+        new MapSqlParameterSource()
+            .addValue("workspace_ids", toIdArray(idList))
+            .addValue("limit", limit);
+    if (afterWorkspaceId != null) {
+      params.addValue("after_workspace_id", afterWorkspaceId.toString());
+    }
+    return jdbcTemplate.query(sql, params, WORKSPACE_ROW_MAPPER);
+  }
+
+  /**
+   * Workspace ID lists are bound as a single text[] parameter. Binding a collection would expand
+   * into one placeholder per ID, so every page would send, parse and plan a different statement.
+   */
+  private static String[] toIdArray(List<UUID> idList) {
+    return idList.stream().map(UUID::toString).toArray(String[]::new);
+  }
+
   /**
    * Retrieves the GCP cloud context of the workspace.
    *
@@ -222,6 +281,11 @@ public class WorkspaceDao {
    */
   @ReadTransaction
   public Optional<GcpCloudContext> getGcpCloudContext(UUID workspaceId) {
+    return unitOfWorkCache.get(
+        GCP_CLOUD_CONTEXT_KIND, workspaceId, () -> readGcpCloudContext(workspaceId));
+  }
+
+  private Optional<GcpCloudContext> readGcpCloudContext(UUID workspaceId) {
     String sql =
         "SELECT context FROM cloud_context "
             + "WHERE workspace_id = :workspace_id AND cloud_platform = :cloud_platform";
@@ -259,6 +323,7 @@ public class WorkspaceDao {
             .addValue("context", serializeGcpCloudContext(cloudContext));
     try {
       jdbcTemplate.update(sql, params);
+      invalidateGcpCloudContext(workspaceId);
       logger.info("Inserted record for GCP cloud context for workspace {}", workspaceId);
     } catch (DuplicateKeyException e) {
       throw new DuplicateCloudContextException(
@@ -286,7 +351,7 @@ public class WorkspaceDao {
   @WriteTransaction
   public void deleteGcpCloudContextWithIdCheck(UUID workspaceId, String projectId) {
     // Only perform the delete, if the project id matches the input project id
-    Optional<GcpCloudContext> gcpCloudContext = getGcpCloudContext(workspaceId);
+    Optional<GcpCloudContext> gcpCloudContext = readGcpCloudContext(workspaceId);
     if (gcpCloudContext.isPresent()) {
       if (StringUtils.equals(projectId, gcpCloudContext.get().getGcpProjectId())) {
         deleteGcpCloudContextWorker(workspaceId);
@@ -306,6 +371,7 @@ public class WorkspaceDao {
 
     int rowsAffected = jdbcTemplate.update(sql, params);
     boolean deleted = rowsAffected > 0;
+    invalidateGcpCloudContext(workspaceId);
 
     if (deleted) {
       logger.info("Deleted GCP cloud context for workspace {}", workspaceId);
@@ -314,6 +380,16 @@ public class WorkspaceDao {
     }
   }
 
+  /**
+   * The workspace row is read joined with its cloud context, so it is invalidated as well. Other
+   * replicas learn of the change through the {@link CloudContextCache} notification.
+   */
+  private void invalidateGcpCloudContext(UUID workspaceId) {
+    unitOfWorkCache.invalidate(GCP_CLOUD_CONTEXT_KIND, workspaceId);
+    unitOfWorkCache.invalidate(WORKSPACE_KIND, workspaceId);
+    cloudContextCache.announceChange(workspaceId);
+  }
+
   private static final RowMapper<Workspace> WORKSPACE_ROW_MAPPER =
       (rs, rowNum) ->
           Workspace.builder()
@@ -7,10 +7,13 @@ import bio.terra.buffer.model.HandoutRequestBody;
 import bio.terra.buffer.model.PoolInfo;
 import bio.terra.buffer.model.ResourceInfo;
 import bio.terra.workspace.app.configuration.external.BufferServiceConfiguration;
+import bio.terra.workspace.common.utils.ApiClientCache;
+import bio.terra.workspace.common.utils.HttpClientUtils;
 import bio.terra.workspace.service.buffer.exception.BufferServiceAPIException;
 import bio.terra.workspace.service.buffer.exception.BufferServiceAuthorizationException;
 import io.opencensus.contrib.spring.aop.Traced;
 import java.io.IOException;
+import javax.ws.rs.client.Client;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,21 +26,29 @@ public class BufferService {
   private final Logger logger = LoggerFactory.getLogger(BufferService.class);
 
   private final BufferServiceConfiguration bufferServiceConfiguration;
+  private final ApiClientCache<ApiClient> apiClientCache;
 
   @Autowired
   public BufferService(BufferServiceConfiguration bufferServiceConfiguration) {
     this.bufferServiceConfiguration = bufferServiceConfiguration;
-  }
-
-  private ApiClient getApiClient(String accessToken) {
-    ApiClient client = new ApiClient();
-    client.setAccessToken(accessToken);
-    return client;
+    // As in DataRepoService, all generated clients share one configured JAX-RS client.
+    Client httpClient =
+        HttpClientUtils.createJaxRsClient(
+            "buffer", new ApiClient().getHttpClient(), bufferServiceConfiguration.getHttpClient());
+    this.apiClientCache =
+        new ApiClientCache<>(
+            (basePath, accessToken) -> {
+              ApiClient client = new ApiClient();
+              client.getHttpClient().close();
+              client.setHttpClient(httpClient);
+              client.setAccessToken(accessToken);
+              return client.setBasePath(basePath);
+            });
   }
 
   private BufferApi bufferApi(String instanceUrl) throws IOException {
     return new BufferApi(
-        getApiClient(bufferServiceConfiguration.getAccessToken()).setBasePath(instanceUrl));
+        apiClientCache.get(instanceUrl, bufferServiceConfiguration.getAccessToken()));
   }
 
   /**
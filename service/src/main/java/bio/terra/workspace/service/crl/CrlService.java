@@ -19,16 +19,22 @@ import bio.terra.workspace.service.crl.exception.CrlSecurityException;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import bio.terra.workspace.service.resource.referenced.exception.InvalidReferenceException;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.googleapis.util.Utils;
 import com.google.api.services.bigquery.Bigquery;
 import com.google.api.services.bigquery.BigqueryScopes;
 import com.google.api.services.bigquery.model.Dataset;
+import com.google.api.services.storagetransfer.v1.Storagetransfer;
+import com.google.api.services.storagetransfer.v1.StoragetransferScopes;
 import com.google.auth.http.HttpCredentialsAdapter;
 import com.google.auth.oauth2.AccessToken;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.auth.oauth2.ServiceAccountCredentials;
+import com.google.cloud.storage.Storage;
 import com.google.cloud.storage.StorageException;
 import com.google.cloud.storage.StorageOptions;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -49,6 +55,9 @@ public class CrlService {
   /** How long to keep the resource before Janitor does the cleanup. */
   private static final Duration TEST_RESOURCE_TIME_TO_LIVE = Duration.ofHours(1);
 
+  /** The application name the Storage Transfer Service client identifies itself with. */
+  private static final String STORAGE_TRANSFER_APPLICATION_NAME = "terra-workspace-manager";
+
   private final ClientConfig clientConfig;
   private final CrlConfiguration crlConfig;
   private final AIPlatformNotebooksCow crlNotebooksCow;
@@ -57,6 +66,12 @@ public class CrlService {
   private final CloudComputeCow crlComputeCow;
   private final IamCow crlIamCow;
   private final ServiceUsageCow crlServiceUsageCow;
+  /**
+   * Created on first use, with the application's credentials. It does not depend on CRL, so it is
+   * available whether or not CRL is in use.
+   */
+  private final Supplier<Storagetransfer> storageTransferService =
+      Suppliers.memoize(() -> createStorageTransferService(getApplicationCredentials()));
 
   @Autowired
   public CrlService(CrlConfiguration crlConfig) {
@@ -122,6 +137,15 @@ public class CrlService {
     return crlServiceUsageCow;
   }
 
+  /**
+   * Returns the vanilla Storage Transfer Service client, which CRL does not wrap yet. The client is
+   * shared, so that every bucket clone reuses its credentials and HTTP connections. Like the
+   * clients it replaced, it is used whether or not CRL is in use.
+   */
+  public Storagetransfer getStorageTransferService() {
+    return storageTransferService.get();
+  }
+
   /** @return CRL {@link BigQueryCow} which wraps Google BigQuery API */
   public BigQueryCow createBigQueryCow(AuthenticatedUserRequest userRequest) {
     assertCrlInUse();
@@ -253,6 +277,21 @@ public class CrlService {
     return createStorageCowWorker(projectId, userRequest);
   }
 
+  /**
+   * Create a vanilla Cloud Storage client using the user's credentials, for listing objects, which
+   * CRL does not wrap.
+   *
+   * @param userRequest user auth
+   * @return Google Cloud Storage API client
+   */
+  public Storage createNakedStorageClient(AuthenticatedUserRequest userRequest) {
+    assertCrlInUse();
+    return StorageOptions.newBuilder()
+        .setCredentials(googleCredentialsFromUserReq(userRequest))
+        .build()
+        .getService();
+  }
+
   private StorageCow createStorageCowWorker(
       @Nullable String projectId, @Nullable AuthenticatedUserRequest userRequest) {
     assertCrlInUse();
@@ -302,6 +341,19 @@ public class CrlService {
     }
   }
 
+  private static Storagetransfer createStorageTransferService(GoogleCredentials credentials) {
+    final GoogleCredentials scopedCredentials =
+        credentials.createScopedRequired()
+            ? credentials.createScoped(StoragetransferScopes.all())
+            : credentials;
+    return new Storagetransfer.Builder(
+            Utils.getDefaultTransport(),
+            Utils.getDefaultJsonFactory(),
+            new HttpCredentialsAdapter(scopedCredentials))
+        .setApplicationName(STORAGE_TRANSFER_APPLICATION_NAME)
+        .build();
+  }
+
   private GoogleCredentials getApplicationCredentials() {
     try {
       return GoogleCredentials.getApplicationDefault();
@@ -5,10 +5,13 @@ import bio.terra.datarepo.api.RepositoryApi;
 import bio.terra.datarepo.client.ApiClient;
 import bio.terra.datarepo.client.ApiException;
 import bio.terra.workspace.app.configuration.external.DataRepoConfiguration;
+import bio.terra.workspace.common.utils.ApiClientCache;
+import bio.terra.workspace.common.utils.HttpClientUtils;
 import bio.terra.workspace.service.datarepo.exception.DataRepoInternalServerErrorException;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import io.opencensus.contrib.spring.aop.Traced;
 import java.util.HashMap;
+import javax.ws.rs.client.Client;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,23 +22,32 @@ import org.springframework.stereotype.Component;
 public class DataRepoService {
 
   private final DataRepoConfiguration dataRepoConfiguration;
+  private final ApiClientCache<ApiClient> apiClientCache;
 
   @Autowired
   public DataRepoService(DataRepoConfiguration dataRepoConfiguration) {
     this.dataRepoConfiguration = dataRepoConfiguration;
+    // Every generated client builds its own JAX-RS client; replace it with one shared, pooled
+    // client that keeps the JSON providers the generated code registers.
+    Client httpClient =
+        HttpClientUtils.createJaxRsClient(
+            "datarepo", new ApiClient().getHttpClient(), dataRepoConfiguration.getHttpClient());
+    this.apiClientCache =
+        new ApiClientCache<>(
+            (basePath, accessToken) -> {
+              ApiClient client = new ApiClient();
+              client.getHttpClient().close();
+              client.setHttpClient(httpClient);
+              client.setAccessToken(accessToken);
+              return client.setBasePath(basePath);
+            });
   }
 
   private final Logger logger = LoggerFactory.getLogger(DataRepoService.class);
 
-  private ApiClient getApiClient(String accessToken) {
-    ApiClient client = new ApiClient();
-    client.setAccessToken(accessToken);
-    return client;
-  }
-
   private RepositoryApi repositoryApi(String instanceName, AuthenticatedUserRequest userRequest) {
     String instanceUrl = getInstanceUrl(instanceName);
-    return new RepositoryApi(getApiClient(userRequest.getRequiredToken()).setBasePath(instanceUrl));
+    return new RepositoryApi(apiClientCache.get(instanceUrl, userRequest.getRequiredToken()));
   }
 
   public String getInstanceUrl(String instanceName) {
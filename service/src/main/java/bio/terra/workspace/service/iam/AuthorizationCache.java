@@ -0,0 +1,189 @@
+package bio.terra.workspace.service.iam;
+
+import bio.terra.workspace.app.configuration.external.SamConfiguration;
+import bio.terra.workspace.common.utils.MetricsUtils;
+import bio.terra.workspace.service.iam.model.SamConstants;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.opencensus.stats.Measure.MeasureLong;
+import io.opencensus.tags.TagKey;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * A bounded, in-memory cache of Sam authorization decisions, keyed by (subject, resource type,
+ * resource id, action).
+ *
+ * <p>The subject is identified by a {@link TokenFingerprint} of its access token. Sam makes the
+ * decision based on the token, so the fingerprint is exactly what the cached answer depends on.
+ *
+ * <p>Positive and negative decisions have separate TTLs; negative decisions are kept only briefly
+ * so that a newly granted permission is noticed quickly even on replicas that did not perform the
+ * grant. Operations in WSM that change permissions invalidate the affected entries explicitly.
+ *
+ * <p>That invalidation only reaches the replica that made the change, and changes made directly in
+ * Sam reach none. Elsewhere a revoked permission is still honored until the positive decision
+ * expires, and a new grant is refused until the negative one does. The TTLs are therefore the
+ * staleness bound, and are capped at {@value #MAXIMUM_TTL_SECONDS} seconds whatever is configured.
+ */
+@Component
+public class AuthorizationCache {
+  private static final TagKey RESULT_KEY = TagKey.create("result");
+  private static final MeasureLong LOOKUP_COUNT =
+      MetricsUtils.createCounter(
+          "sam/authz_cache/lookups", "Sam authorization decision cache lookups", RESULT_KEY);
+  private static final Map<TagKey, String> HIT_TAGS = Map.of(RESULT_KEY, "hit");
+  private static final Map<TagKey, String> MISS_TAGS = Map.of(RESULT_KEY, "miss");
+  static final int MAXIMUM_TTL_SECONDS = 60;
+
+  private final boolean enabled;
+  private final long positiveTtlNanos;
+  private final long negativeTtlNanos;
+  private final Ticker ticker;
+  private final Cache<DecisionKey, Decision> cache;
+
+  @Autowired
+  public AuthorizationCache(SamConfiguration samConfig) {
+    this(samConfig, Ticker.systemTicker());
+  }
+
+  AuthorizationCache(SamConfiguration samConfig, Ticker ticker) {
+    this.enabled = samConfig.isAuthzCacheEnabled();
+    this.positiveTtlNanos =
+        TimeUnit.SECONDS.toNanos(
+            Math.min(samConfig.getAuthzCachePositiveTtlSeconds(), MAXIMUM_TTL_SECONDS));
+    this.negativeTtlNanos =
+        TimeUnit.SECONDS.toNanos(
+            Math.min(samConfig.getAuthzCacheNegativeTtlSeconds(), MAXIMUM_TTL_SECONDS));
+    this.ticker = ticker;
+    // Entries carry their own expiration time; the cache-wide expiry just bounds how long an
+    // expired entry can occupy space.
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(samConfig.getAuthzCacheMaximumSize())
+            .expireAfterWrite(Math.max(positiveTtlNanos, negativeTtlNanos), TimeUnit.NANOSECONDS)
+            .ticker(ticker)
+            .build();
+  }
+
+  /**
+   * Look up a cached decision.
+   *
+   * @return the cached decision, or empty if there is no live entry
+   */
+  public Optional<Boolean> get(
+      AuthenticatedUserRequest userRequest, String resourceType, String resourceId, String action) {
+    if (!enabled) {
+      return Optional.empty();
+    }
+    Decision decision =
+        cache.getIfPresent(
+            DecisionKey.of(userRequest.getRequiredToken(), resourceType, resourceId, action));
+    if (decision == null || decision.expiresAtNanos - ticker.read() <= 0) {
+      MetricsUtils.increment(LOOKUP_COUNT, MISS_TAGS);
+      return Optional.empty();
+    }
+    MetricsUtils.increment(LOOKUP_COUNT, HIT_TAGS);
+    return Optional.of(decision.authorized);
+  }
+
+  /** Store a decision returned by Sam. */
+  public void put(
+      AuthenticatedUserRequest userRequest,
+      String resourceType,
+      String resourceId,
+      String action,
+      boolean authorized) {
+    if (!enabled) {
+      return;
+    }
+    long ttlNanos = authorized ? positiveTtlNanos : negativeTtlNanos;
+    cache.put(
+        DecisionKey.of(userRequest.getRequiredToken(), resourceType, resourceId, action),
+        new Decision(authorized, ticker.read() + ttlNanos));
+  }
+
+  /** Drop every cached decision, for any subject, about a single Sam resource. */
+  public void invalidateResource(String resourceType, String resourceId) {
+    cache
+        .asMap()
+        .keySet()
+        .removeIf(
+            key -> key.resourceType.equals(resourceType) && key.resourceId.equals(resourceId));
+  }
+
+  /**
+   * Drop every cached decision affected by a change to a workspace's policies. Controlled resources
+   * inherit permissions from their workspace's roles, and the cache does not know which workspace a
+   * resource belongs to, so decisions about all non-workspace resources are dropped as well.
+   */
+  public void invalidateWorkspace(UUID workspaceId) {
+    String workspaceIdString = workspaceId.toString();
+    cache
+        .asMap()
+        .keySet()
+        .removeIf(
+            key ->
+                !key.resourceType.equals(SamConstants.SAM_WORKSPACE_RESOURCE)
+                    || key.resourceId.equals(workspaceIdString));
+  }
+
+  private static class Decision {
+    private final boolean authorized;
+    private final long expiresAtNanos;
+
+    private Decision(boolean authorized, long expiresAtNanos) {
+      this.authorized = authorized;
+      this.expiresAtNanos = expiresAtNanos;
+    }
+  }
+
+  /**
+   * Cache key. Resource types and actions are compile-time constants in WSM, so those fields share
+   * the interned strings rather than holding copies.
+   */
+  private static class DecisionKey {
+    private final TokenFingerprint token;
+    private final String resourceType;
+    private final String resourceId;
+    private final String action;
+
+    private DecisionKey(
+        TokenFingerprint token, String resourceType, String resourceId, String action) {
+      this.token = token;
+      this.resourceType = resourceType;
+      this.resourceId = resourceId;
+      this.action = action;
+    }
+
+    static DecisionKey of(String token, String resourceType, String resourceId, String action) {
+      return new DecisionKey(TokenFingerprint.of(token), resourceType, resourceId, action);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof DecisionKey)) {
+        return false;
+      }
+      DecisionKey that = (DecisionKey) o;
+      return token.equals(that.token)
+          && resourceType.equals(that.resourceType)
+          && resourceId.equals(that.resourceId)
+          && action.equals(that.action);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(token, resourceType, resourceId, action);
+    }
+  }
+}
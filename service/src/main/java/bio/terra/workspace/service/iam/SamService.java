@@ -5,9 +5,12 @@ import bio.terra.common.exception.UnauthorizedException;
 import bio.terra.common.sam.SamRetry;
 import bio.terra.common.sam.exception.SamExceptionFactory;
 import bio.terra.workspace.app.configuration.external.SamConfiguration;
+import bio.terra.workspace.common.utils.ApiClientCache;
+import bio.terra.workspace.common.utils.HttpClientUtils;
 import bio.terra.workspace.service.iam.model.ControlledResourceIamRole;
 import bio.terra.workspace.service.iam.model.RoleBinding;
 import bio.terra.workspace.service.iam.model.SamConstants;
+import bio.terra.workspace.service.iam.model.UserIdentity;
 import bio.terra.workspace.service.iam.model.WsmIamRole;
 import bio.terra.workspace.service.resource.controlled.AccessScopeType;
 import bio.terra.workspace.service.resource.controlled.ControlledResource;
@@ -26,6 +29,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import okhttp3.OkHttpClient;
 import org.broadinstitute.dsde.workbench.client.sam.ApiClient;
 import org.broadinstitute.dsde.workbench.client.sam.ApiException;
 import org.broadinstitute.dsde.workbench.client.sam.api.GoogleApi;
@@ -39,6 +43,7 @@ import org.broadinstitute.dsde.workbench.client.sam.model.CreateResourceRequestV
 import org.broadinstitute.dsde.workbench.client.sam.model.FullyQualifiedResourceId;
 import org.broadinstitute.dsde.workbench.client.sam.model.ResourceAndAccessPolicy;
 import org.broadinstitute.dsde.workbench.client.sam.model.SystemStatus;
+import org.broadinstitute.dsde.workbench.client.sam.model.UserStatusInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -58,23 +63,39 @@ public class SamService {
 
   private final SamConfiguration samConfig;
   private final StageService stageService;
+  private final AuthorizationCache authorizationCache;
+  private final UserIdentityCache userIdentityCache;
+  private final ApiClientCache<ApiClient> apiClientCache;
 
   private final Set<String> SAM_OAUTH_SCOPES = ImmutableSet.of("openid", "email", "profile");
   private boolean wsmServiceAccountInitialized;
 
   @Autowired
-  public SamService(SamConfiguration samConfig, StageService stageService) {
+  public SamService(
+      SamConfiguration samConfig,
+      StageService stageService,
+      AuthorizationCache authorizationCache,
+      UserIdentityCache userIdentityCache) {
     this.samConfig = samConfig;
     this.stageService = stageService;
+    this.authorizationCache = authorizationCache;
+    this.userIdentityCache = userIdentityCache;
+    OkHttpClient httpClient = HttpClientUtils.createOkHttpClient("sam", samConfig.getHttpClient());
+    this.apiClientCache =
+        new ApiClientCache<>(
+            (basePath, accessToken) -> {
+              ApiClient client = new ApiClient();
+              client.setHttpClient(httpClient);
+              client.setAccessToken(accessToken);
+              return client.setBasePath(basePath);
+            });
     this.wsmServiceAccountInitialized = false;
   }
 
   private final Logger logger = LoggerFactory.getLogger(SamService.class);
 
   private ApiClient getApiClient(String accessToken) {
-    ApiClient client = new ApiClient();
-    client.setAccessToken(accessToken);
-    return client.setBasePath(samConfig.getBasePath());
+    return apiClientCache.get(samConfig.getBasePath(), accessToken);
   }
 
   private ResourcesApi samResourcesApi(String accessToken) {
@@ -100,8 +121,7 @@ public class SamService {
 
   /**
    * Obtain the user email address from an AuthenticatedUserRequest either by the easy way (directly
-   * calling getEmail()), or the harder way, calling Sam. The hard way throws a checked exception,
-   * which we want to convert to an unchecked exception here.
+   * calling getEmail()), or the harder way, resolving the token. See {@link #getIdentityFromToken}.
    *
    * @param userRequest - request object for this user
    * @return - email address of user
@@ -112,7 +132,7 @@ public class SamService {
     if (emailMaybe.isPresent()) {
       return emailMaybe.get();
     } else {
-      return getEmailFromToken(userRequest.getRequiredToken());
+      return getIdentityFromToken(userRequest.getRequiredToken()).email();
     }
   }
 
@@ -184,10 +204,7 @@ public class SamService {
     ResourcesApi resourceApi = samResourcesApi(userRequest.getRequiredToken());
     // Sam will throw an error if no owner is specified, so the caller's email is required. It can
     // be looked up using the auth token if that's all the caller provides.
-    String callerEmail =
-        userRequest.getEmail() == null
-            ? getEmailFromToken(userRequest.getRequiredToken())
-            : userRequest.getEmail();
+    String callerEmail = getRequestUserEmail(userRequest);
     CreateResourceRequestV2 workspaceRequest =
         new CreateResourceRequestV2()
             .resourceId(id.toString())
@@ -196,6 +213,8 @@ public class SamService {
       SamRetry.retry(
           () ->
               resourceApi.createResourceV2(SamConstants.SAM_WORKSPACE_RESOURCE, workspaceRequest));
+      // A caller may have probed this workspace before it existed; drop any negative decisions.
+      authorizationCache.invalidateWorkspace(id);
       logger.info("Created Sam resource for workspace {}", id);
     } catch (ApiException apiException) {
       throw SamExceptionFactory.create("Error creating a Workspace resource in Sam", apiException);
@@ -251,6 +270,8 @@ public class SamService {
         return;
       }
       throw SamExceptionFactory.create("Error deleting a workspace in Sam", apiException);
+    } finally {
+      authorizationCache.invalidateWorkspace(id);
     }
   }
 
@@ -307,6 +328,9 @@ public class SamService {
    * access to a resource. The wrapped call will perform a check for the appropriate permission in
    * Sam. This call answers the question "does user X have permission to do action Y on resource Z".
    *
+   * <p>Unlike isAuthorized, this may answer from the {@link AuthorizationCache}. Decisions are
+   * cached for a few seconds, and operations in this class that change permissions invalidate them.
+   *
    * @param userRequest Credentials of the user whose permissions are being checked
    * @param resourceType The Sam type of the resource being checked
    * @param resourceId The ID of the resource being checked
@@ -316,8 +340,16 @@ public class SamService {
   public void checkAuthz(
       AuthenticatedUserRequest userRequest, String resourceType, String resourceId, String action)
       throws InterruptedException {
-    boolean isAuthorized = isAuthorized(userRequest, resourceType, resourceId, action);
-    final String userEmail = getEmailFromToken(userRequest.getRequiredToken());
+    Optional<Boolean> cachedDecision =
+        authorizationCache.get(userRequest, resourceType, resourceId, action);
+    boolean isAuthorized;
+    if (cachedDecision.isPresent()) {
+      isAuthorized = cachedDecision.get();
+    } else {
+      isAuthorized = isAuthorized(userRequest, resourceType, resourceId, action);
+      authorizationCache.put(userRequest, resourceType, resourceId, action, isAuthorized);
+    }
+    final String userEmail = getRequestUserEmail(userRequest);
     if (!isAuthorized)
       throw new UnauthorizedException(
           String.format(
@@ -367,6 +399,8 @@ public class SamService {
           "Granted role {} to user {} in workspace {}", role.toSamRole(), email, workspaceId);
     } catch (ApiException apiException) {
       throw SamExceptionFactory.create("Error granting workspace role in Sam", apiException);
+    } finally {
+      authorizationCache.invalidateWorkspace(workspaceId);
     }
   }
 
@@ -400,6 +434,8 @@ public class SamService {
           "Removed role {} from user {} in workspace {}", role.toSamRole(), email, workspaceId);
     } catch (ApiException apiException) {
       throw SamExceptionFactory.create("Error removing workspace role in Sam", apiException);
+    } finally {
+      authorizationCache.invalidateWorkspace(workspaceId);
     }
   }
 
@@ -454,6 +490,9 @@ public class SamService {
           "Internal server error removing resource role in Sam", credentialException);
     } catch (ApiException apiException) {
       throw SamExceptionFactory.create("Sam error removing resource role in Sam", apiException);
+    } finally {
+      authorizationCache.invalidateResource(
+          resource.getCategory().getSamResourceName(), resource.getResourceId().toString());
     }
   }
 
@@ -507,6 +546,9 @@ public class SamService {
           "Internal server error restoring resource role in Sam", credentialException);
     } catch (ApiException apiException) {
       throw SamExceptionFactory.create("Sam error restoring resource role in Sam", apiException);
+    } finally {
+      authorizationCache.invalidateResource(
+          resource.getCategory().getSamResourceName(), resource.getResourceId().toString());
     }
   }
 
@@ -720,6 +762,8 @@ public class SamService {
                   resource.getCategory().getSamResourceName(),
                   resource.getResourceId().toString()));
       logger.info("Deleted Sam controlled resource {}", resource.getResourceId());
+      authorizationCache.invalidateResource(
+          resource.getCategory().getSamResourceName(), resource.getResourceId().toString());
     } catch (ApiException apiException) {
       // Do nothing if the resource to delete is not found, this may not be the first time delete is
       // called. Other exceptions still need to be surfaced.
@@ -828,7 +872,7 @@ public class SamService {
   private void addWsmResourceOwnerPolicy(CreateResourceRequestV2 request)
       throws InterruptedException {
     try {
-      String wsmSaEmail = getEmailFromToken(getWsmServiceAccountToken());
+      String wsmSaEmail = getIdentityFromToken(getWsmServiceAccountToken()).email();
       AccessPolicyMembershipV2 ownerPolicy =
           new AccessPolicyMembershipV2()
               .addRolesItem(ControlledResourceIamRole.OWNER.toSamRole())
@@ -878,11 +922,22 @@ public class SamService {
     request.putPoliciesItem(ControlledResourceIamRole.EDITOR.toSamRole(), editorPolicy);
   }
 
-  /** Fetch the email associated with an authToken from Sam. */
-  private String getEmailFromToken(String authToken) throws InterruptedException {
+  /**
+   * Fetch the identity associated with an authToken from Sam. Results are cached in the {@link
+   * UserIdentityCache}, so repeated calls with the same token only reach Sam once.
+   */
+  private UserIdentity getIdentityFromToken(String authToken) throws InterruptedException {
+    Optional<UserIdentity> cachedIdentity = userIdentityCache.get(authToken);
+    if (cachedIdentity.isPresent()) {
+      return cachedIdentity.get();
+    }
     UsersApi usersApi = samUsersApi(authToken);
     try {
-      return SamRetry.retry(() -> usersApi.getUserStatusInfo().getUserEmail());
+      UserStatusInfo userStatusInfo = SamRetry.retry(usersApi::getUserStatusInfo);
+      UserIdentity identity =
+          UserIdentity.create(userStatusInfo.getUserEmail(), userStatusInfo.getUserSubjectId());
+      userIdentityCache.put(authToken, identity);
+      return identity;
     } catch (ApiException apiException) {
       throw SamExceptionFactory.create("Error getting user email from Sam", apiException);
     }
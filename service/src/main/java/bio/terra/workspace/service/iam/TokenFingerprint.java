@@ -0,0 +1,42 @@
+package bio.terra.workspace.service.iam;
+
+import com.google.common.hash.Hashing;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A 128-bit digest of an access token. Caches keyed on a caller's credentials hold one of these
+ * instead of the token, which keeps keys small and keeps credentials out of the heap.
+ */
+public final class TokenFingerprint {
+  private final long high;
+  private final long low;
+
+  private TokenFingerprint(long high, long low) {
+    this.high = high;
+    this.low = low;
+  }
+
+  public static TokenFingerprint of(String token) {
+    ByteBuffer digest =
+        ByteBuffer.wrap(Hashing.sha256().hashString(token, StandardCharsets.UTF_8).asBytes());
+    return new TokenFingerprint(digest.getLong(), digest.getLong());
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof TokenFingerprint)) {
+      return false;
+    }
+    TokenFingerprint that = (TokenFingerprint) o;
+    return high == that.high && low == that.low;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(high) * 31 + Long.hashCode(low);
+  }
+}
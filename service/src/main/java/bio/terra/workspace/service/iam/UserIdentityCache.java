@@ -0,0 +1,105 @@
+package bio.terra.workspace.service.iam;
+
+import bio.terra.workspace.app.configuration.external.SamConfiguration;
+import bio.terra.workspace.common.utils.MetricsUtils;
+import bio.terra.workspace.service.iam.model.UserIdentity;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.opencensus.stats.Measure.MeasureLong;
+import io.opencensus.tags.TagKey;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of the Sam identity behind an access token, keyed by a {@link TokenFingerprint}.
+ *
+ * <p>An entry never outlives the token it was resolved from. When the token is a JWT, its "exp"
+ * claim bounds the entry; opaque tokens (e.g. Google OAuth access tokens) are kept for at most the
+ * configured maximum, which defaults to the one hour lifetime of a Google access token.
+ */
+@Component
+public class UserIdentityCache {
+  private static final TagKey RESULT_KEY = TagKey.create("result");
+  private static final MeasureLong LOOKUP_COUNT =
+      MetricsUtils.createCounter(
+          "sam/identity_cache/lookups", "Token to Sam identity cache lookups", RESULT_KEY);
+  private static final Map<TagKey, String> HIT_TAGS = Map.of(RESULT_KEY, "hit");
+  private static final Map<TagKey, String> MISS_TAGS = Map.of(RESULT_KEY, "miss");
+
+  private final Duration maximumTtl;
+  private final ObjectMapper objectMapper;
+  private final Cache<TokenFingerprint, CachedIdentity> cache;
+
+  @Autowired
+  public UserIdentityCache(SamConfiguration samConfig, ObjectMapper objectMapper) {
+    this.maximumTtl = Duration.ofSeconds(samConfig.getIdentityCacheMaximumTtlSeconds());
+    this.objectMapper = objectMapper;
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(samConfig.getIdentityCacheMaximumSize())
+            .expireAfterWrite(maximumTtl.toSeconds(), TimeUnit.SECONDS)
+            .build();
+  }
+
+  /** Return the cached identity for a token, if there is an unexpired one. */
+  public Optional<UserIdentity> get(String token) {
+    CachedIdentity cachedIdentity = cache.getIfPresent(TokenFingerprint.of(token));
+    if (cachedIdentity == null || !Instant.now().isBefore(cachedIdentity.expiresAt)) {
+      MetricsUtils.increment(LOOKUP_COUNT, MISS_TAGS);
+      return Optional.empty();
+    }
+    MetricsUtils.increment(LOOKUP_COUNT, HIT_TAGS);
+    return Optional.of(cachedIdentity.identity);
+  }
+
+  /** Remember the identity Sam resolved for a token. */
+  public void put(String token, UserIdentity identity) {
+    Instant expiresAt = Instant.now().plus(maximumTtl);
+    Optional<Instant> tokenExpiration = jwtExpiration(token);
+    if (tokenExpiration.isPresent() && tokenExpiration.get().isBefore(expiresAt)) {
+      expiresAt = tokenExpiration.get();
+    }
+    cache.put(TokenFingerprint.of(token), new CachedIdentity(identity, expiresAt));
+  }
+
+  /**
+   * Read the expiration time from a JWT's payload. The token is not verified here; Sam has already
+   * accepted it by the time an identity is cached, and an expiration that is wrong only shortens
+   * how long the entry is kept.
+   */
+  private Optional<Instant> jwtExpiration(String token) {
+    String[] parts = token.split("\\.");
+    if (parts.length != 3) {
+      return Optional.empty();
+    }
+    try {
+      JsonNode payload = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1]));
+      JsonNode exp = payload.get("exp");
+      if (exp == null || !exp.canConvertToLong()) {
+        return Optional.empty();
+      }
+      return Optional.of(Instant.ofEpochSecond(exp.asLong()));
+    } catch (IllegalArgumentException | IOException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static class CachedIdentity {
+    private final UserIdentity identity;
+    private final Instant expiresAt;
+
+    private CachedIdentity(UserIdentity identity, Instant expiresAt) {
+      this.identity = identity;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package bio.terra.workspace.service.iam.model;
+
+import com.google.auto.value.AutoValue;
+
+/** The Sam identity behind an access token. */
+@AutoValue
+public abstract class UserIdentity {
+
+  /** Email of the Sam user. */
+  public abstract String email();
+
+  /** Sam subject ID of the user. */
+  public abstract String subjectId();
+
+  public static UserIdentity create(String email, String subjectId) {
+    return new AutoValue_UserIdentity(email, subjectId);
+  }
+}
@@ -0,0 +1,90 @@
+package bio.terra.workspace.service.job;
+
+import bio.terra.stairway.FlightMap;
+import bio.terra.stairway.FlightState;
+import bio.terra.workspace.app.configuration.external.JobConfiguration;
+import bio.terra.workspace.common.utils.MetricsUtils;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.opencensus.stats.Measure.MeasureLong;
+import io.opencensus.tags.TagKey;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of the states of finished flights, keyed by job id, along with the results deserialized
+ * from them.
+ *
+ * <p>A flight's state does not change once it has finished, so clients polling for the result of a
+ * job that is done are answered from here without reading the Stairway database. Running flights
+ * are never cached. Deserialized results are shared between callers, who must not modify them.
+ */
+@Component
+public class CompletedJobCache {
+  private static final TagKey RESULT_KEY = TagKey.create("result");
+  private static final MeasureLong LOOKUP_COUNT =
+      MetricsUtils.createCounter(
+          "job/completed_cache/lookups", "Completed job state cache lookups", RESULT_KEY);
+  private static final Map<TagKey, String> HIT_TAGS = Map.of(RESULT_KEY, "hit");
+  private static final Map<TagKey, String> MISS_TAGS = Map.of(RESULT_KEY, "miss");
+
+  private final Cache<String, CompletedJob> cache;
+
+  @Autowired
+  public CompletedJobCache(JobConfiguration jobConfig) {
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(jobConfig.getCompletedJobCacheMaximumSize())
+            .expireAfterWrite(jobConfig.getCompletedJobCacheTtlSeconds(), TimeUnit.SECONDS)
+            .build();
+  }
+
+  /** Return the state of a finished flight, if it is cached. */
+  public Optional<FlightState> getFlightState(String jobId) {
+    CompletedJob completedJob = cache.getIfPresent(jobId);
+    if (completedJob == null) {
+      MetricsUtils.increment(LOOKUP_COUNT, MISS_TAGS);
+      return Optional.empty();
+    }
+    MetricsUtils.increment(LOOKUP_COUNT, HIT_TAGS);
+    return Optional.of(completedJob.flightState);
+  }
+
+  /** Remember a flight state read from Stairway, if the flight has finished. */
+  public void putIfComplete(FlightState flightState) {
+    if (!flightState.isActive()) {
+      cache.asMap().putIfAbsent(flightState.getFlightId(), new CompletedJob(flightState));
+    }
+  }
+
+  /**
+   * Deserialize the response in a finished flight's result map, reusing an earlier deserialization
+   * of the same cached state.
+   */
+  public <T> T getResult(
+      FlightState flightState, FlightMap resultMap, @Nullable Class<T> resultClass) {
+    CompletedJob completedJob = cache.getIfPresent(flightState.getFlightId());
+    if (resultClass == null || completedJob == null || completedJob.flightState != flightState) {
+      return resultMap.get(JobMapKeys.RESPONSE.getKeyName(), resultClass);
+    }
+    Optional<Object> result =
+        completedJob.results.computeIfAbsent(
+            resultClass,
+            c -> Optional.<Object>ofNullable(resultMap.get(JobMapKeys.RESPONSE.getKeyName(), c)));
+    return resultClass.cast(result.orElse(null));
+  }
+
+  private static class CompletedJob {
+    private final FlightState flightState;
+    private final Map<Class<?>, Optional<Object>> results = new ConcurrentHashMap<>();
+
+    private CompletedJob(FlightState flightState) {
+      this.flightState = flightState;
+    }
+  }
+}
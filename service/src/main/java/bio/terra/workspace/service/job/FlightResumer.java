@@ -0,0 +1,243 @@
+package bio.terra.workspace.service.job;
+
+import bio.terra.common.stairway.StairwayComponent;
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightMap;
+import bio.terra.stairway.FlightStatus;
+import bio.terra.stairway.StepResult;
+import bio.terra.stairway.StepStatus;
+import bio.terra.stairway.exception.FlightNotFoundException;
+import bio.terra.stairway.exception.StairwayException;
+import bio.terra.workspace.db.FlightWaitDao;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lets a step wait for a slow cloud operation without holding a Stairway thread.
+ *
+ * <p>Instead of sleeping between polls, the step returns {@link #waitAndRerun}: the flight is put
+ * in the WAITING state, releasing its thread, and this class resumes it after the poll interval,
+ * when Stairway runs the same step again. A step waiting this way therefore polls its operation
+ * once per run, keeping whatever it needs to find the operation again in the working map.
+ *
+ * <p>Pending resumes are held in memory, and recorded in the database by {@link FlightWaitDao} with
+ * the id of the process holding them. A process only resumes a flight while the recorded resume is
+ * its own, so a flight resumed elsewhere is not also polled here. Once {@link #start} is called,
+ * each process periodically claims the resumes that are long overdue, which were left by a process
+ * that stopped, and resumes those flights itself.
+ */
+@Component
+public class FlightResumer {
+  private static final Logger logger = LoggerFactory.getLogger(FlightResumer.class);
+
+  /** How long to wait before trying again to resume a flight that is still yielding. */
+  private static final Duration RESUME_RETRY_DELAY = Duration.ofSeconds(1);
+
+  /**
+   * How late a resume must be before another process claims it. A live process resumes its flights
+   * on time, retrying every {@link #RESUME_RETRY_DELAY}, so a resume this late was abandoned.
+   */
+  private static final Duration OVERDUE_GRACE = Duration.ofMinutes(1);
+
+  /** How often to look for overdue resumes. */
+  private static final Duration OVERDUE_CHECK_INTERVAL = Duration.ofMinutes(1);
+
+  private static final String WAIT_START_SUFFIX = ".waitStartMillis";
+  private static final String WAIT_POLLS_SUFFIX = ".waitPolls";
+
+  private final StairwayComponent stairwayComponent;
+  private final FlightWaitDao flightWaitDao;
+  /** Identifies this process's resumes in the database. */
+  private final String resumerId = UUID.randomUUID().toString();
+  /** When each flight with a resume scheduled is due. A flight never has more than one. */
+  private final Map<String, Instant> pendingResumes = new ConcurrentHashMap<>();
+
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder().setNameFormat("flight-resumer-%d").setDaemon(true).build());
+
+  @Autowired
+  public FlightResumer(StairwayComponent stairwayComponent, FlightWaitDao flightWaitDao) {
+    this.stairwayComponent = stairwayComponent;
+    this.flightWaitDao = flightWaitDao;
+  }
+
+  /**
+   * Yield the flight's thread, and run the current step again after {@code pollInterval}. The
+   * first wait under {@code waitKey} records when waiting started, for {@link #waitedLongerThan}.
+   *
+   * @param flightContext context of the waiting step
+   * @param waitKey working map key prefix naming what the step is waiting for
+   * @param pollInterval how long to wait before running the step again
+   * @return the step result to return from the step
+   */
+  public StepResult waitAndRerun(
+      FlightContext flightContext, String waitKey, Duration pollInterval) {
+    FlightMap workingMap = flightContext.getWorkingMap();
+    if (workingMap.get(waitKey + WAIT_START_SUFFIX, Long.class) == null) {
+      workingMap.put(waitKey + WAIT_START_SUFFIX, Instant.now().toEpochMilli());
+    }
+    scheduleResume(flightContext.getFlightId(), pollInterval);
+    return new StepResult(StepStatus.STEP_RESULT_WAIT);
+  }
+
+  /**
+   * Like {@link #waitAndRerun}, but poll quickly at first and less often the longer the step
+   * waits: the interval starts at {@code initialInterval} and doubles with each wait under {@code
+   * waitKey}, up to {@code maxInterval}.
+   */
+  public StepResult waitAndRerunWithBackoff(
+      FlightContext flightContext, String waitKey, Duration initialInterval, Duration maxInterval) {
+    FlightMap workingMap = flightContext.getWorkingMap();
+    Integer polls = workingMap.get(waitKey + WAIT_POLLS_SUFFIX, Integer.class);
+    int pollCount = polls == null ? 0 : polls;
+    workingMap.put(waitKey + WAIT_POLLS_SUFFIX, pollCount + 1);
+    return waitAndRerun(
+        flightContext, waitKey, backoffInterval(initialInterval, maxInterval, pollCount));
+  }
+
+  /** The interval before poll {@code pollCount + 1}, doubling from initial up to max. */
+  @VisibleForTesting
+  static Duration backoffInterval(Duration initialInterval, Duration maxInterval, int pollCount) {
+    Duration interval = initialInterval;
+    // Stop doubling at the maximum, so that long waits cannot overflow
+    for (int i = 0; i < pollCount && interval.compareTo(maxInterval) < 0; i++) {
+      interval = interval.multipliedBy(2);
+    }
+    return interval.compareTo(maxInterval) < 0 ? interval : maxInterval;
+  }
+
+  /** Whether the step has been waiting under {@code waitKey} for longer than {@code timeout}. */
+  public boolean waitedLongerThan(FlightContext flightContext, String waitKey, Duration timeout) {
+    Long waitStartMillis =
+        flightContext.getWorkingMap().get(waitKey + WAIT_START_SUFFIX, Long.class);
+    return waitStartMillis != null
+        && Instant.ofEpochMilli(waitStartMillis).plus(timeout).isBefore(Instant.now());
+  }
+
+  /** Forget the wait under {@code waitKey}, so that a later wait starts timing afresh. */
+  public void endWait(FlightContext flightContext, String waitKey) {
+    flightContext.getWorkingMap().put(waitKey + WAIT_START_SUFFIX, null);
+    flightContext.getWorkingMap().put(waitKey + WAIT_POLLS_SUFFIX, null);
+  }
+
+  /**
+   * Start taking over overdue resumes, including those of flights left waiting when this service
+   * last stopped. Called by JobService once Stairway is up.
+   */
+  public void start() {
+    scheduler.scheduleWithFixedDelay(
+        this::claimOverdueResumes,
+        0,
+        OVERDUE_CHECK_INTERVAL.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  private void claimOverdueResumes() {
+    // Exceptions would cancel the periodic check, so they are only logged.
+    try {
+      Instant now = now();
+      List<String> flightIds =
+          flightWaitDao.claimOverdueWaits(resumerId, now.minus(OVERDUE_GRACE), now);
+      if (!flightIds.isEmpty()) {
+        logger.info("Resuming {} flights whose resumes were missed", flightIds.size());
+      }
+      flightIds.forEach(flightId -> schedule(flightId, now));
+    } catch (RuntimeException e) {
+      logger.warn("Failed to claim overdue flight resumes", e);
+    }
+  }
+
+  private void scheduleResume(String flightId, Duration delay) {
+    Instant resumeAt = now().plus(delay);
+    if (schedule(flightId, resumeAt)) {
+      try {
+        flightWaitDao.recordWait(flightId, resumerId, resumeAt);
+      } catch (DataAccessException e) {
+        // The resume still happens; only another process could not take it over.
+        logger.warn("Failed to record the resume of flight {}", flightId, e);
+      }
+    }
+  }
+
+  /** @return whether the resume was scheduled; false if the flight already had one */
+  private boolean schedule(String flightId, Instant resumeAt) {
+    if (pendingResumes.putIfAbsent(flightId, resumeAt) != null) {
+      return false;
+    }
+    scheduler.schedule(
+        () -> resume(flightId),
+        Math.max(0, Duration.between(now(), resumeAt).toMillis()),
+        TimeUnit.MILLISECONDS);
+    return true;
+  }
+
+  private void resume(String flightId) {
+    Instant resumeAt = pendingResumes.remove(flightId);
+    try {
+      if (!isOwnResume(flightId)) {
+        // Another process claimed the resume, or resumed the flight and is now waiting on it.
+        logger.info("Flight {} is now resumed by another instance", flightId);
+        return;
+      }
+      if (stairwayComponent.get().resume(flightId)) {
+        forgetResume(flightId, resumeAt);
+        return;
+      }
+      // The step that asked to wait may not have returned yet; try again once it has.
+      FlightStatus status = stairwayComponent.get().getFlightState(flightId).getFlightStatus();
+      if (status == FlightStatus.RUNNING || status == FlightStatus.WAITING) {
+        scheduleResume(flightId, RESUME_RETRY_DELAY);
+        return;
+      }
+      forgetResume(flightId, resumeAt);
+    } catch (FlightNotFoundException e) {
+      logger.warn("Waiting flight {} no longer exists", flightId);
+      forgetResume(flightId, resumeAt);
+    } catch (StairwayException e) {
+      logger.warn("Failed to resume flight {}; retrying", flightId, e);
+      scheduleResume(flightId, RESUME_RETRY_DELAY);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Whether the recorded resume of the flight is this process's, or none was recorded. */
+  private boolean isOwnResume(String flightId) {
+    try {
+      return flightWaitDao.getResumerId(flightId).map(resumerId::equals).orElse(true);
+    } catch (DataAccessException e) {
+      logger.warn("Failed to read the resume of flight {}", flightId, e);
+      return true;
+    }
+  }
+
+  private void forgetResume(String flightId, Instant resumeAt) {
+    try {
+      flightWaitDao.forgetWait(flightId, resumerId, resumeAt);
+    } catch (DataAccessException e) {
+      // Left behind, the record is claimed once overdue, and then forgotten by its claimer.
+      logger.warn("Failed to forget the resume of flight {}", flightId, e);
+    }
+  }
+
+  /** The current time, at the precision the database keeps. */
+  private static Instant now() {
+    return Instant.now().truncatedTo(ChronoUnit.MILLIS);
+  }
+}
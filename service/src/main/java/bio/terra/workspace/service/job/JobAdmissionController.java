@@ -0,0 +1,265 @@
+package bio.terra.workspace.service.job;
+
+import bio.terra.stairway.Flight;
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightStatus;
+import bio.terra.stairway.HookAction;
+import bio.terra.stairway.StairwayHook;
+import bio.terra.workspace.app.configuration.external.JobAdmissionConfiguration;
+import bio.terra.workspace.common.utils.MetricsUtils;
+import bio.terra.workspace.service.job.exception.InternalStairwayException;
+import bio.terra.workspace.service.job.exception.TooManyJobsException;
+import com.google.common.annotations.VisibleForTesting;
+import io.opencensus.stats.Measure.MeasureLong;
+import io.opencensus.tags.TagKey;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits how many flights API requests may have running in this replica: in total, per user, and
+ * per flight class.
+ *
+ * <p>A submission over a limit waits in a bounded queue for a running flight to finish. Each user
+ * has their own queue, and freed slots go to the users round robin, so one user's burst cannot
+ * hold up everyone else's submissions. A submission that finds the queue full, or is not admitted
+ * in time, is refused with a {@link TooManyJobsException}.
+ *
+ * <p>Slots are freed by the {@link StairwayHook} when the flight finishes. A flight that yields
+ * while it waits on a slow cloud operation holds no thread, so its slot is also freed while it is
+ * WAITING, and taken again when it next runs a step, even if that puts the counts over a limit for
+ * a while. Only running flights are therefore admitted against. The counts are kept per
+ * replica; a flight recovered by another replica after a restart frees its slot there, where there
+ * is no record of it, and this replica's counts started over when it restarted.
+ */
+@Component
+public class JobAdmissionController implements StairwayHook {
+  private static final TagKey REASON_KEY = TagKey.create("reason");
+  private static final MeasureLong REFUSAL_COUNT =
+      MetricsUtils.createCounter(
+          "job/admission/refusals", "Flight submissions refused by admission control", REASON_KEY);
+  private static final Map<TagKey, String> QUEUE_FULL_TAGS = Map.of(REASON_KEY, "queue_full");
+  private static final Map<TagKey, String> TIMEOUT_TAGS = Map.of(REASON_KEY, "timeout");
+
+  private final JobAdmissionConfiguration config;
+
+  // All state below is guarded by this.
+  private final Map<String, Admission> running = new HashMap<>();
+  /** Admitted flights that are yielded, and so not counted against the limits. */
+  private final Map<String, Admission> yielded = new HashMap<>();
+  private final Map<String, Integer> runningByUser = new HashMap<>();
+  private final Map<String, Integer> runningByClass = new HashMap<>();
+  /** Waiting submissions by user. Iteration order is the order users are next served in. */
+  private final LinkedHashMap<String, Deque<Admission>> waiting = new LinkedHashMap<>();
+
+  private int waitingCount;
+
+  @Autowired
+  public JobAdmissionController(JobAdmissionConfiguration config) {
+    this.config = config;
+  }
+
+  /**
+   * Admit a flight, waiting for a slot if necessary. Each admitted flight must be released, by the
+   * hook when it finishes or by calling {@link #release(String)} if it is never started.
+   *
+   * @return true if this call took a slot for the flight; false if admission control is disabled
+   *     or the flight already holds one
+   * @throws TooManyJobsException if the flight is not admitted
+   */
+  public boolean admit(String flightId, String subjectId, Class<? extends Flight> flightClass) {
+    if (!config.isEnabled()) {
+      return false;
+    }
+    Admission admission = new Admission(flightId, subjectId, flightClass.getSimpleName());
+    synchronized (this) {
+      if (running.containsKey(flightId) || yielded.containsKey(flightId)) {
+        // A resubmission of the same id; Stairway will reject it as a duplicate.
+        return false;
+      }
+      if (hasRoom(admission)) {
+        start(admission);
+        return true;
+      }
+      if (waitingCount >= config.getMaxQueuedSubmissions()) {
+        MetricsUtils.increment(REFUSAL_COUNT, QUEUE_FULL_TAGS);
+        throw refusal();
+      }
+      waiting.computeIfAbsent(subjectId, user -> new ArrayDeque<>()).addLast(admission);
+      waitingCount++;
+    }
+
+    boolean admitted;
+    try {
+      admitted = admission.started.await(config.getQueueTimeoutMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      admitted = false;
+    }
+    synchronized (this) {
+      if (admitted || admission.started.getCount() == 0) {
+        return true;
+      }
+      Deque<Admission> userQueue = waiting.get(subjectId);
+      userQueue.remove(admission);
+      waitingCount--;
+      if (userQueue.isEmpty()) {
+        waiting.remove(subjectId);
+      }
+    }
+    if (Thread.currentThread().isInterrupted()) {
+      throw new InternalStairwayException("Interrupted waiting to submit the flight");
+    }
+    MetricsUtils.increment(REFUSAL_COUNT, TIMEOUT_TAGS);
+    throw refusal();
+  }
+
+  /** Free an admitted flight's slot, letting waiting submissions in. */
+  public synchronized void release(String flightId) {
+    if (yielded.remove(flightId) != null) {
+      return;
+    }
+    Admission admission = running.remove(flightId);
+    if (admission == null) {
+      return;
+    }
+    stop(admission);
+    startWaiting();
+  }
+
+  /** Free the slot of a flight that yielded, keeping its admission for when it runs again. */
+  private synchronized void yieldSlot(String flightId) {
+    Admission admission = running.remove(flightId);
+    if (admission == null) {
+      return;
+    }
+    stop(admission);
+    yielded.put(flightId, admission);
+    startWaiting();
+  }
+
+  /** Take a slot again for a yielded flight that is running again. */
+  private synchronized void retakeSlot(String flightId) {
+    Admission admission = yielded.remove(flightId);
+    if (admission != null) {
+      start(admission);
+    }
+  }
+
+  @VisibleForTesting
+  synchronized int getWaitingCount() {
+    return waitingCount;
+  }
+
+  @Override
+  public HookAction stateTransition(FlightContext context) {
+    FlightStatus status = context.getFlightStatus();
+    if (status == FlightStatus.SUCCESS
+        || status == FlightStatus.ERROR
+        || status == FlightStatus.FATAL) {
+      release(context.getFlightId());
+    } else if (status == FlightStatus.WAITING) {
+      yieldSlot(context.getFlightId());
+    }
+    return HookAction.CONTINUE;
+  }
+
+  @Override
+  public HookAction startFlight(FlightContext context) {
+    return HookAction.CONTINUE;
+  }
+
+  @Override
+  public HookAction startStep(FlightContext context) {
+    // A resumed flight starts by running a step again.
+    retakeSlot(context.getFlightId());
+    return HookAction.CONTINUE;
+  }
+
+  @Override
+  public HookAction endStep(FlightContext context) {
+    return HookAction.CONTINUE;
+  }
+
+  @Override
+  public HookAction endFlight(FlightContext context) {
+    return HookAction.CONTINUE;
+  }
+
+  /**
+   * Start as many waiting submissions as there is room for. Users are served round robin: a user
+   * whose submission starts moves to the back of the line. Only the oldest submission of each user
+   * is considered.
+   */
+  private void startWaiting() {
+    boolean started = true;
+    while (started && waitingCount > 0) {
+      started = false;
+      for (String user : new ArrayList<>(waiting.keySet())) {
+        Deque<Admission> userQueue = waiting.get(user);
+        Admission next = userQueue.peekFirst();
+        if (hasRoom(next)) {
+          userQueue.removeFirst();
+          waitingCount--;
+          waiting.remove(user);
+          if (!userQueue.isEmpty()) {
+            waiting.put(user, userQueue);
+          }
+          start(next);
+          next.started.countDown();
+          started = true;
+          break;
+        }
+      }
+    }
+  }
+
+  private boolean hasRoom(Admission admission) {
+    Integer classLimit = config.getMaxActiveFlightsPerClass().get(admission.flightClassName);
+    return running.size() < config.getMaxActiveFlights()
+        && runningByUser.getOrDefault(admission.subjectId, 0) < config.getMaxActiveFlightsPerUser()
+        && (classLimit == null
+            || runningByClass.getOrDefault(admission.flightClassName, 0) < classLimit);
+  }
+
+  private void start(Admission admission) {
+    running.put(admission.flightId, admission);
+    runningByUser.merge(admission.subjectId, 1, Integer::sum);
+    runningByClass.merge(admission.flightClassName, 1, Integer::sum);
+  }
+
+  private void stop(Admission admission) {
+    runningByUser.computeIfPresent(admission.subjectId, (user, count) -> decrement(count));
+    runningByClass.computeIfPresent(admission.flightClassName, (name, count) -> decrement(count));
+  }
+
+  TooManyJobsException refusal() {
+    return new TooManyJobsException(
+        "Too many jobs are running; try again later", config.getRetryAfterSeconds());
+  }
+
+  /** Decrement a count, removing it from its map when it reaches zero. */
+  private static Integer decrement(Integer count) {
+    return count > 1 ? count - 1 : null;
+  }
+
+  private static class Admission {
+    private final String flightId;
+    private final String subjectId;
+    private final String flightClassName;
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private Admission(String flightId, String subjectId, String flightClassName) {
+      this.flightId = flightId;
+      this.subjectId = subjectId;
+      this.flightClassName = flightClassName;
+    }
+  }
+}
@@ -5,6 +5,7 @@ import bio.terra.stairway.FlightMap;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import bio.terra.workspace.service.job.exception.InvalidJobParameterException;
 import io.opencensus.contrib.spring.aop.Traced;
+import java.util.concurrent.CompletableFuture;
 
 public class JobBuilder {
 
@@ -72,4 +73,16 @@ public class JobBuilder {
   public <T> T submitAndWait(Class<T> resultClass) {
     return jobServiceRef.submitAndWait(flightClass, jobParameterMap, resultClass, jobId);
   }
+
+  /**
+   * Submit a job to stairway and return a future completed with the job result once it's
+   * complete, without waiting for it here.
+   *
+   * @param resultClass Class of the job's result
+   * @return Future of the result of the finished job. It completes exceptionally with any exception
+   *     raised by the flight.
+   */
+  public <T> CompletableFuture<T> submitAndWatch(Class<T> resultClass) {
+    return jobServiceRef.submitAndWatch(flightClass, jobParameterMap, resultClass, jobId);
+  }
 }
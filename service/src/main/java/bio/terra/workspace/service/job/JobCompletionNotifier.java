@@ -0,0 +1,127 @@
+package bio.terra.workspace.service.job;
+
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightStatus;
+import bio.terra.stairway.HookAction;
+import bio.terra.stairway.StairwayHook;
+import bio.terra.workspace.db.DatabaseNotificationListener;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * A {@link StairwayHook} that tells waiters when a flight has finished, instead of leaving them to
+ * poll Stairway for it.
+ *
+ * <p>When a flight reaches a terminal status, waiters in this replica are woken directly and a
+ * Postgres NOTIFY carrying the flight id wakes waiters in the other replicas; a flight recovered by
+ * another replica after a restart finishes there, not where its caller is waiting.
+ *
+ * <p>A notification means "check now", not "it is done": the hook may run before Stairway has
+ * recorded the final state, and notifications are lost while a replica's listener is down. Waiters
+ * therefore confirm completion by reading the flight state, and keep polling it as a fallback.
+ */
+@Component
+public class JobCompletionNotifier implements StairwayHook {
+  private static final Logger logger = LoggerFactory.getLogger(JobCompletionNotifier.class);
+
+  /** Postgres notification channel. The payload is the flight id. */
+  static final String CHANNEL = "wsm_job_completion";
+
+  private final DatabaseNotificationListener notificationListener;
+
+  /**
+   * Futures of the current waiters, by flight id. Each set is only touched inside the map's atomic
+   * operations, or after it has been removed from the map.
+   */
+  private final Map<String, Set<CompletableFuture<Void>>> waiters = new ConcurrentHashMap<>();
+
+  @Autowired
+  public JobCompletionNotifier(DatabaseNotificationListener notificationListener) {
+    this.notificationListener = notificationListener;
+    notificationListener.subscribe(CHANNEL, this::wakeWaiters);
+  }
+
+  /**
+   * Register interest in a flight finishing. Register before checking the flight's state, so a
+   * completion between the check and the registration is not missed.
+   *
+   * @return a future completed when the flight may have finished; pass it to {@link
+   *     #unregister(String, CompletableFuture)} when done waiting
+   */
+  public CompletableFuture<Void> register(String flightId) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    waiters.compute(
+        flightId,
+        (id, futures) -> {
+          Set<CompletableFuture<Void>> result = (futures == null) ? new HashSet<>() : futures;
+          result.add(future);
+          return result;
+        });
+    return future;
+  }
+
+  public void unregister(String flightId, CompletableFuture<Void> future) {
+    waiters.computeIfPresent(
+        flightId,
+        (id, futures) -> {
+          futures.remove(future);
+          return futures.isEmpty() ? null : futures;
+        });
+  }
+
+  /** Whether waiters in this replica hear about flights finishing in other replicas. */
+  public boolean isListening() {
+    return notificationListener.isListening();
+  }
+
+  @Override
+  public HookAction stateTransition(FlightContext context) {
+    FlightStatus status = context.getFlightStatus();
+    if (status == FlightStatus.SUCCESS
+        || status == FlightStatus.ERROR
+        || status == FlightStatus.FATAL) {
+      wakeWaiters(context.getFlightId());
+      try {
+        notificationListener.send(CHANNEL, context.getFlightId());
+      } catch (RuntimeException e) {
+        // Waiters in other replicas fall back to polling.
+        logger.warn("Failed to announce completion of flight {}", context.getFlightId(), e);
+      }
+    }
+    return HookAction.CONTINUE;
+  }
+
+  @Override
+  public HookAction startFlight(FlightContext context) {
+    return HookAction.CONTINUE;
+  }
+
+  @Override
+  public HookAction startStep(FlightContext context) {
+    return HookAction.CONTINUE;
+  }
+
+  @Override
+  public HookAction endStep(FlightContext context) {
+    return HookAction.CONTINUE;
+  }
+
+  @Override
+  public HookAction endFlight(FlightContext context) {
+    return HookAction.CONTINUE;
+  }
+
+  private void wakeWaiters(String flightId) {
+    Set<CompletableFuture<Void>> futures = waiters.remove(flightId);
+    if (futures != null) {
+      futures.forEach(future -> future.complete(null));
+    }
+  }
+}
@@ -11,7 +11,10 @@ public enum JobMapKeys {
   RESULT_PATH("resultPath"),
 
   // parameter for the job
-  FLIGHT_CLASS("flight_class");
+  FLIGHT_CLASS("flight_class"),
+
+  // parameter for sub-flights, naming the job the caller polls, which they report progress under
+  PARENT_JOB_ID("parent_job_id");
 
   private final String keyName;
 
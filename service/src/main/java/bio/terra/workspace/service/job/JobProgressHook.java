@@ -0,0 +1,62 @@
+package bio.terra.workspace.service.job;
+
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightStatus;
+import bio.terra.stairway.HookAction;
+import bio.terra.stairway.StairwayHook;
+import bio.terra.workspace.db.JobProgressDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * A {@link StairwayHook} that deletes a job's progress when its flight succeeds. The result then
+ * stands in for the progress, which would otherwise only be read again if the job had failed.
+ * Progress of jobs that fail is kept, and aged out by {@link JobService}.
+ */
+@Component
+public class JobProgressHook implements StairwayHook {
+  private static final Logger logger = LoggerFactory.getLogger(JobProgressHook.class);
+
+  private final JobProgressDao jobProgressDao;
+
+  @Autowired
+  public JobProgressHook(JobProgressDao jobProgressDao) {
+    this.jobProgressDao = jobProgressDao;
+  }
+
+  @Override
+  public HookAction stateTransition(FlightContext context) {
+    if (context.getFlightStatus() == FlightStatus.SUCCESS) {
+      try {
+        jobProgressDao.deleteProgress(context.getFlightId());
+      } catch (DataAccessException e) {
+        // Left for the retention check to delete.
+        logger.warn("Failed to delete the progress of flight {}", context.getFlightId(), e);
+      }
+    }
+    return HookAction.CONTINUE;
+  }
+
+  @Override
+  public HookAction startFlight(FlightContext context) {
+    return HookAction.CONTINUE;
+  }
+
+  @Override
+  public HookAction startStep(FlightContext context) {
+    return HookAction.CONTINUE;
+  }
+
+  @Override
+  public HookAction endStep(FlightContext context) {
+    return HookAction.CONTINUE;
+  }
+
+  @Override
+  public HookAction endFlight(FlightContext context) {
+    return HookAction.CONTINUE;
+  }
+}
@@ -19,10 +19,14 @@ import bio.terra.workspace.app.configuration.external.JobConfiguration;
 import bio.terra.workspace.app.configuration.external.StairwayDatabaseConfiguration;
 import bio.terra.workspace.common.utils.ErrorReportUtils;
 import bio.terra.workspace.common.utils.FlightBeanBag;
+import bio.terra.workspace.common.utils.FlightMetricsHook;
 import bio.terra.workspace.common.utils.MdcHook;
+import bio.terra.workspace.db.JobProgressDao;
+import bio.terra.workspace.db.UnitOfWorkCache;
 import bio.terra.workspace.generated.model.ApiErrorReport;
 import bio.terra.workspace.generated.model.ApiJobReport;
 import bio.terra.workspace.generated.model.ApiJobReport.StatusEnum;
+import bio.terra.workspace.generated.model.ApiJobSummary;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import bio.terra.workspace.service.job.exception.DuplicateJobIdException;
 import bio.terra.workspace.service.job.exception.InternalStairwayException;
@@ -32,38 +36,71 @@ import bio.terra.workspace.service.job.exception.JobNotCompleteException;
 import bio.terra.workspace.service.job.exception.JobNotFoundException;
 import bio.terra.workspace.service.job.exception.JobResponseException;
 import bio.terra.workspace.service.job.exception.JobUnauthorizedException;
+import bio.terra.workspace.service.job.exception.TooManyJobsException;
+import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.opencensus.contrib.spring.aop.Traced;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.concurrent.Callable;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Component
 public class JobService {
+  /**
+   * After a completion notification, the flight state is re-checked this many times, with doubling
+   * delays starting at {@link #NOTIFIED_RECHECK_DELAY_MILLIS}, before leaving it to the fallback
+   * poll.
+   */
+  private static final int NOTIFIED_RECHECK_ATTEMPTS = 5;
+
+  private static final long NOTIFIED_RECHECK_DELAY_MILLIS = 50;
+
+  /** The order in which jobs are listed, and paged through. */
+  private static final Comparator<FlightState> SUBMIT_ORDER =
+      Comparator.comparing(FlightState::getSubmitted).thenComparing(FlightState::getFlightId);
 
   private final JobConfiguration jobConfig;
   private final IngressConfiguration ingressConfig;
   private final StairwayDatabaseConfiguration stairwayDatabaseConfiguration;
   private final ScheduledExecutorService executor;
   private final MdcHook mdcHook;
+  private final FlightMetricsHook flightMetricsHook;
   private final StairwayComponent stairwayComponent;
   private final FlightBeanBag flightBeanBag;
   private final Logger logger = LoggerFactory.getLogger(JobService.class);
   private final ObjectMapper objectMapper;
+  private final UnitOfWorkCache unitOfWorkCache;
+  private final JobCompletionNotifier jobCompletionNotifier;
+  private final CompletedJobCache completedJobCache;
+  private final JobProgressDao jobProgressDao;
+  private final JobProgressHook jobProgressHook;
+  private final JobAdmissionController jobAdmissionController;
+  private final FlightResumer flightResumer;
+  /** Permits for requests waiting on a flight without holding a servlet thread. */
+  private final Semaphore waitingRequests;
   private FlightDebugInfo flightDebugInfo;
 
   @Autowired
@@ -72,17 +109,34 @@ public class JobService {
       IngressConfiguration ingressConfig,
       StairwayDatabaseConfiguration stairwayDatabaseConfiguration,
       MdcHook mdcHook,
+      FlightMetricsHook flightMetricsHook,
       StairwayComponent stairwayComponent,
       FlightBeanBag flightBeanBag,
-      ObjectMapper objectMapper) {
+      ObjectMapper objectMapper,
+      UnitOfWorkCache unitOfWorkCache,
+      JobCompletionNotifier jobCompletionNotifier,
+      CompletedJobCache completedJobCache,
+      JobProgressDao jobProgressDao,
+      JobProgressHook jobProgressHook,
+      JobAdmissionController jobAdmissionController,
+      FlightResumer flightResumer) {
     this.jobConfig = jobConfig;
     this.ingressConfig = ingressConfig;
     this.stairwayDatabaseConfiguration = stairwayDatabaseConfiguration;
     this.executor = Executors.newScheduledThreadPool(jobConfig.getMaxThreads());
     this.mdcHook = mdcHook;
+    this.flightMetricsHook = flightMetricsHook;
     this.stairwayComponent = stairwayComponent;
     this.flightBeanBag = flightBeanBag;
     this.objectMapper = objectMapper;
+    this.unitOfWorkCache = unitOfWorkCache;
+    this.jobCompletionNotifier = jobCompletionNotifier;
+    this.completedJobCache = completedJobCache;
+    this.jobProgressDao = jobProgressDao;
+    this.jobProgressHook = jobProgressHook;
+    this.jobAdmissionController = jobAdmissionController;
+    this.flightResumer = flightResumer;
+    this.waitingRequests = new Semaphore(jobConfig.getMaxWaitingRequests());
   }
 
   // creates a new JobBuilder object and returns it.
@@ -109,6 +163,15 @@ public class JobService {
   // protected method intended to be called only from JobBuilder
   protected String submit(
       Class<? extends Flight> flightClass, FlightMap parameterMap, String jobId) {
+    // Only submissions made while serving an API request are admission controlled; flights that
+    // steps launch on behalf of a running flight must not wait on slots their parent may hold.
+    boolean admitted =
+        RequestContextHolder.getRequestAttributes() != null
+            && jobAdmissionController.admit(
+                jobId,
+                parameterMap.get(JobMapKeys.SUBJECT_ID.getKeyName(), String.class),
+                flightClass);
+    flightMetricsHook.flightSubmitted(jobId);
     try {
       stairwayComponent
           .get()
@@ -119,10 +182,21 @@ public class JobService {
       // be checked separately. Allowing duplicate FlightIds is useful for ensuring idempotent
       // behavior of flights.
       logger.warn("Received duplicate job ID: {}", jobId);
+      flightMetricsHook.flightNotSubmitted(jobId);
+      if (admitted) {
+        jobAdmissionController.release(jobId);
+      }
       throw new DuplicateJobIdException("Received duplicate jobId, see logs for details", ex);
     } catch (StairwayException | InterruptedException stairwayEx) {
+      flightMetricsHook.flightNotSubmitted(jobId);
+      if (admitted) {
+        jobAdmissionController.release(jobId);
+      }
       throw new InternalStairwayException(stairwayEx);
     }
+    // The flight changes rows on other threads; anything this request memoized may be stale by
+    // the time it reads again.
+    unitOfWorkCache.invalidateAll();
     return jobId;
   }
 
@@ -136,6 +210,38 @@ public class JobService {
       String jobId) {
     submit(flightClass, parameterMap, jobId);
     waitForJob(jobId);
+    return getJobResult(jobId, resultClass, parameterMap);
+  }
+
+  /**
+   * Submit a new job to stairway and return a future completed with its result when it finishes,
+   * or completed exceptionally with any exception raised by the flight. No thread waits for the
+   * flight in the meantime. Protected method intended to be called only from JobBuilder.
+   *
+   * @throws TooManyJobsException if job.max-waiting-requests futures are already outstanding. The
+   *     job is not submitted in that case.
+   */
+  protected <T> CompletableFuture<T> submitAndWatch(
+      Class<? extends Flight> flightClass,
+      FlightMap parameterMap,
+      Class<T> resultClass,
+      String jobId) {
+    if (!waitingRequests.tryAcquire()) {
+      throw jobAdmissionController.refusal();
+    }
+    CompletableFuture<FlightState> completion;
+    try {
+      submit(flightClass, parameterMap, jobId);
+      completion = watchForCompletion(jobId);
+    } catch (RuntimeException e) {
+      waitingRequests.release();
+      throw e;
+    }
+    completion.whenComplete((state, e) -> waitingRequests.release());
+    return completion.thenApply(state -> getJobResult(jobId, resultClass, parameterMap));
+  }
+
+  private <T> T getJobResult(String jobId, Class<T> resultClass, FlightMap parameterMap) {
     AuthenticatedUserRequest userRequest =
         parameterMap.get(JobMapKeys.AUTH_USER_INFO.getKeyName(), AuthenticatedUserRequest.class);
 
@@ -147,27 +253,89 @@ public class JobService {
   }
 
   public void waitForJob(String jobId) {
+    CompletableFuture<FlightState> completion = watchForCompletion(jobId);
     try {
-      int pollSeconds = jobConfig.getPollingIntervalSeconds();
-      int pollCycles = jobConfig.getTimeoutSeconds() / jobConfig.getPollingIntervalSeconds();
-      for (int i = 0; i < pollCycles; i++) {
-        ScheduledFuture<FlightState> futureState =
-            executor.schedule(
-                new PollFlightTask(stairwayComponent.get(), jobId), pollSeconds, TimeUnit.SECONDS);
-        FlightState state = futureState.get();
-        if (state != null) {
-          // Indicates job has completed, though not necessarily successfully.
-          return;
-        } else {
-          // Indicates job has not completed yet, continue polling
-          continue;
-        }
+      completion.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
       }
-    } catch (InterruptedException | ExecutionException stairwayEx) {
-      throw new InternalStairwayException(stairwayEx);
+      throw new InternalStairwayException(e.getCause());
+    } catch (InterruptedException e) {
+      throw new InternalStairwayException(e);
+    } finally {
+      // Stops the polling if we stopped waiting before the flight finished.
+      completion.cancel(false);
+    }
+  }
+
+  /**
+   * Watch a flight until it finishes.
+   *
+   * <p>The flight state is checked when the {@link JobCompletionNotifier} reports that the flight
+   * may have finished, and otherwise at the polling interval in case a notification is missed.
+   * A notification that arrives before Stairway has recorded the final state is followed by a few
+   * quick re-checks. The watch gives up after the job timeout.
+   *
+   * @return a future completed with the final flight state, or exceptionally if the flight does not
+   *     finish in time. Cancelling it stops the watch.
+   */
+  private CompletableFuture<FlightState> watchForCompletion(String jobId) {
+    CompletableFuture<FlightState> completion = new CompletableFuture<>();
+    CompletableFuture<Void> notified = jobCompletionNotifier.register(jobId);
+    notified.thenRun(() -> executor.execute(() -> recheckAfterNotification(jobId, completion, 0)));
+    // The first check runs right away, in case the flight finished before we registered.
+    ScheduledFuture<?> poller =
+        executor.scheduleWithFixedDelay(
+            () -> checkForCompletion(jobId, completion),
+            0,
+            jobConfig.getPollingIntervalSeconds(),
+            TimeUnit.SECONDS);
+    ScheduledFuture<?> timeout =
+        executor.schedule(
+            () ->
+                completion.completeExceptionally(
+                    new InternalStairwayException(
+                        "Flight did not complete in the allowed wait time")),
+            jobConfig.getTimeoutSeconds(),
+            TimeUnit.SECONDS);
+    completion.whenComplete(
+        (state, e) -> {
+          poller.cancel(false);
+          timeout.cancel(false);
+          jobCompletionNotifier.unregister(jobId, notified);
+        });
+    return completion;
+  }
+
+  /** @return true if the watch is over, because the flight finished or the check failed */
+  private boolean checkForCompletion(String jobId, CompletableFuture<FlightState> completion) {
+    if (completion.isDone()) {
+      return true;
+    }
+    try {
+      FlightState state = getFlightState(jobId);
+      if (!state.isActive()) {
+        // Indicates job has completed, though not necessarily successfully.
+        completion.complete(state);
+        return true;
+      }
+      return false;
+    } catch (RuntimeException e) {
+      completion.completeExceptionally(e);
+      return true;
+    }
+  }
+
+  private void recheckAfterNotification(
+      String jobId, CompletableFuture<FlightState> completion, int attempt) {
+    if (checkForCompletion(jobId, completion) || attempt >= NOTIFIED_RECHECK_ATTEMPTS) {
+      return;
     }
-    // Indicates we timed out waiting for completion, throw exception
-    throw new InternalStairwayException("Flight did not complete in the allowed wait time");
+    executor.schedule(
+        () -> recheckAfterNotification(jobId, completion, attempt + 1),
+        NOTIFIED_RECHECK_DELAY_MILLIS << attempt,
+        TimeUnit.MILLISECONDS);
   }
 
   /**
@@ -182,8 +350,34 @@ public class JobService {
             .dataSource(stairwayDatabaseConfiguration.getDataSource())
             .context(flightBeanBag)
             .addHook(mdcHook)
+            .addHook(flightMetricsHook)
             .addHook(new TracingHook())
+            // Before the notifier, so woken waiters find the progress of a success deleted.
+            .addHook(jobProgressHook)
+            .addHook(jobCompletionNotifier)
+            .addHook(jobAdmissionController)
             .exceptionSerializer(new StairwayExceptionSerializer(objectMapper)));
+    // Flights that were waiting on a cloud operation when a replica stopped have no resume
+    // scheduled; take them over once their resumes are overdue, so their steps poll again.
+    flightResumer.start();
+    executor.scheduleWithFixedDelay(
+        this::deleteExpiredProgress,
+        0,
+        jobConfig.getProgressRetentionCheckInterval().toSeconds(),
+        TimeUnit.SECONDS);
+  }
+
+  /** Delete the progress of jobs that did not succeed, once it is older than the retention. */
+  private void deleteExpiredProgress() {
+    try {
+      int deleted =
+          jobProgressDao.deleteProgressUpdatedBefore(
+              Instant.now().minus(jobConfig.getProgressRetention()));
+      logger.info("Deleted {} expired job progress rows", deleted);
+    } catch (RuntimeException e) {
+      // Keep the check scheduled; it tries again at the next interval.
+      logger.warn("Failed to delete expired job progress", e);
+    }
   }
 
   public ApiJobReport mapFlightStateToApiJobReport(FlightState flightState) {
@@ -200,7 +394,7 @@ public class JobService {
       // If the job is completed, the JobReport should include a result code indicating success or
       // failure. For failed jobs, this code is the error code. For successful jobs, this is the
       // code specified by the flight if present, or a default of 200 if not.
-      completedDate = flightState.getCompleted().get().toString();
+      completedDate = flightState.getCompleted().map(Instant::toString).orElse(null);
       switch (jobStatus) {
         case FAILED:
           int errorCode =
@@ -254,14 +448,18 @@ public class JobService {
 
   private ApiJobReport.StatusEnum getJobStatus(FlightStatus flightStatus) {
     switch (flightStatus) {
-      case RUNNING:
-        return ApiJobReport.StatusEnum.RUNNING;
       case SUCCESS:
         return ApiJobReport.StatusEnum.SUCCEEDED;
       case ERROR:
       case FATAL:
-      default:
         return ApiJobReport.StatusEnum.FAILED;
+      case RUNNING:
+      case WAITING:
+      case READY:
+      case QUEUED:
+      default:
+        // A flight that is waiting to be resumed or to get a thread has not finished.
+        return ApiJobReport.StatusEnum.RUNNING;
     }
   }
 
@@ -286,16 +484,118 @@ public class JobService {
     return jobReportList;
   }
 
+  /**
+   * List a page of a user's jobs in submission order. The filters are applied by Stairway's
+   * database, through a FlightFilter.
+   *
+   * <p>Stairway orders flights by submit time alone, so flights are read in pages until every
+   * flight submitted at the same time as the last job returned has been read. They are then ordered
+   * by submit time and job id, which is the order the page cursor follows.
+   *
+   * @param status only list jobs with this status, if not null
+   * @param flightClass only list jobs run by this flight class, if not null
+   * @param workspaceId only list jobs tagged with this workspace id, if not null
+   * @param afterSubmitted submit time of the last job on the previous page, or null for the first
+   *     page
+   * @param afterJobId id of the last job on the previous page; required with afterSubmitted
+   * @param limit maximum number of jobs to return
+   */
   @Traced
-  public ApiJobReport retrieveJob(String jobId, AuthenticatedUserRequest userRequest) {
+  public List<JobSummary> enumerateJobsAfter(
+      AuthenticatedUserRequest userRequest,
+      @Nullable StatusEnum status,
+      @Nullable Class<? extends Flight> flightClass,
+      @Nullable UUID workspaceId,
+      @Nullable Instant afterSubmitted,
+      @Nullable String afterJobId,
+      int limit) {
+    FlightFilter filter = new FlightFilter();
+    filter.addFilterInputParameter(
+        JobMapKeys.SUBJECT_ID.getKeyName(), FlightFilterOp.EQUAL, userRequest.getSubjectId());
+    if (workspaceId != null) {
+      filter.addFilterInputParameter(
+          WorkspaceFlightMapKeys.WORKSPACE_ID, FlightFilterOp.EQUAL, workspaceId.toString());
+    }
+    if (flightClass != null) {
+      filter.addFilterFlightClass(FlightFilterOp.EQUAL, flightClass);
+    }
+    if (status != null) {
+      for (FlightStatus excluded : EnumSet.complementOf(flightStatusesOf(status))) {
+        filter.addFilterFlightStatus(FlightFilterOp.NOT_EQUAL, excluded);
+      }
+    }
+    if (afterSubmitted != null) {
+      filter.addFilterSubmitTime(FlightFilterOp.GREATER_EQUAL, afterSubmitted);
+    }
 
+    int pageSize = Math.max(1, limit);
+    List<FlightState> jobs = new ArrayList<>();
     try {
-      verifyUserAccess(jobId, userRequest); // jobId=flightId
-      FlightState flightState = stairwayComponent.get().getFlightState(jobId);
-      return mapFlightStateToApiJobReport(flightState);
+      int offset = 0;
+      while (true) {
+        List<FlightState> page = stairwayComponent.get().getFlights(offset, pageSize, filter);
+        offset += page.size();
+        page.stream()
+            .filter(flightState -> isAfter(flightState, afterSubmitted, afterJobId))
+            .forEach(jobs::add);
+        if (page.size() < pageSize) {
+          break;
+        }
+        jobs.sort(SUBMIT_ORDER);
+        Instant lastRead = page.get(page.size() - 1).getSubmitted();
+        if (jobs.size() >= pageSize && lastRead.isAfter(jobs.get(pageSize - 1).getSubmitted())) {
+          break;
+        }
+      }
     } catch (StairwayException | InterruptedException stairwayEx) {
       throw new InternalStairwayException(stairwayEx);
     }
+    jobs.sort(SUBMIT_ORDER);
+    return jobs.stream().limit(limit).map(JobSummary::new).collect(Collectors.toList());
+  }
+
+  /** Whether a flight comes after the page cursor, in the order of {@link #SUBMIT_ORDER}. */
+  private static boolean isAfter(
+      FlightState flightState, @Nullable Instant afterSubmitted, @Nullable String afterJobId) {
+    if (afterSubmitted == null) {
+      return true;
+    }
+    int compare = flightState.getSubmitted().compareTo(afterSubmitted);
+    return compare > 0 || (compare == 0 && flightState.getFlightId().compareTo(afterJobId) > 0);
+  }
+
+  public ApiJobSummary mapJobSummaryToApiJobSummary(JobSummary jobSummary) {
+    StatusEnum jobStatus = getJobStatus(jobSummary.getFlightStatus());
+    return new ApiJobSummary()
+        .id(jobSummary.getJobId())
+        .description(jobSummary.getDescription())
+        .status(ApiJobSummary.StatusEnum.fromValue(jobStatus.toString()))
+        .submitted(jobSummary.getSubmitted().toString())
+        .completed(jobSummary.getCompleted().map(Instant::toString).orElse(null));
+  }
+
+  /** The flight statuses reported as a job status, as mapped by {@link #getJobStatus}. */
+  private EnumSet<FlightStatus> flightStatusesOf(@Nullable StatusEnum status) {
+    if (status == null) {
+      return EnumSet.noneOf(FlightStatus.class);
+    }
+    switch (status) {
+      case SUCCEEDED:
+        return EnumSet.of(FlightStatus.SUCCESS);
+      case FAILED:
+        return EnumSet.of(FlightStatus.ERROR, FlightStatus.FATAL);
+      case RUNNING:
+      default:
+        return EnumSet.complementOf(
+            EnumSet.of(FlightStatus.SUCCESS, FlightStatus.ERROR, FlightStatus.FATAL));
+    }
+  }
+
+  @Traced
+  public ApiJobReport retrieveJob(String jobId, AuthenticatedUserRequest userRequest) {
+    FlightState flightState = getFlightState(jobId);
+    verifyUserAccess(flightState, userRequest);
+    return mapFlightStateToApiJobReport(flightState);
   }
 
   /**
@@ -321,13 +621,9 @@ public class JobService {
   @Traced
   public <T> JobResultOrException<T> retrieveJobResult(
       String jobId, Class<T> resultClass, AuthenticatedUserRequest userRequest) {
-
-    try {
-      verifyUserAccess(jobId, userRequest); // jobId=flightId
-      return retrieveJobResultWorker(jobId, resultClass);
-    } catch (StairwayException | InterruptedException stairwayEx) {
-      throw new InternalStairwayException(stairwayEx);
-    }
+    FlightState flightState = getFlightState(jobId);
+    verifyUserAccess(flightState, userRequest);
+    return retrieveJobResultWorker(flightState, resultClass);
   }
 
   /**
@@ -339,40 +635,47 @@ public class JobService {
    * need to construct their own AsyncJobResult object.
    *
    * <p>Unlike retrieveJobResult, this will not throw for a flight in progress. Instead, it will
-   * return a ApiJobReport without a result or error.
+   * return a ApiJobReport without an error. While the job runs, or if it failed, the result is the
+   * progress last reported by the flight to the {@link JobProgressDao}, if any.
    */
   public <T> AsyncJobResult<T> retrieveAsyncJobResult(
       String jobId, Class<T> resultClass, AuthenticatedUserRequest userRequest) {
-    try {
-      verifyUserAccess(jobId, userRequest); // jobId=flightId
-      ApiJobReport jobReport = retrieveJob(jobId, userRequest);
-      if (jobReport.getStatus().equals(StatusEnum.RUNNING)) {
-        return new AsyncJobResult<T>().jobReport(jobReport);
-      }
+    FlightState flightState = getFlightState(jobId);
+    verifyUserAccess(flightState, userRequest);
+    ApiJobReport jobReport = mapFlightStateToApiJobReport(flightState);
+    if (jobReport.getStatus().equals(StatusEnum.RUNNING)) {
+      return new AsyncJobResult<T>()
+          .jobReport(jobReport)
+          .result(jobProgressDao.getProgress(jobId, resultClass).orElse(null));
+    }
 
-      JobResultOrException<T> resultOrException = retrieveJobResultWorker(jobId, resultClass);
-      final ApiErrorReport errorReport;
-      if (jobReport.getStatus().equals(StatusEnum.FAILED)) {
-        errorReport = ErrorReportUtils.buildApiErrorReport(resultOrException.getException());
-      } else {
-        errorReport = null;
-      }
+    JobResultOrException<T> resultOrException = retrieveJobResultWorker(flightState, resultClass);
+    if (jobReport.getStatus().equals(StatusEnum.FAILED)) {
       return new AsyncJobResult<T>()
           .jobReport(jobReport)
-          .result(resultOrException.getResult())
-          .errorReport(errorReport);
-    } catch (StairwayException | InterruptedException stairwayEx) {
-      throw new InternalStairwayException(stairwayEx);
+          .result(jobProgressDao.getProgress(jobId, resultClass).orElse(null))
+          .errorReport(ErrorReportUtils.buildApiErrorReport(resultOrException.getException()));
     }
+    return new AsyncJobResult<T>().jobReport(jobReport).result(resultOrException.getResult());
   }
 
-  private <T> JobResultOrException<T> retrieveJobResultWorker(String jobId, Class<T> resultClass)
-      throws StairwayException, InterruptedException {
-    FlightState flightState = stairwayComponent.get().getFlightState(jobId);
-    FlightMap resultMap = flightState.getResultMap().orElse(null);
-    if (resultMap == null) {
-      throw new InvalidResultStateException("No result map returned from flight");
+  /**
+   * Retrieves the progress reported in parts by the sub-flights of a job, one entry per part. Only
+   * for callers that already checked the user's access to the job, e.g. through {@link
+   * #retrieveAsyncJobResult}.
+   */
+  public <T> List<T> retrieveJobPartProgress(String jobId, Class<T> partClass) {
+    return jobProgressDao.getPartProgress(jobId, partClass);
+  }
+
+  private <T> JobResultOrException<T> retrieveJobResultWorker(
+      FlightState flightState, Class<T> resultClass) {
+    if (getJobStatus(flightState.getFlightStatus()) == StatusEnum.RUNNING) {
+      throw new JobNotCompleteException(
+          "Attempt to retrieve job result before job is complete; job id: "
+              + flightState.getFlightId());
     }
+    FlightMap resultMap = getResultMap(flightState);
 
     switch (flightState.getFlightStatus()) {
       case FATAL:
@@ -390,12 +693,7 @@ public class JobService {
 
       case SUCCESS:
         return new JobResultOrException<T>()
-            .result(resultMap.get(JobMapKeys.RESPONSE.getKeyName(), resultClass));
-
-      case RUNNING:
-        throw new JobNotCompleteException(
-            "Attempt to retrieve job result before job is complete; job id: "
-                + flightState.getFlightId());
+            .result(completedJobCache.getResult(flightState, resultMap, resultClass));
 
       default:
         throw new InvalidResultStateException("Impossible case reached");
@@ -410,19 +708,33 @@ public class JobService {
     return resultMap;
   }
 
-  private void verifyUserAccess(String jobId, AuthenticatedUserRequest userRequest) {
+  /**
+   * Read a flight's state. The state of a finished flight does not change, so it is served from the
+   * {@link CompletedJobCache} once it has been read.
+   */
+  private FlightState getFlightState(String jobId) {
+    Optional<FlightState> cachedState = completedJobCache.getFlightState(jobId);
+    if (cachedState.isPresent()) {
+      return cachedState.get();
+    }
     try {
       FlightState flightState = stairwayComponent.get().getFlightState(jobId);
-      FlightMap inputParameters = flightState.getInputParameters();
-      String flightSubjectId =
-          inputParameters.get(JobMapKeys.SUBJECT_ID.getKeyName(), String.class);
-      if (!StringUtils.equals(flightSubjectId, userRequest.getSubjectId())) {
-        throw new JobUnauthorizedException("Unauthorized");
-      }
+      completedJobCache.putIfComplete(flightState);
+      return flightState;
     } catch (DatabaseOperationException | InterruptedException ex) {
       throw new InternalStairwayException("Stairway exception looking up the job", ex);
     } catch (FlightNotFoundException ex) {
       throw new JobNotFoundException("Job not found", ex);
+    } catch (StairwayException stairwayEx) {
+      throw new InternalStairwayException(stairwayEx);
+    }
+  }
+
+  private void verifyUserAccess(FlightState flightState, AuthenticatedUserRequest userRequest) {
+    FlightMap inputParameters = flightState.getInputParameters();
+    String flightSubjectId = inputParameters.get(JobMapKeys.SUBJECT_ID.getKeyName(), String.class);
+    if (!StringUtils.equals(flightSubjectId, userRequest.getSubjectId())) {
+      throw new JobUnauthorizedException("Unauthorized");
     }
   }
 
@@ -465,8 +777,8 @@ public class JobService {
     }
   }
 
-  // The result of an asynchronous job is a ApiJobReport and exactly one of a job result
-  // or an ApiErrorReport. If the job is incomplete, only jobReport will be present.
+  // The result of an asynchronous job is a ApiJobReport and either a job result or an
+  // ApiErrorReport. An incomplete or failed job's result is the progress it reported, if any.
   public static class AsyncJobResult<T> {
     private ApiJobReport jobReport;
     private T result;
@@ -499,24 +811,4 @@ public class JobService {
       return this;
     }
   }
-
-  private static class PollFlightTask implements Callable<FlightState> {
-    private final Stairway stairway;
-    private final String flightId;
-
-    public PollFlightTask(Stairway stairway, String flightId) {
-      this.stairway = stairway;
-      this.flightId = flightId;
-    }
-
-    @Override
-    public FlightState call() throws Exception {
-      FlightState state = stairway.getFlightState(flightId);
-      if (!state.isActive()) {
-        return state;
-      } else {
-        return null;
-      }
-    }
-  }
 }
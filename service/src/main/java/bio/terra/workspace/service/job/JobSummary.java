@@ -0,0 +1,45 @@
+package bio.terra.workspace.service.job;
+
+import bio.terra.stairway.FlightState;
+import bio.terra.stairway.FlightStatus;
+import java.time.Instant;
+import java.util.Optional;
+import javax.annotation.Nullable;
+
+/** The few fields of a job shown when listing jobs. */
+public class JobSummary {
+  private final String jobId;
+  private final String description;
+  private final FlightStatus flightStatus;
+  private final Instant submitted;
+  @Nullable private final Instant completed;
+
+  public JobSummary(FlightState flightState) {
+    this.jobId = flightState.getFlightId();
+    this.description =
+        flightState.getInputParameters().get(JobMapKeys.DESCRIPTION.getKeyName(), String.class);
+    this.flightStatus = flightState.getFlightStatus();
+    this.submitted = flightState.getSubmitted();
+    this.completed = flightState.getCompleted().orElse(null);
+  }
+
+  public String getJobId() {
+    return jobId;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  public FlightStatus getFlightStatus() {
+    return flightStatus;
+  }
+
+  public Instant getSubmitted() {
+    return submitted;
+  }
+
+  public Optional<Instant> getCompleted() {
+    return Optional.ofNullable(completed);
+  }
+}
@@ -0,0 +1,47 @@
+package bio.terra.workspace.service.job;
+
+import bio.terra.stairway.Flight;
+import bio.terra.workspace.service.resource.controlled.flight.clone.bucket.CloneControlledGcsBucketResourceFlight;
+import bio.terra.workspace.service.resource.controlled.flight.clone.dataset.CloneControlledGcpBigQueryDatasetResourceFlight;
+import bio.terra.workspace.service.resource.controlled.flight.clone.workspace.CloneGcpWorkspaceFlight;
+import bio.terra.workspace.service.resource.controlled.flight.create.CreateControlledResourceFlight;
+import bio.terra.workspace.service.resource.controlled.flight.delete.DeleteControlledResourceFlight;
+import bio.terra.workspace.service.resource.referenced.flight.create.CreateReferenceResourceFlight;
+import bio.terra.workspace.service.workspace.flight.CreateGcpContextFlight;
+import bio.terra.workspace.service.workspace.flight.DeleteGcpContextFlight;
+import bio.terra.workspace.service.workspace.flight.RemoveUserFromWorkspaceFlight;
+import bio.terra.workspace.service.workspace.flight.WorkspaceCreateFlight;
+import bio.terra.workspace.service.workspace.flight.WorkspaceDeleteFlight;
+import java.util.Arrays;
+import javax.annotation.Nullable;
+
+/** The kinds of job a caller can list by, each run by one flight class. */
+public enum JobType {
+  CREATE_WORKSPACE(WorkspaceCreateFlight.class),
+  DELETE_WORKSPACE(WorkspaceDeleteFlight.class),
+  CLONE_WORKSPACE(CloneGcpWorkspaceFlight.class),
+  CREATE_CLOUD_CONTEXT(CreateGcpContextFlight.class),
+  DELETE_CLOUD_CONTEXT(DeleteGcpContextFlight.class),
+  REMOVE_USER(RemoveUserFromWorkspaceFlight.class),
+  CREATE_CONTROLLED_RESOURCE(CreateControlledResourceFlight.class),
+  DELETE_CONTROLLED_RESOURCE(DeleteControlledResourceFlight.class),
+  CLONE_GCS_BUCKET(CloneControlledGcsBucketResourceFlight.class),
+  CLONE_BIG_QUERY_DATASET(CloneControlledGcpBigQueryDatasetResourceFlight.class),
+  CREATE_REFERENCED_RESOURCE(CreateReferenceResourceFlight.class);
+
+  private final Class<? extends Flight> flightClass;
+
+  JobType(Class<? extends Flight> flightClass) {
+    this.flightClass = flightClass;
+  }
+
+  public Class<? extends Flight> getFlightClass() {
+    return flightClass;
+  }
+
+  /** @return the job type with the given API value, or null if there is none */
+  @Nullable
+  public static JobType fromValue(String value) {
+    return Arrays.stream(values()).filter(t -> t.name().equals(value)).findFirst().orElse(null);
+  }
+}
@@ -0,0 +1,23 @@
+package bio.terra.workspace.service.job.exception;
+
+import bio.terra.common.exception.ErrorReportException;
+import java.util.Collections;
+import org.springframework.http.HttpStatus;
+
+/**
+ * An exception indicating a job was refused because too many jobs are running. Error code is 429
+ * TOO_MANY_REQUESTS, sent with a Retry-After header.
+ */
+public class TooManyJobsException extends ErrorReportException {
+  private final int retryAfterSeconds;
+
+  public TooManyJobsException(String message, int retryAfterSeconds) {
+    super(message, Collections.emptyList(), HttpStatus.TOO_MANY_REQUESTS);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  /** Seconds the client should wait before retrying. */
+  public int getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+}
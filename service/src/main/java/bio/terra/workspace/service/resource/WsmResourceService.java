@@ -44,4 +44,23 @@ public class WsmResourceService {
     return resourceDao.enumerateResources(
         workspaceId, resourceType, stewardshipType, offset, limit);
   }
+
+  /**
+   * Enumerate resources by keyset: a page of resources in (name, resource id) order, starting after
+   * the last resource of the previous page.
+   */
+  public List<WsmResource> enumerateResourcesAfter(
+      UUID workspaceId,
+      @Nullable WsmResourceType resourceType,
+      @Nullable StewardshipType stewardshipType,
+      @Nullable String afterName,
+      @Nullable UUID afterResourceId,
+      int limit,
+      AuthenticatedUserRequest userRequest) {
+    workspaceService.validateWorkspaceAndAction(
+        userRequest, workspaceId, SamConstants.SAM_WORKSPACE_READ_ACTION);
+
+    return resourceDao.enumerateResourcesAfter(
+        workspaceId, resourceType, stewardshipType, afterName, afterResourceId, limit);
+  }
 }
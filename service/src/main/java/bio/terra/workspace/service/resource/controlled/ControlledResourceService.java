@@ -32,6 +32,7 @@ import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.Resou
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -69,15 +70,23 @@ public class ControlledResourceService {
       ApiGcpGcsBucketCreationParameters creationParameters,
       List<ControlledResourceIamRole> privateResourceIamRoles,
       AuthenticatedUserRequest userRequest) {
-    JobBuilder jobBuilder =
-        commonCreationJobBuilder(
-                resource,
-                privateResourceIamRoles,
-                new ApiJobControl().id(UUID.randomUUID().toString()),
-                null,
-                userRequest)
-            .addParameter(ControlledResourceKeys.CREATION_PARAMETERS, creationParameters);
-    return jobBuilder.submitAndWait(ControlledGcsBucketResource.class);
+    return synchronousCreationJobBuilder(
+            resource, creationParameters, privateResourceIamRoles, userRequest)
+        .submitAndWait(ControlledGcsBucketResource.class);
+  }
+
+  /**
+   * Starts a create controlled bucket resource, returning a future completed when its job is
+   * finished.
+   */
+  public CompletableFuture<ControlledGcsBucketResource> createBucketDeferred(
+      ControlledGcsBucketResource resource,
+      ApiGcpGcsBucketCreationParameters creationParameters,
+      List<ControlledResourceIamRole> privateResourceIamRoles,
+      AuthenticatedUserRequest userRequest) {
+    return synchronousCreationJobBuilder(
+            resource, creationParameters, privateResourceIamRoles, userRequest)
+        .submitAndWatch(ControlledGcsBucketResource.class);
   }
 
   public ControlledGcsBucketResource updateGcsBucket(
@@ -182,15 +191,23 @@ public class ControlledResourceService {
       ApiGcpBigQueryDatasetCreationParameters creationParameters,
       List<ControlledResourceIamRole> privateResourceIamRoles,
       AuthenticatedUserRequest userRequest) {
-    JobBuilder jobBuilder =
-        commonCreationJobBuilder(
-                resource,
-                privateResourceIamRoles,
-                new ApiJobControl().id(UUID.randomUUID().toString()),
-                null,
-                userRequest)
-            .addParameter(ControlledResourceKeys.CREATION_PARAMETERS, creationParameters);
-    return jobBuilder.submitAndWait(ControlledBigQueryDatasetResource.class);
+    return synchronousCreationJobBuilder(
+            resource, creationParameters, privateResourceIamRoles, userRequest)
+        .submitAndWait(ControlledBigQueryDatasetResource.class);
+  }
+
+  /**
+   * Starts a create controlled BigQuery dataset resource, returning a future completed when its job
+   * is finished.
+   */
+  public CompletableFuture<ControlledBigQueryDatasetResource> createBigQueryDatasetDeferred(
+      ControlledBigQueryDatasetResource resource,
+      ApiGcpBigQueryDatasetCreationParameters creationParameters,
+      List<ControlledResourceIamRole> privateResourceIamRoles,
+      AuthenticatedUserRequest userRequest) {
+    return synchronousCreationJobBuilder(
+            resource, creationParameters, privateResourceIamRoles, userRequest)
+        .submitAndWatch(ControlledBigQueryDatasetResource.class);
   }
 
   /** Starts an update controlled BigQuery dataset resource, blocking until its job is finished. */
@@ -234,6 +251,7 @@ public class ControlledResourceService {
    * @param destinationLocation - location override. Uses source location if null
    * @param cloningInstructionsOverride - Cloning instructions for this clone operation, overriding
    *     any existing instructions. Existing instructions are used if null.
+   * @param tableClones - whether to clone tables, where they can be, rather than copy them
    * @return
    */
   public String cloneBigQueryDataset(
@@ -246,7 +264,8 @@ public class ControlledResourceService {
       @Nullable String destinationDescription,
       @Nullable String destinationDatasetName,
       @Nullable String destinationLocation,
-      @Nullable ApiCloningInstructionsEnum cloningInstructionsOverride) {
+      @Nullable ApiCloningInstructionsEnum cloningInstructionsOverride,
+      boolean tableClones) {
     stageService.assertMcWorkspace(destinationWorkspaceId, "cloneGcpBigQueryDataset");
     final ControlledResource sourceDatasetResource =
         getControlledResource(sourceWorkspaceId, sourceResourceId, userRequest);
@@ -278,6 +297,7 @@ public class ControlledResourceService {
             .addParameter(ControlledResourceKeys.RESOURCE_DESCRIPTION, destinationDescription)
             .addParameter(ControlledResourceKeys.LOCATION, destinationLocation)
             .addParameter(ControlledResourceKeys.DESTINATION_DATASET_NAME, destinationDatasetName)
+            .addParameter(ControlledResourceKeys.TABLE_CLONES, tableClones)
             .addParameter(
                 ControlledResourceKeys.CLONING_INSTRUCTIONS,
                 // compute effective cloning instructions
@@ -330,7 +350,23 @@ public class ControlledResourceService {
             resource,
             userRequest)
         .addParameter(ControlledResourceKeys.PRIVATE_RESOURCE_IAM_ROLES, privateResourceIamRoles)
-        .addParameter(JobMapKeys.RESULT_PATH.getKeyName(), resultPath);
+        .addParameter(JobMapKeys.RESULT_PATH.getKeyName(), resultPath)
+        .addParameter(WorkspaceFlightMapKeys.WORKSPACE_ID, resource.getWorkspaceId().toString());
+  }
+
+  /** Builds the job of a create whose caller waits for the result rather than tracking the job. */
+  private JobBuilder synchronousCreationJobBuilder(
+      ControlledResource resource,
+      Object creationParameters,
+      List<ControlledResourceIamRole> privateResourceIamRoles,
+      AuthenticatedUserRequest userRequest) {
+    return commonCreationJobBuilder(
+            resource,
+            privateResourceIamRoles,
+            new ApiJobControl().id(UUID.randomUUID().toString()),
+            null,
+            userRequest)
+        .addParameter(ControlledResourceKeys.CREATION_PARAMETERS, creationParameters);
   }
 
   private void validateCreateFlightPrerequisites(
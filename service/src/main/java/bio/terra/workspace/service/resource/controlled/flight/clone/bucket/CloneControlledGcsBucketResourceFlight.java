@@ -51,10 +51,15 @@ public class CloneControlledGcsBucketResourceFlight extends Flight {
         new SetBucketRolesStep(
             sourceBucket,
             flightBeanBag.getWorkspaceService(),
-            flightBeanBag.getBucketCloneRolesComponent()));
-    addStep(new CreateStorageTransferServiceJobStep());
-    addStep(new CompleteTransferOperationStep());
-    addStep(new DeleteStorageTransferServiceJobStep());
+            flightBeanBag.getBucketCloneRolesComponent(),
+            flightBeanBag.getCrlService()));
+    addStep(new CreateStorageTransferServiceJobStep(flightBeanBag.getCrlService()));
+    addStep(
+        new CompleteTransferOperationStep(
+            flightBeanBag.getCrlService(),
+            flightBeanBag.getFlightResumer(),
+            flightBeanBag.getJobProgressDao()));
+    addStep(new DeleteStorageTransferServiceJobStep(flightBeanBag.getCrlService()));
     addStep(new RemoveBucketRolesStep(flightBeanBag.getBucketCloneRolesComponent()));
   }
 }
@@ -1,72 +1,143 @@
 package bio.terra.workspace.service.resource.controlled.flight.clone.bucket;
 
 import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightMap;
 import bio.terra.stairway.Step;
 import bio.terra.stairway.StepResult;
 import bio.terra.stairway.StepStatus;
 import bio.terra.stairway.exception.RetryException;
 import bio.terra.workspace.common.utils.FlightUtils;
+import bio.terra.workspace.db.JobProgressDao;
 import bio.terra.workspace.generated.model.ApiClonedControlledGcpGcsBucket;
+import bio.terra.workspace.generated.model.ApiCreatedControlledGcpGcsBucket;
+import bio.terra.workspace.generated.model.ApiGcsBucketTransferProgress;
+import bio.terra.workspace.service.crl.CrlService;
+import bio.terra.workspace.service.job.FlightResumer;
+import bio.terra.workspace.service.job.JobMapKeys;
+import bio.terra.workspace.service.resource.controlled.ControlledResource;
 import bio.terra.workspace.service.resource.controlled.exception.StorageTransferServiceTimeoutException;
+import bio.terra.workspace.service.resource.controlled.flight.clone.workspace.WorkspaceCloneUtils;
 import bio.terra.workspace.service.resource.model.CloningInstructions;
 import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
 import com.google.api.services.storagetransfer.v1.Storagetransfer;
 import com.google.api.services.storagetransfer.v1.model.Operation;
+import com.google.api.services.storagetransfer.v1.model.TransferCounters;
 import com.google.api.services.storagetransfer.v1.model.TransferJob;
 import java.io.IOException;
 import java.time.Duration;
-import java.util.concurrent.TimeUnit;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
 import org.springframework.http.HttpStatus;
 
 /**
  * Find the most recently started transfer operation for the flight's Storage Transfer job and wait
  * for it to complete.
+ *
+ * <p>Each run of the step polls once. Until the operation has started and then completed, the
+ * flight yields its thread and the step runs again after the poll interval. The interval starts
+ * short, so small buckets finish quickly, and doubles with each poll up to a maximum. While the
+ * operation runs, its counters are added to the clone response and reported to the {@link
+ * JobProgressDao}, so the job's result shows the transfer progress while the clone runs, and after
+ * the transfer fails. A clone that is part of a workspace clone reports under the workspace clone's
+ * job instead, as its resource's entry in that job's result.
  */
 public class CompleteTransferOperationStep implements Step {
   public static final Logger logger = LoggerFactory.getLogger(CompleteTransferOperationStep.class);
-  private static final Duration JOBS_POLL_INTERVAL = Duration.ofSeconds(10);
-  private static final Duration OPERATIONS_POLL_INTERVAL = Duration.ofSeconds(30);
+  private static final Duration JOBS_INITIAL_POLL_INTERVAL = Duration.ofSeconds(1);
+  private static final Duration JOBS_MAX_POLL_INTERVAL = Duration.ofSeconds(10);
+  private static final Duration OPERATIONS_INITIAL_POLL_INTERVAL = Duration.ofSeconds(2);
+  private static final Duration OPERATIONS_MAX_POLL_INTERVAL = Duration.ofSeconds(30);
   private static final int MAX_ATTEMPTS = 25;
 
+  private final CrlService crlService;
+  private final FlightResumer flightResumer;
+  private final JobProgressDao jobProgressDao;
+
+  public CompleteTransferOperationStep(
+      CrlService crlService, FlightResumer flightResumer, JobProgressDao jobProgressDao) {
+    this.crlService = crlService;
+    this.flightResumer = flightResumer;
+    this.jobProgressDao = jobProgressDao;
+  }
+
   @Override
   public StepResult doStep(FlightContext flightContext)
       throws InterruptedException, RetryException {
+    final FlightMap workingMap = flightContext.getWorkingMap();
 
     // If cloning instructions don't say copy resource, bail
     final CloningInstructions effectiveCloningInstructions =
-        flightContext
-            .getWorkingMap()
-            .get(ControlledResourceKeys.CLONING_INSTRUCTIONS, CloningInstructions.class);
+        workingMap.get(ControlledResourceKeys.CLONING_INSTRUCTIONS, CloningInstructions.class);
     // This step is only run for full resource clones
     if (CloningInstructions.COPY_RESOURCE != effectiveCloningInstructions) {
       return StepResult.getStepResultSuccess();
     }
 
     try {
-      final Storagetransfer storageTransferService =
-          StorageTransferServiceUtils.createStorageTransferService();
+      final Storagetransfer storageTransferService = crlService.getStorageTransferService();
       final String transferJobName =
-          flightContext
-              .getWorkingMap()
-              .get(ControlledResourceKeys.STORAGE_TRANSFER_JOB_NAME, String.class);
+          workingMap.get(ControlledResourceKeys.STORAGE_TRANSFER_JOB_NAME, String.class);
       final String controlPlaneProjectId =
-          flightContext
-              .getWorkingMap()
-              .get(ControlledResourceKeys.CONTROL_PLANE_PROJECT_ID, String.class);
+          workingMap.get(ControlledResourceKeys.CONTROL_PLANE_PROJECT_ID, String.class);
 
       // Job is now submitted with its schedule. We need to poll the transfer operations API
-      // for completion of the first transfer operation. The trick is going to be setting up a
-      // polling interval that's appropriate for a wide range of bucket sizes. Everything from
-      // millisecond
-      // to hours. The transfer operation won't exist until it starts.
-      final String operationName =
-          getLatestOperationName(storageTransferService, transferJobName, controlPlaneProjectId);
+      // for completion of the first transfer operation. The transfer operation won't exist until
+      // it starts, so first poll the job for the operation's server-generated name.
+      String operationName =
+          workingMap.get(ControlledResourceKeys.STORAGE_TRANSFER_OPERATION_NAME, String.class);
+      if (operationName == null) {
+        operationName =
+            getLatestOperationName(storageTransferService, transferJobName, controlPlaneProjectId);
+        if (operationName == null) {
+          if (flightResumer.waitedLongerThan(
+              flightContext,
+              ControlledResourceKeys.STORAGE_TRANSFER_JOB_NAME,
+              JOBS_MAX_POLL_INTERVAL.multipliedBy(MAX_ATTEMPTS))) {
+            throw new StorageTransferServiceTimeoutException(
+                "Exceeded max attempts to get transfer operation name");
+          }
+          return flightResumer.waitAndRerunWithBackoff(
+              flightContext,
+              ControlledResourceKeys.STORAGE_TRANSFER_JOB_NAME,
+              JOBS_INITIAL_POLL_INTERVAL,
+              JOBS_MAX_POLL_INTERVAL);
+        }
+        flightResumer.endWait(flightContext, ControlledResourceKeys.STORAGE_TRANSFER_JOB_NAME);
+        workingMap.put(ControlledResourceKeys.STORAGE_TRANSFER_OPERATION_NAME, operationName);
+      }
 
-      final StepResult operationResult =
-          getTransferOperationResult(storageTransferService, transferJobName, operationName);
+      final Operation operation =
+          storageTransferService.transferOperations().get(operationName).execute();
+      if (operation == null) {
+        throw new RuntimeException(
+            String.format("Failed to get transfer operation with name %s", operationName));
+      }
+      reportProgress(flightContext, operation);
+      if (!Boolean.TRUE.equals(operation.getDone())) {
+        // operation is not started or is in progress
+        if (flightResumer.waitedLongerThan(
+            flightContext,
+            ControlledResourceKeys.STORAGE_TRANSFER_OPERATION_NAME,
+            OPERATIONS_MAX_POLL_INTERVAL.multipliedBy(MAX_ATTEMPTS))) {
+          final String message = "Timed out waiting for operation result.";
+          logger.info(message);
+          return new StepResult(
+              StepStatus.STEP_RESULT_FAILURE_FATAL,
+              new StorageTransferServiceTimeoutException(message));
+        }
+        logger.debug("Transfer operation {} is not done yet", operationName);
+        return flightResumer.waitAndRerunWithBackoff(
+            flightContext,
+            ControlledResourceKeys.STORAGE_TRANSFER_OPERATION_NAME,
+            OPERATIONS_INITIAL_POLL_INTERVAL,
+            OPERATIONS_MAX_POLL_INTERVAL);
+      }
+      flightResumer.endWait(flightContext, ControlledResourceKeys.STORAGE_TRANSFER_OPERATION_NAME);
 
+      final StepResult operationResult =
+          getTransferOperationResult(operation, transferJobName, operationName);
       if (StepStatus.STEP_RESULT_FAILURE_FATAL == operationResult.getStepStatus()) {
         return operationResult;
       }
@@ -74,11 +145,8 @@ public class CompleteTransferOperationStep implements Step {
       return new StepResult(StepStatus.STEP_RESULT_FAILURE_FATAL, e);
     }
     final ApiClonedControlledGcpGcsBucket apiBucketResult =
-        flightContext
-            .getWorkingMap()
-            .get(
-                ControlledResourceKeys.CLONE_DEFINITION_RESULT,
-                ApiClonedControlledGcpGcsBucket.class);
+        workingMap.get(
+            ControlledResourceKeys.CLONE_DEFINITION_RESULT, ApiClonedControlledGcpGcsBucket.class);
     FlightUtils.setResponse(flightContext, apiBucketResult, HttpStatus.OK);
 
     return StepResult.getStepResultSuccess();
@@ -89,44 +157,72 @@ public class CompleteTransferOperationStep implements Step {
   public StepResult undoStep(FlightContext flightContext) throws InterruptedException {
     return StepResult.getStepResultSuccess();
   }
+
   /**
-   * Poll for completion of the named transfer operation and return the result.
+   * Add the operation's counters to the clone result, and report it as the job's progress, so that
+   * the job result shows how much of the bucket has been copied.
+   */
+  private void reportProgress(FlightContext flightContext, Operation operation) {
+    final ApiClonedControlledGcpGcsBucket apiBucketResult =
+        flightContext
+            .getWorkingMap()
+            .get(
+                ControlledResourceKeys.CLONE_DEFINITION_RESULT,
+                ApiClonedControlledGcpGcsBucket.class);
+    final Optional<TransferCounters> counters =
+        StorageTransferServiceUtils.getTransferCounters(operation);
+    if (apiBucketResult == null || counters.isEmpty()) {
+      return;
+    }
+    apiBucketResult.setTransferProgress(
+        new ApiGcsBucketTransferProgress()
+            .objectsFoundFromSource(counters.get().getObjectsFoundFromSource())
+            .bytesFoundFromSource(counters.get().getBytesFoundFromSource())
+            .objectsCopiedToSink(counters.get().getObjectsCopiedToSink())
+            .bytesCopiedToSink(counters.get().getBytesCopiedToSink()));
+    flightContext
+        .getWorkingMap()
+        .put(ControlledResourceKeys.CLONE_DEFINITION_RESULT, apiBucketResult);
+    FlightUtils.setResponse(flightContext, apiBucketResult, HttpStatus.OK);
+    try {
+      final String parentJobId =
+          flightContext
+              .getInputParameters()
+              .get(JobMapKeys.PARENT_JOB_ID.getKeyName(), String.class);
+      if (parentJobId == null) {
+        jobProgressDao.setProgress(flightContext.getFlightId(), apiBucketResult);
+      } else {
+        // Part of a workspace clone: report under the job the caller polls.
+        final ControlledResource sourceBucket =
+            flightContext
+                .getInputParameters()
+                .get(JobMapKeys.REQUEST.getKeyName(), ControlledResource.class);
+        jobProgressDao.setPartProgress(
+            parentJobId,
+            sourceBucket.getResourceId().toString(),
+            WorkspaceCloneUtils.resourceCloneProgress(
+                    sourceBucket,
+                    Optional.ofNullable(apiBucketResult.getBucket())
+                        .map(ApiCreatedControlledGcpGcsBucket::getResourceId)
+                        .orElse(null))
+                .transferProgress(apiBucketResult.getTransferProgress()));
+      }
+    } catch (DataAccessException e) {
+      // Progress is only informational; the transfer carries on regardless.
+      logger.warn("Failed to report the progress of flight {}", flightContext.getFlightId(), e);
+    }
+  }
+
+  /**
+   * Return the result of the completed transfer operation.
    *
-   * @param storageTransferService - svc to perform the transfer
+   * @param operation - the completed operation
    * @param transferJobName - name of job owning the transfer operation
-   * @param operationName - server-generated name of running operation
+   * @param operationName - server-generated name of the operation
    * @return StepResult indicating success or failure
-   * @throws IOException
-   * @throws InterruptedException
    */
   private StepResult getTransferOperationResult(
-      Storagetransfer storageTransferService, String transferJobName, String operationName)
-      throws IOException, InterruptedException {
-    // Now that we have an operation name, we can poll the operations endpoint for completion
-    // information.
-    int attempts = 0;
-    Operation operation;
-    do {
-      operation = storageTransferService.transferOperations().get(operationName).execute();
-      if (operation == null) {
-        throw new RuntimeException(
-            String.format("Failed to get transfer operation with name %s", operationName));
-      } else if (operation.getDone() != null && operation.getDone()) {
-        break;
-      } else {
-        // operation is not started or is in progress
-        TimeUnit.MILLISECONDS.sleep(OPERATIONS_POLL_INTERVAL.toMillis());
-        attempts++;
-        logger.debug("Attempted to get transfer operation {} {} times", operationName, attempts);
-      }
-    } while (attempts < MAX_ATTEMPTS);
-    if (MAX_ATTEMPTS <= attempts) {
-      final String message = "Timed out waiting for operation result.";
-      logger.info(message);
-      return new StepResult(
-          StepStatus.STEP_RESULT_FAILURE_FATAL,
-          new StorageTransferServiceTimeoutException(message));
-    }
+      Operation operation, String transferJobName, String operationName) {
     logger.info("Operation {} in transfer job {} has completed", operationName, transferJobName);
     // Inspect the completed operation for success
     if (operation.getError() != null) {
@@ -140,27 +236,15 @@ public class CompleteTransferOperationStep implements Step {
     }
   }
 
-  // First, we poll the transfer jobs endpoint until an operation has started so that we can get
-  // its server-generated name. Returns the most recently started operation's name.
+  // Check the transfer jobs endpoint for a started operation, so that we can get its
+  // server-generated name. Returns the most recently started operation's name, or null if no
+  // operation has started yet.
   private String getLatestOperationName(
       Storagetransfer storageTransferService, String transferJobName, String projectId)
-      throws InterruptedException, IOException {
-    String operationName = null;
-    for (int numAttempts = 0; numAttempts < MAX_ATTEMPTS; ++numAttempts) {
-      final TransferJob getResponse =
-          storageTransferService.transferJobs().get(transferJobName, projectId).execute();
-      operationName = getResponse.getLatestOperationName();
-      if (null != operationName) {
-        break;
-      } else {
-        TimeUnit.MILLISECONDS.sleep(JOBS_POLL_INTERVAL.toMillis());
-      }
-    }
-    if (null == operationName) {
-      throw new StorageTransferServiceTimeoutException(
-          "Exceeded max attempts to get transfer operation name");
-    }
-
+      throws IOException {
+    final TransferJob getResponse =
+        storageTransferService.transferJobs().get(transferJobName, projectId).execute();
+    final String operationName = getResponse.getLatestOperationName();
     logger.debug("Latest transfer operation name is {}", operationName);
     return operationName;
   }
@@ -6,6 +6,7 @@ import bio.terra.stairway.Step;
 import bio.terra.stairway.StepResult;
 import bio.terra.stairway.StepStatus;
 import bio.terra.stairway.exception.RetryException;
+import bio.terra.workspace.service.crl.CrlService;
 import bio.terra.workspace.service.resource.model.CloningInstructions;
 import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
@@ -28,7 +29,11 @@ public final class CreateStorageTransferServiceJobStep implements Step {
       LoggerFactory.getLogger(CreateStorageTransferServiceJobStep.class);
   private static final String ENABLED_STATUS = "ENABLED";
 
-  public CreateStorageTransferServiceJobStep() {}
+  private final CrlService crlService;
+
+  public CreateStorageTransferServiceJobStep(CrlService crlService) {
+    this.crlService = crlService;
+  }
 
   // See https://cloud.google.com/storage-transfer/docs/reference/rest/v1/transferJobs/create
   // (somewhat dated) and
@@ -64,8 +69,7 @@ public final class CreateStorageTransferServiceJobStep implements Step {
         "Creating transfer job named {} in project {}", transferJobName, controlPlaneProjectId);
 
     try {
-      final Storagetransfer storageTransferService =
-          StorageTransferServiceUtils.createStorageTransferService();
+      final Storagetransfer storageTransferService = crlService.getStorageTransferService();
 
       // Look up the transfer job by name. If it's found, it means we are restarting this step and
       // the job either has an operation in progress or completed (possibly failed).
@@ -136,7 +140,8 @@ public final class CreateStorageTransferServiceJobStep implements Step {
   // previous step's undo method.
   @Override
   public StepResult undoStep(FlightContext flightContext) throws InterruptedException {
-    return StorageTransferServiceUtils.deleteTransferJobStepImpl(flightContext);
+    return StorageTransferServiceUtils.deleteTransferJobStepImpl(
+        flightContext, crlService.getStorageTransferService());
   }
 
   private TransferSpec createTransferSpec(String sourceBucketName, String destinationBucketName) {
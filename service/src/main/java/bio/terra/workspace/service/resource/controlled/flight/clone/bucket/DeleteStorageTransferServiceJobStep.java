@@ -4,6 +4,7 @@ import bio.terra.stairway.FlightContext;
 import bio.terra.stairway.Step;
 import bio.terra.stairway.StepResult;
 import bio.terra.stairway.exception.RetryException;
+import bio.terra.workspace.service.crl.CrlService;
 import bio.terra.workspace.service.resource.model.CloningInstructions;
 import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
 
@@ -12,6 +13,11 @@ import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.Contr
  * failure.
  */
 public class DeleteStorageTransferServiceJobStep implements Step {
+  private final CrlService crlService;
+
+  public DeleteStorageTransferServiceJobStep(CrlService crlService) {
+    this.crlService = crlService;
+  }
 
   @Override
   public StepResult doStep(FlightContext flightContext)
@@ -24,7 +30,8 @@ public class DeleteStorageTransferServiceJobStep implements Step {
     if (CloningInstructions.COPY_RESOURCE != effectiveCloningInstructions) {
       return StepResult.getStepResultSuccess();
     } else {
-      return StorageTransferServiceUtils.deleteTransferJobStepImpl(flightContext);
+      return StorageTransferServiceUtils.deleteTransferJobStepImpl(
+          flightContext, crlService.getStorageTransferService());
     }
   }
 
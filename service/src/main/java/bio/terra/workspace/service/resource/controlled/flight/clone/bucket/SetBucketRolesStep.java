@@ -7,6 +7,7 @@ import bio.terra.stairway.StepResult;
 import bio.terra.stairway.StepStatus;
 import bio.terra.stairway.exception.RetryException;
 import bio.terra.workspace.common.utils.GcpUtils;
+import bio.terra.workspace.service.crl.CrlService;
 import bio.terra.workspace.service.resource.controlled.ControlledGcsBucketResource;
 import bio.terra.workspace.service.resource.model.CloningInstructions;
 import bio.terra.workspace.service.workspace.WorkspaceService;
@@ -32,14 +33,17 @@ public class SetBucketRolesStep implements Step {
   private final ControlledGcsBucketResource sourceBucket;
   private final WorkspaceService workspaceService;
   private final BucketCloneRolesComponent bucketCloneRolesService;
+  private final CrlService crlService;
 
   public SetBucketRolesStep(
       ControlledGcsBucketResource sourceBucket,
       WorkspaceService workspaceService,
-      BucketCloneRolesComponent bucketCloneRolesService) {
+      BucketCloneRolesComponent bucketCloneRolesService,
+      CrlService crlService) {
     this.sourceBucket = sourceBucket;
     this.workspaceService = workspaceService;
     this.bucketCloneRolesService = bucketCloneRolesService;
+    this.crlService = crlService;
   }
 
   @Override
@@ -66,11 +70,10 @@ public class SetBucketRolesStep implements Step {
     workingMap.put(ControlledResourceKeys.CONTROL_PLANE_PROJECT_ID, controlPlaneProjectId);
 
     // Get the Storage Transfer Service
-    final Storagetransfer storageTransferService;
+    final Storagetransfer storageTransferService = crlService.getStorageTransferService();
     // Determine the Storage Transfer Service SA
     final String storageTransferServiceSAEmail;
     try {
-      storageTransferService = StorageTransferServiceUtils.createStorageTransferService();
       storageTransferServiceSAEmail =
           getStorageTransferServiceSAEmail(storageTransferService, controlPlaneProjectId);
     } catch (IOException e) {
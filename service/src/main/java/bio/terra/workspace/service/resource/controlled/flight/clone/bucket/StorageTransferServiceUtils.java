@@ -5,37 +5,24 @@ import bio.terra.stairway.StepResult;
 import bio.terra.stairway.StepStatus;
 import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
 import com.google.api.client.googleapis.util.Utils;
+import com.google.api.client.json.JsonFactory;
 import com.google.api.services.storagetransfer.v1.Storagetransfer;
-import com.google.api.services.storagetransfer.v1.StoragetransferScopes;
+import com.google.api.services.storagetransfer.v1.model.Operation;
+import com.google.api.services.storagetransfer.v1.model.TransferCounters;
 import com.google.api.services.storagetransfer.v1.model.TransferJob;
+import com.google.api.services.storagetransfer.v1.model.TransferOperation;
 import com.google.api.services.storagetransfer.v1.model.UpdateTransferJobRequest;
-import com.google.auth.http.HttpCredentialsAdapter;
-import com.google.auth.oauth2.GoogleCredentials;
 import java.io.IOException;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public final class StorageTransferServiceUtils {
   private static final Logger logger = LoggerFactory.getLogger(StorageTransferServiceUtils.class);
-  private static final String APPLICATION_NAME = "terra-workspace-manager";
   private static final String DELETED_STATUS = "DELETED";
 
   private StorageTransferServiceUtils() {}
 
-  public static Storagetransfer createStorageTransferService() throws IOException {
-    GoogleCredentials credential = GoogleCredentials.getApplicationDefault();
-    if (credential.createScopedRequired()) {
-      credential = credential.createScoped(StoragetransferScopes.all());
-    }
-
-    return new Storagetransfer.Builder(
-            Utils.getDefaultTransport(),
-            Utils.getDefaultJsonFactory(),
-            new HttpCredentialsAdapter(credential))
-        .setApplicationName(APPLICATION_NAME)
-        .build();
-  }
-
   /**
    * Delete the transfer job, as we don't support reusing them.
    *
@@ -67,11 +54,12 @@ public final class StorageTransferServiceUtils {
    * A reusable step implementation for deleting a storage transfer job.
    *
    * @param flightContext
+   * @param storageTransferService - transfer service
    * @return
    */
-  public static StepResult deleteTransferJobStepImpl(FlightContext flightContext) {
+  public static StepResult deleteTransferJobStepImpl(
+      FlightContext flightContext, Storagetransfer storageTransferService) {
     try {
-      final Storagetransfer storageTransferService = createStorageTransferService();
       final String transferJobName =
           createTransferJobName(flightContext.getFlightId()); // might not be in map yet
       final String controlPlaneProjectId =
@@ -85,6 +73,28 @@ public final class StorageTransferServiceUtils {
     return StepResult.getStepResultSuccess();
   }
 
+  /**
+   * Get the counters of a transfer operation, which are in its metadata as a TransferOperation.
+   *
+   * @param operation - transfer operation, in progress or done
+   * @return the operation's counters, or empty if it has none yet
+   */
+  public static Optional<TransferCounters> getTransferCounters(Operation operation) {
+    if (operation.getMetadata() == null) {
+      return Optional.empty();
+    }
+    try {
+      final JsonFactory jsonFactory = Utils.getDefaultJsonFactory();
+      final TransferOperation transferOperation =
+          jsonFactory.fromString(
+              jsonFactory.toString(operation.getMetadata()), TransferOperation.class);
+      return Optional.ofNullable(transferOperation.getCounters());
+    } catch (IOException e) {
+      logger.warn("Failed to read counters of transfer operation {}", operation.getName(), e);
+      return Optional.empty();
+    }
+  }
+
   /**
    * Construct the name to use for the transfer job, which must be globally unique. Use the flight
    * ID for the job name so we can find it after a restart.
@@ -48,10 +48,16 @@ public class CloneControlledGcpBigQueryDatasetResourceFlight extends Flight {
             flightBeanBag.getWorkspaceService()));
     addStep(
         new CreateTableCopyJobsStep(
-            flightBeanBag.getCrlService(), flightBeanBag.getWorkspaceService(), sourceDataset),
+            flightBeanBag.getCrlService(),
+            flightBeanBag.getWorkspaceService(),
+            sourceDataset,
+            flightBeanBag.getWorkspaceCloneConfiguration()),
         RetryRules.cloud());
     addStep(
-        new CompleteTableCopyJobsStep(flightBeanBag.getCrlService()),
+        new CompleteTableCopyJobsStep(
+            flightBeanBag.getCrlService(),
+            flightBeanBag.getFlightResumer(),
+            flightBeanBag.getJobProgressDao()),
         RetryRules.cloudLongRunning());
   }
 }
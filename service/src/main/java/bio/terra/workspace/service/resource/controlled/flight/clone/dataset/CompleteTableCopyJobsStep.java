@@ -6,28 +6,65 @@ import bio.terra.stairway.Step;
 import bio.terra.stairway.StepResult;
 import bio.terra.stairway.StepStatus;
 import bio.terra.stairway.exception.RetryException;
+import bio.terra.workspace.common.utils.FlightUtils;
+import bio.terra.workspace.db.JobProgressDao;
+import bio.terra.workspace.generated.model.ApiClonedControlledGcpBigQueryDataset;
+import bio.terra.workspace.generated.model.ApiGcpBigQueryDatasetResource;
+import bio.terra.workspace.generated.model.ApiResourceMetadata;
 import bio.terra.workspace.service.crl.CrlService;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
+import bio.terra.workspace.service.job.FlightResumer;
 import bio.terra.workspace.service.job.JobMapKeys;
+import bio.terra.workspace.service.resource.controlled.ControlledResource;
+import bio.terra.workspace.service.resource.controlled.flight.clone.workspace.WorkspaceCloneUtils;
 import bio.terra.workspace.service.resource.model.CloningInstructions;
 import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.HttpHeaders;
 import com.google.api.services.bigquery.Bigquery;
 import com.google.api.services.bigquery.model.Job;
 import com.google.api.services.bigquery.model.JobReference;
-import com.google.api.services.bigquery.model.TableReference;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.Optional;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
 
+/**
+ * Track the table copy jobs started by {@link CreateTableCopyJobsStep} until they all finish. Each
+ * run polls every unfinished job in one batch request, records each table's progress in
+ * ControlledResourceKeys.TABLE_TO_COPY_STATUS and in the flight's response, and yields the flight
+ * until the next poll if any job is still pending or running.
+ *
+ * <p>The response is also reported to the {@link JobProgressDao} on every poll, so the tables'
+ * progress can be read from the job's result while the clone runs, and after a table fails. A clone
+ * that is part of a workspace clone reports under the workspace clone's job instead. Tables still
+ * unfinished after {@link CreateTableCopyJobsStep#COPY_JOB_TIMEOUT} fail the clone.
+ */
 public class CompleteTableCopyJobsStep implements Step {
   private static final Logger logger = LoggerFactory.getLogger(CompleteTableCopyJobsStep.class);
+  private static final Duration POLL_INTERVAL = Duration.ofSeconds(10);
   private final CrlService crlService;
+  private final FlightResumer flightResumer;
+  private final JobProgressDao jobProgressDao;
 
-  public CompleteTableCopyJobsStep(CrlService crlService) {
+  public CompleteTableCopyJobsStep(
+      CrlService crlService, FlightResumer flightResumer, JobProgressDao jobProgressDao) {
     this.crlService = crlService;
+    this.flightResumer = flightResumer;
+    this.jobProgressDao = jobProgressDao;
   }
 
   @Override
@@ -41,8 +78,7 @@ public class CompleteTableCopyJobsStep implements Step {
     if (CloningInstructions.COPY_RESOURCE != effectiveCloningInstructions) {
       return StepResult.getStepResultSuccess();
     }
-    final Map<String, String> tableToJobId =
-        workingMap.get(ControlledResourceKeys.TABLE_TO_JOB_ID_MAP, new TypeReference<>() {});
+    final Map<String, TableCopyStatus> tableToCopyStatus = getTableToCopyStatus(workingMap);
     final AuthenticatedUserRequest userRequest =
         flightContext
             .getInputParameters()
@@ -50,45 +86,184 @@ public class CompleteTableCopyJobsStep implements Step {
     // TODO(jaycarlton): PF-942 implement needed endpoints in CRL and use them here
     final Bigquery bigQueryClient = crlService.createNakedBigQueryClient(userRequest);
     try {
-      for (Map.Entry<String, String> entry : tableToJobId.entrySet()) {
-        final TableReference tableReference = tableFqIdToReference(entry.getKey());
-        final JobReference jobReference = jobFqIdToReference(entry.getValue());
-
-        // wait for job to complete
-        int sleepTimeSeconds = 1;
-        while (true) {
-          final Job job =
-              bigQueryClient
-                  .jobs()
-                  .get(jobReference.getProjectId(), jobReference.getJobId())
-                  .setLocation(
-                      jobReference.getLocation()) // returns NOT_FOUND unless location is specified
-                  .execute();
-          final String jobState = job.getStatus().getState();
-          logger.debug("Table {} is {}", tableReference.getTableId(), jobState);
-          if ("DONE".equals(jobState)) {
-            // Job has finished, but may have failed depending on the error result
-            if (null != job.getStatus().getErrorResult()) {
-              final String errorMessage = job.getStatus().getErrorResult().getMessage();
-              logger.warn("Job {} failed: {}", job.getId(), errorMessage);
-              // Retrying this step won't help, since the jobs are already started.
-              // We have to treat a table-level failure as fatal to the whole flight.
-              return new StepResult(
-                  StepStatus.STEP_RESULT_FAILURE_FATAL, new RuntimeException(errorMessage));
-            }
-            break;
-          }
-          TimeUnit.SECONDS.sleep(sleepTimeSeconds);
-          sleepTimeSeconds = Math.min(2 * sleepTimeSeconds, 60);
-        }
-      }
+      pollCopyJobs(bigQueryClient, tableToCopyStatus.values());
     } catch (IOException e) {
       return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
     }
+    if (flightResumer.waitedLongerThan(
+        flightContext,
+        ControlledResourceKeys.TABLE_COPY_JOBS_WAIT,
+        CreateTableCopyJobsStep.COPY_JOB_TIMEOUT)) {
+      failUnfinishedCopies(tableToCopyStatus.values());
+    }
+    workingMap.put(ControlledResourceKeys.TABLE_TO_COPY_STATUS, tableToCopyStatus);
+    setResponse(flightContext, tableToCopyStatus);
 
+    final Optional<TableCopyStatus> failedCopy =
+        tableToCopyStatus.values().stream()
+            .filter(status -> TableCopyState.FAILED == status.getState())
+            .findFirst();
+    if (failedCopy.isPresent()) {
+      // Retrying this step won't help, since the jobs are already started.
+      // We have to treat a table-level failure as fatal to the whole flight.
+      return new StepResult(
+          StepStatus.STEP_RESULT_FAILURE_FATAL,
+          new RuntimeException(failedCopy.get().getErrorMessage()));
+    }
+    if (tableToCopyStatus.values().stream().anyMatch(status -> !status.getState().isFinished())) {
+      return flightResumer.waitAndRerun(
+          flightContext, ControlledResourceKeys.TABLE_COPY_JOBS_WAIT, POLL_INTERVAL);
+    }
+    flightResumer.endWait(flightContext, ControlledResourceKeys.TABLE_COPY_JOBS_WAIT);
     return StepResult.getStepResultSuccess();
   }
 
+  /**
+   * Get the copy status of each table. Flights whose jobs were started before statuses were kept
+   * only have the table to job ID map, so start their tables as pending.
+   */
+  private static Map<String, TableCopyStatus> getTableToCopyStatus(FlightMap workingMap) {
+    final Map<String, TableCopyStatus> tableToCopyStatus =
+        Optional.ofNullable(
+                workingMap.get(
+                    ControlledResourceKeys.TABLE_TO_COPY_STATUS,
+                    new TypeReference<Map<String, TableCopyStatus>>() {}))
+            .orElseGet(HashMap::new);
+    final Map<String, String> tableToJobId =
+        Optional.ofNullable(
+                workingMap.get(
+                    ControlledResourceKeys.TABLE_TO_JOB_ID_MAP,
+                    new TypeReference<Map<String, String>>() {}))
+            .orElseGet(HashMap::new);
+    tableToJobId.forEach(
+        (tableId, jobId) ->
+            tableToCopyStatus.computeIfAbsent(
+                tableId, id -> new TableCopyStatus(id, jobId, null, false)));
+    return tableToCopyStatus;
+  }
+
+  /** Get every unfinished job in one batch request, and update its table's status. */
+  private static void pollCopyJobs(Bigquery bigQueryClient, Collection<TableCopyStatus> statuses)
+      throws IOException {
+    final List<TableCopyStatus> unfinished =
+        statuses.stream()
+            .filter(status -> !status.getState().isFinished())
+            .collect(Collectors.toList());
+    if (unfinished.isEmpty()) {
+      return;
+    }
+    final List<GoogleJsonError> errors = new ArrayList<>();
+    final BatchRequest batch = bigQueryClient.batch();
+    for (TableCopyStatus status : unfinished) {
+      final JobReference jobReference = jobFqIdToReference(status.getJobId());
+      bigQueryClient
+          .jobs()
+          .get(jobReference.getProjectId(), jobReference.getJobId())
+          .setLocation(jobReference.getLocation()) // returns NOT_FOUND unless location is specified
+          .queue(
+              batch,
+              new JsonBatchCallback<Job>() {
+                @Override
+                public void onSuccess(Job job, HttpHeaders responseHeaders) {
+                  updateStatus(status, job);
+                }
+
+                @Override
+                public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                  errors.add(error);
+                }
+              });
+    }
+    batch.execute();
+    if (!errors.isEmpty()) {
+      // The jobs that were found are already updated; get the others again on retry.
+      throw new IOException("Failed to get copy jobs: " + errors.get(0).getMessage());
+    }
+  }
+
+  private static void updateStatus(TableCopyStatus status, Job job) {
+    final String jobState = job.getStatus().getState();
+    logger.debug("Table {} is {}", status.getTableId(), jobState);
+    if ("DONE".equals(jobState)) {
+      // Job has finished, but may have failed depending on the error result
+      if (null != job.getStatus().getErrorResult()) {
+        final String errorMessage = job.getStatus().getErrorResult().getMessage();
+        logger.warn("Job {} failed: {}", job.getId(), errorMessage);
+        status.setState(TableCopyState.FAILED);
+        status.setErrorMessage(errorMessage);
+      } else {
+        status.setState(TableCopyState.DONE);
+      }
+    } else if ("RUNNING".equals(jobState)) {
+      status.setState(TableCopyState.RUNNING);
+    }
+  }
+
+  /** Fail the tables whose copies did not finish in time. */
+  private static void failUnfinishedCopies(Collection<TableCopyStatus> statuses) {
+    for (TableCopyStatus status : statuses) {
+      if (!status.getState().isFinished()) {
+        logger.warn("Copy job {} did not finish in time", status.getJobId());
+        status.setState(TableCopyState.FAILED);
+        status.setErrorMessage(
+            String.format(
+                "Copy of table %s did not finish within %s",
+                status.getTableId(), CreateTableCopyJobsStep.COPY_JOB_TIMEOUT));
+      }
+    }
+  }
+
+  /**
+   * Add the tables' progress to the clone response set by CopyBigQueryDatasetDefinitionStep, and
+   * report it as the job's progress.
+   */
+  private void setResponse(
+      FlightContext flightContext, Map<String, TableCopyStatus> tableToCopyStatus) {
+    final ApiClonedControlledGcpBigQueryDataset cloneResult =
+        flightContext
+            .getWorkingMap()
+            .get(
+                ControlledResourceKeys.CLONE_DEFINITION_RESULT,
+                ApiClonedControlledGcpBigQueryDataset.class);
+    if (null == cloneResult) {
+      return;
+    }
+    cloneResult.setTableCopies(
+        tableToCopyStatus.values().stream()
+            .sorted(Comparator.comparing(TableCopyStatus::getTableId))
+            .map(TableCopyStatus::toApiModel)
+            .collect(Collectors.toList()));
+    FlightUtils.setResponse(flightContext, cloneResult, HttpStatus.OK);
+    try {
+      final String parentJobId =
+          flightContext
+              .getInputParameters()
+              .get(JobMapKeys.PARENT_JOB_ID.getKeyName(), String.class);
+      if (parentJobId == null) {
+        jobProgressDao.setProgress(flightContext.getFlightId(), cloneResult);
+      } else {
+        // Part of a workspace clone: report under the job the caller polls.
+        final ControlledResource sourceDataset =
+            flightContext
+                .getInputParameters()
+                .get(JobMapKeys.REQUEST.getKeyName(), ControlledResource.class);
+        jobProgressDao.setPartProgress(
+            parentJobId,
+            sourceDataset.getResourceId().toString(),
+            WorkspaceCloneUtils.resourceCloneProgress(
+                    sourceDataset,
+                    Optional.ofNullable(cloneResult.getDataset())
+                        .map(ApiGcpBigQueryDatasetResource::getMetadata)
+                        .map(ApiResourceMetadata::getResourceId)
+                        .orElse(null))
+                .tableCopies(cloneResult.getTableCopies()));
+      }
+    } catch (DataAccessException e) {
+      // Progress is only informational; the copies carry on regardless.
+      logger.warn("Failed to report the progress of flight {}", flightContext.getFlightId(), e);
+    }
+  }
+
   // Nothing to undo here because the whole dataset will be deleted in the undo path for
   // an earlier step.
   @Override
@@ -96,19 +271,8 @@ public class CompleteTableCopyJobsStep implements Step {
     return StepResult.getStepResultSuccess();
   }
 
-  // Fully-qualified table IDs are of the form project-id:dataset_id.table_id
-  private TableReference tableFqIdToReference(String tableFqId) {
-    final TableReference result = new TableReference();
-    final String[] outerGroups = tableFqId.split(":");
-    result.setProjectId(outerGroups[0]);
-
-    final String[] innerGroups = outerGroups[1].split("\\.");
-    result.setDatasetId(innerGroups[0]);
-    result.setTableId(innerGroups[1]);
-    return result;
-  }
-
-  private JobReference jobFqIdToReference(String jobFqId) {
+  // Fully-qualified job IDs are of the form project-id:location.job_id
+  private static JobReference jobFqIdToReference(String jobFqId) {
     final JobReference result = new JobReference();
     final String[] outerGroups = jobFqId.split(":");
     result.setProjectId(outerGroups[0]);
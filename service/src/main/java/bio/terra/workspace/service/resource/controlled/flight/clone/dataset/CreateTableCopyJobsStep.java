@@ -1,12 +1,12 @@
 package bio.terra.workspace.service.resource.controlled.flight.clone.dataset;
 
-import bio.terra.cloudres.google.bigquery.BigQueryCow;
 import bio.terra.stairway.FlightContext;
 import bio.terra.stairway.FlightMap;
 import bio.terra.stairway.Step;
 import bio.terra.stairway.StepResult;
 import bio.terra.stairway.StepStatus;
 import bio.terra.stairway.exception.RetryException;
+import bio.terra.workspace.app.configuration.external.WorkspaceCloneConfiguration;
 import bio.terra.workspace.service.crl.CrlService;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import bio.terra.workspace.service.job.JobMapKeys;
@@ -15,50 +15,71 @@ import bio.terra.workspace.service.resource.model.CloningInstructions;
 import bio.terra.workspace.service.workspace.WorkspaceService;
 import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.HttpHeaders;
 import com.google.api.services.bigquery.Bigquery;
 import com.google.api.services.bigquery.model.Job;
 import com.google.api.services.bigquery.model.JobConfiguration;
 import com.google.api.services.bigquery.model.JobConfigurationTableCopy;
+import com.google.api.services.bigquery.model.JobReference;
 import com.google.api.services.bigquery.model.Table;
 import com.google.api.services.bigquery.model.TableList;
 import com.google.api.services.bigquery.model.TableList.Tables;
 import com.google.api.services.bigquery.model.TableReference;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.apache.http.HttpStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class CreateTableCopyJobsStep implements Step {
   private static final Logger logger = LoggerFactory.getLogger(CreateTableCopyJobsStep.class);
   public static final Duration COPY_JOB_TIMEOUT = Duration.ofHours(12);
+  // The type BigQuery gives standard tables, as opposed to views, snapshots, etc.
+  private static final String STANDARD_TABLE_TYPE = "TABLE";
   private final CrlService crlService;
   private final WorkspaceService workspaceService;
   private final ControlledBigQueryDatasetResource sourceDataset;
+  private final WorkspaceCloneConfiguration cloneConfiguration;
 
   public CreateTableCopyJobsStep(
       CrlService crlService,
       WorkspaceService workspaceService,
-      ControlledBigQueryDatasetResource sourceDataset) {
+      ControlledBigQueryDatasetResource sourceDataset,
+      WorkspaceCloneConfiguration cloneConfiguration) {
     this.crlService = crlService;
     this.workspaceService = workspaceService;
     this.sourceDataset = sourceDataset;
+    this.cloneConfiguration = cloneConfiguration;
   }
 
   /**
-   * Create one BigQuery copy job for each table in the source dataset. Keep a running map from
-   * table ID to job ID as new jobs are created, and only create jobs for tables that aren't in the
-   * map already. Rerun the step after every table is processed so that the map may be persisted
-   * incrementally.
+   * Create one BigQuery copy job for each table in the source dataset. Each run lists one page of
+   * source tables, starting from the page token persisted by the previous run, and submits copy
+   * jobs for that page's tables in one batch request. The map from table ID to job ID, the initial
+   * copy status of each table, and the next page token are persisted when the step reruns for the
+   * next page.
    *
-   * <p>On retry, create the jobs for any tables that don't have them. Use WRITE_TRUNCATE to avoid
-   * the possibility of duplicate data.
+   * <p>Jobs get IDs derived from the flight and table IDs, so on retry resubmitting a job that was
+   * already created fails as a duplicate and the existing job is recorded instead. Use
+   * WRITE_TRUNCATE to avoid the possibility of duplicate data.
+   *
+   * <p>When the clone request asks for table clones and they are not turned off, some tables are
+   * cloned instead of copied; see {@link #shouldCloneTable}.
    */
   @Override
   public StepResult doStep(FlightContext flightContext)
@@ -79,57 +100,203 @@ public class CreateTableCopyJobsStep implements Step {
     final DatasetCloneInputs destinationInputs = getDestinationInputs(flightContext);
     workingMap.put(ControlledResourceKeys.DESTINATION_CLONE_INPUTS, destinationInputs);
 
+    final String location = workingMap.get(ControlledResourceKeys.LOCATION, String.class);
+    final String sourceLocation =
+        workingMap.get(ControlledResourceKeys.SOURCE_DATASET_LOCATION, String.class);
+    final String pageToken =
+        workingMap.get(ControlledResourceKeys.TABLE_LIST_PAGE_TOKEN, String.class);
+    final Map<String, String> tableToJobId =
+        Optional.ofNullable(
+                workingMap.get(
+                    ControlledResourceKeys.TABLE_TO_JOB_ID_MAP,
+                    new TypeReference<Map<String, String>>() {}))
+            .orElseGet(HashMap::new);
+    final Map<String, TableCopyStatus> tableToCopyStatus =
+        Optional.ofNullable(
+                workingMap.get(
+                    ControlledResourceKeys.TABLE_TO_COPY_STATUS,
+                    new TypeReference<Map<String, TableCopyStatus>>() {}))
+            .orElseGet(HashMap::new);
+
     final AuthenticatedUserRequest userRequest =
         flightContext
             .getInputParameters()
             .get(JobMapKeys.AUTH_USER_INFO.getKeyName(), AuthenticatedUserRequest.class);
-    final BigQueryCow bigQueryCow = crlService.createBigQueryCow(userRequest);
     // TODO(jaycarlton):  remove usage of this client when it's all in CRL PF-942
     final Bigquery bigQueryClient = crlService.createNakedBigQueryClient(userRequest);
+    final int batchSize = Math.max(1, cloneConfiguration.getBigQueryCopyJobBatchSize());
+    final boolean tableClonesEnabled =
+        cloneConfiguration.isBigQueryTableClones()
+            && Boolean.TRUE.equals(
+                flightContext
+                    .getInputParameters()
+                    .get(ControlledResourceKeys.TABLE_CLONES, Boolean.class));
     try {
-      // Get a list of all tables in the source dataset
+      // Get the next page of tables in the source dataset
       final TableList sourceTables =
-          bigQueryCow
+          bigQueryClient
               .tables()
               .list(sourceInputs.getProjectId(), sourceInputs.getDatasetName())
+              .setMaxResults((long) batchSize)
+              .setPageToken(pageToken)
               .execute();
-      // Start a copy job for each source table
-      final Map<String, String> tableToJobId =
-          Optional.ofNullable(
-                  workingMap.get(
-                      ControlledResourceKeys.TABLE_TO_JOB_ID_MAP,
-                      new TypeReference<Map<String, String>>() {}))
-              .orElseGet(HashMap::new);
       final List<Tables> tables =
           Optional.ofNullable(sourceTables.getTables()).orElse(Collections.emptyList());
-      // Find the first table whose ID isn't a key in the map.
-      final Optional<Tables> tableMaybe =
+      final List<Tables> tablesToCopy =
           tables.stream()
               .filter(t -> null != t.getId() && !tableToJobId.containsKey(t.getId()))
-              .findFirst();
-      if (tableMaybe.isPresent()) {
-        final Tables table = tableMaybe.get();
-        checkStreamingBuffer(sourceInputs, bigQueryCow, table);
-        final Job inputJob = buildTableCopyJob(sourceInputs, destinationInputs, table);
-        // bill the job to the destination project
-        final Job submittedJob =
-            bigQueryClient.jobs().insert(destinationInputs.getProjectId(), inputJob).execute();
-
-        // Update the map, which will be persisted
-        tableToJobId.put(table.getId(), submittedJob.getId());
-        workingMap.put(ControlledResourceKeys.TABLE_TO_JOB_ID_MAP, tableToJobId);
+              .collect(Collectors.toList());
+      final Set<String> tablesToClone =
+          tablesToCopy.stream()
+              .filter(
+                  t ->
+                      shouldCloneTable(tableClonesEnabled, sourceLocation, location, t.getType()))
+              .map(Tables::getId)
+              .collect(Collectors.toSet());
+      final Map<String, Long> tableBytes =
+          checkStreamingBuffers(bigQueryClient, sourceInputs, tablesToCopy);
+      final Optional<IOException> submitFailure =
+          submitCopyJobs(
+              bigQueryClient,
+              flightContext.getFlightId(),
+              location,
+              tablesToClone,
+              sourceInputs,
+              destinationInputs,
+              tablesToCopy,
+              tableToJobId);
+      for (Tables table : tablesToCopy) {
+        if (tableToJobId.containsKey(table.getId())) {
+          tableToCopyStatus.putIfAbsent(
+              table.getId(),
+              new TableCopyStatus(
+                  table.getId(),
+                  tableToJobId.get(table.getId()),
+                  tableBytes.get(table.getId()),
+                  tablesToClone.contains(table.getId())));
+        }
+      }
+
+      // Update the maps, which will be persisted, including any jobs submitted before a failure
+      workingMap.put(ControlledResourceKeys.TABLE_TO_JOB_ID_MAP, tableToJobId);
+      workingMap.put(ControlledResourceKeys.TABLE_TO_COPY_STATUS, tableToCopyStatus);
+      if (submitFailure.isPresent()) {
+        return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, submitFailure.get());
+      }
+      workingMap.put(
+          ControlledResourceKeys.TABLE_LIST_PAGE_TOKEN, sourceTables.getNextPageToken());
+      if (null != sourceTables.getNextPageToken()) {
         return new StepResult(StepStatus.STEP_RESULT_RERUN);
-      } else {
-        // All tables have entries in the map, so all jobs are started.
-        workingMap.put(
-            ControlledResourceKeys.TABLE_TO_JOB_ID_MAP, tableToJobId); // in case it's empty
-        return StepResult.getStepResultSuccess();
       }
+      // All pages are listed, so all jobs are started.
+      return StepResult.getStepResultSuccess();
     } catch (IOException e) {
       return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
     }
   }
 
+  /**
+   * Whether a table is cloned rather than copied. A clone shares the source table's storage until
+   * either table changes, so it finishes in about the same time whatever the table's size. Only
+   * standard tables can be cloned, and only within the source dataset's location; views and other
+   * table types, and tables cloned to another location, are copied. Clones are opt-in.
+   *
+   * @param tableClonesEnabled - whether the request asked for table clones, and they are allowed
+   * @param sourceLocation - location of the source dataset, or null if it is not known
+   * @param destinationLocation - location of the destination dataset, or null for the source's
+   * @param tableType - type of the source table, as BigQuery lists it
+   */
+  public static boolean shouldCloneTable(
+      boolean tableClonesEnabled,
+      @Nullable String sourceLocation,
+      @Nullable String destinationLocation,
+      @Nullable String tableType) {
+    return tableClonesEnabled
+        && STANDARD_TABLE_TYPE.equals(tableType)
+        && null != sourceLocation
+        && (null == destinationLocation || sourceLocation.equalsIgnoreCase(destinationLocation));
+  }
+
+  /**
+   * Submit a copy job for each of the tables in one batch request, billed to the destination
+   * project, and record each created job in tableToJobId. The tables in tablesToClone are cloned
+   * rather than copied.
+   *
+   * @return the first failure other than a job that already exists, if any
+   */
+  private static Optional<IOException> submitCopyJobs(
+      Bigquery bigQueryClient,
+      String flightId,
+      String location,
+      Set<String> tablesToClone,
+      DatasetCloneInputs sourceInputs,
+      DatasetCloneInputs destinationInputs,
+      List<Tables> tables,
+      Map<String, String> tableToJobId)
+      throws IOException {
+    if (tables.isEmpty()) {
+      return Optional.empty();
+    }
+    final List<IOException> failures = new ArrayList<>();
+    final BatchRequest batch = bigQueryClient.batch();
+    for (Tables table : tables) {
+      final boolean cloneTable = tablesToClone.contains(table.getId());
+      logger.info(
+          "{} table {} of type {}",
+          cloneTable ? "Cloning" : "Copying",
+          table.getId(),
+          table.getType());
+      final Job inputJob = buildTableCopyJob(sourceInputs, destinationInputs, table, cloneTable);
+      final JobReference jobReference =
+          new JobReference()
+              .setProjectId(destinationInputs.getProjectId())
+              .setLocation(location)
+              .setJobId(copyJobId(flightId, table));
+      inputJob.setJobReference(jobReference);
+      bigQueryClient
+          .jobs()
+          .insert(destinationInputs.getProjectId(), inputJob)
+          .queue(
+              batch,
+              new JsonBatchCallback<Job>() {
+                @Override
+                public void onSuccess(Job submittedJob, HttpHeaders responseHeaders) {
+                  tableToJobId.put(table.getId(), submittedJob.getId());
+                }
+
+                @Override
+                public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                  if (HttpStatus.SC_CONFLICT == error.getCode() && null != location) {
+                    // Submitted by an earlier run of this step
+                    tableToJobId.put(table.getId(), jobFqId(jobReference));
+                    return;
+                  }
+                  logger.warn("Failed to start copy job for table {}: {}", table.getId(), error);
+                  failures.add(
+                      new IOException(
+                          String.format(
+                              "Failed to start copy job for table %s: %s",
+                              table.getId(), error.getMessage())));
+                }
+              });
+    }
+    batch.execute();
+    return failures.stream().findFirst();
+  }
+
+  /** The same job ID each time the flight copies the table. */
+  private static String copyJobId(String flightId, Tables table) {
+    return "wsm_clone_"
+        + UUID.nameUUIDFromBytes((flightId + "/" + table.getId()).getBytes(StandardCharsets.UTF_8));
+  }
+
+  // Job IDs as returned by BigQuery are of the form project-id:location.job_id
+  private static String jobFqId(JobReference jobReference) {
+    return String.format(
+        "%s:%s.%s",
+        jobReference.getProjectId(), jobReference.getLocation(), jobReference.getJobId());
+  }
+
   // Nothing to undo here because the whole dataset will be deleted in the undo path for
   // an earlier step.
   @Override
@@ -137,44 +304,79 @@ public class CreateTableCopyJobsStep implements Step {
     return StepResult.getStepResultSuccess();
   }
 
-  // If the table contains data in its streaming buffer, that data can't be copied yet
+  // If a table contains data in its streaming buffer, that data can't be copied yet
   // https://cloud.google.com/bigquery/streaming-data-into-bigquery#dataavailability.
-  // For now, we simply warn in the log if there's data that will be skipped.
-  private void checkStreamingBuffer(
-      DatasetCloneInputs sourceInputs, BigQueryCow bigQueryCow, Tables table) throws IOException {
-    final Table tableGetResponse =
-        bigQueryCow
-            .tables()
-            .get(
-                sourceInputs.getProjectId(),
-                sourceInputs.getDatasetName(),
-                getTableName(table.getId()))
-            .execute();
-    if (tableGetResponse.getStreamingBuffer() != null) {
-      // This is unfortunate, but our contract is to clone whatever BigQuery copies, which
-      // doesn't
-      // include recent streaming-inserted data. Warn in the log to assist in investigating
-      // customer complaints.
-      logger.warn(
-          "Streaming buffer data in table {} will not be copied. Estimated rows: {}, Oldest entry time: {}",
-          table.getId(),
-          tableGetResponse.getStreamingBuffer().getEstimatedRows(),
-          Instant.ofEpochMilli(
-                  tableGetResponse.getStreamingBuffer().getOldestEntryTime().longValueExact())
-              .toString());
+  // For now, we simply warn in the log if there's data that will be skipped. The tables are
+  // fetched in one batch request, which also gives their sizes for progress reporting.
+  private static Map<String, Long> checkStreamingBuffers(
+      Bigquery bigQueryClient, DatasetCloneInputs sourceInputs, List<Tables> tables)
+      throws IOException {
+    final Map<String, Long> tableBytes = new HashMap<>();
+    if (tables.isEmpty()) {
+      return tableBytes;
     }
+    final BatchRequest batch = bigQueryClient.batch();
+    for (Tables table : tables) {
+      bigQueryClient
+          .tables()
+          .get(
+              sourceInputs.getProjectId(),
+              sourceInputs.getDatasetName(),
+              getTableName(table.getId()))
+          .queue(
+              batch,
+              new JsonBatchCallback<Table>() {
+                @Override
+                public void onSuccess(Table tableGetResponse, HttpHeaders responseHeaders) {
+                  tableBytes.put(table.getId(), tableGetResponse.getNumBytes());
+                  if (tableGetResponse.getStreamingBuffer() != null) {
+                    // This is unfortunate, but our contract is to clone whatever BigQuery
+                    // copies, which doesn't include recent streaming-inserted data. Warn in the
+                    // log to assist in investigating customer complaints.
+                    logger.warn(
+                        "Streaming buffer data in table {} will not be copied. "
+                            + "Estimated rows: {}, Oldest entry time: {}",
+                        table.getId(),
+                        tableGetResponse.getStreamingBuffer().getEstimatedRows(),
+                        Instant.ofEpochMilli(
+                                tableGetResponse
+                                    .getStreamingBuffer()
+                                    .getOldestEntryTime()
+                                    .longValueExact())
+                            .toString());
+                  }
+                }
+
+                // The check is only advisory, so don't hold up the copy if it fails.
+                @Override
+                public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                  logger.warn("Failed to check streaming buffer of table {}", table.getId());
+                }
+              });
+    }
+    batch.execute();
+    return tableBytes;
   }
 
   private static Job buildTableCopyJob(
-      DatasetCloneInputs sourceInputs, DatasetCloneInputs destinationInputs, Tables table) {
+      DatasetCloneInputs sourceInputs,
+      DatasetCloneInputs destinationInputs,
+      Tables table,
+      boolean cloneTable) {
     final JobConfigurationTableCopy jobConfigurationTableCopy = new JobConfigurationTableCopy();
-    // The source and destination table have the same table type.
-    jobConfigurationTableCopy.setOperationType("COPY");
     // make new tables in empty destination dataset
     jobConfigurationTableCopy.setCreateDisposition("CREATE_IF_NEEDED");
-
-    // replace contents on retry since appending will leave duplicate data
-    jobConfigurationTableCopy.setWriteDisposition("WRITE_TRUNCATE");
+    if (cloneTable) {
+      jobConfigurationTableCopy.setOperationType("CLONE");
+      // A clone can only be created as a new table. A retry resubmits the same job ID, so it
+      // finds the existing job rather than cloning into the table that job created.
+      jobConfigurationTableCopy.setWriteDisposition("WRITE_EMPTY");
+    } else {
+      // The source and destination table have the same table type.
+      jobConfigurationTableCopy.setOperationType("COPY");
+      // replace contents on retry since appending will leave duplicate data
+      jobConfigurationTableCopy.setWriteDisposition("WRITE_TRUNCATE");
+    }
 
     jobConfigurationTableCopy.setSourceTable(buildTableReference(sourceInputs, table));
     jobConfigurationTableCopy.setDestinationTable(buildTableReference(destinationInputs, table));
@@ -39,13 +39,8 @@ public class RetrieveBigQueryDatasetCloudAttributesStep implements Step {
       throws InterruptedException, RetryException {
     final String suppliedLocation =
         flightContext.getInputParameters().get(ControlledResourceKeys.LOCATION, String.class);
-    if (!Strings.isNullOrEmpty(suppliedLocation)) {
-      flightContext.getWorkingMap().put(ControlledResourceKeys.LOCATION, suppliedLocation);
-      // we can stop here as we don't need the original location
-      return StepResult.getStepResultSuccess();
-    }
-    // Since no location was specified, we need to find the original one
-    // from the source dataset.
+    // Find the original location from the source dataset. It's the destination location if no
+    // location was specified, and decides whether tables can be cloned rather than copied.
     final String projectId =
         workspaceService.getRequiredGcpProject(datasetResource.getWorkspaceId());
     final BigQueryCow bigQueryCow = crlService.createBigQueryCow(userRequest);
@@ -53,7 +48,14 @@ public class RetrieveBigQueryDatasetCloudAttributesStep implements Step {
       final Dataset dataset =
           bigQueryCow.datasets().get(projectId, datasetResource.getDatasetName()).execute();
       final String sourceLocation = dataset.getLocation();
-      flightContext.getWorkingMap().put(ControlledResourceKeys.LOCATION, sourceLocation);
+      flightContext
+          .getWorkingMap()
+          .put(ControlledResourceKeys.SOURCE_DATASET_LOCATION, sourceLocation);
+      flightContext
+          .getWorkingMap()
+          .put(
+              ControlledResourceKeys.LOCATION,
+              Strings.isNullOrEmpty(suppliedLocation) ? sourceLocation : suppliedLocation);
       return StepResult.getStepResultSuccess();
     } catch (IOException e) {
       // TODO: consider retry here
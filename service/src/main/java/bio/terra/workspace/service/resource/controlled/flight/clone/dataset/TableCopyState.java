@@ -0,0 +1,48 @@
+package bio.terra.workspace.service.resource.controlled.flight.clone.dataset;
+
+import bio.terra.workspace.generated.model.ApiBigQueryTableCopyState;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/** Internal wrapper type for {@link ApiBigQueryTableCopyState}. */
+public enum TableCopyState {
+  PENDING("PENDING", ApiBigQueryTableCopyState.PENDING),
+  RUNNING("RUNNING", ApiBigQueryTableCopyState.RUNNING),
+  DONE("DONE", ApiBigQueryTableCopyState.DONE),
+  FAILED("FAILED", ApiBigQueryTableCopyState.FAILED);
+
+  private final String value;
+  private final ApiBigQueryTableCopyState apiValue;
+
+  TableCopyState(String value, ApiBigQueryTableCopyState apiValue) {
+    this.value = value;
+    this.apiValue = apiValue;
+  }
+
+  @Override
+  @JsonValue
+  public String toString() {
+    return String.valueOf(value);
+  }
+
+  @JsonIgnore
+  public ApiBigQueryTableCopyState toApiModel() {
+    return apiValue;
+  }
+
+  @JsonIgnore
+  public boolean isFinished() {
+    return this == DONE || this == FAILED;
+  }
+
+  @JsonCreator
+  public static TableCopyState fromValue(String text) {
+    for (TableCopyState b : TableCopyState.values()) {
+      if (String.valueOf(b.value).equals(text)) {
+        return b;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,87 @@
+package bio.terra.workspace.service.resource.controlled.flight.clone.dataset;
+
+import bio.terra.workspace.generated.model.ApiBigQueryTableCopy;
+
+/** Progress of the copy job for one table of a dataset clone. */
+public class TableCopyStatus {
+  private String tableId;
+  private String jobId;
+  private TableCopyState state;
+  // Size of the source table when its copy job was submitted
+  private Long tableBytes;
+  // Whether the job clones the table, sharing its storage, rather than copying it
+  private boolean cloned;
+  private String errorMessage;
+
+  public TableCopyStatus() {}
+
+  public TableCopyStatus(String tableId, String jobId, Long tableBytes, boolean cloned) {
+    this.tableId = tableId;
+    this.jobId = jobId;
+    this.state = TableCopyState.PENDING;
+    this.tableBytes = tableBytes;
+    this.cloned = cloned;
+  }
+
+  public String getTableId() {
+    return tableId;
+  }
+
+  public void setTableId(String tableId) {
+    this.tableId = tableId;
+  }
+
+  public String getJobId() {
+    return jobId;
+  }
+
+  public void setJobId(String jobId) {
+    this.jobId = jobId;
+  }
+
+  public TableCopyState getState() {
+    return state;
+  }
+
+  public void setState(TableCopyState state) {
+    this.state = state;
+  }
+
+  public Long getTableBytes() {
+    return tableBytes;
+  }
+
+  public void setTableBytes(Long tableBytes) {
+    this.tableBytes = tableBytes;
+  }
+
+  public boolean isCloned() {
+    return cloned;
+  }
+
+  public void setCloned(boolean cloned) {
+    this.cloned = cloned;
+  }
+
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+
+  public void setErrorMessage(String errorMessage) {
+    this.errorMessage = errorMessage;
+  }
+
+  /**
+   * BigQuery copies a table in one piece, so the bytes copied are the table's size once its job is
+   * done, and zero before. A clone copies no bytes at all.
+   */
+  public ApiBigQueryTableCopy toApiModel() {
+    return new ApiBigQueryTableCopy()
+        .tableId(tableId)
+        .state(state.toApiModel())
+        .bytesCopied(
+            TableCopyState.DONE == state && !cloned && null != tableBytes ? tableBytes : 0L)
+        .cloned(cloned)
+        .errorMessage(errorMessage);
+  }
+}
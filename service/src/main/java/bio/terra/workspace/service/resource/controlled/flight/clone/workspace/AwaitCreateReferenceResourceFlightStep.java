@@ -56,8 +56,6 @@ public class AwaitCreateReferenceResourceFlightStep implements Step {
       final WsmResourceCloneDetails cloneDetails = new WsmResourceCloneDetails();
 
       if (CloningInstructions.COPY_REFERENCE == sourceResource.getCloningInstructions()) {
-        FlightUtils.validateRequiredEntries(
-            context.getWorkingMap(), ControlledResourceKeys.DESTINATION_REFERENCED_RESOURCE);
         final FlightState subflightState =
             context.getStairway().waitForFlight(flightId, FLIGHT_POLL_SECONDS, FLIGHT_POLL_CYCLES);
         final WsmCloneResourceResult cloneResult =
@@ -65,22 +63,14 @@ public class AwaitCreateReferenceResourceFlightStep implements Step {
                 subflightState.getFlightStatus(), sourceResource);
         cloneDetails.setResult(cloneResult);
         final FlightMap resultMap = FlightUtils.getResultMapRequired(subflightState);
-
-        // Input to the create flight
-        final var destinationReferencedResource =
-            context
-                .getWorkingMap()
-                .get(
-                    ControlledResourceKeys.DESTINATION_REFERENCED_RESOURCE,
-                    ReferencedResource.class);
         final var clonedReferencedResourceId =
             resultMap.get(JobMapKeys.RESPONSE.getKeyName(), UUID.class);
 
-        // Use the destination referenced resource for things that are fixed over
-        // the operation, and the one from the database to verify the resource ID
-        cloneDetails.setResourceType(destinationReferencedResource.getResourceType());
-        cloneDetails.setStewardshipType(destinationReferencedResource.getStewardshipType());
-        cloneDetails.setCloningInstructions(destinationReferencedResource.getCloningInstructions());
+        // The clone has the same type, stewardship and cloning instructions as its source. Several
+        // references may be cloning at once, so these come from the source, not the working map.
+        cloneDetails.setResourceType(sourceResource.getResourceType());
+        cloneDetails.setStewardshipType(sourceResource.getStewardshipType());
+        cloneDetails.setCloningInstructions(sourceResource.getCloningInstructions());
         cloneDetails.setSourceResourceId(sourceResource.getResourceId());
         cloneDetails.setDestinationResourceId(clonedReferencedResourceId);
         cloneDetails.setErrorMessage(FlightUtils.getFlightErrorMessage(subflightState));
@@ -0,0 +1,272 @@
+package bio.terra.workspace.service.resource.controlled.flight.clone.workspace;
+
+import static bio.terra.workspace.common.utils.FlightUtils.validateRequiredEntries;
+
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.Step;
+import bio.terra.stairway.StepResult;
+import bio.terra.stairway.StepStatus;
+import bio.terra.stairway.exception.RetryException;
+import bio.terra.workspace.common.utils.FlightBeanBag;
+import bio.terra.workspace.db.ResourceDao;
+import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
+import bio.terra.workspace.service.job.JobMapKeys;
+import bio.terra.workspace.service.resource.model.CloningInstructions;
+import bio.terra.workspace.service.resource.referenced.ReferencedResource;
+import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
+import bio.terra.workspace.service.workspace.model.WsmCloneResourceResult;
+import bio.terra.workspace.service.workspace.model.WsmResourceCloneDetails;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.annotations.VisibleForTesting;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.TransientDataAccessException;
+
+/**
+ * Clone all of a workspace's referenced resources in one step, instead of a create-reference
+ * sub-flight per reference. Each reference marked COPY_REFERENCE is checked for access as {@link
+ * bio.terra.workspace.service.resource.referenced.flight.create.ValidateReferenceStep} does, and
+ * the accessible ones are inserted together in one transaction. Every reference gets its own entry
+ * in ControlledResourceKeys.RESOURCE_ID_TO_CLONE_RESULT, and fails on its own: a reference that
+ * can't be read, or whose name is taken, does not stop the others.
+ *
+ * <p>Access checks run concurrently on the shared parallelStepExecutor, at most
+ * workspace.clone.max-concurrent-reference-clones at a time. A check that fails with an error,
+ * rather than finding no access, is retried a few times before its reference is failed.
+ *
+ * <p>The clones' resource IDs are derived from the flight ID and the source resource ID, so a
+ * rerun of the step builds the same clones. References an earlier run already stored are reported
+ * as cloned without being checked or inserted again.
+ */
+public class CloneAllReferencesStep implements Step {
+  private static final Logger logger = LoggerFactory.getLogger(CloneAllReferencesStep.class);
+  private static final int ACCESS_CHECK_ATTEMPTS = 3;
+  private static final Duration ACCESS_CHECK_INITIAL_BACKOFF = Duration.ofSeconds(1);
+
+  private final FlightBeanBag flightBeanBag;
+  private final List<ReferencedResource> sourceResources;
+  private final Duration accessCheckInitialBackoff;
+
+  public CloneAllReferencesStep(
+      FlightBeanBag flightBeanBag, List<ReferencedResource> sourceResources) {
+    this(flightBeanBag, sourceResources, ACCESS_CHECK_INITIAL_BACKOFF);
+  }
+
+  @VisibleForTesting
+  CloneAllReferencesStep(
+      FlightBeanBag flightBeanBag,
+      List<ReferencedResource> sourceResources,
+      Duration accessCheckInitialBackoff) {
+    this.flightBeanBag = flightBeanBag;
+    this.sourceResources = sourceResources;
+    this.accessCheckInitialBackoff = accessCheckInitialBackoff;
+  }
+
+  @Override
+  public StepResult doStep(FlightContext context) throws InterruptedException, RetryException {
+    validateRequiredEntries(
+        context.getInputParameters(),
+        ControlledResourceKeys.DESTINATION_WORKSPACE_ID,
+        JobMapKeys.AUTH_USER_INFO.getKeyName());
+    final var destinationWorkspaceId =
+        context
+            .getInputParameters()
+            .get(ControlledResourceKeys.DESTINATION_WORKSPACE_ID, UUID.class);
+    final var userRequest =
+        context
+            .getInputParameters()
+            .get(JobMapKeys.AUTH_USER_INFO.getKeyName(), AuthenticatedUserRequest.class);
+    final ResourceDao resourceDao = flightBeanBag.getResourceDao();
+
+    // References stored by an earlier run of this step
+    final Set<UUID> storedIds;
+    try {
+      storedIds =
+          new HashSet<>(
+              resourceDao.getResourceIdsCreatedByFlight(
+                  destinationWorkspaceId, context.getFlightId()));
+    } catch (TransientDataAccessException e) {
+      return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
+    }
+
+    final Map<UUID, WsmResourceCloneDetails> cloneDetailsById = new HashMap<>();
+    final List<ReferencedResource> resourcesToCheck = new ArrayList<>();
+    for (ReferencedResource sourceResource : sourceResources) {
+      final WsmResourceCloneDetails cloneDetails = newCloneDetails(sourceResource);
+      cloneDetailsById.put(sourceResource.getResourceId(), cloneDetails);
+      if (CloningInstructions.COPY_REFERENCE != sourceResource.getCloningInstructions()) {
+        cloneDetails.setResult(WsmCloneResourceResult.SKIPPED);
+        continue;
+      }
+      final ReferencedResource destinationResource =
+          WorkspaceCloneUtils.buildDestinationReferencedResource(
+              sourceResource,
+              destinationWorkspaceId,
+              destinationResourceId(context.getFlightId(), sourceResource.getResourceId()),
+              null,
+              String.format("Clone of Referenced Resource %s", sourceResource.getResourceId()));
+      cloneDetails.setDestinationResourceId(destinationResource.getResourceId());
+      if (!storedIds.contains(destinationResource.getResourceId())) {
+        resourcesToCheck.add(destinationResource);
+      }
+    }
+
+    final Map<UUID, String> accessErrors = checkAccess(resourcesToCheck, userRequest);
+    final List<ReferencedResource> resourcesToStore =
+        resourcesToCheck.stream()
+            .filter(resource -> !accessErrors.containsKey(resource.getResourceId()))
+            .collect(Collectors.toList());
+    try {
+      storedIds.addAll(
+          resourceDao.createReferenceResources(resourcesToStore, context.getFlightId()));
+    } catch (TransientDataAccessException e) {
+      return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
+    }
+    for (WsmResourceCloneDetails cloneDetails : cloneDetailsById.values()) {
+      final UUID destinationResourceId = cloneDetails.getDestinationResourceId();
+      if (destinationResourceId == null) {
+        continue;
+      }
+      if (storedIds.contains(destinationResourceId)) {
+        cloneDetails.setResult(WsmCloneResourceResult.SUCCEEDED);
+        continue;
+      }
+      cloneDetails.setResult(WsmCloneResourceResult.FAILED);
+      cloneDetails.setErrorMessage(
+          Optional.ofNullable(accessErrors.get(destinationResourceId))
+              .orElseGet(
+                  () ->
+                      String.format(
+                          "A resource named %s, or with id %s, already exists in the workspace",
+                          cloneDetails.getName(), destinationResourceId)));
+      cloneDetails.setDestinationResourceId(null);
+    }
+
+    // add to the result map
+    final var resourceIdToResult =
+        Optional.ofNullable(
+                context
+                    .getWorkingMap()
+                    .get(
+                        ControlledResourceKeys.RESOURCE_ID_TO_CLONE_RESULT,
+                        new TypeReference<Map<UUID, WsmResourceCloneDetails>>() {}))
+            .orElseGet(HashMap::new);
+    resourceIdToResult.putAll(cloneDetailsById);
+    context
+        .getWorkingMap()
+        .put(ControlledResourceKeys.RESOURCE_ID_TO_CLONE_RESULT, resourceIdToResult);
+    validateRequiredEntries(
+        context.getWorkingMap(), ControlledResourceKeys.RESOURCE_ID_TO_CLONE_RESULT);
+    return StepResult.getStepResultSuccess();
+  }
+
+  // No need to undo here as entire workspace will be destroyed by earlier undo
+  // method.
+  @Override
+  public StepResult undoStep(FlightContext context) throws InterruptedException {
+    return StepResult.getStepResultSuccess();
+  }
+
+  /** The same ID each time the flight clones the source resource. */
+  private static UUID destinationResourceId(String flightId, UUID sourceResourceId) {
+    return UUID.nameUUIDFromBytes(
+        (flightId + "/" + sourceResourceId).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Check the user can read each referent, a window of references at a time.
+   *
+   * @return why not, by resource ID, for the references the user cannot read
+   */
+  private Map<UUID, String> checkAccess(
+      List<ReferencedResource> resources, AuthenticatedUserRequest userRequest)
+      throws InterruptedException {
+    final int width =
+        Math.max(
+            1, flightBeanBag.getWorkspaceCloneConfiguration().getMaxConcurrentReferenceClones());
+    final Map<UUID, String> accessErrors = new HashMap<>();
+    for (int start = 0; start < resources.size(); start += width) {
+      final List<ReferencedResource> window =
+          resources.subList(start, Math.min(start + width, resources.size()));
+      final List<CompletableFuture<Optional<String>>> checks =
+          window.stream()
+              .map(
+                  resource ->
+                      CompletableFuture.supplyAsync(
+                          () -> checkAccess(resource, userRequest),
+                          flightBeanBag.getParallelStepExecutor()))
+              .collect(Collectors.toList());
+      for (int i = 0; i < window.size(); i++) {
+        final UUID resourceId = window.get(i).getResourceId();
+        try {
+          checks.get(i).get().ifPresent(error -> accessErrors.put(resourceId, error));
+        } catch (ExecutionException e) {
+          accessErrors.put(resourceId, e.getCause().getMessage());
+        }
+      }
+    }
+    return accessErrors;
+  }
+
+  /**
+   * Check the user can read the referent, retrying errors other than a lack of access.
+   *
+   * @return why not, if they cannot
+   */
+  private Optional<String> checkAccess(
+      ReferencedResource resource, AuthenticatedUserRequest userRequest) {
+    long backoffMillis = accessCheckInitialBackoff.toMillis();
+    for (int attempt = 1; ; attempt++) {
+      try {
+        if (resource.checkAccess(flightBeanBag, userRequest)) {
+          return Optional.empty();
+        }
+        return Optional.of(
+            String.format(
+                "Referenced resource %s was not found or you do not have access.",
+                resource.getName()));
+      } catch (RuntimeException e) {
+        if (attempt >= ACCESS_CHECK_ATTEMPTS) {
+          logger.warn("Failed to check access to referenced resource {}", resource.getName(), e);
+          return Optional.of(e.getMessage());
+        }
+        logger.info(
+            "Retrying access check of referenced resource {}: {}",
+            resource.getName(),
+            e.getMessage());
+      }
+      try {
+        TimeUnit.MILLISECONDS.sleep(backoffMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return Optional.of("Interrupted while checking access to " + resource.getName());
+      }
+      backoffMillis *= 2;
+    }
+  }
+
+  private static WsmResourceCloneDetails newCloneDetails(ReferencedResource sourceResource) {
+    final WsmResourceCloneDetails cloneDetails = new WsmResourceCloneDetails();
+    cloneDetails.setResourceType(sourceResource.getResourceType());
+    cloneDetails.setStewardshipType(sourceResource.getStewardshipType());
+    cloneDetails.setCloningInstructions(sourceResource.getCloningInstructions());
+    cloneDetails.setSourceResourceId(sourceResource.getResourceId());
+    cloneDetails.setName(sourceResource.getName());
+    cloneDetails.setDescription(sourceResource.getDescription());
+    return cloneDetails;
+  }
+}
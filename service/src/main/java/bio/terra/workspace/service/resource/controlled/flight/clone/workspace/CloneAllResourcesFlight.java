@@ -2,17 +2,33 @@ package bio.terra.workspace.service.resource.controlled.flight.clone.workspace;
 
 import bio.terra.stairway.Flight;
 import bio.terra.stairway.FlightMap;
+import bio.terra.stairway.Step;
 import bio.terra.workspace.common.utils.FlightBeanBag;
 import bio.terra.workspace.common.utils.RetryRules;
+import bio.terra.workspace.service.resource.model.StewardshipType;
+import bio.terra.workspace.service.resource.referenced.ReferencedResource;
 import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * This flight uses a dynamic list of steps depending on ControlledResourceKeys.RESOURCES_TO_CLONE
  * in the input parameters list. Each resource type requires a different subflight to be launched.
+ *
+ * <p>Sub-flights run concurrently, up to ControlledResourceKeys.MAX_CONCURRENT_REFERENCE_CLONES
+ * referenced and ControlledResourceKeys.MAX_CONCURRENT_CONTROLLED_CLONES controlled resources at
+ * once. The first sub-flights of both kinds are launched together; after that, each await step is
+ * followed by the launch of the next resource of its kind, so each kind clones through a sliding
+ * window. Each await step records its own resource's result.
+ *
+ * <p>With ControlledResourceKeys.BATCH_REFERENCE_CLONES, referenced resources are instead all
+ * cloned by one {@link CloneAllReferencesStep}, while the first controlled sub-flights run.
  */
 public class CloneAllResourcesFlight extends Flight {
 
@@ -24,65 +40,167 @@ public class CloneAllResourcesFlight extends Flight {
 
     final List<ResourceWithFlightId> resourcesAndIds =
         inputParameters.get(ControlledResourceKeys.RESOURCES_TO_CLONE, new TypeReference<>() {});
+    final Integer referenceWidth =
+        inputParameters.get(ControlledResourceKeys.MAX_CONCURRENT_REFERENCE_CLONES, Integer.class);
+    final Integer controlledWidth =
+        inputParameters.get(ControlledResourceKeys.MAX_CONCURRENT_CONTROLLED_CLONES, Integer.class);
+    final boolean batchReferenceClones =
+        Boolean.TRUE.equals(
+            inputParameters.get(ControlledResourceKeys.BATCH_REFERENCE_CLONES, Boolean.class));
 
-    // Each entry in the list corresponds to a new step in this flight
+    if (referenceWidth == null || controlledWidth == null) {
+      // Flights launched without widths clone one resource at a time, in the step layout they were
+      // launched with, so that they still line up with their steps when recovered.
+      for (ResourceWithFlightId resourceWithFlightId : resourcesAndIds) {
+        buildCloneSteps(resourceWithFlightId, flightBeanBag)
+            .ifPresent(
+                cloneSteps -> {
+                  addLaunchStep(cloneSteps);
+                  addAwaitStep(cloneSteps);
+                });
+      }
+      return;
+    }
+
+    final List<ReferencedResource> batchedReferences = new ArrayList<>();
+    final List<CloneSteps> referenceClones = new ArrayList<>();
+    final List<CloneSteps> controlledClones = new ArrayList<>();
     for (ResourceWithFlightId resourceWithFlightId : resourcesAndIds) {
-      addFlightLaunchStepsForResource(resourceWithFlightId, flightBeanBag);
+      if (batchReferenceClones
+          && StewardshipType.REFERENCED
+              == resourceWithFlightId.getResource().getStewardshipType()) {
+        batchedReferences.add(resourceWithFlightId.getResource().castToReferencedResource());
+        continue;
+      }
+      buildCloneSteps(resourceWithFlightId, flightBeanBag)
+          .ifPresent(
+              cloneSteps ->
+                  (StewardshipType.REFERENCED
+                              == resourceWithFlightId.getResource().getStewardshipType()
+                          ? referenceClones
+                          : controlledClones)
+                      .add(cloneSteps));
+    }
+    for (PlannedStep<CloneSteps> plannedStep :
+        planSteps(
+            referenceClones,
+            referenceWidth,
+            controlledClones,
+            controlledWidth,
+            !batchedReferences.isEmpty())) {
+      switch (plannedStep.kind) {
+        case LAUNCH:
+          addLaunchStep(plannedStep.clone);
+          break;
+        case AWAIT:
+          addAwaitStep(plannedStep.clone);
+          break;
+        case CLONE_BATCHED_REFERENCES:
+          addStep(
+              new CloneAllReferencesStep(flightBeanBag, batchedReferences),
+              RetryRules.shortExponential());
+          break;
+      }
+    }
+  }
+
+  /**
+   * Lay out the steps cloning resources through sliding windows: the first sub-flights of both
+   * kinds are launched, then the batched references are cloned if there are any, then each kind's
+   * clones are awaited in turn, each await followed by the launch of the next clone beyond its
+   * window. At most {@code width} clones of a kind have running sub-flights at once.
+   */
+  @VisibleForTesting
+  static <T> List<PlannedStep<T>> planSteps(
+      List<T> referenceClones,
+      int referenceWidth,
+      List<T> controlledClones,
+      int controlledWidth,
+      boolean cloneBatchedReferences) {
+    final int referenceWindow = Math.max(1, referenceWidth);
+    final int controlledWindow = Math.max(1, controlledWidth);
+    final List<PlannedStep<T>> plan = new ArrayList<>();
+    planFirstLaunches(plan, referenceClones, referenceWindow);
+    planFirstLaunches(plan, controlledClones, controlledWindow);
+    if (cloneBatchedReferences) {
+      plan.add(new PlannedStep<>(PlannedStep.Kind.CLONE_BATCHED_REFERENCES, null));
+    }
+    planSlidingWindow(plan, referenceClones, referenceWindow);
+    planSlidingWindow(plan, controlledClones, controlledWindow);
+    return plan;
+  }
+
+  /** Launch the sub-flights of the first {@code window} clones. */
+  private static <T> void planFirstLaunches(List<PlannedStep<T>> plan, List<T> clones, int window) {
+    for (int i = 0; i < Math.min(window, clones.size()); i++) {
+      plan.add(new PlannedStep<>(PlannedStep.Kind.LAUNCH, clones.get(i)));
+    }
+  }
+
+  /** Await each clone in turn, launching the next clone beyond the window as each finishes. */
+  private static <T> void planSlidingWindow(List<PlannedStep<T>> plan, List<T> clones, int window) {
+    for (int i = 0; i < clones.size(); i++) {
+      plan.add(new PlannedStep<>(PlannedStep.Kind.AWAIT, clones.get(i)));
+      if (i + window < clones.size()) {
+        plan.add(new PlannedStep<>(PlannedStep.Kind.LAUNCH, clones.get(i + window)));
+      }
     }
   }
 
-  private void addFlightLaunchStepsForResource(
+  private void addLaunchStep(CloneSteps cloneSteps) {
+    addStep(cloneSteps.launchStep);
+  }
+
+  private void addAwaitStep(CloneSteps cloneSteps) {
+    addStep(cloneSteps.awaitStep, RetryRules.cloudLongRunning());
+  }
+
+  private Optional<CloneSteps> buildCloneSteps(
       ResourceWithFlightId resourceWithFlightId, FlightBeanBag flightBeanBag) {
     switch (resourceWithFlightId.getResource().getStewardshipType()) {
       case REFERENCED:
-        addStep(
-            new LaunchCreateReferenceResourceFlightStep(
-                flightBeanBag.getReferencedResourceService(),
-                resourceWithFlightId.getResource().castToReferencedResource(),
-                resourceWithFlightId.getFlightId()));
-        addStep(
-            new AwaitCreateReferenceResourceFlightStep(
-                resourceWithFlightId.getResource().castToReferencedResource(),
-                resourceWithFlightId.getFlightId(),
-                flightBeanBag.getResourceDao()),
-            RetryRules.cloudLongRunning());
-        break;
+        return Optional.of(
+            new CloneSteps(
+                new LaunchCreateReferenceResourceFlightStep(
+                    flightBeanBag.getReferencedResourceService(),
+                    resourceWithFlightId.getResource().castToReferencedResource(),
+                    resourceWithFlightId.getFlightId()),
+                new AwaitCreateReferenceResourceFlightStep(
+                    resourceWithFlightId.getResource().castToReferencedResource(),
+                    resourceWithFlightId.getFlightId(),
+                    flightBeanBag.getResourceDao())));
       case CONTROLLED:
         switch (resourceWithFlightId.getResource().getResourceType()) {
           case GCS_BUCKET:
-            addStep(
-                new LaunchCloneGcsBucketResourceFlightStep(
-                    resourceWithFlightId
-                        .getResource()
-                        .castToControlledResource()
-                        .castToGcsBucketResource(),
-                    resourceWithFlightId.getFlightId()));
-            addStep(
-                new AwaitCloneGcsBucketResourceFlightStep(
-                    resourceWithFlightId
-                        .getResource()
-                        .castToControlledResource()
-                        .castToGcsBucketResource(),
-                    resourceWithFlightId.getFlightId()),
-                RetryRules.cloudLongRunning());
-            break;
+            return Optional.of(
+                new CloneSteps(
+                    new LaunchCloneGcsBucketResourceFlightStep(
+                        resourceWithFlightId
+                            .getResource()
+                            .castToControlledResource()
+                            .castToGcsBucketResource(),
+                        resourceWithFlightId.getFlightId()),
+                    new AwaitCloneGcsBucketResourceFlightStep(
+                        resourceWithFlightId
+                            .getResource()
+                            .castToControlledResource()
+                            .castToGcsBucketResource(),
+                        resourceWithFlightId.getFlightId())));
           case BIG_QUERY_DATASET:
-            addStep(
-                new LaunchCloneControlledGcpBigQueryDatasetResourceFlightStep(
-                    resourceWithFlightId
-                        .getResource()
-                        .castToControlledResource()
-                        .castToBigQueryDatasetResource(),
-                    resourceWithFlightId.getFlightId()));
-            addStep(
-                new AwaitCloneControlledGcpBigQueryDatasetResourceFlightStep(
-                    resourceWithFlightId
-                        .getResource()
-                        .castToControlledResource()
-                        .castToBigQueryDatasetResource(),
-                    resourceWithFlightId.getFlightId()),
-                RetryRules.cloudLongRunning());
-            break;
+            return Optional.of(
+                new CloneSteps(
+                    new LaunchCloneControlledGcpBigQueryDatasetResourceFlightStep(
+                        resourceWithFlightId
+                            .getResource()
+                            .castToControlledResource()
+                            .castToBigQueryDatasetResource(),
+                        resourceWithFlightId.getFlightId()),
+                    new AwaitCloneControlledGcpBigQueryDatasetResourceFlightStep(
+                        resourceWithFlightId
+                            .getResource()
+                            .castToControlledResource()
+                            .castToBigQueryDatasetResource(),
+                        resourceWithFlightId.getFlightId())));
           case DATA_REPO_SNAPSHOT:
           case AI_NOTEBOOK_INSTANCE:
           default:
@@ -90,14 +208,48 @@ public class CloneAllResourcesFlight extends Flight {
             logger.error(
                 "Unsupported controlled resource type {}",
                 resourceWithFlightId.getResource().getResourceType());
-            break;
+            return Optional.empty();
         }
-        break;
       default:
         logger.error(
             "Unsupported stewardship type {}",
             resourceWithFlightId.getResource().getStewardshipType());
-        break;
+        return Optional.empty();
+    }
+  }
+
+  /** One step of the layout made by {@link #planSteps}. */
+  @VisibleForTesting
+  static class PlannedStep<T> {
+    enum Kind {
+      LAUNCH,
+      AWAIT,
+      CLONE_BATCHED_REFERENCES
+    }
+
+    private final Kind kind;
+    /** The clone launched or awaited; null when cloning the batched references. */
+    @Nullable private final T clone;
+
+    private PlannedStep(Kind kind, @Nullable T clone) {
+      this.kind = kind;
+      this.clone = clone;
+    }
+
+    @Override
+    public String toString() {
+      return clone == null ? kind.name() : kind.name() + " " + clone;
+    }
+  }
+
+  /** The steps launching and awaiting the sub-flight cloning one resource. */
+  private static class CloneSteps {
+    private final Step launchStep;
+    private final Step awaitStep;
+
+    private CloneSteps(Step launchStep, Step awaitStep) {
+      this.launchStep = launchStep;
+      this.awaitStep = awaitStep;
     }
   }
 }
@@ -32,7 +32,9 @@ public class CloneGcpWorkspaceFlight extends Flight {
         RetryRules.cloud());
     addStep(new AwaitCreateGcpContextFlightStep(), RetryRules.cloudLongRunning());
 
-    addStep(new LaunchCloneAllResourcesFlightStep(), RetryRules.cloud());
+    addStep(
+        new LaunchCloneAllResourcesFlightStep(flightBeanBag.getWorkspaceCloneConfiguration()),
+        RetryRules.cloud());
     addStep(new AwaitCloneAllResourcesFlightStep(), RetryRules.cloudLongRunning());
   }
 }
@@ -6,11 +6,7 @@ import bio.terra.stairway.StepResult;
 import bio.terra.stairway.exception.RetryException;
 import bio.terra.workspace.common.utils.FlightUtils;
 import bio.terra.workspace.db.ResourceDao;
-import bio.terra.workspace.service.resource.WsmResource;
-import bio.terra.workspace.service.resource.WsmResourceType;
-import bio.terra.workspace.service.resource.model.StewardshipType;
 import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -33,18 +29,10 @@ public class FindResourcesToCloneStep implements Step {
         context.getInputParameters(), ControlledResourceKeys.SOURCE_WORKSPACE_ID);
     final var sourceWorkspaceId =
         context.getInputParameters().get(ControlledResourceKeys.SOURCE_WORKSPACE_ID, UUID.class);
-    int offset = 0;
-    final int limit = 100;
-    List<WsmResource> batch;
-    final List<ResourceWithFlightId> result = new ArrayList<>();
-    do {
-      batch = resourceDao.enumerateResources(sourceWorkspaceId, null, null, offset, limit);
-      offset += limit;
-      final List<WsmResource> cloneableResources =
-          batch.stream().filter(FindResourcesToCloneStep::isCloneable).collect(Collectors.toList());
-      cloneableResources.forEach(
-          r -> result.add(new ResourceWithFlightId(r, context.getStairway().createFlightId())));
-    } while (batch.size() == limit);
+    final List<ResourceWithFlightId> result =
+        WorkspaceCloneUtils.listCloneableResources(resourceDao, sourceWorkspaceId).stream()
+            .map(r -> new ResourceWithFlightId(r, context.getStairway().createFlightId()))
+            .collect(Collectors.toList());
     context.getWorkingMap().put(ControlledResourceKeys.RESOURCES_TO_CLONE, result);
 
     FlightUtils.validateRequiredEntries(
@@ -57,11 +45,4 @@ public class FindResourcesToCloneStep implements Step {
   public StepResult undoStep(FlightContext context) throws InterruptedException {
     return StepResult.getStepResultSuccess();
   }
-
-  private static boolean isCloneable(WsmResource resource) {
-    return StewardshipType.REFERENCED == resource.getStewardshipType()
-        || (StewardshipType.CONTROLLED == resource.getStewardshipType()
-            && (WsmResourceType.GCS_BUCKET == resource.getResourceType()
-                || WsmResourceType.BIG_QUERY_DATASET == resource.getResourceType()));
-  }
 }
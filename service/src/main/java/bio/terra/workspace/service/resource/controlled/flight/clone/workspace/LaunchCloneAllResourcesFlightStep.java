@@ -11,6 +11,7 @@ import bio.terra.stairway.StepStatus;
 import bio.terra.stairway.exception.DuplicateFlightIdException;
 import bio.terra.stairway.exception.RetryException;
 import bio.terra.stairway.exception.StairwayException;
+import bio.terra.workspace.app.configuration.external.WorkspaceCloneConfiguration;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import bio.terra.workspace.service.job.JobMapKeys;
 import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
@@ -24,6 +25,12 @@ import javax.annotation.Nullable;
  * Input Parameters: ControlledResourceKeys.CLONE_ALL_RESOURCES_FLIGHT_ID
  */
 public class LaunchCloneAllResourcesFlightStep implements Step {
+  private final WorkspaceCloneConfiguration workspaceCloneConfiguration;
+
+  public LaunchCloneAllResourcesFlightStep(
+      WorkspaceCloneConfiguration workspaceCloneConfiguration) {
+    this.workspaceCloneConfiguration = workspaceCloneConfiguration;
+  }
 
   @Override
   public StepResult doStep(FlightContext context) throws InterruptedException, RetryException {
@@ -60,6 +67,20 @@ public class LaunchCloneAllResourcesFlightStep implements Step {
     subflightInputParameters.put(
         ControlledResourceKeys.DESTINATION_WORKSPACE_ID, destinationWorkspaceId);
     subflightInputParameters.put(ControlledResourceKeys.LOCATION, location);
+    subflightInputParameters.put(
+        ControlledResourceKeys.TABLE_CLONES,
+        context.getInputParameters().get(ControlledResourceKeys.TABLE_CLONES, Boolean.class));
+    subflightInputParameters.put(JobMapKeys.PARENT_JOB_ID.getKeyName(), context.getFlightId());
+    // Fix the clone settings for the life of the flight, which lays out its steps from them.
+    subflightInputParameters.put(
+        ControlledResourceKeys.MAX_CONCURRENT_REFERENCE_CLONES,
+        workspaceCloneConfiguration.getMaxConcurrentReferenceClones());
+    subflightInputParameters.put(
+        ControlledResourceKeys.MAX_CONCURRENT_CONTROLLED_CLONES,
+        workspaceCloneConfiguration.getMaxConcurrentControlledClones());
+    subflightInputParameters.put(
+        ControlledResourceKeys.BATCH_REFERENCE_CLONES,
+        workspaceCloneConfiguration.isBatchReferenceClones());
 
     // Build a CloneAllResourcesFlight
     try {
@@ -59,7 +59,12 @@ public class LaunchCloneControlledGcpBigQueryDatasetResourceFlightStep implement
     subflightInputParameters.put(
         ControlledResourceKeys.CLONING_INSTRUCTIONS, resource.getCloningInstructions());
     subflightInputParameters.put(JobMapKeys.REQUEST.getKeyName(), resource);
-    subflightInputParameters.put(ControlledResourceKeys.LOCATION, location);
+    subflightInputParameters.put(
+        ControlledResourceKeys.TABLE_CLONES,
+        context.getInputParameters().get(ControlledResourceKeys.TABLE_CLONES, Boolean.class));
+    subflightInputParameters.put(
+        JobMapKeys.PARENT_JOB_ID.getKeyName(),
+        context.getInputParameters().get(JobMapKeys.PARENT_JOB_ID.getKeyName(), String.class));
     // launch the flight
     try {
       context
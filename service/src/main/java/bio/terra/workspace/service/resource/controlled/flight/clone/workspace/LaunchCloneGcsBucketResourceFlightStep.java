@@ -59,6 +59,9 @@ public class LaunchCloneGcsBucketResourceFlightStep implements Step {
     subflightInputParameters.put(JobMapKeys.REQUEST.getKeyName(), resource);
     subflightInputParameters.put(
         ControlledResourceKeys.CLONING_INSTRUCTIONS, resource.getCloningInstructions());
+    subflightInputParameters.put(
+        JobMapKeys.PARENT_JOB_ID.getKeyName(),
+        context.getInputParameters().get(JobMapKeys.PARENT_JOB_ID.getKeyName(), String.class));
 
     // submit flight
     try {
@@ -59,11 +59,6 @@ public class LaunchCreateReferenceResourceFlightStep implements Step {
     final ReferencedResource destinationResource =
         WorkspaceCloneUtils.buildDestinationReferencedResource(
             resource, destinationWorkspaceId, null, description);
-    // put the destination resource in the map, because it's not communicated
-    // from the flight as the response (and we need the workspace ID)
-    context
-        .getWorkingMap()
-        .put(ControlledResourceKeys.DESTINATION_REFERENCED_RESOURCE, destinationResource);
 
     final FlightMap subflightInputParameters = new FlightMap();
     subflightInputParameters.put(JobMapKeys.REQUEST.getKeyName(), destinationResource);
@@ -81,8 +76,6 @@ public class LaunchCreateReferenceResourceFlightStep implements Step {
       // already submitted the flight - treat as success
       return StepResult.getStepResultSuccess();
     }
-    FlightUtils.validateRequiredEntries(
-        context.getWorkingMap(), ControlledResourceKeys.DESTINATION_REFERENCED_RESOURCE);
     return StepResult.getStepResultSuccess();
   }
 
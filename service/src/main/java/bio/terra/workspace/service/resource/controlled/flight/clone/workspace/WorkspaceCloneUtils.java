@@ -2,21 +2,77 @@ package bio.terra.workspace.service.resource.controlled.flight.clone.workspace;
 
 import bio.terra.common.exception.BadRequestException;
 import bio.terra.stairway.FlightStatus;
+import bio.terra.workspace.db.ResourceDao;
+import bio.terra.workspace.generated.model.ApiResourceCloneDetails;
 import bio.terra.workspace.service.resource.WsmResource;
+import bio.terra.workspace.service.resource.WsmResourceType;
 import bio.terra.workspace.service.resource.model.CloningInstructions;
+import bio.terra.workspace.service.resource.model.StewardshipType;
 import bio.terra.workspace.service.resource.referenced.ReferencedBigQueryDatasetResource;
 import bio.terra.workspace.service.resource.referenced.ReferencedDataRepoSnapshotResource;
 import bio.terra.workspace.service.resource.referenced.ReferencedGcsBucketResource;
 import bio.terra.workspace.service.resource.referenced.ReferencedResource;
 import bio.terra.workspace.service.workspace.model.WsmCloneResourceResult;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import javax.annotation.Nullable;
 
 public class WorkspaceCloneUtils {
 
+  private static final int RESOURCE_PAGE_SIZE = 100;
+
   private WorkspaceCloneUtils() {}
 
+  /** List the resources of the workspace that a workspace clone clones, in enumeration order. */
+  public static List<WsmResource> listCloneableResources(
+      ResourceDao resourceDao, UUID sourceWorkspaceId) {
+    List<WsmResource> batch;
+    final List<WsmResource> result = new ArrayList<>();
+    String afterName = null;
+    UUID afterResourceId = null;
+    do {
+      batch =
+          resourceDao.enumerateResourcesAfter(
+              sourceWorkspaceId, null, null, afterName, afterResourceId, RESOURCE_PAGE_SIZE);
+      if (!batch.isEmpty()) {
+        WsmResource last = batch.get(batch.size() - 1);
+        afterName = last.getName();
+        afterResourceId = last.getResourceId();
+      }
+      batch.stream().filter(WorkspaceCloneUtils::isCloneable).forEach(result::add);
+    } while (batch.size() == RESOURCE_PAGE_SIZE);
+    return result;
+  }
+
+  private static boolean isCloneable(WsmResource resource) {
+    return StewardshipType.REFERENCED == resource.getStewardshipType()
+        || (StewardshipType.CONTROLLED == resource.getStewardshipType()
+            && (WsmResourceType.GCS_BUCKET == resource.getResourceType()
+                || WsmResourceType.BIG_QUERY_DATASET == resource.getResourceType()));
+  }
+
+  /**
+   * Start the progress report of a resource clone running as part of a workspace clone. The
+   * workspace clone's job reports each resource's progress in the form of its entry in the job's
+   * result; the caller adds the progress of the copy.
+   *
+   * @param source resource being cloned
+   * @param destinationResourceId ID of the clone, if already known
+   */
+  public static ApiResourceCloneDetails resourceCloneProgress(
+      WsmResource source, @Nullable UUID destinationResourceId) {
+    return new ApiResourceCloneDetails()
+        .cloningInstructions(source.getCloningInstructions().toApiModel())
+        .resourceType(source.getResourceType().toApiModel())
+        .stewardshipType(source.getStewardshipType().toApiModel())
+        .sourceResourceId(source.getResourceId())
+        .destinationResourceId(destinationResourceId)
+        .name(source.getName())
+        .description(source.getDescription());
+  }
+
   public static WsmCloneResourceResult flightStatusToCloneResult(
       FlightStatus subflightStatus, WsmResource resource) {
     switch (subflightStatus) {
@@ -45,6 +101,20 @@ public class WorkspaceCloneUtils {
       UUID destinationWorkspaceId,
       String name,
       String description) {
+    return buildDestinationReferencedResource(
+        sourceReferencedResource, destinationWorkspaceId, UUID.randomUUID(), name, description);
+  }
+
+  /**
+   * Build the clone of a reference with the given resource ID, for callers that must build the
+   * same clone again when retried.
+   */
+  public static ReferencedResource buildDestinationReferencedResource(
+      ReferencedResource sourceReferencedResource,
+      UUID destinationWorkspaceId,
+      UUID destinationResourceId,
+      String name,
+      String description) {
     final ReferencedResource destinationResource;
     switch (sourceReferencedResource.getResourceType()) {
       case GCS_BUCKET:
@@ -52,6 +122,7 @@ public class WorkspaceCloneUtils {
             buildDestinationGcsBucketReference(
                 sourceReferencedResource.castToGcsBucketResource(),
                 destinationWorkspaceId,
+                destinationResourceId,
                 name,
                 description);
         break;
@@ -60,6 +131,7 @@ public class WorkspaceCloneUtils {
             buildDestinationDataRepoSnapshotReference(
                 sourceReferencedResource.castToDataRepoSnapshotResource(),
                 destinationWorkspaceId,
+                destinationResourceId,
                 name,
                 description);
         break;
@@ -68,6 +140,7 @@ public class WorkspaceCloneUtils {
             buildDestinationBigQueryDatasetReference(
                 sourceReferencedResource.castToBigQueryDatasetResource(),
                 destinationWorkspaceId,
+                destinationResourceId,
                 name,
                 description);
         break;
@@ -87,6 +160,7 @@ public class WorkspaceCloneUtils {
    *
    * @param sourceBucketResource - original resource to be cloned
    * @param destinationWorkspaceId - workspace ID for new reference
+   * @param destinationResourceId - resource ID for new reference
    * @param name - resource name for cloned reference. Will use original name if this is null.
    * @param description - resource description for cloned reference. Uses original if left null.
    * @return
@@ -94,13 +168,14 @@ public class WorkspaceCloneUtils {
   private static ReferencedResource buildDestinationGcsBucketReference(
       ReferencedGcsBucketResource sourceBucketResource,
       UUID destinationWorkspaceId,
+      UUID destinationResourceId,
       @Nullable String name,
       @Nullable String description) {
 
     final ReferencedGcsBucketResource.Builder resultBuilder =
         sourceBucketResource.toBuilder()
             .workspaceId(destinationWorkspaceId)
-            .resourceId(UUID.randomUUID());
+            .resourceId(destinationResourceId);
     // apply optional override variables
     Optional.ofNullable(name).ifPresent(resultBuilder::name);
     Optional.ofNullable(description).ifPresent(resultBuilder::description);
@@ -110,13 +185,14 @@ public class WorkspaceCloneUtils {
   private static ReferencedResource buildDestinationBigQueryDatasetReference(
       ReferencedBigQueryDatasetResource sourceBigQueryResource,
       UUID destinationWorkspaceId,
+      UUID destinationResourceId,
       @Nullable String name,
       @Nullable String description) {
     // keep projectId and dataset name the same since they are for the referent
     final ReferencedBigQueryDatasetResource.Builder resultBuilder =
         sourceBigQueryResource.toBuilder()
             .workspaceId(destinationWorkspaceId)
-            .resourceId(UUID.randomUUID());
+            .resourceId(destinationResourceId);
     Optional.ofNullable(name).ifPresent(resultBuilder::name);
     Optional.ofNullable(description).ifPresent(resultBuilder::description);
     return resultBuilder.build();
@@ -125,12 +201,13 @@ public class WorkspaceCloneUtils {
   private static ReferencedResource buildDestinationDataRepoSnapshotReference(
       ReferencedDataRepoSnapshotResource sourceReferencedDataRepoSnapshotResource,
       UUID destinationWorkspaceId,
+      UUID destinationResourceId,
       @Nullable String name,
       @Nullable String description) {
     final ReferencedDataRepoSnapshotResource.Builder resultBuilder =
         sourceReferencedDataRepoSnapshotResource.toBuilder()
             .workspaceId(destinationWorkspaceId)
-            .resourceId(UUID.randomUUID());
+            .resourceId(destinationResourceId);
     Optional.ofNullable(name).ifPresent(resultBuilder::name);
     Optional.ofNullable(description).ifPresent(resultBuilder::description);
     return resultBuilder.build();
@@ -4,10 +4,12 @@ import bio.terra.stairway.Flight;
 import bio.terra.stairway.FlightMap;
 import bio.terra.stairway.RetryRule;
 import bio.terra.workspace.common.utils.FlightBeanBag;
+import bio.terra.workspace.common.utils.ParallelStepGroup;
 import bio.terra.workspace.common.utils.RetryRules;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import bio.terra.workspace.service.iam.model.ControlledResourceIamRole;
 import bio.terra.workspace.service.job.JobMapKeys;
+import bio.terra.workspace.service.resource.WsmResourceType;
 import bio.terra.workspace.service.resource.controlled.AccessScopeType;
 import bio.terra.workspace.service.resource.controlled.ControlledAiNotebookInstanceResource;
 import bio.terra.workspace.service.resource.controlled.ControlledResource;
@@ -45,31 +47,45 @@ public class CreateControlledResourceFlight extends Flight {
     // store the resource metadata in the WSM database
     addStep(new StoreMetadataStep(flightBeanBag.getResourceDao()));
 
+    // The Sam resource, the Sam group lookups and, for buckets, the cloud resource itself do not
+    // depend on each other, so they are created concurrently.
+    ParallelStepGroup samSetup = new ParallelStepGroup(flightBeanBag);
     // create the Sam resource associated with the resource
-    addStep(
-        new CreateSamResourceStep(
-            flightBeanBag.getSamService(), resource, privateResourceIamRoles, userRequest));
-
-    // get google group names for workspace roles from Sam and store them in the working map
-    addStep(
-        new SyncSamGroupsStep(
-            flightBeanBag.getSamService(), resource.getWorkspaceId(), userRequest));
+    ParallelStepGroup.Branch samResourceBranch =
+        samSetup
+            .newBranch()
+            .addStep(
+                new CreateSamResourceStep(
+                    flightBeanBag.getSamService(), resource, privateResourceIamRoles, userRequest));
     // get google group names for resource policies from Sam. These are only used for individual
     // access (i.e. private resource users and applications). This step should also run for
     // application-managed resources once those are supported.
     if (resource.getAccessScope() == AccessScopeType.ACCESS_SCOPE_PRIVATE) {
-      addStep(new SyncResourceSamGroupsStep(flightBeanBag.getSamService(), resource, userRequest));
+      samResourceBranch.addStep(
+          new SyncResourceSamGroupsStep(flightBeanBag.getSamService(), resource, userRequest));
     }
+    // get google group names for workspace roles from Sam and store them in the working map
+    samSetup
+        .newBranch()
+        .addStep(
+            new SyncSamGroupsStep(
+                flightBeanBag.getSamService(), resource.getWorkspaceId(), userRequest));
+    if (resource.getResourceType() == WsmResourceType.GCS_BUCKET) {
+      // TODO(PF-589): apply gcpRetryRule to this step once it is idempotent.
+      samSetup
+          .newBranch()
+          .addStep(
+              new CreateGcsBucketStep(
+                  flightBeanBag.getCrlService(),
+                  resource.castToGcsBucketResource(),
+                  flightBeanBag.getWorkspaceService()));
+    }
+    addStep(samSetup);
 
     // create the cloud resource and grant IAM roles via CRL
     switch (resource.getResourceType()) {
       case GCS_BUCKET:
-        // TODO(PF-589): apply gcpRetryRule to these steps once they are idempotent.
-        addStep(
-            new CreateGcsBucketStep(
-                flightBeanBag.getCrlService(),
-                resource.castToGcsBucketResource(),
-                flightBeanBag.getWorkspaceService()));
+        // TODO(PF-589): apply gcpRetryRule to this step once it is idempotent.
         addStep(
             new GcsBucketCloudSyncStep(
                 flightBeanBag.getCrlService(),
@@ -126,7 +142,10 @@ public class CreateControlledResourceFlight extends Flight {
         gcpRetryRule);
     addStep(
         new CreateAiNotebookInstanceStep(
-            flightBeanBag.getCrlService(), resource, flightBeanBag.getWorkspaceService()),
+            flightBeanBag.getCrlService(),
+            resource,
+            flightBeanBag.getWorkspaceService(),
+            flightBeanBag.getFlightResumer()),
         gcpRetryRule);
     addStep(
         new NotebookCloudSyncStep(
@@ -23,7 +23,7 @@ public class StoreMetadataStep implements Step {
     final ControlledResource resource =
         inputMap.get(JobMapKeys.REQUEST.getKeyName(), ControlledResource.class);
 
-    resourceDao.createControlledResource(resource);
+    resourceDao.createControlledResource(resource, flightContext.getFlightId());
     return StepResult.getStepResultSuccess();
   }
 
@@ -1,10 +1,10 @@
 package bio.terra.workspace.service.resource.controlled.flight.create;
 
 import bio.terra.stairway.FlightContext;
-import bio.terra.stairway.FlightMap;
 import bio.terra.stairway.Step;
 import bio.terra.stairway.StepResult;
 import bio.terra.stairway.exception.RetryException;
+import bio.terra.workspace.common.utils.ParallelStepGroup;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import bio.terra.workspace.service.iam.SamService;
 import bio.terra.workspace.service.iam.model.ControlledResourceIamRole;
@@ -47,8 +47,9 @@ public class SyncResourceSamGroupsStep implements Step {
         samService.syncPrivateResourcePolicy(
             resource, ControlledResourceIamRole.READER, userRequest));
 
-    FlightMap workingMap = flightContext.getWorkingMap();
-    workingMap.put(ControlledResourceKeys.IAM_RESOURCE_GROUP_EMAIL_MAP, resourceRoleGroupMap);
+    // This step may run in a parallel step group.
+    ParallelStepGroup.putWorkingValue(
+        flightContext, ControlledResourceKeys.IAM_RESOURCE_GROUP_EMAIL_MAP, resourceRoleGroupMap);
 
     return StepResult.getStepResultSuccess();
   }
@@ -1,12 +1,13 @@
 package bio.terra.workspace.service.resource.controlled.flight.create.notebook;
 
 import static bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys.CREATE_NOTEBOOK_NETWORK_NAME;
+import static bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys.CREATE_NOTEBOOK_OPERATION_NAME;
 import static bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys.CREATE_NOTEBOOK_PARAMETERS;
 import static bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys.CREATE_NOTEBOOK_REGION;
 import static bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys.CREATE_NOTEBOOK_SERVICE_ACCOUNT_ID;
 import static bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys.CREATE_NOTEBOOK_SUBNETWORK_NAME;
+import static bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys.UNDO_CREATE_NOTEBOOK_OPERATION_NAME;
 
-import bio.terra.cloudres.google.api.services.common.OperationCow;
 import bio.terra.cloudres.google.iam.ServiceAccountName;
 import bio.terra.cloudres.google.notebooks.AIPlatformNotebooksCow;
 import bio.terra.cloudres.google.notebooks.InstanceName;
@@ -23,6 +24,7 @@ import bio.terra.workspace.generated.model.ApiGcpAiNotebookInstanceContainerImag
 import bio.terra.workspace.generated.model.ApiGcpAiNotebookInstanceCreationParameters;
 import bio.terra.workspace.generated.model.ApiGcpAiNotebookInstanceVmImage;
 import bio.terra.workspace.service.crl.CrlService;
+import bio.terra.workspace.service.job.FlightResumer;
 import bio.terra.workspace.service.resource.controlled.ControlledAiNotebookInstanceResource;
 import bio.terra.workspace.service.workspace.WorkspaceService;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
@@ -53,35 +55,39 @@ public class CreateAiNotebookInstanceStep implements Step {
   // git secrets gets a false positive if 'service_account' is double quoted.
   private static final String PROXY_MODE_SA_VALUE = "service_" + "account";
 
+  private static final Duration POLL_INTERVAL = Duration.ofSeconds(20);
+  private static final Duration TIMEOUT = Duration.ofMinutes(12);
+
   private final Logger logger = LoggerFactory.getLogger(CreateAiNotebookInstanceStep.class);
   private final CrlService crlService;
   private final ControlledAiNotebookInstanceResource resource;
   private final WorkspaceService workspaceService;
+  private final FlightResumer flightResumer;
 
   public CreateAiNotebookInstanceStep(
       CrlService crlService,
       ControlledAiNotebookInstanceResource resource,
-      WorkspaceService workspaceService) {
+      WorkspaceService workspaceService,
+      FlightResumer flightResumer) {
     this.crlService = crlService;
     this.resource = resource;
     this.workspaceService = workspaceService;
+    this.flightResumer = flightResumer;
   }
 
   @Override
   public StepResult doStep(FlightContext flightContext)
       throws InterruptedException, RetryException {
-    String projectId = workspaceService.getRequiredGcpProject(resource.getWorkspaceId());
-    InstanceName instanceName = resource.toInstanceName(projectId);
-    Instance instance = createInstanceModel(flightContext, projectId);
-
     AIPlatformNotebooksCow notebooks = crlService.getAIPlatformNotebooksCow();
-    try {
-      OperationCow<Operation> creationOperation;
+    FlightMap workingMap = flightContext.getWorkingMap();
+    String operationName = workingMap.get(CREATE_NOTEBOOK_OPERATION_NAME, String.class);
+    if (operationName == null) {
+      // First run of the step, or a retry: start creating the instance.
+      String projectId = workspaceService.getRequiredGcpProject(resource.getWorkspaceId());
+      InstanceName instanceName = resource.toInstanceName(projectId);
+      Instance instance = createInstanceModel(flightContext, projectId);
       try {
-        creationOperation =
-            notebooks
-                .operations()
-                .operationCow(notebooks.instances().create(instanceName, instance).execute());
+        operationName = notebooks.instances().create(instanceName, instance).execute().getName();
       } catch (GoogleJsonResponseException e) {
         // If the instance already exists, this step must have already run successfully. Otherwise
         // retry.
@@ -93,13 +99,18 @@ public class CreateAiNotebookInstanceStep implements Step {
           return new StepResult(StepStatus.STEP_RESULT_FAILURE_FATAL, e);
         }
         return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
+      } catch (IOException e) {
+        return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
       }
-
-      GcpUtils.pollUntilSuccess(creationOperation, Duration.ofSeconds(20), Duration.ofMinutes(12));
-    } catch (IOException e) {
-      return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
+      workingMap.put(CREATE_NOTEBOOK_OPERATION_NAME, operationName);
     }
-    return StepResult.getStepResultSuccess();
+    return GcpUtils.awaitOperation(
+        flightResumer,
+        flightContext,
+        CREATE_NOTEBOOK_OPERATION_NAME,
+        notebooks.operations().operationCow(new Operation().setName(operationName)),
+        POLL_INTERVAL,
+        TIMEOUT);
   }
 
   private static Instance createInstanceModel(FlightContext flightContext, String projectId) {
@@ -181,17 +192,14 @@ public class CreateAiNotebookInstanceStep implements Step {
 
   @Override
   public StepResult undoStep(FlightContext flightContext) throws InterruptedException {
-    String projectId = workspaceService.getRequiredGcpProject(resource.getWorkspaceId());
-    InstanceName instanceName = resource.toInstanceName(projectId);
-
     AIPlatformNotebooksCow notebooks = crlService.getAIPlatformNotebooksCow();
-    try {
-      OperationCow<Operation> deletionOperation;
+    FlightMap workingMap = flightContext.getWorkingMap();
+    String operationName = workingMap.get(UNDO_CREATE_NOTEBOOK_OPERATION_NAME, String.class);
+    if (operationName == null) {
+      String projectId = workspaceService.getRequiredGcpProject(resource.getWorkspaceId());
+      InstanceName instanceName = resource.toInstanceName(projectId);
       try {
-        deletionOperation =
-            notebooks
-                .operations()
-                .operationCow(notebooks.instances().delete(instanceName).execute());
+        operationName = notebooks.instances().delete(instanceName).execute().getName();
       } catch (GoogleJsonResponseException e) {
         // The AI notebook instance may never have been created or have already been deleted.
         if (e.getStatusCode() == HttpStatus.NOT_FOUND.value()) {
@@ -199,11 +207,17 @@ public class CreateAiNotebookInstanceStep implements Step {
           return StepResult.getStepResultSuccess();
         }
         return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
+      } catch (IOException e) {
+        return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
       }
-      GcpUtils.pollUntilSuccess(deletionOperation, Duration.ofSeconds(20), Duration.ofMinutes(12));
-    } catch (IOException | RetryException e) {
-      return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
+      workingMap.put(UNDO_CREATE_NOTEBOOK_OPERATION_NAME, operationName);
     }
-    return StepResult.getStepResultSuccess();
+    return GcpUtils.awaitOperation(
+        flightResumer,
+        flightContext,
+        UNDO_CREATE_NOTEBOOK_OPERATION_NAME,
+        notebooks.operations().operationCow(new Operation().setName(operationName)),
+        POLL_INTERVAL,
+        TIMEOUT);
   }
 }
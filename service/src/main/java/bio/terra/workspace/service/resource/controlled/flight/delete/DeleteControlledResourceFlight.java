@@ -65,6 +65,7 @@ public class DeleteControlledResourceFlight extends Flight {
                 flightBeanBag.getCrlService(),
                 flightBeanBag.getResourceDao(),
                 flightBeanBag.getWorkspaceService(),
+                flightBeanBag.getFlightResumer(),
                 workspaceId,
                 resourceId));
         break;
@@ -87,7 +88,8 @@ public class DeleteControlledResourceFlight extends Flight {
             new DeleteAiNotebookInstanceStep(
                 resource.castToAiNotebookInstanceResource(),
                 flightBeanBag.getCrlService(),
-                flightBeanBag.getWorkspaceService()),
+                flightBeanBag.getWorkspaceService(),
+                flightBeanBag.getFlightResumer()),
             gcpRetryRule);
         addStep(
             new DeleteServiceAccountStep(
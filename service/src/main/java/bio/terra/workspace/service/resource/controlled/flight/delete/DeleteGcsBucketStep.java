@@ -1,5 +1,7 @@
 package bio.terra.workspace.service.resource.controlled.flight.delete;
 
+import static bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys.DELETE_BUCKET_WAIT;
+
 import bio.terra.cloudres.google.storage.BucketCow;
 import bio.terra.cloudres.google.storage.StorageCow;
 import bio.terra.stairway.FlightContext;
@@ -7,6 +9,7 @@ import bio.terra.stairway.Step;
 import bio.terra.stairway.StepResult;
 import bio.terra.workspace.db.ResourceDao;
 import bio.terra.workspace.service.crl.CrlService;
+import bio.terra.workspace.service.job.FlightResumer;
 import bio.terra.workspace.service.resource.WsmResource;
 import bio.terra.workspace.service.resource.controlled.ControlledGcsBucketResource;
 import bio.terra.workspace.service.resource.controlled.exception.BucketDeleteTimeoutException;
@@ -14,27 +17,27 @@ import bio.terra.workspace.service.workspace.WorkspaceService;
 import com.google.cloud.storage.BucketInfo;
 import com.google.cloud.storage.StorageException;
 import com.google.common.collect.ImmutableList;
+import java.time.Duration;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * A step for deleting a controlled GCS bucket resource. This step uses the following process to
  * actually delete the bucket: a. Set the lifecycle on the bucket to delete immediately b. Try
- * deleting the bucket c. If delete succeeds, finish step d. If delete fails, sleep one hour; goto
- * (either a or b; maybe a for belts and suspenders)
+ * deleting the bucket c. If delete succeeds, finish step d. If delete fails, yield the flight for
+ * one hour and run the step again from a.
  *
  * <p>As this may take hours to days to complete, this step should never run as part of a
- * synchronous flight.
+ * synchronous flight. While waiting, the flight does not hold a Stairway thread.
  */
-// TODO: when Stairway implements timed waits, we can use those and not sit on a thread sleeping
-//  for three days.
 public class DeleteGcsBucketStep implements Step {
-  private static final int MAX_DELETE_TRIES = 72; // 3 days
+  private static final Duration DELETE_INTERVAL = Duration.ofHours(1);
+  private static final Duration DELETE_TIMEOUT = Duration.ofDays(3);
   private final CrlService crlService;
   private final ResourceDao resourceDao;
   private final WorkspaceService workspaceService;
+  private final FlightResumer flightResumer;
   private final UUID workspaceId;
   private final UUID resourceId;
 
@@ -44,18 +47,19 @@ public class DeleteGcsBucketStep implements Step {
       CrlService crlService,
       ResourceDao resourceDao,
       WorkspaceService workspaceService,
+      FlightResumer flightResumer,
       UUID workspaceId,
       UUID resourceId) {
     this.crlService = crlService;
     this.resourceDao = resourceDao;
     this.workspaceService = workspaceService;
+    this.flightResumer = flightResumer;
     this.workspaceId = workspaceId;
     this.resourceId = resourceId;
   }
 
   @Override
   public StepResult doStep(FlightContext flightContext) throws InterruptedException {
-    int deleteTries = 0;
     String projectId = workspaceService.getRequiredGcpProject(workspaceId);
     WsmResource wsmResource = resourceDao.getResource(workspaceId, resourceId);
     ControlledGcsBucketResource resource =
@@ -63,33 +67,29 @@ public class DeleteGcsBucketStep implements Step {
     final StorageCow storageCow = crlService.createStorageCow(projectId);
     BucketCow bucket = storageCow.get(resource.getBucketName());
 
-    boolean bucketExists = true;
-    while (bucketExists) {
-      // We always replace the lifecycle rules. This covers the case where the step is rerun
-      // and covers the case where the rules are changed out of band of this operation.
-      BucketCow bucketCow =
-          bucket.toBuilder()
-              .setLifecycleRules(
-                  ImmutableList.of(
-                      new BucketInfo.LifecycleRule(
-                          BucketInfo.LifecycleRule.LifecycleAction.newDeleteAction(),
-                          BucketInfo.LifecycleRule.LifecycleCondition.newBuilder()
-                              .setAge(0)
-                              .build())))
-              .build();
-      bucket = bucketCow.update();
-      bucketExists = tryBucketDelete(bucket);
-      if (bucketExists) {
-        TimeUnit.HOURS.sleep(1);
-      }
-      deleteTries++;
-      if (deleteTries >= MAX_DELETE_TRIES) {
-        // This will cause the flight to fail.
-        throw new BucketDeleteTimeoutException(
-            String.format("Failed to delete bucket after %d tries", MAX_DELETE_TRIES));
-      }
+    // We always replace the lifecycle rules. This covers the case where the step is rerun
+    // and covers the case where the rules are changed out of band of this operation.
+    BucketCow bucketCow =
+        bucket.toBuilder()
+            .setLifecycleRules(
+                ImmutableList.of(
+                    new BucketInfo.LifecycleRule(
+                        BucketInfo.LifecycleRule.LifecycleAction.newDeleteAction(),
+                        BucketInfo.LifecycleRule.LifecycleCondition.newBuilder()
+                            .setAge(0)
+                            .build())))
+            .build();
+    bucket = bucketCow.update();
+    if (!tryBucketDelete(bucket)) {
+      flightResumer.endWait(flightContext, DELETE_BUCKET_WAIT);
+      return StepResult.getStepResultSuccess();
+    }
+    if (flightResumer.waitedLongerThan(flightContext, DELETE_BUCKET_WAIT, DELETE_TIMEOUT)) {
+      // This will cause the flight to fail.
+      throw new BucketDeleteTimeoutException(
+          String.format("Failed to delete bucket after %s", DELETE_TIMEOUT));
     }
-    return StepResult.getStepResultSuccess();
+    return flightResumer.waitAndRerun(flightContext, DELETE_BUCKET_WAIT, DELETE_INTERVAL);
   }
 
   /**
@@ -1,14 +1,18 @@
 package bio.terra.workspace.service.resource.controlled.flight.delete.notebook;
 
+import static bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys.DELETE_NOTEBOOK_OPERATION_NAME;
+
 import bio.terra.cloudres.google.notebooks.AIPlatformNotebooksCow;
 import bio.terra.cloudres.google.notebooks.InstanceName;
 import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightMap;
 import bio.terra.stairway.Step;
 import bio.terra.stairway.StepResult;
 import bio.terra.stairway.StepStatus;
 import bio.terra.stairway.exception.RetryException;
 import bio.terra.workspace.common.utils.GcpUtils;
 import bio.terra.workspace.service.crl.CrlService;
+import bio.terra.workspace.service.job.FlightResumer;
 import bio.terra.workspace.service.resource.controlled.ControlledAiNotebookInstanceResource;
 import bio.terra.workspace.service.workspace.WorkspaceService;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
@@ -22,41 +26,56 @@ import org.slf4j.LoggerFactory;
 
 /** A step for deleting a controlled AI Platform notebook instance. */
 public class DeleteAiNotebookInstanceStep implements Step {
+  private static final Duration POLL_INTERVAL = Duration.ofSeconds(20);
+  private static final Duration TIMEOUT = Duration.ofMinutes(10);
+
   private final Logger logger = LoggerFactory.getLogger(DeleteAiNotebookInstanceStep.class);
 
   private final ControlledAiNotebookInstanceResource resource;
   private final CrlService crlService;
   private final WorkspaceService workspaceService;
+  private final FlightResumer flightResumer;
 
   public DeleteAiNotebookInstanceStep(
       ControlledAiNotebookInstanceResource resource,
       CrlService crlService,
-      WorkspaceService workspaceService) {
+      WorkspaceService workspaceService,
+      FlightResumer flightResumer) {
     this.resource = resource;
     this.crlService = crlService;
     this.workspaceService = workspaceService;
+    this.flightResumer = flightResumer;
   }
 
   @Override
   public StepResult doStep(FlightContext flightContext)
       throws InterruptedException, RetryException {
-    String projectId = workspaceService.getRequiredGcpProject(resource.getWorkspaceId());
-    InstanceName instanceName = resource.toInstanceName(projectId);
     AIPlatformNotebooksCow notebooks = crlService.getAIPlatformNotebooksCow();
-    try {
-      Optional<Operation> rawOperation = deleteIfFound(instanceName, notebooks);
+    FlightMap workingMap = flightContext.getWorkingMap();
+    String operationName = workingMap.get(DELETE_NOTEBOOK_OPERATION_NAME, String.class);
+    if (operationName == null) {
+      String projectId = workspaceService.getRequiredGcpProject(resource.getWorkspaceId());
+      InstanceName instanceName = resource.toInstanceName(projectId);
+      Optional<Operation> rawOperation;
+      try {
+        rawOperation = deleteIfFound(instanceName, notebooks);
+      } catch (IOException e) {
+        return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
+      }
       if (rawOperation.isEmpty()) {
         logger.info("Notebook instance {} already deleted", instanceName.formatName());
         return StepResult.getStepResultSuccess();
       }
-      GcpUtils.pollUntilSuccess(
-          notebooks.operations().operationCow(rawOperation.get()),
-          Duration.ofSeconds(20),
-          Duration.ofMinutes(10));
-    } catch (IOException e) {
-      return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
+      operationName = rawOperation.get().getName();
+      workingMap.put(DELETE_NOTEBOOK_OPERATION_NAME, operationName);
     }
-    return StepResult.getStepResultSuccess();
+    return GcpUtils.awaitOperation(
+        flightResumer,
+        flightContext,
+        DELETE_NOTEBOOK_OPERATION_NAME,
+        notebooks.operations().operationCow(new Operation().setName(operationName)),
+        POLL_INTERVAL,
+        TIMEOUT);
   }
 
   /**
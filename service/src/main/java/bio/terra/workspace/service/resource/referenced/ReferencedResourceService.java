@@ -14,6 +14,7 @@ import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys;
 import io.opencensus.contrib.spring.aop.Traced;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -40,6 +41,31 @@ public class ReferencedResourceService {
   @Traced
   public ReferencedResource createReferenceResource(
       ReferencedResource resource, AuthenticatedUserRequest userRequest) {
+    UUID resourceIdResult =
+        createReferenceResourceJob(resource, userRequest).submitAndWait(UUID.class);
+    validateCreatedResourceId(resource, resourceIdResult);
+    return getReferenceResource(resource.getWorkspaceId(), resourceIdResult, userRequest);
+  }
+
+  /**
+   * Create a reference as {@link #createReferenceResource}, returning a future completed with the
+   * created reference when its job is finished. The reference is read back with the caller's access
+   * checked, as in the blocking create.
+   */
+  @Traced
+  public CompletableFuture<ReferencedResource> createReferenceResourceDeferred(
+      ReferencedResource resource, AuthenticatedUserRequest userRequest) {
+    return createReferenceResourceJob(resource, userRequest)
+        .submitAndWatch(UUID.class)
+        .thenApply(
+            resourceIdResult -> {
+              validateCreatedResourceId(resource, resourceIdResult);
+              return getReferenceResource(resource.getWorkspaceId(), resourceIdResult, userRequest);
+            });
+  }
+
+  private JobBuilder createReferenceResourceJob(
+      ReferencedResource resource, AuthenticatedUserRequest userRequest) {
     workspaceService.validateWorkspaceAndAction(
         userRequest, resource.getWorkspaceId(), SamConstants.SAM_CREATE_REFERENCED_RESOURCE);
     resource.validate();
@@ -52,24 +78,22 @@ public class ReferencedResourceService {
     // The reason for separately passing in the ResourceType is to retrieve the class for this
     // particular request. In the flight, when we get the request object from the input parameters,
     // we can supply the right target class.
-    JobBuilder createJob =
-        jobService
-            .newJob(
-                jobDescription,
-                UUID.randomUUID().toString(),
-                CreateReferenceResourceFlight.class,
-                resource,
-                userRequest)
-            .addParameter(
-                WorkspaceFlightMapKeys.ResourceKeys.RESOURCE_TYPE,
-                resource.getResourceType().name());
-
-    UUID resourceIdResult = createJob.submitAndWait(UUID.class);
-    if (!resourceIdResult.equals(resource.getResourceId())) {
+    return jobService
+        .newJob(
+            jobDescription,
+            UUID.randomUUID().toString(),
+            CreateReferenceResourceFlight.class,
+            resource,
+            userRequest)
+        .addParameter(
+            WorkspaceFlightMapKeys.ResourceKeys.RESOURCE_TYPE, resource.getResourceType().name())
+        .addParameter(WorkspaceFlightMapKeys.WORKSPACE_ID, resource.getWorkspaceId().toString());
+  }
+
+  private static void validateCreatedResourceId(ReferencedResource resource, UUID resourceId) {
+    if (!resourceId.equals(resource.getResourceId())) {
       throw new InvalidMetadataException("Input and output resource ids do not match");
     }
-
-    return getReferenceResource(resource.getWorkspaceId(), resourceIdResult, userRequest);
   }
 
   /**
@@ -26,7 +26,7 @@ public class CreateReferenceMetadataStep implements Step {
   public StepResult doStep(FlightContext flightContext)
       throws RetryException, InterruptedException {
     ReferencedResource referenceResource = getReferenceResource(flightContext);
-    resourceDao.createReferenceResource(referenceResource);
+    resourceDao.createReferenceResource(referenceResource, flightContext.getFlightId());
     FlightUtils.setResponse(flightContext, referenceResource.getResourceId(), HttpStatus.OK);
     return StepResult.getStepResultSuccess();
   }
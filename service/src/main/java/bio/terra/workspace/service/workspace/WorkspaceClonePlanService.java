@@ -0,0 +1,629 @@
+package bio.terra.workspace.service.workspace;
+
+import bio.terra.workspace.app.configuration.external.WorkspaceCloneConfiguration;
+import bio.terra.workspace.db.ResourceDao;
+import bio.terra.workspace.service.crl.CrlService;
+import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
+import bio.terra.workspace.service.iam.model.SamConstants;
+import bio.terra.workspace.service.resource.WsmResource;
+import bio.terra.workspace.service.resource.WsmResourceType;
+import bio.terra.workspace.service.resource.controlled.ControlledBigQueryDatasetResource;
+import bio.terra.workspace.service.resource.controlled.flight.clone.dataset.CreateTableCopyJobsStep;
+import bio.terra.workspace.service.resource.controlled.flight.clone.workspace.WorkspaceCloneUtils;
+import bio.terra.workspace.service.resource.model.CloningInstructions;
+import bio.terra.workspace.service.resource.model.StewardshipType;
+import bio.terra.workspace.service.stage.StageService;
+import bio.terra.workspace.service.workspace.model.Workspace;
+import bio.terra.workspace.service.workspace.model.WsmResourceClonePlan;
+import bio.terra.workspace.service.workspace.model.WsmWorkspaceClonePlan;
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.services.bigquery.Bigquery;
+import com.google.api.services.bigquery.model.Table;
+import com.google.api.services.bigquery.model.TableList;
+import com.google.api.services.bigquery.model.TableList.Tables;
+import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.Storage.BlobField;
+import com.google.cloud.storage.Storage.BlobListOption;
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dry run of a workspace clone: measure what cloning each of the workspace's resources would copy,
+ * and project how long the clone would take. Nothing is created.
+ *
+ * <p>Buckets are measured by listing their objects, one directory level at a time, each directory
+ * as a separate shard, so that large buckets are listed in parallel however deep their objects
+ * are. A bucket's listing stops after workspace.clone.plan-max-listed-objects objects, so that a
+ * plan takes bounded time; the rest of the bucket is then extrapolated. Datasets are measured from
+ * their tables' metadata, including which tables the clone would clone rather than copy. All
+ * listing runs on the shared clonePlanExecutor, and stops at the plan's deadline,
+ * workspace.clone.plan-timeout, leaving estimates for whatever was not fully listed by then.
+ */
+@Component
+public class WorkspaceClonePlanService {
+  private static final Logger logger = LoggerFactory.getLogger(WorkspaceClonePlanService.class);
+
+  /** Time to create a controlled resource's definition in the destination workspace. */
+  private static final Duration CONTROLLED_RESOURCE_OVERHEAD = Duration.ofSeconds(30);
+  /** Time for the Storage Transfer Service to start copying a bucket's objects. */
+  private static final Duration TRANSFER_STARTUP = Duration.ofMinutes(1);
+
+  private static final long TABLE_PAGE_SIZE = 100;
+
+  private final CrlService crlService;
+  private final ResourceDao resourceDao;
+  private final StageService stageService;
+  private final WorkspaceCloneConfiguration cloneConfiguration;
+  private final WorkspaceService workspaceService;
+  private final ExecutorService listingExecutor;
+
+  @Autowired
+  public WorkspaceClonePlanService(
+      CrlService crlService,
+      ResourceDao resourceDao,
+      StageService stageService,
+      WorkspaceCloneConfiguration cloneConfiguration,
+      WorkspaceService workspaceService,
+      @Qualifier("clonePlanExecutor") ExecutorService listingExecutor) {
+    this.crlService = crlService;
+    this.resourceDao = resourceDao;
+    this.stageService = stageService;
+    this.cloneConfiguration = cloneConfiguration;
+    this.workspaceService = workspaceService;
+    this.listingExecutor = listingExecutor;
+  }
+
+  /**
+   * Plan the clone of a workspace. A resource whose contents can't be measured is still planned,
+   * with an error message saying why.
+   *
+   * @param sourceWorkspaceId - ID of the workspace to clone
+   * @param location - location the clone would use for cloud resources; null for their own
+   * @param tableClones - whether the clone would ask for BigQuery table clones
+   * @param userRequest - auth info; the user must be able to read the workspace
+   * @return what the clone would copy and its projected duration
+   */
+  public WsmWorkspaceClonePlan planWorkspaceClone(
+      UUID sourceWorkspaceId,
+      @Nullable String location,
+      boolean tableClones,
+      AuthenticatedUserRequest userRequest) {
+    final Workspace sourceWorkspace =
+        workspaceService.validateWorkspaceAndAction(
+            userRequest, sourceWorkspaceId, SamConstants.SAM_WORKSPACE_READ_ACTION);
+    stageService.assertMcWorkspace(sourceWorkspace, "planCloneGcpWorkspace");
+
+    final List<WsmResourceClonePlan> resourcePlans = new ArrayList<>();
+    final Map<WsmResource, WsmResourceClonePlan> plansToMeasure = new HashMap<>();
+    for (WsmResource resource :
+        WorkspaceCloneUtils.listCloneableResources(resourceDao, sourceWorkspaceId)) {
+      final WsmResourceClonePlan plan = newPlan(resource);
+      resourcePlans.add(plan);
+      if (StewardshipType.CONTROLLED == resource.getStewardshipType()
+          && CloningInstructions.COPY_RESOURCE == resource.getCloningInstructions()) {
+        plansToMeasure.put(resource, plan);
+      }
+    }
+    if (!plansToMeasure.isEmpty()) {
+      measure(sourceWorkspaceId, location, tableClones, plansToMeasure, userRequest);
+    }
+
+    resourcePlans.forEach(
+        plan -> plan.setProjectedDuration(projectResourceDuration(plan, cloneConfiguration)));
+    final WsmWorkspaceClonePlan workspacePlan = new WsmWorkspaceClonePlan();
+    workspacePlan.setSourceWorkspaceId(sourceWorkspaceId);
+    workspacePlan.setResources(resourcePlans);
+    workspacePlan.setProjectedDuration(
+        projectCloneDuration(
+            resourcePlans.stream()
+                .filter(plan -> StewardshipType.CONTROLLED == plan.getStewardshipType())
+                .map(WsmResourceClonePlan::getProjectedDuration)
+                .collect(Collectors.toList()),
+            cloneConfiguration.getMaxConcurrentControlledClones()));
+    return workspacePlan;
+  }
+
+  /**
+   * Measure the contents of the resources, in parallel, filling in their plans. Measuring stops at
+   * the plan deadline, workspace.clone.plan-timeout; resources not measured by then are planned
+   * from what was listed so far, with their counts marked as estimated.
+   */
+  private void measure(
+      UUID sourceWorkspaceId,
+      @Nullable String location,
+      boolean tableClones,
+      Map<WsmResource, WsmResourceClonePlan> plansToMeasure,
+      AuthenticatedUserRequest userRequest) {
+    final long deadlineNanos = System.nanoTime() + cloneConfiguration.getPlanTimeout().toNanos();
+    final String projectId = workspaceService.getRequiredGcpProject(sourceWorkspaceId);
+    final Storage storage = crlService.createNakedStorageClient(userRequest);
+    // TODO(jaycarlton): PF-942 implement needed endpoints in CRL and use them here
+    final Bigquery bigQuery = crlService.createNakedBigQueryClient(userRequest);
+    final boolean tableClonesEnabled = tableClones && cloneConfiguration.isBigQueryTableClones();
+
+    final List<Measurement<?>> measurements = new ArrayList<>();
+    for (Map.Entry<WsmResource, WsmResourceClonePlan> entry : plansToMeasure.entrySet()) {
+      final WsmResource resource = entry.getKey();
+      final WsmResourceClonePlan plan = entry.getValue();
+      if (WsmResourceType.GCS_BUCKET == resource.getResourceType()) {
+        final String bucketName =
+            resource.castToControlledResource().castToGcsBucketResource().getBucketName();
+        measurements.add(
+            new BucketMeasurement(
+                plan,
+                new BucketListing(
+                    storage,
+                    bucketName,
+                    cloneConfiguration.getPlanMaxListedObjects(),
+                    listingExecutor)));
+      } else if (WsmResourceType.BIG_QUERY_DATASET == resource.getResourceType()) {
+        final ControlledBigQueryDatasetResource dataset =
+            resource.castToControlledResource().castToBigQueryDatasetResource();
+        measurements.add(
+            new DatasetMeasurement(
+                plan,
+                new DatasetListing(
+                    bigQuery,
+                    projectId,
+                    dataset.getDatasetName(),
+                    tableClonesEnabled,
+                    location,
+                    listingExecutor)));
+      }
+    }
+    for (Measurement<?> measurement : measurements) {
+      measurement.awaitAndRecord(deadlineNanos);
+    }
+  }
+
+  private static void recordFailure(WsmResourceClonePlan plan, Throwable e) {
+    final Throwable cause =
+        e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    logger.warn("Failed to measure resource {} for clone plan", plan.getResourceId(), cause);
+    plan.setErrorMessage(cause.getMessage());
+  }
+
+  private static WsmResourceClonePlan newPlan(WsmResource resource) {
+    final WsmResourceClonePlan plan = new WsmResourceClonePlan();
+    plan.setResourceId(resource.getResourceId());
+    plan.setName(resource.getName());
+    plan.setResourceType(resource.getResourceType());
+    plan.setStewardshipType(resource.getStewardshipType());
+    plan.setCloningInstructions(resource.getCloningInstructions());
+    return plan;
+  }
+
+  /**
+   * Project how long cloning one resource takes: creating a controlled resource's definition, and
+   * copying its measured contents at the configured rates. References are only database rows, so
+   * they take no time worth projecting. A dataset's tables that would be cloned rather than copied
+   * take about the same time whatever their size, so only the copied bytes count.
+   */
+  @VisibleForTesting
+  static Duration projectResourceDuration(
+      WsmResourceClonePlan plan, WorkspaceCloneConfiguration cloneConfiguration) {
+    if (StewardshipType.CONTROLLED != plan.getStewardshipType()
+        || CloningInstructions.COPY_NOTHING == plan.getCloningInstructions()) {
+      return Duration.ZERO;
+    }
+    if (CloningInstructions.COPY_RESOURCE != plan.getCloningInstructions()) {
+      return CONTROLLED_RESOURCE_OVERHEAD;
+    }
+    switch (plan.getResourceType()) {
+      case GCS_BUCKET:
+        final long transferSeconds =
+            Math.max(
+                secondsAtRate(plan.getBytes(), cloneConfiguration.getPlanTransferBytesPerSecond()),
+                secondsAtRate(
+                    plan.getObjectCount(), cloneConfiguration.getPlanTransferObjectsPerSecond()));
+        return CONTROLLED_RESOURCE_OVERHEAD
+            .plus(TRANSFER_STARTUP)
+            .plusSeconds(transferSeconds);
+      case BIG_QUERY_DATASET:
+        return CONTROLLED_RESOURCE_OVERHEAD.plusSeconds(
+            secondsAtRate(
+                plan.getBytes() - plan.getClonedBytes(),
+                cloneConfiguration.getPlanTableCopyBytesPerSecond()));
+      default:
+        return CONTROLLED_RESOURCE_OVERHEAD;
+    }
+  }
+
+  /**
+   * Project how long cloning the controlled resources takes, when at most {@code maxConcurrent}
+   * clone at once: each resource in turn starts when the earliest running clone finishes.
+   */
+  @VisibleForTesting
+  static Duration projectCloneDuration(List<Duration> resourceDurations, int maxConcurrent) {
+    final PriorityQueue<Duration> runningUntil = new PriorityQueue<>();
+    for (Duration resourceDuration : resourceDurations) {
+      final Duration start =
+          runningUntil.size() < Math.max(1, maxConcurrent) ? Duration.ZERO : runningUntil.poll();
+      runningUntil.add(start.plus(resourceDuration));
+    }
+    return runningUntil.stream().max(Duration::compareTo).orElse(Duration.ZERO);
+  }
+
+  private static long secondsAtRate(long amount, long perSecond) {
+    final long rate = Math.max(1, perSecond);
+    return (amount + rate - 1) / rate;
+  }
+
+  /**
+   * A resource's measurement, listed on the listing executor. Its plan is only written on the
+   * thread planning the clone, once the measurement has finished or the plan deadline has passed.
+   */
+  private abstract static class Measurement<T> {
+    protected final WsmResourceClonePlan plan;
+    private final CompletableFuture<T> future;
+
+    private Measurement(WsmResourceClonePlan plan, CompletableFuture<T> future) {
+      this.plan = plan;
+      this.future = future;
+    }
+
+    /** Record the totals in the plan. */
+    protected abstract void record(T totals);
+
+    /** Stop measuring, and return what was found so far as estimated totals. */
+    protected abstract T stopAndEstimate();
+
+    /** Wait until the deadline for the measurement, then record it or what it found by then. */
+    void awaitAndRecord(long deadlineNanos) {
+      T totals;
+      try {
+        totals = future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+      } catch (TimeoutException e) {
+        logger.info(
+            "Clone plan deadline passed measuring resource {}; using a partial measurement",
+            plan.getResourceId());
+        totals = stopAndEstimate();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        totals = stopAndEstimate();
+      } catch (ExecutionException e) {
+        recordFailure(plan, e.getCause());
+        return;
+      }
+      record(totals);
+    }
+  }
+
+  private static class BucketMeasurement extends Measurement<BucketTotals> {
+    private final BucketListing listing;
+
+    private BucketMeasurement(WsmResourceClonePlan plan, BucketListing listing) {
+      super(plan, listing.list());
+      this.listing = listing;
+    }
+
+    @Override
+    protected void record(BucketTotals totals) {
+      plan.setObjectCount(totals.getObjects());
+      plan.setBytes(totals.getBytes());
+      plan.setCountsEstimated(totals.isEstimated());
+    }
+
+    @Override
+    protected BucketTotals stopAndEstimate() {
+      listing.stop();
+      return listing.totals().asEstimated();
+    }
+  }
+
+  private static class DatasetMeasurement extends Measurement<DatasetTotals> {
+    private final DatasetListing listing;
+
+    private DatasetMeasurement(WsmResourceClonePlan plan, DatasetListing listing) {
+      super(plan, listing.list());
+      this.listing = listing;
+    }
+
+    @Override
+    protected void record(DatasetTotals totals) {
+      plan.setTableCount(totals.tables);
+      plan.setBytes(totals.bytes);
+      plan.setClonedBytes(totals.clonedBytes);
+      plan.setCountsEstimated(totals.estimated);
+    }
+
+    @Override
+    protected DatasetTotals stopAndEstimate() {
+      listing.stop();
+      return listing.totals(true);
+    }
+  }
+
+  /**
+   * Counts a dataset's tables and their bytes, a page of tables at a time. The tables of a page
+   * are fetched in one batch request, for their sizes, and for their types and location, which
+   * decide whether the clone would clone or copy them.
+   */
+  private static class DatasetListing {
+    private final Bigquery bigQuery;
+    private final String projectId;
+    private final String datasetName;
+    private final boolean tableClonesEnabled;
+    @Nullable private final String location;
+    private final Executor executor;
+    private final AtomicLong tables = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong clonedBytes = new AtomicLong();
+    private volatile boolean stopped;
+
+    private DatasetListing(
+        Bigquery bigQuery,
+        String projectId,
+        String datasetName,
+        boolean tableClonesEnabled,
+        @Nullable String location,
+        Executor executor) {
+      this.bigQuery = bigQuery;
+      this.projectId = projectId;
+      this.datasetName = datasetName;
+      this.tableClonesEnabled = tableClonesEnabled;
+      this.location = location;
+      this.executor = executor;
+    }
+
+    CompletableFuture<DatasetTotals> list() {
+      return CompletableFuture.supplyAsync(
+          () -> {
+            try {
+              listTables();
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+            return totals(false);
+          },
+          executor);
+    }
+
+    /** Stop listing once the page being listed is done. */
+    void stop() {
+      stopped = true;
+    }
+
+    DatasetTotals totals(boolean estimated) {
+      return new DatasetTotals(tables.get(), bytes.get(), clonedBytes.get(), estimated);
+    }
+
+    private void listTables() throws IOException {
+      final List<String> errors = new ArrayList<>();
+      String pageToken = null;
+      do {
+        final TableList page =
+            bigQuery
+                .tables()
+                .list(projectId, datasetName)
+                .setMaxResults(TABLE_PAGE_SIZE)
+                .setPageToken(pageToken)
+                .execute();
+        final List<Tables> pageTables = Optional.ofNullable(page.getTables()).orElse(List.of());
+        if (!pageTables.isEmpty()) {
+          final BatchRequest batch = bigQuery.batch();
+          for (Tables table : pageTables) {
+            bigQuery
+                .tables()
+                .get(projectId, datasetName, table.getTableReference().getTableId())
+                .queue(
+                    batch,
+                    new JsonBatchCallback<Table>() {
+                      @Override
+                      public void onSuccess(Table tableGetResponse, HttpHeaders responseHeaders) {
+                        final Long numBytes = tableGetResponse.getNumBytes();
+                        final long tableBytes = null == numBytes ? 0L : numBytes;
+                        tables.incrementAndGet();
+                        bytes.addAndGet(tableBytes);
+                        if (CreateTableCopyJobsStep.shouldCloneTable(
+                            tableClonesEnabled,
+                            tableGetResponse.getLocation(),
+                            location,
+                            tableGetResponse.getType())) {
+                          clonedBytes.addAndGet(tableBytes);
+                        }
+                      }
+
+                      @Override
+                      public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                        errors.add(
+                            String.format(
+                                "Failed to get table %s: %s", table.getId(), error.getMessage()));
+                      }
+                    });
+          }
+          batch.execute();
+          if (!errors.isEmpty()) {
+            throw new IOException(errors.get(0));
+          }
+        }
+        pageToken = page.getNextPageToken();
+      } while (pageToken != null && !stopped);
+    }
+  }
+
+  /** What a dataset holds, as far as a {@link DatasetListing} could tell. */
+  private static class DatasetTotals {
+    private final long tables;
+    private final long bytes;
+    private final long clonedBytes;
+    private final boolean estimated;
+
+    private DatasetTotals(long tables, long bytes, long clonedBytes, boolean estimated) {
+      this.tables = tables;
+      this.bytes = bytes;
+      this.clonedBytes = clonedBytes;
+      this.estimated = estimated;
+    }
+  }
+
+  /**
+   * Lists a bucket's objects, one directory level per task, each directory's subdirectories being
+   * listed by tasks of their own. Listing stops once {@code maxObjects} entries have been listed;
+   * directories that were then not fully listed are assumed to hold as much as the average
+   * directory that was.
+   */
+  @VisibleForTesting
+  static class BucketListing {
+    private final Storage storage;
+    private final String bucketName;
+    private final Executor executor;
+    private final AtomicLong remaining;
+    /** Directories found, including the bucket's top level. */
+    private final AtomicLong directoriesFound = new AtomicLong(1);
+
+    private final AtomicLong directoriesListed = new AtomicLong();
+    private final AtomicLong listedObjects = new AtomicLong();
+    private final AtomicLong listedBytes = new AtomicLong();
+    /** Objects and bytes found directly in the fully listed directories. */
+    private final AtomicLong fullyListedObjects = new AtomicLong();
+
+    private final AtomicLong fullyListedBytes = new AtomicLong();
+
+    BucketListing(Storage storage, String bucketName, long maxObjects, Executor executor) {
+      this.storage = storage;
+      this.bucketName = bucketName;
+      this.executor = executor;
+      this.remaining = new AtomicLong(maxObjects);
+    }
+
+    CompletableFuture<BucketTotals> list() {
+      return listDirectory(null).thenApply(ignored -> totals());
+    }
+
+    /** Stop listing; the directories being listed are then not fully listed. */
+    void stop() {
+      remaining.set(0);
+    }
+
+    private CompletableFuture<Void> listDirectory(@Nullable String prefix) {
+      return CompletableFuture.supplyAsync(() -> listLevel(prefix), executor)
+          .thenCompose(
+              subdirectories ->
+                  CompletableFuture.allOf(
+                      subdirectories.stream()
+                          .map(this::listDirectory)
+                          .toArray(CompletableFuture<?>[]::new)));
+    }
+
+    /**
+     * List the objects directly in one directory, or in the bucket's top level if {@code prefix}
+     * is null.
+     *
+     * @return the directory's subdirectories; they are not listed once the budget is spent
+     */
+    private List<String> listLevel(@Nullable String prefix) {
+      final List<String> subdirectories = new ArrayList<>();
+      if (remaining.get() <= 0) {
+        return subdirectories;
+      }
+      final List<BlobListOption> options = new ArrayList<>();
+      options.add(BlobListOption.currentDirectory());
+      options.add(BlobListOption.fields(BlobField.NAME, BlobField.SIZE));
+      if (prefix != null) {
+        options.add(BlobListOption.prefix(prefix));
+      }
+      long objects = 0;
+      long bytes = 0;
+      boolean fullyListed = true;
+      for (Blob blob :
+          storage.list(bucketName, options.toArray(new BlobListOption[0])).iterateAll()) {
+        if (remaining.getAndDecrement() <= 0) {
+          fullyListed = false;
+          break;
+        }
+        if (blob.isDirectory()) {
+          subdirectories.add(blob.getName());
+        } else {
+          objects++;
+          bytes += Optional.ofNullable(blob.getSize()).orElse(0L);
+        }
+      }
+      directoriesFound.addAndGet(subdirectories.size());
+      listedObjects.addAndGet(objects);
+      listedBytes.addAndGet(bytes);
+      if (fullyListed) {
+        directoriesListed.incrementAndGet();
+        fullyListedObjects.addAndGet(objects);
+        fullyListedBytes.addAndGet(bytes);
+      }
+      return fullyListed ? subdirectories : List.of();
+    }
+
+    /** Totals of what has been listed, extrapolated to the directories that have not been. */
+    BucketTotals totals() {
+      final long unlisted = directoriesFound.get() - directoriesListed.get();
+      if (unlisted == 0) {
+        return new BucketTotals(listedObjects.get(), listedBytes.get(), false);
+      }
+      final long listed = directoriesListed.get();
+      if (listed == 0) {
+        // Nothing to extrapolate from; what was listed is a lower bound.
+        return new BucketTotals(listedObjects.get(), listedBytes.get(), true);
+      }
+      return new BucketTotals(
+          listedObjects.get() + fullyListedObjects.get() * unlisted / listed,
+          listedBytes.get() + fullyListedBytes.get() * unlisted / listed,
+          true);
+    }
+  }
+
+  /** What a bucket holds, as far as a {@link BucketListing} could tell. */
+  @VisibleForTesting
+  static class BucketTotals {
+    private final long objects;
+    private final long bytes;
+    private final boolean estimated;
+
+    private BucketTotals(long objects, long bytes, boolean estimated) {
+      this.objects = objects;
+      this.bytes = bytes;
+      this.estimated = estimated;
+    }
+
+    long getObjects() {
+      return objects;
+    }
+
+    long getBytes() {
+      return bytes;
+    }
+
+    /** Whether the totals are extrapolated from a partial listing. */
+    boolean isEstimated() {
+      return estimated;
+    }
+
+    BucketTotals asEstimated() {
+      return new BucketTotals(objects, bytes, true);
+    }
+  }
+}
@@ -2,11 +2,13 @@ package bio.terra.workspace.service.workspace;
 
 import bio.terra.cloudres.google.iam.ServiceAccountName;
 import bio.terra.workspace.app.configuration.external.BufferServiceConfiguration;
+import bio.terra.workspace.db.CloudContextCache;
 import bio.terra.workspace.db.WorkspaceDao;
 import bio.terra.workspace.service.crl.CrlService;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import bio.terra.workspace.service.iam.SamRethrow;
 import bio.terra.workspace.service.iam.SamService;
+import bio.terra.workspace.service.iam.TokenFingerprint;
 import bio.terra.workspace.service.iam.model.SamConstants;
 import bio.terra.workspace.service.iam.model.WsmIamRole;
 import bio.terra.workspace.service.job.JobBuilder;
@@ -34,6 +36,8 @@ import bio.terra.workspace.service.workspace.model.WorkspaceRequest;
 import com.google.api.services.iam.v1.model.Binding;
 import com.google.api.services.iam.v1.model.Policy;
 import com.google.api.services.iam.v1.model.SetIamPolicyRequest;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.opencensus.contrib.spring.aop.Traced;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -41,6 +45,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -56,6 +62,8 @@ import org.springframework.stereotype.Component;
 @Lazy
 @Component
 public class WorkspaceService {
+  private static final long PAGING_SESSION_MAXIMUM_SIZE = 1000;
+  private static final long PAGING_SESSION_TTL_MINUTES = 5;
 
   private final JobService jobService;
   private final WorkspaceDao workspaceDao;
@@ -64,6 +72,14 @@ public class WorkspaceService {
   private final BufferServiceConfiguration bufferServiceConfiguration;
   private final StageService stageService;
   private final CrlService crlService;
+  private final CloudContextCache cloudContextCache;
+
+  /** Sam workspace IDs of users in the middle of paging through listWorkspacesAfter. */
+  private final Cache<TokenFingerprint, List<UUID>> pagingSessionWorkspaceIds =
+      CacheBuilder.newBuilder()
+          .maximumSize(PAGING_SESSION_MAXIMUM_SIZE)
+          .expireAfterWrite(PAGING_SESSION_TTL_MINUTES, TimeUnit.MINUTES)
+          .build();
 
   @Autowired
   public WorkspaceService(
@@ -73,7 +89,8 @@ public class WorkspaceService {
       SpendProfileService spendProfileService,
       BufferServiceConfiguration bufferServiceConfiguration,
       StageService stageService,
-      CrlService crlService) {
+      CrlService crlService,
+      CloudContextCache cloudContextCache) {
     this.jobService = jobService;
     this.workspaceDao = workspaceDao;
     this.samService = samService;
@@ -81,13 +98,28 @@ public class WorkspaceService {
     this.bufferServiceConfiguration = bufferServiceConfiguration;
     this.stageService = stageService;
     this.crlService = crlService;
+    this.cloudContextCache = cloudContextCache;
   }
 
   /** Create a workspace with the specified parameters. Returns workspaceID of the new workspace. */
   @Traced
   public UUID createWorkspace(
       WorkspaceRequest workspaceRequest, AuthenticatedUserRequest userRequest) {
+    return createWorkspaceJob(workspaceRequest, userRequest).submitAndWait(UUID.class);
+  }
+
+  /**
+   * Create a workspace as {@link #createWorkspace}, returning a future completed with the workspace
+   * ID when its job is finished.
+   */
+  @Traced
+  public CompletableFuture<UUID> createWorkspaceDeferred(
+      WorkspaceRequest workspaceRequest, AuthenticatedUserRequest userRequest) {
+    return createWorkspaceJob(workspaceRequest, userRequest).submitAndWatch(UUID.class);
+  }
 
+  private JobBuilder createWorkspaceJob(
+      WorkspaceRequest workspaceRequest, AuthenticatedUserRequest userRequest) {
     String description = "Create workspace " + workspaceRequest.workspaceId().toString();
     JobBuilder createJob =
         jobService
@@ -111,7 +143,7 @@ public class WorkspaceService {
         WorkspaceFlightMapKeys.DISPLAY_NAME, workspaceRequest.displayName().orElse(""));
     createJob.addParameter(
         WorkspaceFlightMapKeys.DESCRIPTION, workspaceRequest.description().orElse(""));
-    return createJob.submitAndWait(UUID.class);
+    return createJob;
   }
 
   /**
@@ -160,6 +192,34 @@ public class WorkspaceService {
     return workspaceDao.getWorkspacesMatchingList(samWorkspaceIds, offset, limit);
   }
 
+  /**
+   * List a page of the workspaces a user has read access to, in workspace ID order.
+   *
+   * <p>The first page always asks Sam for the user's workspaces. The list is kept briefly so that
+   * requests for following pages, which carry afterWorkspaceId, reuse it instead of asking Sam for
+   * the whole list again. A paging session therefore sees the workspaces the user could read when
+   * it started.
+   *
+   * @param userRequest Authentication object for the caller
+   * @param afterWorkspaceId ID of the last workspace on the previous page, or null for the first
+   *     page
+   * @param limit The maximum number of items to return.
+   */
+  @Traced
+  public List<Workspace> listWorkspacesAfter(
+      AuthenticatedUserRequest userRequest, @Nullable UUID afterWorkspaceId, int limit) {
+    TokenFingerprint user = TokenFingerprint.of(userRequest.getRequiredToken());
+    List<UUID> samWorkspaceIds =
+        afterWorkspaceId == null ? null : pagingSessionWorkspaceIds.getIfPresent(user);
+    if (samWorkspaceIds == null) {
+      samWorkspaceIds =
+          SamRethrow.onInterrupted(
+              () -> samService.listWorkspaceIds(userRequest), "listWorkspaceIds");
+      pagingSessionWorkspaceIds.put(user, samWorkspaceIds);
+    }
+    return workspaceDao.getWorkspacesMatchingListAfter(samWorkspaceIds, afterWorkspaceId, limit);
+  }
+
   /** Retrieves an existing workspace by ID */
   @Traced
   public Workspace getWorkspace(UUID id, AuthenticatedUserRequest userRequest) {
@@ -187,22 +247,30 @@ public class WorkspaceService {
   /** Delete an existing workspace by ID. */
   @Traced
   public void deleteWorkspace(UUID id, AuthenticatedUserRequest userRequest) {
+    deleteWorkspaceJob(id, userRequest).submitAndWait(null);
+  }
+
+  /** Delete an existing workspace by ID, returning a future completed when its job is finished. */
+  @Traced
+  public CompletableFuture<Void> deleteWorkspaceDeferred(
+      UUID id, AuthenticatedUserRequest userRequest) {
+    return deleteWorkspaceJob(id, userRequest).submitAndWatch(Void.class);
+  }
+
+  private JobBuilder deleteWorkspaceJob(UUID id, AuthenticatedUserRequest userRequest) {
     Workspace workspace =
         validateWorkspaceAndAction(userRequest, id, SamConstants.SAM_WORKSPACE_DELETE_ACTION);
 
     String description = "Delete workspace " + id;
-    JobBuilder deleteJob =
-        jobService
-            .newJob(
-                description,
-                UUID.randomUUID().toString(),
-                WorkspaceDeleteFlight.class,
-                null, // Delete does not have a useful request body
-                userRequest)
-            .addParameter(WorkspaceFlightMapKeys.WORKSPACE_ID, id.toString())
-            .addParameter(
-                WorkspaceFlightMapKeys.WORKSPACE_STAGE, workspace.getWorkspaceStage().name());
-    deleteJob.submitAndWait(null);
+    return jobService
+        .newJob(
+            description,
+            UUID.randomUUID().toString(),
+            WorkspaceDeleteFlight.class,
+            null, // Delete does not have a useful request body
+            userRequest)
+        .addParameter(WorkspaceFlightMapKeys.WORKSPACE_ID, id.toString())
+        .addParameter(WorkspaceFlightMapKeys.WORKSPACE_STAGE, workspace.getWorkspaceStage().name());
   }
 
   /**
@@ -267,7 +335,8 @@ public class WorkspaceService {
       String spendProfile,
       @Nullable String location,
       @Nullable String displayName,
-      @Nullable String description) {
+      @Nullable String description,
+      boolean tableClones) {
     final Workspace sourceWorkspace =
         validateWorkspaceAndAction(
             userRequest, sourceWorkspaceId, SamConstants.SAM_WORKSPACE_READ_ACTION);
@@ -288,6 +357,7 @@ public class WorkspaceService {
             ControlledResourceKeys.SOURCE_WORKSPACE_ID,
             sourceWorkspaceId) // TODO: remove this duplication
         .addParameter(ControlledResourceKeys.LOCATION, location)
+        .addParameter(ControlledResourceKeys.TABLE_CLONES, tableClones)
         .submit();
   }
 
@@ -320,13 +390,9 @@ public class WorkspaceService {
    * @return GCP project id
    */
   public String getRequiredGcpProject(UUID workspaceId) {
-    Workspace workspace = workspaceDao.getWorkspace(workspaceId);
-    GcpCloudContext gcpCloudContext =
-        workspace
-            .getGcpCloudContext()
-            .orElseThrow(
-                () -> new CloudContextRequiredException("Operation requires GCP cloud context"));
-    return gcpCloudContext.getGcpProjectId();
+    return getGcpProject(workspaceId)
+        .orElseThrow(
+            () -> new CloudContextRequiredException("Operation requires GCP cloud context"));
   }
 
   /**
@@ -335,10 +401,13 @@ public class WorkspaceService {
    * given workspace does not have a GCP cloud context.
    */
   public Optional<String> getGcpProject(UUID workspaceId) {
-    return workspaceDao
-        .getWorkspace(workspaceId)
-        .getGcpCloudContext()
-        .map(GcpCloudContext::getGcpProjectId);
+    return cloudContextCache.getGcpProjectId(
+        workspaceId,
+        () ->
+            workspaceDao
+                .getWorkspace(workspaceId)
+                .getGcpCloudContext()
+                .map(GcpCloudContext::getGcpProjectId));
   }
 
   /**
@@ -358,8 +427,8 @@ public class WorkspaceService {
             userRequest, workspaceId, SamConstants.SAM_WORKSPACE_WRITE_ACTION);
     stageService.assertMcWorkspace(workspace, "enablePet");
 
-    // getEmailFromToken will always call Sam, which will return a user email even if the requesting
-    // access token belongs to a pet SA.
+    // Without a proxy-supplied email, the token is resolved by Sam, which will return a user email
+    // even if the requesting access token belongs to a pet SA.
     String userEmail =
         SamRethrow.onInterrupted(
             () -> samService.getRequestUserEmail(userRequest), "getRequestUserEmail");
@@ -4,6 +4,7 @@ import bio.terra.stairway.Flight;
 import bio.terra.stairway.FlightMap;
 import bio.terra.stairway.RetryRule;
 import bio.terra.workspace.common.utils.FlightBeanBag;
+import bio.terra.workspace.common.utils.ParallelStepGroup;
 import bio.terra.workspace.common.utils.RetryRules;
 import bio.terra.workspace.service.crl.CrlService;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
@@ -39,10 +40,22 @@ public class CreateGcpContextFlight extends Flight {
 
     RetryRule retryRule = RetryRules.shortExponential();
 
-    addStep(new SetProjectBillingStep(crl.getCloudBillingClientCow()));
-    addStep(new CreateCustomGcpRolesStep(crl.getIamCow()), retryRule);
+    // Billing, custom roles and Sam groups are independent of each other, so set them up at once.
+    ParallelStepGroup projectSetup = new ParallelStepGroup(appContext);
+    projectSetup.newBranch().addStep(new SetProjectBillingStep(crl.getCloudBillingClientCow()));
+    projectSetup
+        .newBranch()
+        .addStep(new CreateCustomGcpRolesStep(crl.getIamCow()), RetryRules.shortExponential());
+    projectSetup
+        .newBranch()
+        .addStep(
+            new SyncSamGroupsStep(appContext.getSamService(), workspaceId, userRequest),
+            RetryRules.shortExponential());
+    addStep(projectSetup);
+
+    // Only store the context once the project is set up, so that it is not visible before then.
     addStep(new StoreGcpContextStep(appContext.getWorkspaceDao(), workspaceId), retryRule);
-    addStep(new SyncSamGroupsStep(appContext.getSamService(), workspaceId, userRequest), retryRule);
+
     addStep(new GcpCloudSyncStep(crl.getCloudResourceManagerCow()), retryRule);
     addStep(new SetGcpContextOutputStep());
   }
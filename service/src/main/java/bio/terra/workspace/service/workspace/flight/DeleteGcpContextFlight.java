@@ -42,7 +42,11 @@ public class DeleteGcpContextFlight extends Flight {
             appContext.getResourceDao(), workspaceId, CLOUD_PLATFORM),
         retryRule);
     addStep(
-        new DeleteProjectStep(appContext.getCrlService(), appContext.getWorkspaceDao()), retryRule);
+        new DeleteProjectStep(
+            appContext.getCrlService(),
+            appContext.getWorkspaceDao(),
+            appContext.getFlightResumer()),
+        retryRule);
     addStep(new DeleteGcpContextStep(appContext.getWorkspaceDao(), workspaceId), retryRule);
   }
 }
@@ -1,7 +1,9 @@
 package bio.terra.workspace.service.workspace.flight;
 
+import bio.terra.cloudres.google.api.services.common.OperationCow;
 import bio.terra.cloudres.google.cloudresourcemanager.CloudResourceManagerCow;
 import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightMap;
 import bio.terra.stairway.Step;
 import bio.terra.stairway.StepResult;
 import bio.terra.stairway.StepStatus;
@@ -9,8 +11,11 @@ import bio.terra.stairway.exception.RetryException;
 import bio.terra.workspace.common.utils.GcpUtils;
 import bio.terra.workspace.db.WorkspaceDao;
 import bio.terra.workspace.service.crl.CrlService;
+import bio.terra.workspace.service.job.FlightResumer;
 import bio.terra.workspace.service.workspace.model.GcpCloudContext;
+import com.google.api.services.cloudresourcemanager.v3.model.Operation;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.UUID;
 import org.slf4j.Logger;
@@ -25,30 +30,52 @@ import org.slf4j.LoggerFactory;
  * <p>Undo always fails for this step.
  */
 public class DeleteProjectStep implements Step {
+  private static final Duration POLL_INTERVAL = Duration.ofSeconds(5);
+  private static final Duration TIMEOUT = Duration.ofMinutes(5);
+
   private final CrlService crl;
   private final WorkspaceDao workspaceDao;
+  private final FlightResumer flightResumer;
   private final Logger logger = LoggerFactory.getLogger(DeleteProjectStep.class);
 
-  public DeleteProjectStep(CrlService crl, WorkspaceDao workspaceDao) {
+  public DeleteProjectStep(CrlService crl, WorkspaceDao workspaceDao, FlightResumer flightResumer) {
     this.crl = crl;
     this.workspaceDao = workspaceDao;
+    this.flightResumer = flightResumer;
   }
 
   @Override
   public StepResult doStep(FlightContext flightContext)
       throws InterruptedException, RetryException {
     Optional<GcpCloudContext> cloudContext = getContext(flightContext);
-    if (cloudContext.isPresent()) {
-      CloudResourceManagerCow resourceManager = crl.getCloudResourceManagerCow();
+    if (cloudContext.isEmpty()) {
+      return StepResult.getStepResultSuccess();
+    }
+    CloudResourceManagerCow resourceManager = crl.getCloudResourceManagerCow();
+    FlightMap workingMap = flightContext.getWorkingMap();
+    String operationName =
+        workingMap.get(WorkspaceFlightMapKeys.DELETE_PROJECT_OPERATION_NAME, String.class);
+    if (operationName == null) {
+      Optional<OperationCow<Operation>> deletion;
       try {
         String projectId = cloudContext.get().getGcpProjectId();
-        GcpUtils.deleteProject(projectId, resourceManager);
+        deletion = GcpUtils.startProjectDeletion(projectId, resourceManager);
       } catch (IOException e) {
         return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY, e);
       }
+      if (deletion.isEmpty()) {
+        return StepResult.getStepResultSuccess();
+      }
+      operationName = deletion.get().getOperationAdapter().getName();
+      workingMap.put(WorkspaceFlightMapKeys.DELETE_PROJECT_OPERATION_NAME, operationName);
     }
-
-    return StepResult.getStepResultSuccess();
+    return GcpUtils.awaitOperation(
+        flightResumer,
+        flightContext,
+        WorkspaceFlightMapKeys.DELETE_PROJECT_OPERATION_NAME,
+        resourceManager.operations().operationCow(new Operation().setName(operationName)),
+        POLL_INTERVAL,
+        TIMEOUT);
   }
 
   @Override
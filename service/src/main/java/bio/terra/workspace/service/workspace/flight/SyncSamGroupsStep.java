@@ -1,10 +1,10 @@
 package bio.terra.workspace.service.workspace.flight;
 
 import bio.terra.stairway.FlightContext;
-import bio.terra.stairway.FlightMap;
 import bio.terra.stairway.Step;
 import bio.terra.stairway.StepResult;
 import bio.terra.stairway.exception.RetryException;
+import bio.terra.workspace.common.utils.ParallelStepGroup;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import bio.terra.workspace.service.iam.SamService;
 import bio.terra.workspace.service.iam.model.WsmIamRole;
@@ -48,8 +48,9 @@ public class SyncSamGroupsStep implements Step {
         WsmIamRole.READER,
         samService.syncWorkspacePolicy(workspaceId, WsmIamRole.READER, userRequest));
 
-    FlightMap workingMap = flightContext.getWorkingMap();
-    workingMap.put(WorkspaceFlightMapKeys.IAM_GROUP_EMAIL_MAP, workspaceRoleGroupMap);
+    // This step may run in a parallel step group.
+    ParallelStepGroup.putWorkingValue(
+        flightContext, WorkspaceFlightMapKeys.IAM_GROUP_EMAIL_MAP, workspaceRoleGroupMap);
 
     return StepResult.getStepResultSuccess();
   }
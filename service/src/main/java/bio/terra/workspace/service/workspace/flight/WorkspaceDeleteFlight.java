@@ -46,7 +46,11 @@ public class WorkspaceDeleteFlight extends Flight {
             userRequest),
         retryRule);
     addStep(
-        new DeleteProjectStep(appContext.getCrlService(), appContext.getWorkspaceDao()), retryRule);
+        new DeleteProjectStep(
+            appContext.getCrlService(),
+            appContext.getWorkspaceDao(),
+            appContext.getFlightResumer()),
+        retryRule);
     // Workspace authz is handled differently depending on whether WSM owns the underlying Sam
     // resource or not, as indicated by the workspace stage enum.
     switch (workspaceStage) {
@@ -12,6 +12,7 @@ public final class WorkspaceFlightMapKeys {
   public static final String DESCRIPTION = "descriptionId";
   public static final String USER_TO_REMOVE = "userToRemove";
   public static final String ROLE_TO_REMOVE = "roleToRemove";
+  public static final String DELETE_PROJECT_OPERATION_NAME = "deleteProjectOperationName";
 
   private WorkspaceFlightMapKeys() {}
 
@@ -37,15 +38,23 @@ public final class WorkspaceFlightMapKeys {
 
     // Notebooks keys
     public static final String CREATE_NOTEBOOK_NETWORK_NAME = "createNotebookNetworkName";
+    public static final String CREATE_NOTEBOOK_OPERATION_NAME = "createNotebookOperationName";
     public static final String CREATE_NOTEBOOK_PARAMETERS = "createNotebookParameters";
     public static final String CREATE_NOTEBOOK_REGION = "createNotebookRegion";
     public static final String CREATE_NOTEBOOK_SERVICE_ACCOUNT_ID =
         "createNotebookServiceAccountId";
     public static final String CREATE_NOTEBOOK_SUBNETWORK_NAME = "createNotebookSubnetworkName";
+    public static final String DELETE_NOTEBOOK_OPERATION_NAME = "deleteNotebookOperationName";
     public static final String DELETE_NOTEBOOK_SERVICE_ACCOUNT_EMAIL =
         "deleteNotebookServiceAccountEmail";
+    public static final String UNDO_CREATE_NOTEBOOK_OPERATION_NAME =
+        "undoCreateNotebookOperationName";
+
+    // Bucket deletion keys
+    public static final String DELETE_BUCKET_WAIT = "deleteBucketWait";
 
     // Cloning Keys
+    public static final String BATCH_REFERENCE_CLONES = "batchReferenceClones";
     public static final String CLONE_ALL_RESOURCES_FLIGHT_ID = "cloneAllResourcesFlightId";
     public static final String CLONE_DEFINITION_RESULT = "cloneDefinitionResult";
     public static final String CLONED_RESOURCE_DEFINITION = "clonedResourceDefinition";
@@ -55,15 +64,22 @@ public final class WorkspaceFlightMapKeys {
     public static final String DESTINATION_BUCKET_NAME = "destinationBucketName";
     public static final String DESTINATION_CLONE_INPUTS = "destinationCloneInputs";
     public static final String DESTINATION_DATASET_NAME = "destinationDatasetName";
-    public static final String DESTINATION_REFERENCED_RESOURCE = "destinationReferencedResource";
     public static final String DESTINATION_WORKSPACE_ID = "destinationWorkspaceId";
     public static final String LOCATION = "location";
+    public static final String MAX_CONCURRENT_CONTROLLED_CLONES = "maxConcurrentControlledClones";
+    public static final String MAX_CONCURRENT_REFERENCE_CLONES = "maxConcurrentReferenceClones";
     public static final String RESOURCE_ID_TO_CLONE_RESULT = "resourceIdToCloneResult";
     public static final String RESOURCES_TO_CLONE = "resourcesToClone";
     public static final String SOURCE_CLONE_INPUTS = "sourceCloneInputs";
+    public static final String SOURCE_DATASET_LOCATION = "sourceDatasetLocation";
     public static final String SOURCE_WORKSPACE_ID = "sourceWorkspaceId";
+    public static final String TABLE_CLONES = "tableClones";
     public static final String STORAGE_TRANSFER_JOB_NAME = "storageTransferJobName";
+    public static final String STORAGE_TRANSFER_OPERATION_NAME = "storageTransferOperationName";
     public static final String STORAGE_TRANSFER_SERVICE_SA_EMAIL = "storageTransferServiceSAEmail";
+    public static final String TABLE_COPY_JOBS_WAIT = "tableCopyJobsWait";
+    public static final String TABLE_LIST_PAGE_TOKEN = "tableListPageToken";
+    public static final String TABLE_TO_COPY_STATUS = "tableToCopyStatus";
     public static final String TABLE_TO_JOB_ID_MAP = "tableToJobIdMap";
     public static final String WORKSPACE_CREATE_FLIGHT_ID = "workspaceCreateFlightId";
   }
@@ -0,0 +1,138 @@
+package bio.terra.workspace.service.workspace.model;
+
+import bio.terra.workspace.generated.model.ApiResourceClonePlan;
+import bio.terra.workspace.service.resource.WsmResourceType;
+import bio.terra.workspace.service.resource.model.CloningInstructions;
+import bio.terra.workspace.service.resource.model.StewardshipType;
+import java.time.Duration;
+import java.util.UUID;
+
+/** Internal wrapper type for {@link ApiResourceClonePlan} */
+public class WsmResourceClonePlan {
+  private UUID resourceId;
+  private String name;
+  private WsmResourceType resourceType;
+  private StewardshipType stewardshipType;
+  private CloningInstructions cloningInstructions;
+  private long objectCount;
+  private long tableCount;
+  private long bytes;
+  private long clonedBytes;
+  private boolean countsEstimated;
+  private Duration projectedDuration = Duration.ZERO;
+  private String errorMessage;
+
+  public WsmResourceClonePlan() {}
+
+  public UUID getResourceId() {
+    return resourceId;
+  }
+
+  public void setResourceId(UUID resourceId) {
+    this.resourceId = resourceId;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public WsmResourceType getResourceType() {
+    return resourceType;
+  }
+
+  public void setResourceType(WsmResourceType resourceType) {
+    this.resourceType = resourceType;
+  }
+
+  public StewardshipType getStewardshipType() {
+    return stewardshipType;
+  }
+
+  public void setStewardshipType(StewardshipType stewardshipType) {
+    this.stewardshipType = stewardshipType;
+  }
+
+  public CloningInstructions getCloningInstructions() {
+    return cloningInstructions;
+  }
+
+  public void setCloningInstructions(CloningInstructions cloningInstructions) {
+    this.cloningInstructions = cloningInstructions;
+  }
+
+  public long getObjectCount() {
+    return objectCount;
+  }
+
+  public void setObjectCount(long objectCount) {
+    this.objectCount = objectCount;
+  }
+
+  public long getTableCount() {
+    return tableCount;
+  }
+
+  public void setTableCount(long tableCount) {
+    this.tableCount = tableCount;
+  }
+
+  public long getBytes() {
+    return bytes;
+  }
+
+  public void setBytes(long bytes) {
+    this.bytes = bytes;
+  }
+
+  public long getClonedBytes() {
+    return clonedBytes;
+  }
+
+  public void setClonedBytes(long clonedBytes) {
+    this.clonedBytes = clonedBytes;
+  }
+
+  public boolean isCountsEstimated() {
+    return countsEstimated;
+  }
+
+  public void setCountsEstimated(boolean countsEstimated) {
+    this.countsEstimated = countsEstimated;
+  }
+
+  public Duration getProjectedDuration() {
+    return projectedDuration;
+  }
+
+  public void setProjectedDuration(Duration projectedDuration) {
+    this.projectedDuration = projectedDuration;
+  }
+
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+
+  public void setErrorMessage(String errorMessage) {
+    this.errorMessage = errorMessage;
+  }
+
+  public ApiResourceClonePlan toApiModel() {
+    return new ApiResourceClonePlan()
+        .resourceId(resourceId)
+        .name(name)
+        .resourceType(resourceType.toApiModel())
+        .stewardshipType(stewardshipType.toApiModel())
+        .cloningInstructions(cloningInstructions.toApiModel())
+        .objectCount(objectCount)
+        .tableCount(tableCount)
+        .bytes(bytes)
+        .clonedBytes(clonedBytes)
+        .countsEstimated(countsEstimated)
+        .projectedDurationSeconds(projectedDuration.getSeconds())
+        .errorMessage(errorMessage);
+  }
+}
@@ -0,0 +1,51 @@
+package bio.terra.workspace.service.workspace.model;
+
+import bio.terra.workspace.generated.model.ApiCloneWorkspacePlan;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/** Internal wrapper type for {@link ApiCloneWorkspacePlan} */
+public class WsmWorkspaceClonePlan {
+  private UUID sourceWorkspaceId;
+  private List<WsmResourceClonePlan> resources;
+  private Duration projectedDuration = Duration.ZERO;
+
+  public WsmWorkspaceClonePlan() {}
+
+  public UUID getSourceWorkspaceId() {
+    return sourceWorkspaceId;
+  }
+
+  public void setSourceWorkspaceId(UUID sourceWorkspaceId) {
+    this.sourceWorkspaceId = sourceWorkspaceId;
+  }
+
+  public List<WsmResourceClonePlan> getResources() {
+    return resources;
+  }
+
+  public void setResources(List<WsmResourceClonePlan> resources) {
+    this.resources = resources;
+  }
+
+  public Duration getProjectedDuration() {
+    return projectedDuration;
+  }
+
+  public void setProjectedDuration(Duration projectedDuration) {
+    this.projectedDuration = projectedDuration;
+  }
+
+  public ApiCloneWorkspacePlan toApiModel() {
+    return new ApiCloneWorkspacePlan()
+        .sourceWorkspaceId(sourceWorkspaceId)
+        .resources(
+            resources.stream().map(WsmResourceClonePlan::toApiModel).collect(Collectors.toList()))
+        .objectCount(resources.stream().mapToLong(WsmResourceClonePlan::getObjectCount).sum())
+        .tableCount(resources.stream().mapToLong(WsmResourceClonePlan::getTableCount).sum())
+        .bytes(resources.stream().mapToLong(WsmResourceClonePlan::getBytes).sum())
+        .projectedDurationSeconds(projectedDuration.getSeconds());
+  }
+}
@@ -0,0 +1,28 @@
+package bio.terra.workspace.app.configuration.external;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+import bio.terra.workspace.app.configuration.DatabasePoolConfiguration;
+import bio.terra.workspace.common.BaseUnitTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+class StairwayDatabaseConfigurationTest extends BaseUnitTest {
+  /** Connections beyond one per flight, for Stairway's own work and for job status reads. */
+  private static final int MIN_HEADROOM = 10;
+
+  @Autowired private StairwayDatabaseConfiguration stairwayDatabaseConfiguration;
+
+  @Value("${terra.common.stairway.max-parallel-flights}")
+  private int maxParallelFlights;
+
+  @Test
+  void poolHasAConnectionForEveryParallelFlight() {
+    DatabasePoolConfiguration pool = stairwayDatabaseConfiguration.getPool();
+    assertThat(pool.getMaxTotal(), greaterThanOrEqualTo(maxParallelFlights + MIN_HEADROOM));
+    // Connections returned between steps stay open rather than being closed and reopened.
+    assertThat(pool.getMaxIdle(), greaterThanOrEqualTo(maxParallelFlights));
+  }
+}
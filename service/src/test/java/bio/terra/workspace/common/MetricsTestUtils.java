@@ -0,0 +1,55 @@
+package bio.terra.workspace.common;
+
+import io.opencensus.stats.AggregationData;
+import io.opencensus.stats.AggregationData.CountData;
+import io.opencensus.stats.AggregationData.DistributionData;
+import io.opencensus.stats.Stats;
+import io.opencensus.stats.View;
+import io.opencensus.stats.ViewData;
+import io.opencensus.tags.TagValue;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/** Test helpers for reading the metrics recorded through MetricsUtils. */
+public class MetricsTestUtils {
+  private MetricsTestUtils() {}
+
+  /**
+   * Return the number of values recorded in a counter or distribution view with the given tag
+   * values, in the order of the view's tag keys. Measurements are recorded asynchronously, so this
+   * waits until the count reaches {@code expected}, or returns the count after a few seconds.
+   *
+   * @param name metric name, without the "workspace/" prefix
+   */
+  public static long awaitCount(String name, long expected, String... tagValues)
+      throws InterruptedException {
+    Instant deadline = Instant.now().plus(Duration.ofSeconds(5));
+    long count = getCount(name, tagValues);
+    while (count < expected && Instant.now().isBefore(deadline)) {
+      TimeUnit.MILLISECONDS.sleep(50);
+      count = getCount(name, tagValues);
+    }
+    return count;
+  }
+
+  private static long getCount(String name, String... tagValues) {
+    ViewData viewData = Stats.getViewManager().getView(View.Name.create("workspace/" + name));
+    if (viewData == null) {
+      return 0;
+    }
+    List<TagValue> key =
+        Arrays.stream(tagValues).map(TagValue::create).collect(Collectors.toList());
+    AggregationData data = viewData.getAggregationMap().get(key);
+    if (data instanceof CountData) {
+      return ((CountData) data).getCount();
+    }
+    if (data instanceof DistributionData) {
+      return ((DistributionData) data).getCount();
+    }
+    return 0;
+  }
+}
@@ -0,0 +1,27 @@
+package bio.terra.workspace.common.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import bio.terra.workspace.common.BaseUnitTest;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ApiClientCacheTest extends BaseUnitTest {
+
+  @Test
+  void clientsAreSharedPerBasePathAndToken() {
+    AtomicInteger built = new AtomicInteger();
+    ApiClientCache<String> cache =
+        new ApiClientCache<>(
+            (basePath, token) -> basePath + "|" + token + "|" + built.incrementAndGet());
+
+    String client = cache.get("https://sam", "token-a");
+    assertSame(client, cache.get("https://sam", "token-a"));
+    assertNotSame(client, cache.get("https://sam", "token-b"));
+    assertNotSame(client, cache.get("https://tdr", "token-a"));
+    assertSame(cache.get("https://sam", null), cache.get("https://sam", null));
+    assertEquals(4, built.get());
+  }
+}
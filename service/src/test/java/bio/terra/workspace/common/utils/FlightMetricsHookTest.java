@@ -0,0 +1,129 @@
+package bio.terra.workspace.common.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import bio.terra.stairway.Flight;
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightMap;
+import bio.terra.stairway.FlightState;
+import bio.terra.stairway.FlightStatus;
+import bio.terra.stairway.RetryRuleFixedInterval;
+import bio.terra.stairway.Step;
+import bio.terra.stairway.StepResult;
+import bio.terra.stairway.StepStatus;
+import bio.terra.workspace.common.BaseUnitTest;
+import bio.terra.workspace.common.MetricsTestUtils;
+import bio.terra.workspace.common.StairwayTestUtils;
+import bio.terra.workspace.service.job.FlightResumer;
+import bio.terra.workspace.service.job.JobService;
+import com.google.common.base.Ticker;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class FlightMetricsHookTest extends BaseUnitTest {
+  @Autowired private JobService jobService;
+
+  @Test
+  void retriesAreCountedButRerunsAfterYieldingAreNot() throws Exception {
+    FlightState flightState =
+        StairwayTestUtils.blockUntilFlightCompletes(
+            jobService.getStairway(),
+            MetricsHookTestFlight.class,
+            new FlightMap(),
+            Duration.ofMinutes(1),
+            null);
+    assertEquals(FlightStatus.SUCCESS, flightState.getFlightStatus());
+
+    String flight = "MetricsHookTestFlight";
+    assertEquals(
+        2,
+        MetricsTestUtils.awaitCount("stairway/step/duration", 2, flight, "RetryingStep", "DO"));
+    assertEquals(
+        1, MetricsTestUtils.awaitCount("stairway/step/retries", 1, flight, "RetryingStep", "DO"));
+    // The yielding step runs twice; by the time both runs are recorded, any retry would be too.
+    MetricsTestUtils.awaitCount("stairway/step/duration", 2, flight, "YieldingStep", "DO");
+    assertEquals(
+        0, MetricsTestUtils.awaitCount("stairway/step/retries", 0, flight, "YieldingStep", "DO"));
+    assertEquals(
+        1,
+        MetricsTestUtils.awaitCount(
+            "stairway/flight/duration", 1, flight, FlightStatus.SUCCESS.name()));
+  }
+
+  @Test
+  void submissionsOfFlightsNeverStartedExpire() {
+    AtomicLong nanos = new AtomicLong();
+    Ticker ticker =
+        new Ticker() {
+          @Override
+          public long read() {
+            return nanos.get();
+          }
+        };
+    FlightMetricsHook hook = new FlightMetricsHook(ticker);
+    hook.flightSubmitted("started-elsewhere");
+    hook.flightSubmitted("not-submitted");
+    hook.flightNotSubmitted("not-submitted");
+    assertEquals(1, hook.pendingSubmissionCount());
+
+    nanos.addAndGet(Duration.ofHours(2).toNanos());
+    assertEquals(0, hook.pendingSubmissionCount());
+  }
+
+  /** A step retried once, then a step that yields its thread once before succeeding. */
+  public static class MetricsHookTestFlight extends Flight {
+    public MetricsHookTestFlight(FlightMap inputParameters, Object applicationContext) {
+      super(inputParameters, applicationContext);
+      FlightBeanBag beanBag = FlightBeanBag.getFromObject(applicationContext);
+      addStep(
+          new RetryingStep(),
+          new RetryRuleFixedInterval(/* intervalSeconds= */ 0, /* maxCount= */ 2));
+      addStep(new YieldingStep(beanBag.getFlightResumer()));
+    }
+  }
+
+  /** Asks to be retried on its first attempt, and succeeds on the next. */
+  public static class RetryingStep implements Step {
+    private boolean attempted;
+
+    @Override
+    public StepResult doStep(FlightContext flightContext) {
+      if (!attempted) {
+        attempted = true;
+        return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY);
+      }
+      return StepResult.getStepResultSuccess();
+    }
+
+    @Override
+    public StepResult undoStep(FlightContext flightContext) {
+      return StepResult.getStepResultSuccess();
+    }
+  }
+
+  /** Yields the flight's thread on its first run, and succeeds when run again. */
+  public static class YieldingStep implements Step {
+    private static final String WAIT_KEY = "metricsHookTestWait";
+    private final FlightResumer flightResumer;
+
+    public YieldingStep(FlightResumer flightResumer) {
+      this.flightResumer = flightResumer;
+    }
+
+    @Override
+    public StepResult doStep(FlightContext flightContext) {
+      if (flightResumer.waitedLongerThan(flightContext, WAIT_KEY, Duration.ZERO)) {
+        flightResumer.endWait(flightContext, WAIT_KEY);
+        return StepResult.getStepResultSuccess();
+      }
+      return flightResumer.waitAndRerun(flightContext, WAIT_KEY, Duration.ofMillis(100));
+    }
+
+    @Override
+    public StepResult undoStep(FlightContext flightContext) {
+      return StepResult.getStepResultSuccess();
+    }
+  }
+}
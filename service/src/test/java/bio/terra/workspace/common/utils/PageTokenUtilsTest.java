@@ -0,0 +1,25 @@
+package bio.terra.workspace.common.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import bio.terra.common.exception.ValidationException;
+import bio.terra.workspace.common.BaseUnitTest;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class PageTokenUtilsTest extends BaseUnitTest {
+
+  @Test
+  public void tokenRoundTrips() {
+    String token = PageTokenUtils.encode("my/resource name", "1234");
+    assertEquals(List.of("my/resource name", "1234"), PageTokenUtils.decode(token, 2));
+  }
+
+  @Test
+  public void malformedTokensAreRejected() {
+    assertThrows(ValidationException.class, () -> PageTokenUtils.decode("not a token", 1));
+    assertThrows(
+        ValidationException.class, () -> PageTokenUtils.decode(PageTokenUtils.encode("a"), 2));
+  }
+}
@@ -0,0 +1,280 @@
+package bio.terra.workspace.common.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import bio.terra.stairway.Flight;
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightDebugInfo;
+import bio.terra.stairway.FlightMap;
+import bio.terra.stairway.FlightState;
+import bio.terra.stairway.FlightStatus;
+import bio.terra.stairway.RetryRuleFixedInterval;
+import bio.terra.stairway.Step;
+import bio.terra.stairway.StepResult;
+import bio.terra.stairway.StepStatus;
+import bio.terra.workspace.common.BaseUnitTest;
+import bio.terra.workspace.common.MetricsTestUtils;
+import bio.terra.workspace.common.StairwayTestUtils;
+import bio.terra.workspace.service.job.JobService;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class ParallelStepGroupTest extends BaseUnitTest {
+  private static final String TEST_ID_KEY = "testId";
+
+  /** Steps undone by each test, by test id. */
+  private static final Map<String, Set<String>> UNDONE = new ConcurrentHashMap<>();
+
+  @Autowired private JobService jobService;
+
+  @Test
+  void branchesRunConcurrentlyAndShareOutput() throws Exception {
+    FlightState flightState =
+        StairwayTestUtils.blockUntilFlightCompletes(
+            jobService.getStairway(),
+            ConcurrentBranchesFlight.class,
+            new FlightMap(),
+            Duration.ofMinutes(1),
+            null);
+
+    // Each branch waits for the other, so the flight only succeeds if they ran at once. The last
+    // step checks that both branches' output reached the working map.
+    assertEquals(FlightStatus.SUCCESS, flightState.getFlightStatus());
+  }
+
+  @Test
+  void failedBranchUndoesStartedSteps() throws Exception {
+    String testId = UUID.randomUUID().toString();
+    FlightMap inputParameters = new FlightMap();
+    inputParameters.put(TEST_ID_KEY, testId);
+
+    FlightState flightState =
+        StairwayTestUtils.blockUntilFlightCompletes(
+            jobService.getStairway(),
+            FailingBranchFlight.class,
+            inputParameters,
+            Duration.ofMinutes(1),
+            null);
+
+    assertEquals(FlightStatus.ERROR, flightState.getFlightStatus());
+    // c2 never started, because c1 failed before it.
+    assertEquals(Set.of("a1", "b1", "b2", "c1"), UNDONE.remove(testId));
+  }
+
+  @Test
+  void injectedStepFailureUndoesGroup() throws Exception {
+    String testId = UUID.randomUUID().toString();
+    FlightMap inputParameters = new FlightMap();
+    inputParameters.put(TEST_ID_KEY, testId);
+
+    FlightState flightState =
+        StairwayTestUtils.blockUntilFlightCompletes(
+            jobService.getStairway(),
+            InjectedFailureFlight.class,
+            inputParameters,
+            Duration.ofMinutes(1),
+            FlightDebugInfo.newBuilder()
+                .doStepFailures(
+                    Map.of(
+                        InjectedFailureStep.class.getName(),
+                        StepStatus.STEP_RESULT_FAILURE_FATAL))
+                .build());
+
+    assertEquals(FlightStatus.ERROR, flightState.getFlightStatus());
+    // The step with the injected failure ran before failing, so it is undone too.
+    assertEquals(Set.of("a1", "b1"), UNDONE.remove(testId));
+  }
+
+  @Test
+  void branchStepAttemptsAreReportedToMetrics() throws Exception {
+    FlightState flightState =
+        StairwayTestUtils.blockUntilFlightCompletes(
+            jobService.getStairway(),
+            RetryingBranchFlight.class,
+            new FlightMap(),
+            Duration.ofMinutes(1),
+            null);
+    assertEquals(FlightStatus.SUCCESS, flightState.getFlightStatus());
+
+    // Stairway's hooks only see the group; its step's two attempts, one of them a retry, are
+    // reported by the group itself.
+    String[] stepTags = {"RetryingBranchFlight", "RetryOnceStep", "DO"};
+    assertEquals(2, MetricsTestUtils.awaitCount("stairway/step/duration", 2, stepTags));
+    assertEquals(1, MetricsTestUtils.awaitCount("stairway/step/retries", 1, stepTags));
+    assertEquals(
+        1,
+        MetricsTestUtils.awaitCount(
+            "stairway/step/duration", 1, "RetryingBranchFlight", "ParallelStepGroup", "DO"));
+  }
+
+  /** Two branches that each wait for the other, then a step checking their output. */
+  public static class ConcurrentBranchesFlight extends Flight {
+    public ConcurrentBranchesFlight(FlightMap inputParameters, Object applicationContext) {
+      super(inputParameters, applicationContext);
+      CountDownLatch bothStarted = new CountDownLatch(2);
+      ParallelStepGroup group =
+          new ParallelStepGroup(FlightBeanBag.getFromObject(applicationContext));
+      group.newBranch().addStep(new RendezvousStep(bothStarted, "a"));
+      group.newBranch().addStep(new RendezvousStep(bothStarted, "b"));
+      addStep(group);
+      addStep(new CheckOutputStep("a", "b"));
+    }
+  }
+
+  /**
+   * A flight whose group has a branch that fails after one step, and a branch that fails on its
+   * first step, alongside a branch that succeeds.
+   */
+  public static class FailingBranchFlight extends Flight {
+    public FailingBranchFlight(FlightMap inputParameters, Object applicationContext) {
+      super(inputParameters, applicationContext);
+      ParallelStepGroup group =
+          new ParallelStepGroup(FlightBeanBag.getFromObject(applicationContext));
+      group.newBranch().addStep(new RecordUndoStep("a1", false));
+      group
+          .newBranch()
+          .addStep(new RecordUndoStep("b1", false))
+          .addStep(new RecordUndoStep("b2", true));
+      group
+          .newBranch()
+          .addStep(new RecordUndoStep("c1", true))
+          .addStep(new RecordUndoStep("c2", false));
+      addStep(group);
+    }
+  }
+
+  /** A group of two branches that succeed on their own; a failure is injected into one. */
+  public static class InjectedFailureFlight extends Flight {
+    public InjectedFailureFlight(FlightMap inputParameters, Object applicationContext) {
+      super(inputParameters, applicationContext);
+      ParallelStepGroup group =
+          new ParallelStepGroup(FlightBeanBag.getFromObject(applicationContext));
+      group.newBranch().addStep(new RecordUndoStep("a1", false));
+      group.newBranch().addStep(new InjectedFailureStep("b1"));
+      addStep(group);
+    }
+  }
+
+  /** A group with a branch whose step is retried once. */
+  public static class RetryingBranchFlight extends Flight {
+    public RetryingBranchFlight(FlightMap inputParameters, Object applicationContext) {
+      super(inputParameters, applicationContext);
+      ParallelStepGroup group =
+          new ParallelStepGroup(FlightBeanBag.getFromObject(applicationContext));
+      group
+          .newBranch()
+          .addStep(
+              new RetryOnceStep(),
+              new RetryRuleFixedInterval(/* intervalSeconds= */ 0, /* maxCount= */ 2));
+      addStep(group);
+    }
+  }
+
+  /** Asks to be retried on its first attempt, and succeeds on the next. */
+  public static class RetryOnceStep implements Step {
+    private boolean attempted;
+
+    @Override
+    public StepResult doStep(FlightContext flightContext) {
+      if (!attempted) {
+        attempted = true;
+        return new StepResult(StepStatus.STEP_RESULT_FAILURE_RETRY);
+      }
+      return StepResult.getStepResultSuccess();
+    }
+
+    @Override
+    public StepResult undoStep(FlightContext flightContext) {
+      return StepResult.getStepResultSuccess();
+    }
+  }
+
+  /** Waits for the other branch's step to start, then puts its name in the working map. */
+  public static class RendezvousStep implements Step {
+    private final CountDownLatch bothStarted;
+    private final String name;
+
+    public RendezvousStep(CountDownLatch bothStarted, String name) {
+      this.bothStarted = bothStarted;
+      this.name = name;
+    }
+
+    @Override
+    public StepResult doStep(FlightContext flightContext) throws InterruptedException {
+      bothStarted.countDown();
+      if (!bothStarted.await(30, TimeUnit.SECONDS)) {
+        return new StepResult(StepStatus.STEP_RESULT_FAILURE_FATAL);
+      }
+      ParallelStepGroup.putWorkingValue(flightContext, name, name);
+      return StepResult.getStepResultSuccess();
+    }
+
+    @Override
+    public StepResult undoStep(FlightContext flightContext) {
+      return StepResult.getStepResultSuccess();
+    }
+  }
+
+  /** Fails unless each of the given keys is in the working map. */
+  public static class CheckOutputStep implements Step {
+    private final String[] keys;
+
+    public CheckOutputStep(String... keys) {
+      this.keys = keys;
+    }
+
+    @Override
+    public StepResult doStep(FlightContext flightContext) {
+      for (String key : keys) {
+        if (!key.equals(flightContext.getWorkingMap().get(key, String.class))) {
+          return new StepResult(StepStatus.STEP_RESULT_FAILURE_FATAL);
+        }
+      }
+      return StepResult.getStepResultSuccess();
+    }
+
+    @Override
+    public StepResult undoStep(FlightContext flightContext) {
+      return StepResult.getStepResultSuccess();
+    }
+  }
+
+  /** Records its undo under the flight's test id; optionally fails its do. */
+  public static class RecordUndoStep implements Step {
+    private final String name;
+    private final boolean fail;
+
+    public RecordUndoStep(String name, boolean fail) {
+      this.name = name;
+      this.fail = fail;
+    }
+
+    @Override
+    public StepResult doStep(FlightContext flightContext) {
+      return fail
+          ? new StepResult(StepStatus.STEP_RESULT_FAILURE_FATAL)
+          : StepResult.getStepResultSuccess();
+    }
+
+    @Override
+    public StepResult undoStep(FlightContext flightContext) {
+      String testId = flightContext.getInputParameters().get(TEST_ID_KEY, String.class);
+      UNDONE.computeIfAbsent(testId, id -> ConcurrentHashMap.newKeySet()).add(name);
+      return StepResult.getStepResultSuccess();
+    }
+  }
+
+  /** A step of its own class, so that a failure can be injected into it alone. */
+  public static class InjectedFailureStep extends RecordUndoStep {
+    public InjectedFailureStep(String name) {
+      super(name, false);
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package bio.terra.workspace.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bio.terra.workspace.app.configuration.external.CloudContextCacheConfiguration;
+import bio.terra.workspace.app.configuration.external.WorkspaceDatabaseConfiguration;
+import bio.terra.workspace.common.BaseUnitTest;
+import bio.terra.workspace.service.workspace.model.GcpCloudContext;
+import bio.terra.workspace.service.workspace.model.Workspace;
+import bio.terra.workspace.service.workspace.model.WorkspaceStage;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+public class CloudContextCacheTest extends BaseUnitTest {
+  private static final String PROJECT_ID = "fake-project";
+
+  @Autowired private CloudContextCacheConfiguration cacheConfiguration;
+  @Autowired private WorkspaceDatabaseConfiguration databaseConfiguration;
+  @Autowired private NamedParameterJdbcTemplate jdbcTemplate;
+  @Autowired private WorkspaceDao workspaceDao;
+
+  /** Stand in for the listener and cache of another WSM replica. */
+  private DatabaseNotificationListener otherReplicaListener;
+
+  private CloudContextCache otherReplicaCache;
+
+  private UUID workspaceId;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    workspaceId = UUID.randomUUID();
+    workspaceDao.createWorkspace(
+        Workspace.builder()
+            .workspaceId(workspaceId)
+            .workspaceStage(WorkspaceStage.MC_WORKSPACE)
+            .build());
+    workspaceDao.createGcpCloudContext(workspaceId, new GcpCloudContext(PROJECT_ID));
+
+    otherReplicaListener = new DatabaseNotificationListener(databaseConfiguration, jdbcTemplate);
+    otherReplicaCache = new CloudContextCache(cacheConfiguration, otherReplicaListener);
+    otherReplicaListener.startListening();
+    waitFor(otherReplicaListener::isListening);
+  }
+
+  @AfterEach
+  public void cleanup() {
+    otherReplicaListener.stopListening();
+    workspaceDao.deleteWorkspace(workspaceId);
+  }
+
+  @Test
+  public void otherReplicasDropDeletedCloudContext() throws Exception {
+    assertEquals(
+        Optional.of(PROJECT_ID), otherReplicaCache.getGcpProjectId(workspaceId, this::load));
+    // Served from the cache now, even though the loader would say otherwise
+    assertEquals(
+        Optional.of(PROJECT_ID),
+        otherReplicaCache.getGcpProjectId(workspaceId, Optional::empty));
+
+    workspaceDao.deleteGcpCloudContext(workspaceId);
+
+    waitFor(() -> otherReplicaCache.getGcpProjectId(workspaceId, this::load).isEmpty());
+  }
+
+  @Test
+  public void absentCloudContextIsNotCached() {
+    workspaceDao.deleteGcpCloudContext(workspaceId);
+    assertTrue(otherReplicaCache.getGcpProjectId(workspaceId, this::load).isEmpty());
+
+    workspaceDao.createGcpCloudContext(workspaceId, new GcpCloudContext(PROJECT_ID));
+    assertEquals(
+        Optional.of(PROJECT_ID), otherReplicaCache.getGcpProjectId(workspaceId, this::load));
+  }
+
+  private Optional<String> load() {
+    return workspaceDao.getGcpCloudContext(workspaceId).map(GcpCloudContext::getGcpProjectId);
+  }
+
+  private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+    Instant deadline = Instant.now().plus(Duration.ofSeconds(30));
+    while (!condition.getAsBoolean()) {
+      assertTrue(Instant.now().isBefore(deadline), "Timed out waiting for condition");
+      Thread.sleep(100);
+    }
+  }
+}
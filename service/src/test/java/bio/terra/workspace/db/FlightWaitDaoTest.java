@@ -0,0 +1,65 @@
+package bio.terra.workspace.db;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bio.terra.workspace.common.BaseUnitTest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class FlightWaitDaoTest extends BaseUnitTest {
+  @Autowired private FlightWaitDao flightWaitDao;
+
+  @Test
+  void overdueWaitIsClaimedOnce() {
+    String flightId = UUID.randomUUID().toString();
+    Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    flightWaitDao.recordWait(flightId, "stopped", now.minus(Duration.ofHours(1)));
+
+    List<String> claimed =
+        flightWaitDao.claimOverdueWaits("claimer", now.minus(Duration.ofMinutes(1)), now);
+    assertThat(claimed, hasItem(flightId));
+    assertEquals(Optional.of("claimer"), flightWaitDao.getResumerId(flightId));
+    // Once claimed, the resume is no longer overdue.
+    assertThat(
+        flightWaitDao.claimOverdueWaits("other", now.minus(Duration.ofMinutes(1)), now),
+        not(hasItem(flightId)));
+
+    flightWaitDao.forgetWait(flightId, "claimer", now);
+    assertTrue(flightWaitDao.getResumerId(flightId).isEmpty());
+  }
+
+  @Test
+  void waitDueSoonIsNotClaimed() {
+    String flightId = UUID.randomUUID().toString();
+    Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    flightWaitDao.recordWait(flightId, "live", now.plusSeconds(10));
+
+    assertThat(
+        flightWaitDao.claimOverdueWaits("claimer", now.minus(Duration.ofMinutes(1)), now),
+        not(hasItem(flightId)));
+    assertEquals(Optional.of("live"), flightWaitDao.getResumerId(flightId));
+  }
+
+  @Test
+  void forgettingAnEarlierWaitKeepsTheLaterOne() {
+    String flightId = UUID.randomUUID().toString();
+    Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    flightWaitDao.recordWait(flightId, "first", now);
+    flightWaitDao.recordWait(flightId, "second", now.plusSeconds(5));
+
+    flightWaitDao.forgetWait(flightId, "first", now);
+    assertEquals(Optional.of("second"), flightWaitDao.getResumerId(flightId));
+    flightWaitDao.forgetWait(flightId, "second", now.plusSeconds(5));
+    assertTrue(flightWaitDao.getResumerId(flightId).isEmpty());
+  }
+}
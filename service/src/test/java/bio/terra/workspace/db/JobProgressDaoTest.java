@@ -0,0 +1,48 @@
+package bio.terra.workspace.db;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bio.terra.workspace.common.BaseUnitTest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class JobProgressDaoTest extends BaseUnitTest {
+  @Autowired private JobProgressDao jobProgressDao;
+
+  @Test
+  void partsAreKeptApartFromTheWholeJob() {
+    String jobId = UUID.randomUUID().toString();
+    jobProgressDao.setProgress(jobId, "whole");
+    jobProgressDao.setPartProgress(jobId, "b", "second");
+    jobProgressDao.setPartProgress(jobId, "a", "first");
+    jobProgressDao.setPartProgress(jobId, "a", "first, later");
+
+    assertEquals(Optional.of("whole"), jobProgressDao.getProgress(jobId, String.class));
+    assertThat(
+        jobProgressDao.getPartProgress(jobId, String.class), contains("first, later", "second"));
+
+    jobProgressDao.deleteProgress(jobId);
+    assertTrue(jobProgressDao.getProgress(jobId, String.class).isEmpty());
+    assertThat(jobProgressDao.getPartProgress(jobId, String.class), empty());
+  }
+
+  @Test
+  void onlyProgressOlderThanTheCutoffIsDeleted() {
+    String jobId = UUID.randomUUID().toString();
+    jobProgressDao.setProgress(jobId, "recent");
+
+    jobProgressDao.deleteProgressUpdatedBefore(Instant.now().minus(Duration.ofHours(1)));
+    assertEquals(Optional.of("recent"), jobProgressDao.getProgress(jobId, String.class));
+
+    jobProgressDao.deleteProgressUpdatedBefore(Instant.now().plus(Duration.ofHours(1)));
+    assertTrue(jobProgressDao.getProgress(jobId, String.class).isEmpty());
+  }
+}
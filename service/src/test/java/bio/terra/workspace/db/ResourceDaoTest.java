@@ -9,21 +9,30 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import bio.terra.workspace.common.BaseUnitTest;
 import bio.terra.workspace.common.fixtures.ControlledResourceFixtures;
+import bio.terra.workspace.db.exception.CloudContextRequiredException;
+import bio.terra.workspace.service.resource.WsmResource;
 import bio.terra.workspace.service.resource.controlled.ControlledAiNotebookInstanceResource;
 import bio.terra.workspace.service.resource.controlled.ControlledBigQueryDatasetResource;
 import bio.terra.workspace.service.resource.controlled.ControlledGcsBucketResource;
 import bio.terra.workspace.service.resource.controlled.ControlledResource;
 import bio.terra.workspace.service.resource.exception.DuplicateResourceException;
+import bio.terra.workspace.service.resource.model.CloningInstructions;
+import bio.terra.workspace.service.resource.referenced.ReferencedGcsBucketResource;
 import bio.terra.workspace.service.workspace.model.CloudPlatform;
 import bio.terra.workspace.service.workspace.model.GcpCloudContext;
 import bio.terra.workspace.service.workspace.model.Workspace;
 import bio.terra.workspace.service.workspace.model.WorkspaceStage;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 public class ResourceDaoTest extends BaseUnitTest {
+  private static final String FLIGHT_ID = UUID.randomUUID().toString();
+
   @Autowired ResourceDao resourceDao;
   @Autowired WorkspaceDao workspaceDao;
 
@@ -31,8 +40,8 @@ public class ResourceDaoTest extends BaseUnitTest {
    * Creates a workspaces with a GCP cloud context and stores it in the database. Returns the
    * workspace id.
    *
-   * <p>The {@link ResourceDao#createControlledResource(ControlledResource)} checks that a relevant
-   * cloud context exists before storing the resource.
+   * <p>The {@link ResourceDao#createControlledResource(ControlledResource, String)} checks that a
+   * relevant cloud context exists before storing the resource.
    */
   private UUID createGcpWorkspace() {
     Workspace workspace =
@@ -53,7 +62,7 @@ public class ResourceDaoTest extends BaseUnitTest {
         ControlledResourceFixtures.makeDefaultControlledGcsBucketResource()
             .workspaceId(workspaceId)
             .build();
-    resourceDao.createControlledResource(resource);
+    resourceDao.createControlledResource(resource, FLIGHT_ID);
 
     assertEquals(
         resource, resourceDao.getResource(resource.getWorkspaceId(), resource.getResourceId()));
@@ -67,7 +76,7 @@ public class ResourceDaoTest extends BaseUnitTest {
         ControlledResourceFixtures.makeDefaultControlledBigQueryDatasetResource()
             .workspaceId(workspaceId)
             .build();
-    resourceDao.createControlledResource(resource);
+    resourceDao.createControlledResource(resource, FLIGHT_ID);
 
     assertEquals(
         resource, resourceDao.getResource(resource.getWorkspaceId(), resource.getResourceId()));
@@ -79,7 +88,7 @@ public class ResourceDaoTest extends BaseUnitTest {
     UUID workspaceId = createGcpWorkspace();
     ControlledAiNotebookInstanceResource resource =
         ControlledResourceFixtures.makeDefaultAiNotebookInstance().workspaceId(workspaceId).build();
-    resourceDao.createControlledResource(resource);
+    resourceDao.createControlledResource(resource, FLIGHT_ID);
 
     assertEquals(
         resource, resourceDao.getResource(resource.getWorkspaceId(), resource.getResourceId()));
@@ -87,6 +96,90 @@ public class ResourceDaoTest extends BaseUnitTest {
     resourceDao.deleteResource(resource.getWorkspaceId(), resource.getResourceId());
   }
 
+  @Test
+  public void createIsIdempotentOnlyForTheCreatingFlight() {
+    UUID workspaceId = createGcpWorkspace();
+    ControlledGcsBucketResource resource =
+        ControlledResourceFixtures.makeDefaultControlledGcsBucketResource()
+            .workspaceId(workspaceId)
+            .build();
+    resourceDao.createControlledResource(resource, FLIGHT_ID);
+
+    // A re-run of the creating step succeeds; the same insert from another flight does not.
+    resourceDao.createControlledResource(resource, FLIGHT_ID);
+    assertThrows(
+        DuplicateResourceException.class,
+        () -> resourceDao.createControlledResource(resource, UUID.randomUUID().toString()));
+    assertEquals(resource, resourceDao.getResource(workspaceId, resource.getResourceId()));
+
+    resourceDao.deleteResource(workspaceId, resource.getResourceId());
+  }
+
+  @Test
+  public void createReferenceResourcesIsIdempotentForTheCreatingFlight() {
+    final UUID workspaceId = createGcpWorkspace();
+    final ReferencedGcsBucketResource first = makeReferencedBucket(workspaceId, "first-reference");
+    final ReferencedGcsBucketResource second =
+        makeReferencedBucket(workspaceId, "second-reference");
+    assertEquals(
+        Set.of(first.getResourceId(), second.getResourceId()),
+        resourceDao.createReferenceResources(List.of(first, second), FLIGHT_ID));
+
+    // A re-run by the creating flight stores both again; another flight stores neither.
+    assertEquals(
+        Set.of(first.getResourceId(), second.getResourceId()),
+        resourceDao.createReferenceResources(List.of(first, second), FLIGHT_ID));
+    assertEquals(
+        Set.of(),
+        resourceDao.createReferenceResources(
+            List.of(first, second), UUID.randomUUID().toString()));
+    assertEquals(first, resourceDao.getResource(workspaceId, first.getResourceId()));
+
+    // A name clash skips only the clashing reference.
+    final ReferencedGcsBucketResource third = makeReferencedBucket(workspaceId, "third-reference");
+    final ReferencedGcsBucketResource clash = makeReferencedBucket(workspaceId, "first-reference");
+    assertEquals(
+        Set.of(third.getResourceId()),
+        resourceDao.createReferenceResources(List.of(third, clash), FLIGHT_ID));
+    assertEquals(
+        Set.of(first.getResourceId(), second.getResourceId(), third.getResourceId()),
+        resourceDao.getResourceIdsCreatedByFlight(workspaceId, FLIGHT_ID));
+    assertFalse(resourceDao.deleteResource(workspaceId, clash.getResourceId()));
+
+    // clean up
+    resourceDao.deleteResource(workspaceId, first.getResourceId());
+    resourceDao.deleteResource(workspaceId, second.getResourceId());
+    resourceDao.deleteResource(workspaceId, third.getResourceId());
+  }
+
+  private static ReferencedGcsBucketResource makeReferencedBucket(UUID workspaceId, String name) {
+    return new ReferencedGcsBucketResource(
+        workspaceId,
+        UUID.randomUUID(),
+        name,
+        "reference to a bucket",
+        CloningInstructions.COPY_REFERENCE,
+        "referenced-bucket-name");
+  }
+
+  @Test
+  public void createControlledResourceRequiresCloudContext() {
+    Workspace workspace =
+        Workspace.builder()
+            .workspaceId(UUID.randomUUID())
+            .workspaceStage(WorkspaceStage.MC_WORKSPACE)
+            .build();
+    workspaceDao.createWorkspace(workspace);
+    ControlledGcsBucketResource resource =
+        ControlledResourceFixtures.makeDefaultControlledGcsBucketResource()
+            .workspaceId(workspace.getWorkspaceId())
+            .build();
+
+    assertThrows(
+        CloudContextRequiredException.class,
+        () -> resourceDao.createControlledResource(resource, FLIGHT_ID));
+  }
+
   @Test
   public void listAndDeleteControlledResourceInContext() {
     UUID workspaceId = createGcpWorkspace();
@@ -98,8 +191,8 @@ public class ResourceDaoTest extends BaseUnitTest {
         ControlledResourceFixtures.makeDefaultControlledBigQueryDatasetResource()
             .workspaceId(workspaceId)
             .build();
-    resourceDao.createControlledResource(bucket);
-    resourceDao.createControlledResource(dataset);
+    resourceDao.createControlledResource(bucket, FLIGHT_ID);
+    resourceDao.createControlledResource(dataset, FLIGHT_ID);
 
     List<ControlledResource> gcpList =
         resourceDao.listControlledResources(workspaceId, CloudPlatform.GCP);
@@ -118,6 +211,38 @@ public class ResourceDaoTest extends BaseUnitTest {
     assertTrue(listAfterDeletion.isEmpty());
   }
 
+  @Test
+  public void enumerateResourcesAfterPagesInNameOrder() {
+    UUID workspaceId = createGcpWorkspace();
+    for (int i = 0; i < 3; i++) {
+      resourceDao.createControlledResource(
+          ControlledResourceFixtures.makeDefaultControlledGcsBucketResource()
+              .workspaceId(workspaceId)
+              .build(),
+          FLIGHT_ID);
+    }
+
+    List<WsmResource> firstPage =
+        resourceDao.enumerateResourcesAfter(workspaceId, null, null, null, null, 2);
+    assertEquals(2, firstPage.size());
+    WsmResource last = firstPage.get(1);
+    List<WsmResource> secondPage =
+        resourceDao.enumerateResourcesAfter(
+            workspaceId, null, null, last.getName(), last.getResourceId(), 2);
+    assertEquals(1, secondPage.size());
+
+    List<String> pagedNames =
+        Stream.concat(firstPage.stream(), secondPage.stream())
+            .map(WsmResource::getName)
+            .collect(Collectors.toList());
+    List<String> allNames =
+        resourceDao.enumerateResources(workspaceId, null, null, 0, 10).stream()
+            .map(WsmResource::getName)
+            .collect(Collectors.toList());
+    assertEquals(allNames, pagedNames);
+    assertTrue(resourceDao.deleteAllControlledResources(workspaceId, CloudPlatform.GCP));
+  }
+
   @Test
   public void duplicateControlledBucketNameRejected() {
     final String clashingBucketName = "not-a-pail";
@@ -128,7 +253,7 @@ public class ResourceDaoTest extends BaseUnitTest {
             .bucketName(clashingBucketName)
             .build();
 
-    resourceDao.createControlledResource(initialResource);
+    resourceDao.createControlledResource(initialResource, FLIGHT_ID);
 
     final UUID workspaceId2 = createGcpWorkspace();
     final ControlledGcsBucketResource duplicatingResource =
@@ -140,7 +265,7 @@ public class ResourceDaoTest extends BaseUnitTest {
 
     assertThrows(
         DuplicateResourceException.class,
-        () -> resourceDao.createControlledResource(duplicatingResource));
+        () -> resourceDao.createControlledResource(duplicatingResource, FLIGHT_ID));
 
     // clean up
     resourceDao.deleteResource(initialResource.getWorkspaceId(), initialResource.getResourceId());
@@ -148,6 +273,33 @@ public class ResourceDaoTest extends BaseUnitTest {
         duplicatingResource.getWorkspaceId(), duplicatingResource.getResourceId());
   }
 
+  @Test
+  public void referencedBucketDoesNotBlockControlledBucket() {
+    final UUID workspaceId = createGcpWorkspace();
+    final ControlledGcsBucketResource controlledResource =
+        ControlledResourceFixtures.makeDefaultControlledGcsBucketResource()
+            .workspaceId(workspaceId)
+            .build();
+    final ReferencedGcsBucketResource referencedResource =
+        new ReferencedGcsBucketResource(
+            workspaceId,
+            UUID.randomUUID(),
+            "referenced-bucket",
+            "reference to the same bucket",
+            CloningInstructions.COPY_REFERENCE,
+            controlledResource.getBucketName());
+
+    resourceDao.createReferenceResource(referencedResource, FLIGHT_ID);
+    resourceDao.createControlledResource(controlledResource, FLIGHT_ID);
+    assertEquals(
+        controlledResource,
+        resourceDao.getResource(workspaceId, controlledResource.getResourceId()));
+
+    // clean up
+    resourceDao.deleteResource(workspaceId, controlledResource.getResourceId());
+    resourceDao.deleteResource(workspaceId, referencedResource.getResourceId());
+  }
+
   // AI Notebooks are unique on the tuple {instanceId, location, projectId } in addition
   // to the underlying requirement that resource ID and resource names are unique within a
   // workspace.
@@ -158,7 +310,7 @@ public class ResourceDaoTest extends BaseUnitTest {
         ControlledResourceFixtures.makeDefaultAiNotebookInstance()
             .workspaceId(workspaceId1)
             .build();
-    resourceDao.createControlledResource(initialResource);
+    resourceDao.createControlledResource(initialResource, FLIGHT_ID);
     assertEquals(
         initialResource,
         resourceDao.getResource(initialResource.getWorkspaceId(), initialResource.getResourceId()));
@@ -170,7 +322,7 @@ public class ResourceDaoTest extends BaseUnitTest {
             .build();
     assertThrows(
         DuplicateResourceException.class,
-        () -> resourceDao.createControlledResource(duplicatingResource));
+        () -> resourceDao.createControlledResource(duplicatingResource, FLIGHT_ID));
 
     final ControlledResource resourceWithDifferentWorkspaceId =
         ControlledResourceFixtures.makeDefaultAiNotebookInstance()
@@ -179,7 +331,7 @@ public class ResourceDaoTest extends BaseUnitTest {
             .build();
 
     // should be fine: separate workspaces implies separate gcp projects
-    resourceDao.createControlledResource(resourceWithDifferentWorkspaceId);
+    resourceDao.createControlledResource(resourceWithDifferentWorkspaceId, FLIGHT_ID);
 
     assertEquals(
         resourceWithDifferentWorkspaceId,
@@ -195,7 +347,7 @@ public class ResourceDaoTest extends BaseUnitTest {
             .build();
 
     // same project & instance ID but different location from resource1
-    resourceDao.createControlledResource(resourceWithDifferentLocation);
+    resourceDao.createControlledResource(resourceWithDifferentLocation, FLIGHT_ID);
     assertEquals(
         resourceWithDifferentLocation,
         resourceDao.getResource(
@@ -223,7 +375,7 @@ public class ResourceDaoTest extends BaseUnitTest {
             .datasetName(datasetName1)
             .build();
 
-    resourceDao.createControlledResource(initialResource);
+    resourceDao.createControlledResource(initialResource, FLIGHT_ID);
 
     final UUID workspaceId2 = createGcpWorkspace();
     // This is in a different workspace (and so a different cloud context), so it is not a conflict
@@ -234,7 +386,7 @@ public class ResourceDaoTest extends BaseUnitTest {
             .name("uniqueResourceName")
             .datasetName(datasetName1)
             .build();
-    resourceDao.createControlledResource(uniqueResource);
+    resourceDao.createControlledResource(uniqueResource, FLIGHT_ID);
 
     // This is in the same workspace as initialResource, so it should be a conflict.
     final ControlledBigQueryDatasetResource duplicatingResource =
@@ -246,7 +398,7 @@ public class ResourceDaoTest extends BaseUnitTest {
 
     assertThrows(
         DuplicateResourceException.class,
-        () -> resourceDao.createControlledResource(duplicatingResource));
+        () -> resourceDao.createControlledResource(duplicatingResource, FLIGHT_ID));
 
     // clean up
     resourceDao.deleteResource(initialResource.getWorkspaceId(), initialResource.getResourceId());
@@ -0,0 +1,76 @@
+package bio.terra.workspace.db;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import bio.terra.workspace.common.BaseUnitTest;
+import bio.terra.workspace.service.workspace.model.GcpCloudContext;
+import bio.terra.workspace.service.workspace.model.Workspace;
+import bio.terra.workspace.service.workspace.model.WorkspaceStage;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public class UnitOfWorkCacheTest extends BaseUnitTest {
+  @Autowired private WorkspaceDao workspaceDao;
+  @Autowired private UnitOfWorkCache unitOfWorkCache;
+
+  private UUID workspaceId;
+
+  @BeforeEach
+  public void setup() {
+    workspaceId = UUID.randomUUID();
+    workspaceDao.createWorkspace(
+        Workspace.builder()
+            .workspaceId(workspaceId)
+            .displayName("original name")
+            .workspaceStage(WorkspaceStage.MC_WORKSPACE)
+            .build());
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest()));
+  }
+
+  @AfterEach
+  public void cleanup() {
+    RequestContextHolder.resetRequestAttributes();
+    workspaceDao.deleteWorkspace(workspaceId);
+  }
+
+  @Test
+  public void rowsAreReadOncePerRequest() {
+    workspaceDao.getWorkspace(workspaceId);
+    workspaceDao.getWorkspace(workspaceId);
+    workspaceDao.getGcpCloudContext(workspaceId);
+    workspaceDao.getGcpCloudContext(workspaceId);
+
+    assertEquals(2, unitOfWorkCache.getQueryCount());
+  }
+
+  @Test
+  public void writesInvalidateMemoizedRows() {
+    workspaceDao.getWorkspace(workspaceId);
+    workspaceDao.getGcpCloudContext(workspaceId);
+
+    workspaceDao.updateWorkspace(workspaceId, "new name", null);
+    workspaceDao.createGcpCloudContext(workspaceId, new GcpCloudContext("fake-project"));
+
+    assertEquals(Optional.of("new name"), workspaceDao.getWorkspace(workspaceId).getDisplayName());
+    assertEquals(
+        "fake-project", workspaceDao.getGcpCloudContext(workspaceId).get().getGcpProjectId());
+    assertEquals(4, unitOfWorkCache.getQueryCount());
+  }
+
+  @Test
+  public void readsOutsideOfARequestAreNotMemoized() {
+    RequestContextHolder.resetRequestAttributes();
+    workspaceDao.getWorkspace(workspaceId);
+    workspaceDao.getWorkspace(workspaceId);
+
+    assertEquals(0, unitOfWorkCache.getQueryCount());
+  }
+}
@@ -18,6 +18,7 @@ import bio.terra.workspace.service.workspace.model.Workspace;
 import bio.terra.workspace.service.workspace.model.WorkspaceStage;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -155,6 +156,32 @@ class WorkspaceDaoTest extends BaseUnitTest {
     assertThat(workspaceList.get(0), in(ImmutableList.of(firstWorkspace, secondWorkspace)));
   }
 
+  @Test
+  void keysetPagesCoverListWithoutOverlap() {
+    List<UUID> idList = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Workspace workspace =
+          Workspace.builder()
+              .workspaceId(UUID.randomUUID())
+              .workspaceStage(WorkspaceStage.RAWLS_WORKSPACE)
+              .build();
+      workspaceDao.createWorkspace(workspace);
+      idList.add(workspace.getWorkspaceId());
+    }
+    idList.add(UUID.randomUUID());
+
+    List<Workspace> firstPage = workspaceDao.getWorkspacesMatchingListAfter(idList, null, 2);
+    assertThat(firstPage.size(), equalTo(2));
+    UUID lastId = firstPage.get(1).getWorkspaceId();
+    List<Workspace> secondPage = workspaceDao.getWorkspacesMatchingListAfter(idList, lastId, 2);
+    assertThat(secondPage.size(), equalTo(1));
+    assertThat(firstPage, not(hasItem(equalTo(secondPage.get(0)))));
+    assertTrue(
+        workspaceDao
+            .getWorkspacesMatchingListAfter(idList, secondPage.get(0).getWorkspaceId(), 2)
+            .isEmpty());
+  }
+
   @Nested
   class McWorkspace {
 
@@ -0,0 +1,166 @@
+package bio.terra.workspace.service.iam;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bio.terra.workspace.app.configuration.external.SamConfiguration;
+import bio.terra.workspace.common.BaseUnitTest;
+import bio.terra.workspace.service.iam.model.SamConstants;
+import com.google.common.base.Ticker;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AuthorizationCacheTest extends BaseUnitTest {
+  private static final String CONTROLLED_RESOURCE_TYPE = "controlled-user-shared";
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final AuthenticatedUserRequest userRequest =
+      new AuthenticatedUserRequest().token(Optional.of("fake-token"));
+  private final AuthenticatedUserRequest otherUserRequest =
+      new AuthenticatedUserRequest().token(Optional.of("other-fake-token"));
+  private AuthorizationCache cache;
+  private String workspaceId;
+
+  @BeforeEach
+  public void setup() {
+    SamConfiguration samConfig = new SamConfiguration();
+    samConfig.setAuthzCachePositiveTtlSeconds(30);
+    samConfig.setAuthzCacheNegativeTtlSeconds(5);
+    cache =
+        new AuthorizationCache(
+            samConfig,
+            new Ticker() {
+              @Override
+              public long read() {
+                return nanos.get();
+              }
+            });
+    workspaceId = UUID.randomUUID().toString();
+  }
+
+  @Test
+  public void decisionsExpireAfterTheirTtl() {
+    cacheWorkspaceDecision(userRequest, SamConstants.SAM_WORKSPACE_READ_ACTION, true);
+    cacheWorkspaceDecision(userRequest, SamConstants.SAM_WORKSPACE_WRITE_ACTION, false);
+
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+    assertEquals(
+        Optional.of(true),
+        getWorkspaceDecision(userRequest, SamConstants.SAM_WORKSPACE_READ_ACTION));
+    assertTrue(
+        getWorkspaceDecision(userRequest, SamConstants.SAM_WORKSPACE_WRITE_ACTION).isEmpty());
+
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(30));
+    assertTrue(getWorkspaceDecision(userRequest, SamConstants.SAM_WORKSPACE_READ_ACTION).isEmpty());
+  }
+
+  @Test
+  public void configuredTtlsAreCapped() {
+    SamConfiguration samConfig = new SamConfiguration();
+    samConfig.setAuthzCachePositiveTtlSeconds(3600);
+    samConfig.setAuthzCacheNegativeTtlSeconds(3600);
+    cache =
+        new AuthorizationCache(
+            samConfig,
+            new Ticker() {
+              @Override
+              public long read() {
+                return nanos.get();
+              }
+            });
+    cacheWorkspaceDecision(userRequest, SamConstants.SAM_WORKSPACE_READ_ACTION, true);
+    cacheWorkspaceDecision(userRequest, SamConstants.SAM_WORKSPACE_WRITE_ACTION, false);
+
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(AuthorizationCache.MAXIMUM_TTL_SECONDS));
+    assertTrue(getWorkspaceDecision(userRequest, SamConstants.SAM_WORKSPACE_READ_ACTION).isEmpty());
+    assertTrue(
+        getWorkspaceDecision(userRequest, SamConstants.SAM_WORKSPACE_WRITE_ACTION).isEmpty());
+  }
+
+  @Test
+  public void decisionsAreScopedToTheCallersToken() {
+    cacheWorkspaceDecision(userRequest, SamConstants.SAM_WORKSPACE_READ_ACTION, true);
+    assertTrue(
+        getWorkspaceDecision(otherUserRequest, SamConstants.SAM_WORKSPACE_READ_ACTION).isEmpty());
+  }
+
+  @Test
+  public void invalidateWorkspaceDropsWorkspaceAndResourceDecisions() {
+    String otherWorkspaceId = UUID.randomUUID().toString();
+    String resourceId = UUID.randomUUID().toString();
+    cacheWorkspaceDecision(userRequest, SamConstants.SAM_WORKSPACE_READ_ACTION, false);
+    cacheWorkspaceDecision(otherUserRequest, SamConstants.SAM_WORKSPACE_READ_ACTION, true);
+    cache.put(
+        userRequest,
+        SamConstants.SAM_WORKSPACE_RESOURCE,
+        otherWorkspaceId,
+        SamConstants.SAM_WORKSPACE_READ_ACTION,
+        true);
+    cache.put(
+        userRequest,
+        CONTROLLED_RESOURCE_TYPE,
+        resourceId,
+        SamConstants.SamControlledResourceActions.READ_ACTION,
+        true);
+
+    cache.invalidateWorkspace(UUID.fromString(workspaceId));
+
+    assertTrue(getWorkspaceDecision(userRequest, SamConstants.SAM_WORKSPACE_READ_ACTION).isEmpty());
+    assertTrue(
+        getWorkspaceDecision(otherUserRequest, SamConstants.SAM_WORKSPACE_READ_ACTION).isEmpty());
+    assertTrue(
+        cache
+            .get(
+                userRequest,
+                CONTROLLED_RESOURCE_TYPE,
+                resourceId,
+                SamConstants.SamControlledResourceActions.READ_ACTION)
+            .isEmpty());
+    assertEquals(
+        Optional.of(true),
+        cache.get(
+            userRequest,
+            SamConstants.SAM_WORKSPACE_RESOURCE,
+            otherWorkspaceId,
+            SamConstants.SAM_WORKSPACE_READ_ACTION));
+  }
+
+  @Test
+  public void invalidateResourceOnlyDropsThatResource() {
+    String resourceId = UUID.randomUUID().toString();
+    cacheWorkspaceDecision(userRequest, SamConstants.SAM_WORKSPACE_READ_ACTION, true);
+    cache.put(
+        userRequest,
+        CONTROLLED_RESOURCE_TYPE,
+        resourceId,
+        SamConstants.SamControlledResourceActions.READ_ACTION,
+        true);
+
+    cache.invalidateResource(CONTROLLED_RESOURCE_TYPE, resourceId);
+
+    assertTrue(
+        cache
+            .get(
+                userRequest,
+                CONTROLLED_RESOURCE_TYPE,
+                resourceId,
+                SamConstants.SamControlledResourceActions.READ_ACTION)
+            .isEmpty());
+    assertEquals(
+        Optional.of(true),
+        getWorkspaceDecision(userRequest, SamConstants.SAM_WORKSPACE_READ_ACTION));
+  }
+
+  private void cacheWorkspaceDecision(
+      AuthenticatedUserRequest request, String action, boolean authorized) {
+    cache.put(request, SamConstants.SAM_WORKSPACE_RESOURCE, workspaceId, action, authorized);
+  }
+
+  private Optional<Boolean> getWorkspaceDecision(AuthenticatedUserRequest request, String action) {
+    return cache.get(request, SamConstants.SAM_WORKSPACE_RESOURCE, workspaceId, action);
+  }
+}
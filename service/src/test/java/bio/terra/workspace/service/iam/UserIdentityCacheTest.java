@@ -0,0 +1,56 @@
+package bio.terra.workspace.service.iam;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bio.terra.workspace.app.configuration.external.SamConfiguration;
+import bio.terra.workspace.common.BaseUnitTest;
+import bio.terra.workspace.service.iam.model.UserIdentity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+public class UserIdentityCacheTest extends BaseUnitTest {
+  private static final UserIdentity IDENTITY = UserIdentity.create("fake@example.com", "12345");
+
+  @Autowired private ObjectMapper objectMapper;
+  private UserIdentityCache cache;
+
+  @BeforeEach
+  public void setup() {
+    cache = new UserIdentityCache(new SamConfiguration(), objectMapper);
+  }
+
+  @Test
+  public void opaqueTokenIdentityIsCached() {
+    cache.put("opaque-token", IDENTITY);
+    assertEquals(Optional.of(IDENTITY), cache.get("opaque-token"));
+    assertTrue(cache.get("different-token").isEmpty());
+  }
+
+  @Test
+  public void jwtIdentityIsCachedUntilTokenExpires() {
+    String liveToken = fakeJwt(Instant.now().plusSeconds(600));
+    String expiredToken = fakeJwt(Instant.now().minusSeconds(1));
+    cache.put(liveToken, IDENTITY);
+    cache.put(expiredToken, IDENTITY);
+
+    assertEquals(Optional.of(IDENTITY), cache.get(liveToken));
+    assertTrue(cache.get(expiredToken).isEmpty());
+  }
+
+  private static String fakeJwt(Instant expiration) {
+    Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    String header = encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+    String payload =
+        encoder.encodeToString(
+            String.format("{\"exp\":%d}", expiration.getEpochSecond())
+                .getBytes(StandardCharsets.UTF_8));
+    return header + "." + payload + ".signature";
+  }
+}
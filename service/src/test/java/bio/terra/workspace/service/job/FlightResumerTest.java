@@ -0,0 +1,89 @@
+package bio.terra.workspace.service.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bio.terra.stairway.Flight;
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightMap;
+import bio.terra.stairway.FlightState;
+import bio.terra.stairway.FlightStatus;
+import bio.terra.stairway.Step;
+import bio.terra.stairway.StepResult;
+import bio.terra.workspace.common.BaseUnitTest;
+import bio.terra.workspace.common.StairwayTestUtils;
+import bio.terra.workspace.common.utils.FlightBeanBag;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class FlightResumerTest extends BaseUnitTest {
+  private static final String WAIT_KEY = "testWait";
+  private static final String RUNS_KEY = "runs";
+  private static final Duration MIN_WAIT = Duration.ofMillis(500);
+
+  @Autowired private JobService jobService;
+
+  @Test
+  void yieldingStepRunsAgainUntilDone() throws Exception {
+    FlightState flightState =
+        StairwayTestUtils.blockUntilFlightCompletes(
+            jobService.getStairway(),
+            WaitingFlight.class,
+            new FlightMap(),
+            Duration.ofMinutes(1),
+            null);
+
+    assertEquals(FlightStatus.SUCCESS, flightState.getFlightStatus());
+    // The step ran once to start waiting, and again at least once after yielding.
+    int runs = flightState.getResultMap().get().get(RUNS_KEY, Integer.class);
+    assertTrue(runs > 1, "Expected the waiting step to run more than once, but ran " + runs);
+  }
+
+  @Test
+  void backoffIntervalDoublesUpToMax() {
+    Duration initial = Duration.ofSeconds(2);
+    Duration max = Duration.ofSeconds(30);
+
+    assertEquals(Duration.ofSeconds(2), FlightResumer.backoffInterval(initial, max, 0));
+    assertEquals(Duration.ofSeconds(4), FlightResumer.backoffInterval(initial, max, 1));
+    assertEquals(Duration.ofSeconds(16), FlightResumer.backoffInterval(initial, max, 3));
+    assertEquals(max, FlightResumer.backoffInterval(initial, max, 4));
+    assertEquals(max, FlightResumer.backoffInterval(initial, max, Integer.MAX_VALUE));
+  }
+
+  /** A flight with one step that yields until it has waited {@link #MIN_WAIT}. */
+  public static class WaitingFlight extends Flight {
+    public WaitingFlight(FlightMap inputParameters, Object applicationContext) {
+      super(inputParameters, applicationContext);
+      FlightBeanBag flightBeanBag = FlightBeanBag.getFromObject(applicationContext);
+      addStep(new WaitingStep(flightBeanBag.getFlightResumer()));
+    }
+  }
+
+  /** Counts its runs, yielding every 100ms until it has waited {@link #MIN_WAIT}. */
+  public static class WaitingStep implements Step {
+    private final FlightResumer flightResumer;
+
+    public WaitingStep(FlightResumer flightResumer) {
+      this.flightResumer = flightResumer;
+    }
+
+    @Override
+    public StepResult doStep(FlightContext flightContext) {
+      FlightMap workingMap = flightContext.getWorkingMap();
+      Integer runs = workingMap.get(RUNS_KEY, Integer.class);
+      workingMap.put(RUNS_KEY, runs == null ? 1 : runs + 1);
+      if (runs != null && flightResumer.waitedLongerThan(flightContext, WAIT_KEY, MIN_WAIT)) {
+        flightResumer.endWait(flightContext, WAIT_KEY);
+        return StepResult.getStepResultSuccess();
+      }
+      return flightResumer.waitAndRerun(flightContext, WAIT_KEY, Duration.ofMillis(100));
+    }
+
+    @Override
+    public StepResult undoStep(FlightContext flightContext) {
+      return StepResult.getStepResultSuccess();
+    }
+  }
+}
@@ -0,0 +1,170 @@
+package bio.terra.workspace.service.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightStatus;
+import bio.terra.workspace.app.configuration.external.JobAdmissionConfiguration;
+import bio.terra.workspace.common.BaseUnitTest;
+import bio.terra.workspace.service.job.exception.TooManyJobsException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JobAdmissionControllerTest extends BaseUnitTest {
+  private JobAdmissionConfiguration config;
+  private JobAdmissionController admissionController;
+  private ExecutorService executor;
+
+  @BeforeEach
+  void setup() {
+    config = new JobAdmissionConfiguration();
+    config.setMaxActiveFlights(2);
+    config.setMaxActiveFlightsPerUser(1);
+    config.setMaxQueuedSubmissions(2);
+    config.setQueueTimeoutMillis(5000);
+    config.setRetryAfterSeconds(7);
+    admissionController = new JobAdmissionController(config);
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  void teardown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void refusesWhenQueueIsFull() {
+    config.setMaxQueuedSubmissions(0);
+    assertTrue(admissionController.admit("a1", "userA", JobServiceTestFlight.class));
+
+    TooManyJobsException ex =
+        assertThrows(
+            TooManyJobsException.class,
+            () -> admissionController.admit("a2", "userA", JobServiceTestFlight.class));
+    assertEquals(7, ex.getRetryAfterSeconds());
+  }
+
+  @Test
+  void refusesWhenNotAdmittedInTime() {
+    config.setQueueTimeoutMillis(50);
+    admissionController.admit("a1", "userA", JobServiceTestFlight.class);
+
+    assertThrows(
+        TooManyJobsException.class,
+        () -> admissionController.admit("a2", "userA", JobServiceTestFlight.class));
+    // The timed out submission left the queue, so a release does not hand it the slot.
+    admissionController.release("a1");
+    assertTrue(admissionController.admit("a3", "userA", JobServiceTestFlight.class));
+  }
+
+  @Test
+  void limitsFlightsPerClass() {
+    config.setMaxActiveFlightsPerUser(2);
+    config.setMaxActiveFlightsPerClass(Map.of(JobServiceTestFlight.class.getSimpleName(), 1));
+    config.setQueueTimeoutMillis(50);
+    admissionController.admit("a1", "userA", JobServiceTestFlight.class);
+
+    assertThrows(
+        TooManyJobsException.class,
+        () -> admissionController.admit("b1", "userB", JobServiceTestFlight.class));
+  }
+
+  @Test
+  void releaseAdmitsWaitingUsersInTurn() throws Exception {
+    config.setMaxActiveFlights(1);
+    config.setMaxActiveFlightsPerUser(1);
+    config.setMaxQueuedSubmissions(3);
+    admissionController.admit("a1", "userA", JobServiceTestFlight.class);
+
+    List<String> admitted = new CopyOnWriteArrayList<>();
+    // userA queues two submissions before userB queues one; userB should not wait for both.
+    Future<?> a2 = submitWaiting("a2", "userA", admitted);
+    Future<?> a3 = submitWaiting("a3", "userA", admitted);
+    Future<?> b1 = submitWaiting("b1", "userB", admitted);
+
+    admissionController.release("a1");
+    a2.get(5, TimeUnit.SECONDS);
+    admissionController.release("a2");
+    b1.get(5, TimeUnit.SECONDS);
+    assertFalse(a3.isDone());
+    admissionController.release("b1");
+    a3.get(5, TimeUnit.SECONDS);
+
+    assertEquals(List.of("a2", "b1", "a3"), admitted);
+  }
+
+  @Test
+  void yieldedFlightDoesNotHoldItsSlot() {
+    config.setQueueTimeoutMillis(50);
+    admissionController.admit("a1", "userA", JobServiceTestFlight.class);
+    admissionController.stateTransition(flightContext("a1", FlightStatus.WAITING));
+
+    // userA may run one flight, and a1 is not running.
+    assertTrue(admissionController.admit("a2", "userA", JobServiceTestFlight.class));
+
+    // Once a1 runs again, userA is over the limit until a flight finishes.
+    admissionController.startStep(flightContext("a1", FlightStatus.RUNNING));
+    admissionController.stateTransition(flightContext("a2", FlightStatus.SUCCESS));
+    assertThrows(
+        TooManyJobsException.class,
+        () -> admissionController.admit("a3", "userA", JobServiceTestFlight.class));
+    admissionController.stateTransition(flightContext("a1", FlightStatus.SUCCESS));
+    assertTrue(admissionController.admit("a3", "userA", JobServiceTestFlight.class));
+  }
+
+  @Test
+  void flightFinishingWhileYieldedIsForgotten() {
+    config.setMaxActiveFlights(1);
+    admissionController.admit("a1", "userA", JobServiceTestFlight.class);
+    admissionController.stateTransition(flightContext("a1", FlightStatus.WAITING));
+    admissionController.stateTransition(flightContext("a1", FlightStatus.ERROR));
+
+    // A later step start must not count the finished flight again.
+    admissionController.startStep(flightContext("a1", FlightStatus.RUNNING));
+    assertTrue(admissionController.admit("b1", "userB", JobServiceTestFlight.class));
+  }
+
+  @Test
+  void disabledAdmitsEverything() {
+    config.setEnabled(false);
+    for (int i = 0; i < 10; i++) {
+      assertFalse(admissionController.admit("a" + i, "userA", JobServiceTestFlight.class));
+    }
+  }
+
+  private static FlightContext flightContext(String flightId, FlightStatus status) {
+    FlightContext context = mock(FlightContext.class);
+    when(context.getFlightId()).thenReturn(flightId);
+    when(context.getFlightStatus()).thenReturn(status);
+    return context;
+  }
+
+  /** Submit on another thread, and wait until the submission is queued. */
+  private Future<?> submitWaiting(String flightId, String subjectId, List<String> admitted)
+      throws InterruptedException {
+    int queuedBefore = admissionController.getWaitingCount();
+    Future<?> future =
+        executor.submit(
+            () -> {
+              admissionController.admit(flightId, subjectId, JobServiceTestFlight.class);
+              admitted.add(flightId);
+            });
+    while (admissionController.getWaitingCount() == queuedBefore) {
+      TimeUnit.MILLISECONDS.sleep(10);
+    }
+    return future;
+  }
+}
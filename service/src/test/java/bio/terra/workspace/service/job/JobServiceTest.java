@@ -4,22 +4,40 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 
+import bio.terra.stairway.Flight;
+import bio.terra.stairway.FlightContext;
 import bio.terra.stairway.FlightDebugInfo;
+import bio.terra.stairway.FlightMap;
+import bio.terra.stairway.FlightStatus;
+import bio.terra.stairway.Step;
+import bio.terra.stairway.StepResult;
+import bio.terra.workspace.app.configuration.external.JobConfiguration;
 import bio.terra.workspace.common.BaseUnitTest;
+import bio.terra.workspace.common.utils.FlightBeanBag;
+import bio.terra.workspace.common.utils.FlightUtils;
+import bio.terra.workspace.db.JobProgressDao;
 import bio.terra.workspace.generated.model.ApiJobReport;
 import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
 import bio.terra.workspace.service.iam.SamService;
 import bio.terra.workspace.service.job.exception.InvalidJobIdException;
 import bio.terra.workspace.service.job.exception.InvalidResultStateException;
+import bio.terra.workspace.service.job.exception.JobNotCompleteException;
 import bio.terra.workspace.service.job.exception.JobNotFoundException;
+import bio.terra.workspace.service.job.exception.JobUnauthorizedException;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +47,9 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
 
 class JobServiceTest extends BaseUnitTest {
+  private static final String WAITING_PROGRESS = "half way";
+  private static final String WAITING_RESULT = "all done";
+
   private final AuthenticatedUserRequest testUser =
       new AuthenticatedUserRequest()
           .subjectId("StairwayUnit")
@@ -36,6 +57,7 @@ class JobServiceTest extends BaseUnitTest {
           .token(Optional.of("not-a-real-token"));
 
   @Autowired private JobService jobService;
+  @Autowired private JobConfiguration jobConfiguration;
 
   @MockBean private SamService mockSamService;
 
@@ -140,6 +162,151 @@ class JobServiceTest extends BaseUnitTest {
     assertThat(jobList.size(), equalTo(count));
   }
 
+  @Test
+  void waitForJobIsWokenByCompletion() throws Exception {
+    String jobId = UUID.randomUUID().toString();
+    jobService
+        .newJob("waiting", jobId, JobServiceTestWaitingFlight.class, null, testUser)
+        .submit();
+    awaitFlightStatus(jobId, FlightStatus.WAITING);
+
+    // With the fallback poll out of reach, only the completion notification can end the wait.
+    int pollingIntervalSeconds = jobConfiguration.getPollingIntervalSeconds();
+    jobConfiguration.setPollingIntervalSeconds((int) TimeUnit.HOURS.toSeconds(1));
+    try {
+      CompletableFuture<Void> waiter =
+          CompletableFuture.runAsync(() -> jobService.waitForJob(jobId));
+      jobService.getStairway().resume(jobId);
+      waiter.get(1, TimeUnit.MINUTES);
+    } finally {
+      jobConfiguration.setPollingIntervalSeconds(pollingIntervalSeconds);
+    }
+    assertThat(
+        jobService.getStairway().getFlightState(jobId).getFlightStatus(),
+        equalTo(FlightStatus.SUCCESS));
+  }
+
+  @Test
+  void finishedJobResultIsCached() {
+    String jobId = runFlight(makeDescription(0));
+    String first = jobService.retrieveJobResult(jobId, String.class, testUser).getResult();
+    String second = jobService.retrieveJobResult(jobId, String.class, testUser).getResult();
+    // The second poll reuses the state and result read by the first.
+    assertSame(first, second);
+    assertThrows(
+        JobUnauthorizedException.class,
+        () ->
+            jobService.retrieveJobResult(
+                jobId, String.class, new AuthenticatedUserRequest().subjectId("someone-else")));
+  }
+
+  @Test
+  void submitAndWatchCompletesWithResult() throws Exception {
+    String result =
+        jobService
+            .newJob(
+                makeDescription(0),
+                UUID.randomUUID().toString(),
+                JobServiceTestFlight.class,
+                null,
+                testUser)
+            .submitAndWatch(String.class)
+            .get(jobConfiguration.getTimeoutSeconds(), TimeUnit.SECONDS);
+    assertThat(result, equalTo(makeDescription(0)));
+  }
+
+  @Test
+  void enumerateJobsAfterPagesInSubmitOrder() {
+    AuthenticatedUserRequest user =
+        new AuthenticatedUserRequest()
+            .subjectId(UUID.randomUUID().toString())
+            .email("pager@unit.com")
+            .token(Optional.of("not-a-real-token"));
+    List<String> jobIds = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      String jobId = UUID.randomUUID().toString();
+      jobService.newJob(makeDescription(i), jobId, JobServiceTestFlight.class, null, user).submit();
+      jobService.waitForJob(jobId);
+      jobIds.add(jobId);
+    }
+
+    List<JobSummary> firstPage =
+        jobService.enumerateJobsAfter(user, null, null, null, null, null, 2);
+    assertThat(firstPage.size(), equalTo(2));
+    JobSummary last = firstPage.get(1);
+    List<JobSummary> secondPage =
+        jobService.enumerateJobsAfter(
+            user, null, null, null, last.getSubmitted(), last.getJobId(), 2);
+    assertThat(secondPage.size(), equalTo(1));
+
+    List<String> pagedIds = new ArrayList<>();
+    firstPage.forEach(job -> pagedIds.add(job.getJobId()));
+    secondPage.forEach(job -> pagedIds.add(job.getJobId()));
+    assertThat(pagedIds, equalTo(jobIds));
+    assertThat(firstPage.get(0).getDescription(), equalTo(makeDescription(0)));
+
+    assertThat(
+        jobService
+            .enumerateJobsAfter(
+                user,
+                ApiJobReport.StatusEnum.SUCCEEDED,
+                JobServiceTestFlight.class,
+                null,
+                null,
+                null,
+                10)
+            .size(),
+        equalTo(3));
+    assertTrue(
+        jobService
+            .enumerateJobsAfter(user, ApiJobReport.StatusEnum.FAILED, null, null, null, null, 10)
+            .isEmpty());
+  }
+
+  @Test
+  void waitingJobIsReportedAsRunning() throws Exception {
+    String jobId = UUID.randomUUID().toString();
+    jobService
+        .newJob("waiting", jobId, JobServiceTestWaitingFlight.class, null, testUser)
+        .submit();
+    awaitFlightStatus(jobId, FlightStatus.WAITING);
+
+    // A yielded flight is still running: it has no completion time, and no result yet.
+    ApiJobReport report = jobService.retrieveJob(jobId, testUser);
+    assertThat(report.getStatus(), equalTo(ApiJobReport.StatusEnum.RUNNING));
+    assertThat(report.getStatusCode(), equalTo(HttpStatus.ACCEPTED.value()));
+    assertNull(report.getCompleted());
+    JobService.AsyncJobResult<String> asyncResult =
+        jobService.retrieveAsyncJobResult(jobId, String.class, testUser);
+    assertNull(asyncResult.getApiErrorReport());
+    // The result of a running job is the progress it reported.
+    assertThat(asyncResult.getResult(), equalTo(WAITING_PROGRESS));
+    assertThrows(
+        JobNotCompleteException.class,
+        () -> jobService.retrieveJobResult(jobId, String.class, testUser));
+    assertTrue(
+        jobService
+            .enumerateJobsAfter(
+                testUser, ApiJobReport.StatusEnum.FAILED, null, null, null, null, 1000)
+            .stream()
+            .noneMatch(job -> job.getJobId().equals(jobId)));
+    assertTrue(
+        jobService
+            .enumerateJobsAfter(
+                testUser, ApiJobReport.StatusEnum.RUNNING, null, null, null, null, 1000)
+            .stream()
+            .anyMatch(job -> job.getJobId().equals(jobId)));
+
+    jobService.getStairway().resume(jobId);
+    jobService.waitForJob(jobId);
+    assertThat(
+        jobService.retrieveJob(jobId, testUser).getStatus(),
+        equalTo(ApiJobReport.StatusEnum.SUCCEEDED));
+    assertThat(
+        jobService.retrieveAsyncJobResult(jobId, String.class, testUser).getResult(),
+        equalTo(WAITING_RESULT));
+  }
+
   @Test
   void testBadIdRetrieveJob() {
     assertThrows(JobNotFoundException.class, () -> jobService.retrieveJob("abcdef", testUser));
@@ -179,7 +346,54 @@ class JobServiceTest extends BaseUnitTest {
     return jobId;
   }
 
+  private void awaitFlightStatus(String jobId, FlightStatus status) throws Exception {
+    Instant deadline = Instant.now().plusSeconds(30);
+    while (jobService.getStairway().getFlightState(jobId).getFlightStatus() != status) {
+      assertTrue(Instant.now().isBefore(deadline), "Flight never reached " + status);
+      TimeUnit.MILLISECONDS.sleep(50);
+    }
+  }
+
   private String makeDescription(int ii) {
     return String.format("flight%d", ii);
   }
+
+  /** A flight that yields for longer than any test runs, until it is resumed by hand. */
+  public static class JobServiceTestWaitingFlight extends Flight {
+    public JobServiceTestWaitingFlight(FlightMap inputParameters, Object applicationContext) {
+      super(inputParameters, applicationContext);
+      FlightBeanBag flightBeanBag = FlightBeanBag.getFromObject(applicationContext);
+      addStep(
+          new JobServiceTestWaitingStep(
+              flightBeanBag.getFlightResumer(), flightBeanBag.getJobProgressDao()));
+    }
+  }
+
+  /** Reports progress and yields on its first run, and succeeds when run again. */
+  public static class JobServiceTestWaitingStep implements Step {
+    private static final String WAIT_KEY = "jobServiceTestWait";
+    private final FlightResumer flightResumer;
+    private final JobProgressDao jobProgressDao;
+
+    public JobServiceTestWaitingStep(FlightResumer flightResumer, JobProgressDao jobProgressDao) {
+      this.flightResumer = flightResumer;
+      this.jobProgressDao = jobProgressDao;
+    }
+
+    @Override
+    public StepResult doStep(FlightContext flightContext) {
+      if (flightResumer.waitedLongerThan(flightContext, WAIT_KEY, Duration.ZERO)) {
+        flightResumer.endWait(flightContext, WAIT_KEY);
+        FlightUtils.setResponse(flightContext, WAITING_RESULT, HttpStatus.OK);
+        return StepResult.getStepResultSuccess();
+      }
+      jobProgressDao.setProgress(flightContext.getFlightId(), WAITING_PROGRESS);
+      return flightResumer.waitAndRerun(flightContext, WAIT_KEY, Duration.ofHours(1));
+    }
+
+    @Override
+    public StepResult undoStep(FlightContext flightContext) {
+      return StepResult.getStepResultSuccess();
+    }
+  }
 }
@@ -0,0 +1,50 @@
+package bio.terra.workspace.service.resource.controlled.flight.clone.dataset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bio.terra.workspace.common.BaseUnitTest;
+import org.junit.jupiter.api.Test;
+
+public class CreateTableCopyJobsStepTest extends BaseUnitTest {
+
+  @Test
+  public void shouldCloneTable_standardTableInSameLocation() {
+    assertTrue(CreateTableCopyJobsStep.shouldCloneTable(true, "US", "US", "TABLE"));
+    assertTrue(
+        CreateTableCopyJobsStep.shouldCloneTable(true, "us-central1", "US-CENTRAL1", "TABLE"));
+    // No destination location means the source's.
+    assertTrue(CreateTableCopyJobsStep.shouldCloneTable(true, "US", null, "TABLE"));
+  }
+
+  @Test
+  public void shouldCloneTable_onlyWhenEnabled() {
+    assertFalse(CreateTableCopyJobsStep.shouldCloneTable(false, "US", "US", "TABLE"));
+  }
+
+  @Test
+  public void shouldCloneTable_copiesOtherTableTypes() {
+    assertFalse(CreateTableCopyJobsStep.shouldCloneTable(true, "US", "US", "VIEW"));
+    assertFalse(CreateTableCopyJobsStep.shouldCloneTable(true, "US", "US", "SNAPSHOT"));
+    assertFalse(CreateTableCopyJobsStep.shouldCloneTable(true, "US", "US", null));
+  }
+
+  @Test
+  public void shouldCloneTable_copiesToAnotherLocation() {
+    assertFalse(CreateTableCopyJobsStep.shouldCloneTable(true, "US", "EU", "TABLE"));
+    // Flights started before the source location was recorded copy every table.
+    assertFalse(CreateTableCopyJobsStep.shouldCloneTable(true, null, "US", "TABLE"));
+  }
+
+  @Test
+  public void tableCopyStatus_cloneCopiesNoBytes() {
+    final TableCopyStatus copy = new TableCopyStatus("p:d.copied", "job1", 1_000L, false);
+    final TableCopyStatus clone = new TableCopyStatus("p:d.cloned", "job2", 1_000L, true);
+    assertEquals(0L, copy.toApiModel().getBytesCopied());
+    copy.setState(TableCopyState.DONE);
+    clone.setState(TableCopyState.DONE);
+    assertEquals(1_000L, copy.toApiModel().getBytesCopied());
+    assertEquals(0L, clone.toApiModel().getBytesCopied());
+  }
+}
@@ -0,0 +1,125 @@
+package bio.terra.workspace.service.resource.controlled.flight.clone.workspace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightMap;
+import bio.terra.stairway.FlightState;
+import bio.terra.stairway.FlightStatus;
+import bio.terra.stairway.Stairway;
+import bio.terra.stairway.StepResult;
+import bio.terra.workspace.common.BaseUnitTest;
+import bio.terra.workspace.db.ResourceDao;
+import bio.terra.workspace.service.job.JobMapKeys;
+import bio.terra.workspace.service.resource.model.CloningInstructions;
+import bio.terra.workspace.service.resource.model.StewardshipType;
+import bio.terra.workspace.service.resource.referenced.ReferencedGcsBucketResource;
+import bio.terra.workspace.service.resource.referenced.ReferencedResource;
+import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
+import bio.terra.workspace.service.workspace.model.WsmCloneResourceResult;
+import bio.terra.workspace.service.workspace.model.WsmResourceCloneDetails;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+public class AwaitCreateReferenceResourceFlightStepTest extends BaseUnitTest {
+
+  private static final String SUBFLIGHT_ID = "create-reference-subflight";
+  @Mock private ResourceDao mockResourceDao;
+  @Mock private FlightContext mockFlightContext;
+  @Mock private Stairway mockStairway;
+  @Mock private FlightState mockSubflightState;
+  private FlightMap workingMap;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    doReturn(mockStairway).when(mockFlightContext).getStairway();
+    doReturn(mockSubflightState)
+        .when(mockStairway)
+        .waitForFlight(eq(SUBFLIGHT_ID), anyInt(), anyInt());
+    workingMap = new FlightMap();
+    doReturn(workingMap).when(mockFlightContext).getWorkingMap();
+  }
+
+  @Test
+  public void doStep_reportsResultFromSourceResource() throws Exception {
+    final ReferencedResource source = makeReference("source-bucket");
+    final UUID destinationResourceId = UUID.randomUUID();
+    final FlightMap subflightResult = new FlightMap();
+    subflightResult.put(JobMapKeys.RESPONSE.getKeyName(), destinationResourceId);
+    doReturn(FlightStatus.SUCCESS).when(mockSubflightState).getFlightStatus();
+    doReturn(Optional.of(subflightResult)).when(mockSubflightState).getResultMap();
+    doReturn(Optional.empty()).when(mockSubflightState).getException();
+    // Another reference launched alongside this one already recorded its result.
+    final UUID otherSourceResourceId = UUID.randomUUID();
+    final WsmResourceCloneDetails otherDetails = new WsmResourceCloneDetails();
+    otherDetails.setSourceResourceId(otherSourceResourceId);
+    workingMap.put(
+        ControlledResourceKeys.RESOURCE_ID_TO_CLONE_RESULT,
+        Map.of(otherSourceResourceId, otherDetails));
+
+    final StepResult stepResult =
+        new AwaitCreateReferenceResourceFlightStep(source, SUBFLIGHT_ID, mockResourceDao)
+            .doStep(mockFlightContext);
+
+    assertEquals(StepResult.getStepResultSuccess(), stepResult);
+    final Map<UUID, WsmResourceCloneDetails> results =
+        workingMap.get(
+            ControlledResourceKeys.RESOURCE_ID_TO_CLONE_RESULT, new TypeReference<>() {});
+    assertEquals(2, results.size());
+    assertEquals(otherSourceResourceId, results.get(otherSourceResourceId).getSourceResourceId());
+    final WsmResourceCloneDetails details = results.get(source.getResourceId());
+    assertEquals(WsmCloneResourceResult.SUCCEEDED, details.getResult());
+    assertEquals(source.getResourceType(), details.getResourceType());
+    assertEquals(StewardshipType.REFERENCED, details.getStewardshipType());
+    assertEquals(CloningInstructions.COPY_REFERENCE, details.getCloningInstructions());
+    assertEquals(source.getResourceId(), details.getSourceResourceId());
+    assertEquals(destinationResourceId, details.getDestinationResourceId());
+    assertEquals(source.getName(), details.getName());
+    assertEquals(source.getDescription(), details.getDescription());
+    assertNull(details.getErrorMessage());
+  }
+
+  @Test
+  public void doStep_reportsFailedClone() throws Exception {
+    final ReferencedResource source = makeReference("failing-bucket");
+    doReturn(FlightStatus.ERROR).when(mockSubflightState).getFlightStatus();
+    doReturn(Optional.of(new FlightMap())).when(mockSubflightState).getResultMap();
+    doReturn(Optional.of(new IllegalStateException("no access")))
+        .when(mockSubflightState)
+        .getException();
+
+    final StepResult stepResult =
+        new AwaitCreateReferenceResourceFlightStep(source, SUBFLIGHT_ID, mockResourceDao)
+            .doStep(mockFlightContext);
+
+    assertEquals(StepResult.getStepResultSuccess(), stepResult);
+    final Map<UUID, WsmResourceCloneDetails> results =
+        workingMap.get(
+            ControlledResourceKeys.RESOURCE_ID_TO_CLONE_RESULT, new TypeReference<>() {});
+    final WsmResourceCloneDetails details = results.get(source.getResourceId());
+    assertEquals(WsmCloneResourceResult.FAILED, details.getResult());
+    assertEquals(source.getResourceType(), details.getResourceType());
+    assertEquals(source.getName(), details.getName());
+    assertNull(details.getDestinationResourceId());
+    assertEquals("no access", details.getErrorMessage());
+  }
+
+  private static ReferencedResource makeReference(String bucketName) {
+    return new ReferencedGcsBucketResource(
+        UUID.randomUUID(),
+        UUID.randomUUID(),
+        bucketName,
+        "reference to " + bucketName,
+        CloningInstructions.COPY_REFERENCE,
+        bucketName);
+  }
+}
@@ -0,0 +1,215 @@
+package bio.terra.workspace.service.resource.controlled.flight.clone.workspace;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import bio.terra.stairway.FlightContext;
+import bio.terra.stairway.FlightMap;
+import bio.terra.stairway.StepResult;
+import bio.terra.workspace.app.configuration.external.WorkspaceCloneConfiguration;
+import bio.terra.workspace.common.BaseUnitTest;
+import bio.terra.workspace.common.utils.FlightBeanBag;
+import bio.terra.workspace.db.ResourceDao;
+import bio.terra.workspace.service.crl.CrlService;
+import bio.terra.workspace.service.iam.AuthenticatedUserRequest;
+import bio.terra.workspace.service.job.JobMapKeys;
+import bio.terra.workspace.service.resource.model.CloningInstructions;
+import bio.terra.workspace.service.resource.referenced.ReferencedGcsBucketResource;
+import bio.terra.workspace.service.resource.referenced.ReferencedResource;
+import bio.terra.workspace.service.resource.referenced.exception.InvalidReferenceException;
+import bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.ControlledResourceKeys;
+import bio.terra.workspace.service.workspace.model.WsmCloneResourceResult;
+import bio.terra.workspace.service.workspace.model.WsmResourceCloneDetails;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+public class CloneAllReferencesStepTest extends BaseUnitTest {
+
+  private static final String FLIGHT_ID = "clone-all-references-flight";
+  private static final UUID DESTINATION_WORKSPACE_ID = UUID.randomUUID();
+  @Mock private FlightBeanBag mockFlightBeanBag;
+  @Mock private ResourceDao mockResourceDao;
+  @Mock private CrlService mockCrlService;
+  @Mock private FlightContext mockFlightContext;
+  private FlightMap workingMap;
+
+  @BeforeEach
+  public void setup() {
+    doReturn(mockResourceDao).when(mockFlightBeanBag).getResourceDao();
+    doReturn(mockCrlService).when(mockFlightBeanBag).getCrlService();
+    doReturn(new WorkspaceCloneConfiguration())
+        .when(mockFlightBeanBag)
+        .getWorkspaceCloneConfiguration();
+    doReturn(MoreExecutors.newDirectExecutorService())
+        .when(mockFlightBeanBag)
+        .getParallelStepExecutor();
+
+    final FlightMap inputParameters = new FlightMap();
+    inputParameters.put(ControlledResourceKeys.DESTINATION_WORKSPACE_ID, DESTINATION_WORKSPACE_ID);
+    inputParameters.put(
+        JobMapKeys.AUTH_USER_INFO.getKeyName(),
+        new AuthenticatedUserRequest().subjectId("cloner").email("cloner@unit.com"));
+    doReturn(inputParameters).when(mockFlightContext).getInputParameters();
+    workingMap = new FlightMap();
+    doReturn(workingMap).when(mockFlightContext).getWorkingMap();
+    doReturn(FLIGHT_ID).when(mockFlightContext).getFlightId();
+    doReturn(Set.of())
+        .when(mockResourceDao)
+        .getResourceIdsCreatedByFlight(DESTINATION_WORKSPACE_ID, FLIGHT_ID);
+  }
+
+  @Test
+  public void doStep_failsEachReferenceOnItsOwn() throws Exception {
+    final ReferencedResource readable = makeReference("readable-bucket");
+    final ReferencedResource unreadable = makeReference("unreadable-bucket");
+    final ReferencedResource flaky = makeReference("flaky-bucket");
+    final ReferencedResource broken = makeReference("broken-bucket");
+    final ReferencedResource clashing = makeReference("clashing-bucket");
+    final ReferencedResource skipped =
+        new ReferencedGcsBucketResource(
+            UUID.randomUUID(),
+            UUID.randomUUID(),
+            "skipped-bucket",
+            null,
+            CloningInstructions.COPY_NOTHING,
+            "skipped-bucket");
+    doReturn(true).when(mockCrlService).canReadGcsBucket(eq("readable-bucket"), any());
+    doReturn(true).when(mockCrlService).canReadGcsBucket(eq("clashing-bucket"), any());
+    doReturn(false).when(mockCrlService).canReadGcsBucket(eq("unreadable-bucket"), any());
+    doThrow(new InvalidReferenceException("flaky"))
+        .doReturn(true)
+        .when(mockCrlService)
+        .canReadGcsBucket(eq("flaky-bucket"), any());
+    doThrow(new InvalidReferenceException("Error while trying to access GCS bucket"))
+        .when(mockCrlService)
+        .canReadGcsBucket(eq("broken-bucket"), any());
+    // Another resource in the destination workspace already has the clashing name.
+    doAnswer(
+            invocation -> {
+              final List<ReferencedResource> resources = invocation.getArgument(0);
+              return resources.stream()
+                  .filter(resource -> !"clashing-bucket".equals(resource.getName()))
+                  .map(ReferencedResource::getResourceId)
+                  .collect(Collectors.toSet());
+            })
+        .when(mockResourceDao)
+        .createReferenceResources(anyList(), eq(FLIGHT_ID));
+
+    final StepResult stepResult =
+        new CloneAllReferencesStep(
+                mockFlightBeanBag,
+                List.of(readable, unreadable, flaky, broken, clashing, skipped),
+                Duration.ZERO)
+            .doStep(mockFlightContext);
+
+    assertEquals(StepResult.getStepResultSuccess(), stepResult);
+    final Map<UUID, WsmResourceCloneDetails> results = getResults();
+    assertEquals(6, results.size());
+    assertSucceeded(results.get(readable.getResourceId()));
+    assertSucceeded(results.get(flaky.getResourceId()));
+    assertFailed(
+        results.get(unreadable.getResourceId()),
+        "Referenced resource unreadable-bucket was not found or you do not have access.");
+    assertFailed(
+        results.get(broken.getResourceId()), "Error while trying to access GCS bucket");
+    assertFailed(
+        results.get(clashing.getResourceId()),
+        String.format(
+            "A resource named clashing-bucket, or with id %s, already exists in the workspace",
+            destinationResourceId(clashing)));
+    assertEquals(WsmCloneResourceResult.SKIPPED, results.get(skipped.getResourceId()).getResult());
+    // Errors are retried; a lack of access is not.
+    verify(mockCrlService, times(3)).canReadGcsBucket(eq("broken-bucket"), any());
+    verify(mockCrlService, times(2)).canReadGcsBucket(eq("flaky-bucket"), any());
+    verify(mockCrlService, times(1)).canReadGcsBucket(eq("unreadable-bucket"), any());
+    assertThat(
+        storedNames(),
+        containsInAnyOrder("readable-bucket", "flaky-bucket", "clashing-bucket"));
+  }
+
+  @Test
+  public void doStep_rerunReportsReferencesStoredByEarlierRun() throws Exception {
+    final ReferencedResource stored = makeReference("stored-bucket");
+    doReturn(Set.of(destinationResourceId(stored)))
+        .when(mockResourceDao)
+        .getResourceIdsCreatedByFlight(DESTINATION_WORKSPACE_ID, FLIGHT_ID);
+    doReturn(Set.of()).when(mockResourceDao).createReferenceResources(anyList(), eq(FLIGHT_ID));
+
+    final StepResult stepResult =
+        new CloneAllReferencesStep(mockFlightBeanBag, List.of(stored), Duration.ZERO)
+            .doStep(mockFlightContext);
+
+    assertEquals(StepResult.getStepResultSuccess(), stepResult);
+    final WsmResourceCloneDetails details = getResults().get(stored.getResourceId());
+    assertSucceeded(details);
+    assertEquals(destinationResourceId(stored), details.getDestinationResourceId());
+    // Its access is not checked, and it is not inserted, again.
+    verify(mockCrlService, never()).canReadGcsBucket(any(), any());
+    assertThat(storedNames(), empty());
+  }
+
+  private Map<UUID, WsmResourceCloneDetails> getResults() {
+    return workingMap.get(
+        ControlledResourceKeys.RESOURCE_ID_TO_CLONE_RESULT, new TypeReference<>() {});
+  }
+
+  /** Names of the references the step asked to insert. */
+  @SuppressWarnings("unchecked")
+  private List<String> storedNames() {
+    final ArgumentCaptor<List<ReferencedResource>> captor = ArgumentCaptor.forClass(List.class);
+    verify(mockResourceDao).createReferenceResources(captor.capture(), eq(FLIGHT_ID));
+    return captor.getValue().stream()
+        .map(ReferencedResource::getName)
+        .collect(Collectors.toList());
+  }
+
+  private static void assertSucceeded(WsmResourceCloneDetails details) {
+    assertEquals(WsmCloneResourceResult.SUCCEEDED, details.getResult());
+    assertNull(details.getErrorMessage());
+  }
+
+  private static void assertFailed(WsmResourceCloneDetails details, String errorMessage) {
+    assertEquals(WsmCloneResourceResult.FAILED, details.getResult());
+    assertNull(details.getDestinationResourceId());
+    assertEquals(errorMessage, details.getErrorMessage());
+  }
+
+  /** The ID the step gives the clone of a reference. */
+  private static UUID destinationResourceId(ReferencedResource source) {
+    return UUID.nameUUIDFromBytes(
+        (FLIGHT_ID + "/" + source.getResourceId()).getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static ReferencedResource makeReference(String bucketName) {
+    return new ReferencedGcsBucketResource(
+        UUID.randomUUID(),
+        UUID.randomUUID(),
+        bucketName,
+        "reference to " + bucketName,
+        CloningInstructions.COPY_REFERENCE,
+        bucketName);
+  }
+}
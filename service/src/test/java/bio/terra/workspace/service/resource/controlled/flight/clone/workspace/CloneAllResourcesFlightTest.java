@@ -0,0 +1,93 @@
+package bio.terra.workspace.service.resource.controlled.flight.clone.workspace;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+import bio.terra.workspace.common.BaseUnitTest;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class CloneAllResourcesFlightTest extends BaseUnitTest {
+
+  @Test
+  public void planSteps_widthOneClonesInSequence() {
+    assertThat(
+        plan(List.of("r1", "r2"), 1, List.of("c1", "c2"), 1, false),
+        contains(
+            "LAUNCH r1",
+            "LAUNCH c1",
+            "AWAIT r1",
+            "LAUNCH r2",
+            "AWAIT r2",
+            "AWAIT c1",
+            "LAUNCH c2",
+            "AWAIT c2"));
+  }
+
+  @Test
+  public void planSteps_slidingWindows() {
+    assertThat(
+        plan(List.of("r1", "r2", "r3"), 2, List.of("c1", "c2", "c3", "c4"), 3, false),
+        contains(
+            "LAUNCH r1",
+            "LAUNCH r2",
+            "LAUNCH c1",
+            "LAUNCH c2",
+            "LAUNCH c3",
+            "AWAIT r1",
+            "LAUNCH r3",
+            "AWAIT r2",
+            "AWAIT r3",
+            "AWAIT c1",
+            "LAUNCH c4",
+            "AWAIT c2",
+            "AWAIT c3",
+            "AWAIT c4"));
+  }
+
+  @Test
+  public void planSteps_windowWiderThanClones() {
+    assertThat(
+        plan(List.of("r1"), 8, List.of("c1", "c2"), 4, false),
+        contains("LAUNCH r1", "LAUNCH c1", "LAUNCH c2", "AWAIT r1", "AWAIT c1", "AWAIT c2"));
+  }
+
+  @Test
+  public void planSteps_nonPositiveWidthClonesOneAtATime() {
+    assertThat(
+        plan(Collections.emptyList(), 0, List.of("c1", "c2"), 0, false),
+        contains("LAUNCH c1", "AWAIT c1", "LAUNCH c2", "AWAIT c2"));
+  }
+
+  @Test
+  public void planSteps_batchedReferencesRunWithFirstControlledClones() {
+    assertThat(
+        plan(Collections.emptyList(), 8, List.of("c1", "c2"), 1, true),
+        contains("LAUNCH c1", "CLONE_BATCHED_REFERENCES", "AWAIT c1", "LAUNCH c2", "AWAIT c2"));
+  }
+
+  @Test
+  public void planSteps_emptyWorkspace() {
+    assertThat(plan(Collections.emptyList(), 8, Collections.emptyList(), 4, false), empty());
+  }
+
+  private static List<String> plan(
+      List<String> referenceClones,
+      int referenceWidth,
+      List<String> controlledClones,
+      int controlledWidth,
+      boolean cloneBatchedReferences) {
+    return CloneAllResourcesFlight.planSteps(
+            referenceClones,
+            referenceWidth,
+            controlledClones,
+            controlledWidth,
+            cloneBatchedReferences)
+        .stream()
+        .map(Object::toString)
+        .collect(Collectors.toList());
+  }
+}
@@ -70,10 +70,17 @@ public class FindResourcesToCloneStepTest extends BaseUnitTest {
     final List<WsmResource> batch2 = Collections.nCopies(20, resource);
     doReturn(batch1)
         .when(mockResourceDao)
-        .enumerateResources(any(UUID.class), eq(null), eq(null), eq(0), eq(100));
+        .enumerateResourcesAfter(
+            any(UUID.class), eq(null), eq(null), eq(null), eq(null), eq(100));
     doReturn(batch2)
         .when(mockResourceDao)
-        .enumerateResources(any(UUID.class), eq(null), eq(null), eq(100), eq(100));
+        .enumerateResourcesAfter(
+            any(UUID.class),
+            eq(null),
+            eq(null),
+            eq(resource.getName()),
+            eq(resource.getResourceId()),
+            eq(100));
 
     final StepResult stepResult = findResourcesToCloneStep.doStep(mockFlightContext);
     assertEquals(StepResult.getStepResultSuccess(), stepResult);
@@ -89,7 +96,8 @@ public class FindResourcesToCloneStepTest extends BaseUnitTest {
     final List<WsmResource> batch1 = Collections.nCopies(3, resource);
     doReturn(batch1)
         .when(mockResourceDao)
-        .enumerateResources(any(UUID.class), eq(null), eq(null), eq(0), eq(100));
+        .enumerateResourcesAfter(
+            any(UUID.class), eq(null), eq(null), eq(null), eq(null), eq(100));
     final StepResult stepResult = findResourcesToCloneStep.doStep(mockFlightContext);
     assertEquals(StepResult.getStepResultSuccess(), stepResult);
     final List<ResourceWithFlightId> result =
@@ -0,0 +1,281 @@
+package bio.terra.workspace.service.workspace;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import bio.terra.workspace.app.configuration.external.WorkspaceCloneConfiguration;
+import bio.terra.workspace.common.BaseUnitTest;
+import bio.terra.workspace.service.resource.WsmResourceType;
+import bio.terra.workspace.service.resource.model.CloningInstructions;
+import bio.terra.workspace.service.resource.model.StewardshipType;
+import bio.terra.workspace.service.workspace.WorkspaceClonePlanService.BucketListing;
+import bio.terra.workspace.service.workspace.WorkspaceClonePlanService.BucketTotals;
+import bio.terra.workspace.service.workspace.model.WsmResourceClonePlan;
+import com.google.api.gax.paging.Page;
+import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.Storage.BlobListOption;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class WorkspaceClonePlanServiceTest extends BaseUnitTest {
+
+  @Test
+  void bucketDurationIsLimitedBySlowerOfBytesAndObjects() {
+    WorkspaceCloneConfiguration config = new WorkspaceCloneConfiguration();
+    config.setPlanTransferBytesPerSecond(1000);
+    config.setPlanTransferObjectsPerSecond(10);
+
+    WsmResourceClonePlan plan =
+        makePlan(WsmResourceType.GCS_BUCKET, CloningInstructions.COPY_RESOURCE);
+    plan.setBytes(60_000);
+    plan.setObjectCount(100);
+    Duration fewObjects = WorkspaceClonePlanService.projectResourceDuration(plan, config);
+
+    plan.setObjectCount(6_000);
+    Duration manyObjects = WorkspaceClonePlanService.projectResourceDuration(plan, config);
+
+    // 60s for the bytes in the first plan, 600s for the objects in the second
+    assertEquals(Duration.ofSeconds(540), manyObjects.minus(fewObjects));
+  }
+
+  @Test
+  void nothingToCopyTakesNoTime() {
+    WorkspaceCloneConfiguration config = new WorkspaceCloneConfiguration();
+    WsmResourceClonePlan plan =
+        makePlan(WsmResourceType.BIG_QUERY_DATASET, CloningInstructions.COPY_NOTHING);
+    plan.setBytes(1_000_000);
+
+    assertEquals(Duration.ZERO, WorkspaceClonePlanService.projectResourceDuration(plan, config));
+  }
+
+  @Test
+  void onlyCopiedTableBytesAddToDatasetDuration() {
+    WorkspaceCloneConfiguration config = new WorkspaceCloneConfiguration();
+    config.setPlanTableCopyBytesPerSecond(1000);
+    WsmResourceClonePlan plan =
+        makePlan(WsmResourceType.BIG_QUERY_DATASET, CloningInstructions.COPY_RESOURCE);
+    plan.setBytes(6_060_000);
+    plan.setClonedBytes(6_000_000);
+    Duration mostlyCloned = WorkspaceClonePlanService.projectResourceDuration(plan, config);
+
+    plan.setClonedBytes(0);
+    Duration copied = WorkspaceClonePlanService.projectResourceDuration(plan, config);
+
+    // 60s to copy the bytes that are not cloned, 6060s to copy them all
+    assertEquals(Duration.ofSeconds(6_000), copied.minus(mostlyCloned));
+  }
+
+  @Test
+  void cloneDurationRespectsConcurrency() {
+    List<Duration> durations =
+        List.of(
+            Duration.ofMinutes(10),
+            Duration.ofMinutes(2),
+            Duration.ofMinutes(3),
+            Duration.ofMinutes(4));
+
+    assertEquals(
+        Duration.ofMinutes(19), WorkspaceClonePlanService.projectCloneDuration(durations, 1));
+    // 10 on one lane; 2, 3 and 4 in turn on the other
+    assertEquals(
+        Duration.ofMinutes(10), WorkspaceClonePlanService.projectCloneDuration(durations, 2));
+    assertEquals(Duration.ZERO, WorkspaceClonePlanService.projectCloneDuration(List.of(), 4));
+  }
+
+  @Test
+  void bucketListingShardsEveryDirectoryLevel() throws Exception {
+    FakeBucket bucket = new FakeBucket();
+    bucket.add("top.txt", 1);
+    bucket.add("a/one", 10);
+    bucket.add("a/b/two", 100);
+    bucket.add("a/b/c/three", 1_000);
+    bucket.add("d/four", 10_000);
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      BucketTotals totals =
+          new BucketListing(bucket.storage(), FakeBucket.NAME, 1_000, executor)
+              .list()
+              .get(1, TimeUnit.MINUTES);
+      assertEquals(5, totals.getObjects());
+      assertEquals(11_111, totals.getBytes());
+      assertFalse(totals.isEstimated());
+    } finally {
+      executor.shutdownNow();
+    }
+    // Each directory, however deep, is listed on its own.
+    assertThat(bucket.listedPrefixes, containsInAnyOrder("", "a/", "a/b/", "a/b/c/", "d/"));
+  }
+
+  @Test
+  void bucketListingExtrapolatesPastItsLimit() throws Exception {
+    FakeBucket bucket = new FakeBucket();
+    for (String directory : List.of("", "d1/", "d2/", "d3/", "d4/")) {
+      for (int i = 0; i < 10; i++) {
+        bucket.add(directory + "object" + i, 100);
+      }
+    }
+
+    // Listing in order, the limit covers the top level's 10 objects and 4 directories, then d1
+    // and d2. d3 and d4 are assumed to hold as much as the average listed directory.
+    BucketTotals totals =
+        new BucketListing(bucket.storage(), FakeBucket.NAME, 34, Runnable::run).list().get();
+    assertEquals(50, totals.getObjects());
+    assertEquals(5_000, totals.getBytes());
+    assertTrue(totals.isEstimated());
+    assertThat(bucket.listedPrefixes, containsInAnyOrder("", "d1/", "d2/"));
+  }
+
+  @Test
+  void bucketListingWithNothingToExtrapolateFromIsALowerBound() throws Exception {
+    FakeBucket bucket = new FakeBucket();
+    for (int i = 0; i < 10; i++) {
+      bucket.add("object" + i, 100);
+    }
+
+    BucketTotals totals =
+        new BucketListing(bucket.storage(), FakeBucket.NAME, 4, Runnable::run).list().get();
+    assertEquals(4, totals.getObjects());
+    assertEquals(400, totals.getBytes());
+    assertTrue(totals.isEstimated());
+  }
+
+  @Test
+  void stoppedBucketListingEstimatesFromWhatWasListed() throws Exception {
+    FakeBucket bucket = new FakeBucket();
+    for (String directory : List.of("", "d1/", "d2/")) {
+      for (int i = 0; i < 10; i++) {
+        bucket.add(directory + "object" + i, 100);
+      }
+    }
+
+    Queue<Runnable> tasks = new ArrayDeque<>();
+    BucketListing listing = new BucketListing(bucket.storage(), FakeBucket.NAME, 1_000, tasks::add);
+    CompletableFuture<BucketTotals> future = listing.list();
+    // List the top level, then stop, as at the plan deadline, before d1 and d2 are listed.
+    tasks.remove().run();
+    listing.stop();
+    while (!tasks.isEmpty()) {
+      tasks.remove().run();
+    }
+
+    // d1 and d2 are assumed to hold as much as the top level.
+    BucketTotals totals = future.get();
+    assertEquals(30, totals.getObjects());
+    assertEquals(3_000, totals.getBytes());
+    assertTrue(totals.isEstimated());
+    assertThat(bucket.listedPrefixes, containsInAnyOrder(""));
+  }
+
+  private static WsmResourceClonePlan makePlan(
+      WsmResourceType resourceType, CloningInstructions cloningInstructions) {
+    WsmResourceClonePlan plan = new WsmResourceClonePlan();
+    plan.setResourceType(resourceType);
+    plan.setStewardshipType(StewardshipType.CONTROLLED);
+    plan.setCloningInstructions(cloningInstructions);
+    return plan;
+  }
+
+  /**
+   * A bucket behind a fake {@link Storage}, which only supports listing one directory level at a
+   * time, as the clone plan does.
+   */
+  private static class FakeBucket {
+    private static final String NAME = "fake-bucket";
+
+    private final Map<String, Long> objectSizes = new TreeMap<>();
+    private final List<String> listedPrefixes = Collections.synchronizedList(new ArrayList<>());
+
+    private void add(String objectName, long size) {
+      objectSizes.put(objectName, size);
+    }
+
+    private Storage storage() {
+      return (Storage)
+          Proxy.newProxyInstance(
+              Storage.class.getClassLoader(),
+              new Class<?>[] {Storage.class},
+              (proxy, method, args) -> {
+                if (!"list".equals(method.getName())
+                    || args == null
+                    || args.length != 2
+                    || !NAME.equals(args[0])) {
+                  throw new UnsupportedOperationException(method.toString());
+                }
+                return listLevel(Arrays.asList((BlobListOption[]) args[1]));
+              });
+    }
+
+    private Page<Blob> listLevel(List<BlobListOption> options) {
+      if (!options.contains(BlobListOption.currentDirectory())) {
+        throw new UnsupportedOperationException("Only directory listings are supported");
+      }
+      String prefix =
+          directories().stream()
+              .filter(directory -> options.contains(BlobListOption.prefix(directory)))
+              .findFirst()
+              .orElse("");
+      listedPrefixes.add(prefix);
+
+      List<Blob> blobs = new ArrayList<>();
+      TreeSet<String> subdirectories = new TreeSet<>();
+      objectSizes.forEach(
+          (name, size) -> {
+            if (!name.startsWith(prefix)) {
+              return;
+            }
+            int slash = name.indexOf('/', prefix.length());
+            if (slash < 0) {
+              blobs.add(blob(name, size, false));
+            } else {
+              subdirectories.add(name.substring(0, slash + 1));
+            }
+          });
+      subdirectories.forEach(directory -> blobs.add(blob(directory, null, true)));
+
+      @SuppressWarnings("unchecked")
+      Page<Blob> page = mock(Page.class);
+      doReturn(blobs).when(page).iterateAll();
+      return page;
+    }
+
+    /** Every directory holding an object, at any depth. */
+    private TreeSet<String> directories() {
+      TreeSet<String> directories = new TreeSet<>();
+      for (String name : objectSizes.keySet()) {
+        for (int slash = name.indexOf('/'); slash >= 0; slash = name.indexOf('/', slash + 1)) {
+          directories.add(name.substring(0, slash + 1));
+        }
+      }
+      return directories;
+    }
+
+    private static Blob blob(String name, Long size, boolean directory) {
+      Blob blob = mock(Blob.class);
+      doReturn(name).when(blob).getName();
+      doReturn(size).when(blob).getSize();
+      doReturn(directory).when(blob).isDirectory();
+      return blob;
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package bio.terra.workspace.service.workspace;
 
+import static bio.terra.workspace.service.workspace.flight.WorkspaceFlightMapKeys.GCP_PROJECT_ID;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -15,6 +16,8 @@ import bio.terra.common.exception.UnauthorizedException;
 import bio.terra.common.sam.exception.SamExceptionFactory;
 import bio.terra.common.sam.exception.SamInternalServerErrorException;
 import bio.terra.stairway.FlightDebugInfo;
+import bio.terra.stairway.FlightState;
+import bio.terra.stairway.FlightStatus;
 import bio.terra.stairway.StepStatus;
 import bio.terra.workspace.common.BaseConnectedTest;
 import bio.terra.workspace.db.ResourceDao;
@@ -37,9 +40,12 @@ import bio.terra.workspace.service.workspace.exceptions.DuplicateWorkspaceExcept
 import bio.terra.workspace.service.workspace.exceptions.MissingSpendProfileException;
 import bio.terra.workspace.service.workspace.exceptions.NoBillingAccountException;
 import bio.terra.workspace.service.workspace.exceptions.StageDisabledException;
+import bio.terra.workspace.service.workspace.flight.CreateCustomGcpRolesStep;
 import bio.terra.workspace.service.workspace.flight.DeleteProjectStep;
 import bio.terra.workspace.service.workspace.flight.DeleteWorkspaceAuthzStep;
 import bio.terra.workspace.service.workspace.flight.DeleteWorkspaceStateStep;
+import bio.terra.workspace.service.workspace.flight.SetProjectBillingStep;
+import bio.terra.workspace.service.workspace.flight.SyncSamGroupsStep;
 import bio.terra.workspace.service.workspace.model.GcpCloudContext;
 import bio.terra.workspace.service.workspace.model.Workspace;
 import bio.terra.workspace.service.workspace.model.WorkspaceRequest;
@@ -437,6 +443,45 @@ class WorkspaceServiceTest extends BaseConnectedTest {
     assertTrue(workspace.getGcpCloudContext().isEmpty());
   }
 
+  @Test
+  @DisabledIfEnvironmentVariable(named = "TEST_ENV", matches = BUFFER_SERVICE_DISABLED_ENVS_REG_EX)
+  void createGoogleContextUndo() throws Exception {
+    WorkspaceRequest request =
+        defaultRequestBuilder(UUID.randomUUID())
+            .spendProfileId(Optional.of(spendUtils.defaultSpendId()))
+            .workspaceStage(WorkspaceStage.MC_WORKSPACE)
+            .build();
+    workspaceService.createWorkspace(request, USER_REQUEST);
+
+    // Retry the steps of the parallel project setup group once, on do and on undo, to test their
+    // idempotency, then fail after the last step so that the whole flight is undone.
+    Map<String, StepStatus> retrySteps = new HashMap<>();
+    retrySteps.put(SetProjectBillingStep.class.getName(), StepStatus.STEP_RESULT_FAILURE_RETRY);
+    retrySteps.put(CreateCustomGcpRolesStep.class.getName(), StepStatus.STEP_RESULT_FAILURE_RETRY);
+    retrySteps.put(SyncSamGroupsStep.class.getName(), StepStatus.STEP_RESULT_FAILURE_RETRY);
+    jobService.setFlightDebugInfoForTest(
+        FlightDebugInfo.newBuilder()
+            .doStepFailures(retrySteps)
+            .lastStepFailure(true)
+            .undoStepFailures(retrySteps)
+            .build());
+
+    String jobId = UUID.randomUUID().toString();
+    workspaceService.createGcpCloudContext(
+        request.workspaceId(), jobId, USER_REQUEST, "/fake/value");
+    jobService.waitForJob(jobId);
+    FlightState flightState = jobService.getStairway().getFlightState(jobId);
+    assertEquals(FlightStatus.ERROR, flightState.getFlightStatus());
+
+    Workspace workspace = workspaceService.getWorkspace(request.workspaceId(), USER_REQUEST);
+    assertTrue(workspace.getGcpCloudContext().isEmpty());
+
+    // The project pulled from Buffer Service is deleted on undo.
+    String projectId = flightState.getResultMap().get().get(GCP_PROJECT_ID, String.class);
+    Project project = crl.getCloudResourceManagerCow().projects().get(projectId).execute();
+    assertEquals("DELETE_REQUESTED", project.getState());
+  }
+
   @Test
   void createGoogleContextRawlsStageThrows() throws Exception {
     // RAWLS_WORKSPACE stage workspaces use existing Sam resources instead of owning them, so the